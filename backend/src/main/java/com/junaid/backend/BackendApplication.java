@@ -3,7 +3,7 @@
 // Role:
 //   - This is the main class that launches the entire Spring Boot backend.
 //   - It starts the embedded server and initializes all Spring components.
-//   - Also defines a bean that prints all Hibernate-managed entities for debugging.
+//   - Also defines a bean that logs all Hibernate-managed entities for debugging.
 //
 // Why it matters:
 //   - Without this file, the application won't start.
@@ -12,6 +12,7 @@
 // Dependencies:
 //   - @SpringBootApplication: enables auto-configuration and component scanning.
 //   - ApplicationRunner: used to run code after the app is fully started.
+//   - @EnableScheduling: turns on @Scheduled background jobs.
 //   - EntityManagerFactory + Metamodel: used to list all managed entity classes.
 //
 // Related files:
@@ -22,14 +23,20 @@ package com.junaid.backend; // Declares the Java package this class belongs to
 
 import jakarta.persistence.EntityManagerFactory; // Jakarta Persistence (JPA) import for database handling
 import jakarta.persistence.metamodel.Metamodel; // Jakarta Persistence (JPA) import for database handling
+import org.slf4j.Logger; // Logging API
+import org.slf4j.LoggerFactory; // Creates the logger
 import org.springframework.boot.ApplicationRunner; // Spring Framework import (dependency injection, web, security, etc.)
 import org.springframework.boot.SpringApplication; // Spring Framework import (dependency injection, web, security, etc.)
 import org.springframework.boot.autoconfigure.SpringBootApplication; // Spring Framework import (dependency injection, web, security, etc.)
 import org.springframework.context.annotation.Bean; // Spring Framework import (dependency injection, web, security, etc.)
+import org.springframework.scheduling.annotation.EnableScheduling; // Enables @Scheduled background jobs
 
 @SpringBootApplication // Annotation to provide metadata or behavior to classes/methods/fields
+@EnableScheduling // Runs @Scheduled jobs (e.g. token revocation refresh)
 public class BackendApplication { // Declares a class
 
+    private static final Logger log = LoggerFactory.getLogger(BackendApplication.class); // Startup diagnostics
+
     public static void main(String[] args) { // Declares a method
         SpringApplication.run(BackendApplication.class, args); // Logic inside method or block
     } // Logic inside method or block
@@ -38,12 +45,11 @@ public class BackendApplication { // Declares a class
     public ApplicationRunner printEntities(EntityManagerFactory emf) { // Declares a method
         return args -> { // Returns a value from a method
             Metamodel mm = emf.getMetamodel(); // Logic inside method or block
-            System.out.println("=== Hibernate is managing these entities:"); // Logic inside method or block
-            mm.getEntities() // Logic inside method or block
+            log.info("Hibernate is managing these entities: {}", mm.getEntities() // Logic inside method or block
                     .stream() // Logic inside method or block
-                    .map(e -> "  • " + e.getName()) // Logic inside method or block
+                    .map(e -> e.getName()) // Logic inside method or block
                     .sorted() // Logic inside method or block
-                    .forEach(System.out::println); // Logic inside method or block
+                    .toList()); // Logic inside method or block
         }; // Logic inside method or block
     } // Logic inside method or block
 } // Logic inside method or block
\ No newline at end of file
@@ -0,0 +1,212 @@
+// ==========================================================
+// File: AmortizationEngine.java
+//
+// ❖ ROLE:
+//    - Computes the EMI (equated monthly installment) and full repayment schedules for a
+//      loan amount, annual interest rate and tenure in months.
+//    - Evaluates what-if grids (many rates × many tenures) in parallel on a fork/join pool.
+//
+// ❖ WHY IT'S IMPORTANT:
+//    - Loan officers and the frontend compare scenarios interactively, thousands of quotes
+//      per second. Amounts are whole cents in longs and schedules are walked with a
+//      primitive callback, so computing a quote allocates nothing per installment.
+//
+// ❖ MATH:
+//    - r = annual rate / 12 / 100; EMI = P · r · (1 + r)^n / ((1 + r)^n − 1)  (P / n when r = 0)
+//    - EMI and each month's interest are rounded to the cent; the last installment pays
+//      off whatever balance rounding left, so the principal always sums to the amount.
+//
+// ❖ CONFIGURATION:
+//    - amortization.maxTenureMonths            -> longest accepted tenure
+//    - amortization.whatIf.maxScenarios        -> cap on rates × tenures per request
+//    - amortization.whatIf.sequentialThreshold -> scenarios per fork/join leaf task
+//    - amortization.parallelism                -> fork/join threads (0 = available processors)
+//
+// ❖ USED IN:
+//    - AmortizationController.java
+// ==========================================================
+
+package com.junaid.backend.amortization; // Declares this class belongs to the 'amortization' package
+
+import com.junaid.backend.model.WhatIfQuotes; // What-if result
+
+import jakarta.annotation.PostConstruct; // Creates the fork/join pool
+import jakarta.annotation.PreDestroy; // Shuts it down
+import org.springframework.beans.factory.annotation.Value; // Injects configuration
+import org.springframework.http.HttpStatus; // 400 for invalid input
+import org.springframework.stereotype.Component; // Registers this class as a Spring bean
+import org.springframework.web.server.ResponseStatusException; // Allows throwing custom HTTP response errors
+
+import java.util.concurrent.ForkJoinPool; // Parallel what-if evaluation
+import java.util.concurrent.RecursiveAction; // Splits the scenario range
+
+@Component
+public class AmortizationEngine {
+
+    @Value("${amortization.maxTenureMonths:600}") // Longest accepted tenure (50 years)
+    private int maxTenureMonths;
+
+    @Value("${amortization.whatIf.maxScenarios:10000}") // Max rates × tenures per what-if request
+    private int maxScenarios;
+
+    @Value("${amortization.whatIf.sequentialThreshold:64}") // Scenarios computed by one leaf task
+    private int sequentialThreshold;
+
+    @Value("${amortization.parallelism:0}") // 0 = one thread per available processor
+    private int parallelism;
+
+    private ForkJoinPool pool; // Dedicated pool: what-if bursts don't starve the common pool
+
+    @PostConstruct
+    void init() {
+        pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    // === Checks one scenario; 400 with a readable message when it can't be quoted ===
+    public void validate(double amount, double annualRatePercent, int tenureMonths) {
+        if (!(amount > 0) || amount > 1e13) { // Also rejects NaN; 1e13 keeps cents well inside a long
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Amount must be greater than zero");
+        }
+        if (!(annualRatePercent >= 0) || annualRatePercent > 100) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Interest rate must be between 0 and 100");
+        }
+        if (tenureMonths < 1 || tenureMonths > maxTenureMonths) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Tenure must be between 1 and " + maxTenureMonths + " months");
+        }
+    }
+
+    // === Monthly installment in cents ===
+    public static long emiCents(long principalCents, double annualRatePercent, int months) {
+        double r = monthlyRate(annualRatePercent);
+        if (r == 0) {
+            return Math.round((double) principalCents / months);
+        }
+        double growth = Math.pow(1 + r, months);
+        return Math.round(principalCents * r * growth / (growth - 1));
+    }
+
+    /**
+     * Walks the schedule month by month, handing each installment to the consumer
+     * (which may be null when only the totals are needed).
+     *
+     * @return total interest in cents
+     */
+    public static long amortize(long principalCents, double annualRatePercent, int months, InstallmentConsumer consumer) {
+        double r = monthlyRate(annualRatePercent);
+        long emi = emiCents(principalCents, annualRatePercent, months);
+        long balance = principalCents;
+        long totalInterest = 0;
+        for (int month = 1; month <= months; month++) {
+            long interest = Math.round(balance * r);
+            long principalPart = month == months ? balance : Math.min(Math.max(emi - interest, 0), balance); // Last month clears rounding
+            balance -= principalPart;
+            totalInterest += interest;
+            if (consumer != null) {
+                consumer.accept(month, principalPart + interest, principalPart, interest, balance);
+            }
+        }
+        return totalInterest;
+    }
+
+    // === Fills a (reusable) schedule; returns it for chaining ===
+    public static AmortizationSchedule fill(AmortizationSchedule schedule, long principalCents,
+                                            double annualRatePercent, int months) {
+        schedule.reset(months);
+        amortize(principalCents, annualRatePercent, months, schedule);
+        return schedule;
+    }
+
+    // === EMI and total interest for every (rate, tenure) pair, computed in parallel ===
+    public WhatIfQuotes whatIf(double amount, double[] rates, int[] tenures) {
+        if (rates == null || rates.length == 0 || tenures == null || tenures.length == 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At least one rate and one tenure are required");
+        }
+        if ((long) rates.length * tenures.length > maxScenarios) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + maxScenarios + " rate/tenure combinations per request");
+        }
+        for (double rate : rates) {
+            for (int tenure : tenures) {
+                validate(amount, rate, tenure);
+            }
+        }
+
+        long principalCents = toCents(amount);
+        int scenarios = rates.length * tenures.length;
+        long[] emi = new long[scenarios]; // Row-major: index = rateIndex * tenures.length + tenureIndex
+        long[] interest = new long[scenarios];
+        ScenarioTask task = new ScenarioTask(principalCents, rates, tenures, emi, interest, 0, scenarios);
+        if (scenarios <= sequentialThreshold) {
+            task.compute(); // Not worth a thread hop
+        } else {
+            pool.invoke(task);
+        }
+
+        double[][] emiGrid = new double[rates.length][tenures.length];
+        double[][] interestGrid = new double[rates.length][tenures.length];
+        double[][] paymentGrid = new double[rates.length][tenures.length];
+        for (int i = 0; i < scenarios; i++) {
+            int rate = i / tenures.length;
+            int tenure = i % tenures.length;
+            emiGrid[rate][tenure] = toAmount(emi[i]);
+            interestGrid[rate][tenure] = toAmount(interest[i]);
+            paymentGrid[rate][tenure] = toAmount(principalCents + interest[i]);
+        }
+        return new WhatIfQuotes(toAmount(principalCents), rates, tenures, emiGrid, interestGrid, paymentGrid);
+    }
+
+    public static long toCents(double amount) {
+        return Math.round(amount * 100);
+    }
+
+    public static double toAmount(long cents) {
+        return cents / 100.0; // Shortest round-trip representation, e.g. 1234.56
+    }
+
+    private static double monthlyRate(double annualRatePercent) {
+        return annualRatePercent / 12 / 100;
+    }
+
+    // Computes a contiguous range of scenarios; splits in halves until the range is small
+    private final class ScenarioTask extends RecursiveAction {
+        private final long principalCents;
+        private final double[] rates;
+        private final int[] tenures;
+        private final long[] emi;
+        private final long[] interest;
+        private final int from;
+        private final int to;
+
+        ScenarioTask(long principalCents, double[] rates, int[] tenures, long[] emi, long[] interest, int from, int to) {
+            this.principalCents = principalCents;
+            this.rates = rates;
+            this.tenures = tenures;
+            this.emi = emi;
+            this.interest = interest;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= sequentialThreshold) {
+                for (int i = from; i < to; i++) {
+                    double rate = rates[i / tenures.length];
+                    int months = tenures[i % tenures.length];
+                    emi[i] = emiCents(principalCents, rate, months);
+                    interest[i] = amortize(principalCents, rate, months, null); // Exact, rounding included
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ScenarioTask(principalCents, rates, tenures, emi, interest, from, mid),
+                    new ScenarioTask(principalCents, rates, tenures, emi, interest, mid, to));
+        }
+    }
+}
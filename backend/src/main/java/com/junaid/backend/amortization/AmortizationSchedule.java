@@ -0,0 +1,75 @@
+// ==============================================
+// File: AmortizationSchedule.java
+// Role:
+//   - Full installment schedule stored as parallel primitive arrays (one slot per month).
+//   - Reusable: refilling a schedule of equal or shorter tenure allocates nothing.
+//
+// Why it matters:
+//   - A 30-year schedule is 360 rows. Keeping them in four long[] columns instead of 360
+//     row objects (or 1,440 BigDecimals) keeps quoting cheap and garbage-free.
+//
+// Money:
+//   - All amounts are whole cents (long), so sums are exact.
+//
+// Related files:
+//   - AmortizationEngine.java (fills it)
+// ==============================================
+
+package com.junaid.backend.amortization; // Declares the Java package this class belongs to
+
+public final class AmortizationSchedule implements InstallmentConsumer {
+
+    private long[] payment = new long[0]; // Amount due per month, in cents
+    private long[] principal = new long[0]; // Principal part per month, in cents
+    private long[] interest = new long[0]; // Interest part per month, in cents
+    private long[] balance = new long[0]; // Balance after each payment, in cents
+    private int months; // Filled installments
+    private long totalInterestCents; // Sum of interest over the schedule
+
+    // === Prepares for a new schedule; arrays only grow when a longer tenure arrives ===
+    void reset(int tenure) {
+        if (payment.length < tenure) {
+            payment = new long[tenure];
+            principal = new long[tenure];
+            interest = new long[tenure];
+            balance = new long[tenure];
+        }
+        months = 0;
+        totalInterestCents = 0;
+    }
+
+    @Override
+    public void accept(int month, long paymentCents, long principalCents, long interestCents, long balanceCents) {
+        int i = month - 1;
+        payment[i] = paymentCents;
+        principal[i] = principalCents;
+        interest[i] = interestCents;
+        balance[i] = balanceCents;
+        months = month;
+        totalInterestCents += interestCents;
+    }
+
+    public int months() {
+        return months;
+    }
+
+    public long paymentCents(int month) {
+        return payment[month - 1];
+    }
+
+    public long principalCents(int month) {
+        return principal[month - 1];
+    }
+
+    public long interestCents(int month) {
+        return interest[month - 1];
+    }
+
+    public long balanceCents(int month) {
+        return balance[month - 1];
+    }
+
+    public long totalInterestCents() {
+        return totalInterestCents;
+    }
+}
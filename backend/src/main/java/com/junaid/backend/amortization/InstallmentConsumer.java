@@ -0,0 +1,28 @@
+// ==============================================
+// File: InstallmentConsumer.java
+// Role:
+//   - Receives one installment of an amortization schedule as primitive values.
+//
+// Why it matters:
+//   - Schedules are produced row by row without creating an object per installment;
+//     callers fill arrays or write JSON directly from these values.
+//
+// Related files:
+//   - AmortizationEngine.java (calls it once per month)
+//   - AmortizationSchedule.java (array-backed implementation)
+// ==============================================
+
+package com.junaid.backend.amortization; // Declares the Java package this interface belongs to
+
+@FunctionalInterface
+public interface InstallmentConsumer {
+
+    /**
+     * @param month          1-based installment number
+     * @param paymentCents   amount due this month (principal + interest)
+     * @param principalCents part of the payment that reduces the balance
+     * @param interestCents  part of the payment that is interest
+     * @param balanceCents   outstanding principal after this payment
+     */
+    void accept(int month, long paymentCents, long principalCents, long interestCents, long balanceCents);
+}
@@ -0,0 +1,318 @@
+// ==========================================================
+// File: BulkImportService.java
+//
+// ❖ ROLE:
+//    - Streams users or loan applications from NDJSON/CSV into the database in chunks.
+//    - Each chunk is validated in Java, then written in a single round-trip:
+//        * PostgreSQL: COPY ... FROM STDIN (fastest path)
+//        * other databases, or import.useCopy=false: one JDBC batch insert
+//    - Each chunk commits on its own, so a failure late in a big file keeps earlier chunks.
+//
+// ❖ WHY IT'S IMPORTANT:
+//    - Going through the API means one HTTP call, one Hibernate save and one INSERT per
+//      row. Hibernate cannot batch inserts for IDENTITY ids. This path skips the ORM
+//      entirely, so row count no longer drives round-trips.
+//
+// ❖ PASSWORDS:
+//    - Plain-text passwords are hashed with the application's BCrypt cost, but on the importer's
+//      own pool (import.hashing.threads), a whole chunk in parallel. The login hashing pool is
+//      never used, so an import neither waits behind sign-ins nor takes their slots.
+//
+// ❖ ERROR HANDLING:
+//    - Unparseable or invalid records are rejected before touching the database, as are
+//      passwords BCrypt refuses (longer than 72 bytes).
+//    - If the database refuses a chunk (e.g. a duplicate username), the chunk is retried
+//      row by row with savepoints, so only the offending rows are rejected.
+//
+// ❖ USED IN:
+//    - AdminImportController.java
+// ==========================================================
+
+package com.junaid.backend.bulkimport; // Declares this class belongs to the 'bulkimport' package
+
+import com.fasterxml.jackson.databind.ObjectMapper; // Parses NDJSON lines
+import com.junaid.backend.entity.LoanStatus; // Default status for imported loans
+import com.junaid.backend.model.ImportReport; // Result returned to the caller
+import com.junaid.backend.service.AvailabilityService; // Imported users become unavailable for signup
+import com.junaid.backend.service.PortfolioAggregates; // Recomputed after loans are imported
+import com.junaid.backend.service.UserDataVersions; // Invalidates ETags after loans are imported
+import com.junaid.backend.util.BoundedPasswordEncoder; // Application encoder; its direct() form skips the login pool
+
+import jakarta.annotation.PostConstruct; // Builds the hashing pool after configuration is injected
+import jakarta.annotation.PreDestroy; // Stops the hashing pool
+import org.postgresql.PGConnection; // Access to PostgreSQL's COPY API
+import org.springframework.beans.factory.annotation.Value; // Injects configuration
+import org.springframework.dao.DataAccessException; // Spring's database exception hierarchy
+import org.springframework.jdbc.core.ConnectionCallback; // Runs code on the transaction's connection
+import org.springframework.jdbc.core.JdbcTemplate; // Batch inserts and exception translation
+import org.springframework.jdbc.datasource.DataSourceTransactionManager; // Plain JDBC transactions per chunk
+import org.springframework.security.crypto.password.PasswordEncoder; // Hashes plain-text passwords
+import org.springframework.stereotype.Service; // Marks this class as a Spring service
+import org.springframework.transaction.support.TransactionTemplate; // Programmatic per-chunk transactions
+
+import javax.sql.DataSource; // Connection pool
+import java.io.BufferedReader; // Buffered character input
+import java.io.IOException; // Thrown on unreadable input
+import java.io.InputStream; // Raw request body
+import java.io.InputStreamReader; // Bytes -> characters
+import java.io.StringReader; // Feeds COPY
+import java.math.BigDecimal; // Plain-text decimal formatting for COPY
+import java.nio.charset.StandardCharsets; // Input is UTF-8
+import java.util.ArrayList; // Chunk buffers
+import java.util.Collections; // Builds the placeholder list
+import java.util.List; // Chunk buffers
+import java.util.Map; // One raw record
+import java.util.concurrent.ExecutionException; // Wraps a failed hash
+import java.util.concurrent.ExecutorService; // Importer's hashing pool
+import java.util.concurrent.Executors; // Creates it
+import java.util.concurrent.Future; // One pending hash
+import java.util.concurrent.atomic.AtomicInteger; // Thread numbering
+import java.util.function.UnaryOperator; // Per-table row preparation
+import java.util.regex.Pattern; // Detects existing BCrypt hashes
+
+@Service
+public class BulkImportService {
+
+    private static final Pattern BCRYPT_HASH = Pattern.compile("^\\$2[aby]?\\$\\d{2}\\$[./A-Za-z0-9]{53}$");
+
+    private final JdbcTemplate jdbcTemplate; // Inserts and COPY
+    private final TransactionTemplate chunkTransaction; // One transaction per chunk
+    private final ObjectMapper objectMapper; // NDJSON parsing
+    private final PasswordEncoder passwordEncoder; // Hashes plain-text passwords on import (on hashingPool)
+    private final AvailabilityService availabilityService; // Signup availability filters
+    private final PortfolioAggregates portfolioAggregates; // Portfolio statistics
+    private final UserDataVersions userDataVersions; // ETag versions of users' data
+
+    @Value("${import.chunkSize:1000}") // Rows per chunk (one round-trip and one commit each)
+    private int chunkSize;
+
+    @Value("${import.useCopy:true}") // Use PostgreSQL COPY when the database supports it
+    private boolean useCopy;
+
+    @Value("${import.maxReportedRejections:1000}") // Max rejected rows listed in the report
+    private int maxReportedRejections;
+
+    @Value("${import.hashing.threads:0}") // Threads hashing imported passwords (0 = half the cores)
+    private int hashingThreads;
+
+    private ExecutorService hashingPool; // Importer's own BCrypt threads
+
+    // One step applied to a whole chunk before it is written; it may reject (and remove) rows
+    private interface ChunkStep {
+        void apply(List<Object[]> rows, List<Long> lines, ImportReport report);
+    }
+
+    public BulkImportService(DataSource dataSource, ObjectMapper objectMapper, PasswordEncoder passwordEncoder,
+                             AvailabilityService availabilityService, PortfolioAggregates portfolioAggregates,
+                             UserDataVersions userDataVersions) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.chunkTransaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource)); // JDBC-only work, no JPA session
+        this.objectMapper = objectMapper;
+        this.passwordEncoder = passwordEncoder instanceof BoundedPasswordEncoder bounded
+                ? bounded.direct() // Same cost, without the login pool
+                : passwordEncoder;
+        this.availabilityService = availabilityService;
+        this.portfolioAggregates = portfolioAggregates;
+        this.userDataVersions = userDataVersions;
+    }
+
+    @PostConstruct
+    void init() {
+        int size = hashingThreads > 0 ? hashingThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger counter = new AtomicInteger();
+        hashingPool = Executors.newFixedThreadPool(size, task -> {
+            Thread thread = new Thread(task, "import-hash-" + counter.getAndIncrement());
+            thread.setDaemon(true); // Never blocks JVM shutdown
+            return thread;
+        });
+    }
+
+    @PreDestroy // Stop the hashing pool when the application shuts down
+    void stop() {
+        hashingPool.shutdownNow();
+    }
+
+    // === Imports users; plain-text passwords are hashed, existing BCrypt hashes are kept as-is ===
+    public ImportReport importUsers(InputStream input, ImportFormat format) throws IOException {
+        int passwordIndex = ImportTable.USERS.indexOf("password");
+        int usernameIndex = ImportTable.USERS.indexOf("username");
+        int emailIndex = ImportTable.USERS.indexOf("email");
+        return run(ImportTable.USERS, input, format, row -> {
+            // Marked before the insert: a rejected row only costs one extra exists query later
+            availabilityService.recordTaken((String) row[usernameIndex], (String) row[emailIndex]);
+            return row;
+        }, (rows, lines, report) -> hashPasswords(rows, lines, report, passwordIndex));
+    }
+
+    // === Imports loan applications; rows without a status are treated as approved historical loans ===
+    public ImportReport importLoans(InputStream input, ImportFormat format) throws IOException {
+        int statusIndex = ImportTable.LOANS.indexOf("status");
+        ImportReport report = run(ImportTable.LOANS, input, format, row -> {
+            if (row[statusIndex] == null) {
+                row[statusIndex] = LoanStatus.APPROVED.name();
+            }
+            return row;
+        }, (rows, lines, chunkReport) -> { });
+        if (report.getInserted() > 0) {
+            portfolioAggregates.rebuild(); // One aggregating query instead of per-row bookkeeping
+            userDataVersions.bumpAll(); // Imported rows may belong to anyone
+        }
+        return report;
+    }
+
+    // === Reads, validates and writes the input chunk by chunk ===
+    private ImportReport run(ImportTable table, InputStream input, ImportFormat format,
+                             UnaryOperator<Object[]> prepare, ChunkStep beforeWrite) throws IOException {
+        ImportReport report = new ImportReport(maxReportedRejections);
+        List<Object[]> rows = new ArrayList<>(chunkSize); // Validated rows of the current chunk
+        List<Long> lines = new ArrayList<>(chunkSize); // Source line of each row, for the report
+
+        try (RecordReader reader = open(input, format)) {
+            while (true) {
+                Map<String, String> record;
+                try {
+                    record = reader.next();
+                } catch (MalformedRecordException e) {
+                    report.recordReceived();
+                    report.reject(reader.lineNumber(), e.getMessage()); // Unparseable row
+                    continue;
+                }
+                if (record == null) {
+                    break; // End of input
+                }
+                report.recordReceived();
+
+                try {
+                    rows.add(prepare.apply(table.toRow(record)));
+                    lines.add(reader.lineNumber());
+                } catch (MalformedRecordException e) {
+                    report.reject(reader.lineNumber(), e.getMessage()); // Invalid values
+                }
+
+                if (rows.size() >= chunkSize) {
+                    beforeWrite.apply(rows, lines, report);
+                    writeChunk(table, rows, lines, report);
+                }
+            }
+            if (!rows.isEmpty()) {
+                beforeWrite.apply(rows, lines, report);
+                writeChunk(table, rows, lines, report); // Final partial chunk
+            }
+        }
+        return report;
+    }
+
+    // === Hashes the chunk's plain-text passwords in parallel; rows BCrypt refuses are rejected ===
+    private void hashPasswords(List<Object[]> rows, List<Long> lines, ImportReport report, int passwordIndex) {
+        List<Future<String>> hashes = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            String password = (String) row[passwordIndex];
+            hashes.add(BCRYPT_HASH.matcher(password).matches()
+                    ? null // Already hashed, kept as-is
+                    : hashingPool.submit(() -> passwordEncoder.encode(password)));
+        }
+
+        int kept = 0; // Rows are compacted in place as rejected ones are dropped
+        for (int i = 0; i < rows.size(); i++) {
+            Future<String> hash = hashes.get(i);
+            if (hash != null) {
+                try {
+                    rows.get(i)[passwordIndex] = hash.get(); // Never store plain text
+                } catch (ExecutionException e) {
+                    report.reject(lines.get(i), "Invalid password: " + e.getCause().getMessage());
+                    continue;
+                } catch (InterruptedException e) {
+                    for (Future<String> pending : hashes) {
+                        if (pending != null) {
+                            pending.cancel(true); // Queued hashes never start
+                        }
+                    }
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Import interrupted while hashing passwords", e);
+                }
+            }
+            rows.set(kept, rows.get(i));
+            lines.set(kept, lines.get(i));
+            kept++;
+        }
+        rows.subList(kept, rows.size()).clear();
+        lines.subList(kept, lines.size()).clear();
+    }
+
+    private RecordReader open(InputStream input, ImportFormat format) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 64 * 1024);
+        return format == ImportFormat.CSV ? new CsvRecordReader(reader) : new NdjsonRecordReader(reader, objectMapper);
+    }
+
+    // === Writes one chunk in one round-trip; falls back to row-by-row to isolate rows the DB rejects ===
+    private void writeChunk(ImportTable table, List<Object[]> rows, List<Long> lines, ImportReport report) {
+        try {
+            chunkTransaction.executeWithoutResult(status -> bulkInsert(table, rows));
+            report.recordInserted(rows.size());
+        } catch (DataAccessException e) {
+            String insertSql = insertSql(table);
+            chunkTransaction.executeWithoutResult(status -> {
+                for (int i = 0; i < rows.size(); i++) {
+                    Object savepoint = status.createSavepoint(); // Undo just this row on failure
+                    try {
+                        jdbcTemplate.update(insertSql, rows.get(i));
+                        status.releaseSavepoint(savepoint);
+                        report.recordInserted(1);
+                    } catch (DataAccessException rowError) {
+                        status.rollbackToSavepoint(savepoint);
+                        report.reject(lines.get(i), rowError.getMostSpecificCause().getMessage());
+                    }
+                }
+            });
+        }
+        report.recordChunk();
+        rows.clear();
+        lines.clear();
+    }
+
+    private void bulkInsert(ImportTable table, List<Object[]> rows) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            if (useCopy && connection.isWrapperFor(PGConnection.class)) {
+                String copySql = "COPY " + table.name() + " (" + table.columnList() + ") FROM STDIN WITH (FORMAT csv)";
+                try {
+                    connection.unwrap(PGConnection.class).getCopyAPI().copyIn(copySql, new StringReader(toCsv(rows)));
+                } catch (IOException e) {
+                    throw new IllegalStateException("COPY into " + table.name() + " failed", e); // StringReader never fails
+                }
+            } else {
+                jdbcTemplate.batchUpdate(insertSql(table), rows); // Single batched round-trip (reWriteBatchedInserts on PG)
+            }
+            return null;
+        });
+    }
+
+    private static String insertSql(ImportTable table) {
+        String placeholders = String.join(", ", Collections.nCopies(table.columns().size(), "?"));
+        return "insert into " + table.name() + " (" + table.columnList() + ") values (" + placeholders + ")";
+    }
+
+    // === Formats a chunk as COPY CSV: unquoted empty = NULL, every text value quoted ===
+    private static String toCsv(List<Object[]> rows) {
+        StringBuilder csv = new StringBuilder(rows.size() * 128);
+        for (Object[] row : rows) {
+            for (int i = 0; i < row.length; i++) {
+                if (i > 0) {
+                    csv.append(',');
+                }
+                Object value = row[i];
+                if (value == null) {
+                    continue; // NULL
+                }
+                if (value instanceof BigDecimal decimal) {
+                    csv.append(decimal.toPlainString());
+                } else if (value instanceof Number) {
+                    csv.append(value);
+                } else {
+                    csv.append('"').append(value.toString().replace("\"", "\"\"")).append('"');
+                }
+            }
+            csv.append('\n');
+        }
+        return csv.toString();
+    }
+}
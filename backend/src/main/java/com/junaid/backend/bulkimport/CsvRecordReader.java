@@ -0,0 +1,146 @@
+// ==============================================
+// File: CsvRecordReader.java
+// Role:
+//   - Reads RFC 4180 CSV: a header row with field names, then one record per row.
+//   - Supports quoted fields, escaped quotes ("") and line breaks inside quotes.
+//
+// Why it matters:
+//   - Partners usually export their loan books as CSV; this streams them without loading
+//     the file or adding a CSV library.
+//
+// Related files:
+//   - RecordReader.java (the interface)
+// ==============================================
+
+package com.junaid.backend.bulkimport; // Declares the Java package this class belongs to
+
+import java.io.IOException; // Thrown on read errors
+import java.io.Reader; // Character source
+import java.util.ArrayList; // Fields of one row
+import java.util.HashMap; // Record map
+import java.util.List; // Fields of one row
+import java.util.Map; // Record map
+
+public class CsvRecordReader implements RecordReader {
+
+    private final Reader reader; // Buffered character source
+    private List<String> header; // Field names from the first row
+    private long line = 1; // Line the reader is currently on
+    private long recordLine; // Line where the last record started
+    private int pushedBack = -2; // One character of look-ahead (-2 = empty)
+
+    public CsvRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public Map<String, String> next() throws IOException {
+        if (header == null) {
+            header = readRow();
+            if (header == null) {
+                return null; // Empty input
+            }
+        }
+
+        List<String> row;
+        do {
+            row = readRow();
+            if (row == null) {
+                return null; // End of input
+            }
+        } while (row.size() == 1 && row.get(0) == null); // Skip blank lines
+
+        if (row.size() != header.size()) {
+            throw new MalformedRecordException("Expected " + header.size() + " fields but found " + row.size());
+        }
+        Map<String, String> record = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            record.put(header.get(i), row.get(i));
+        }
+        return record;
+    }
+
+    @Override
+    public long lineNumber() {
+        return recordLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    // === Reads one row; empty unquoted fields become null. Returns null at end of input ===
+    private List<String> readRow() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        recordLine = line;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false; // Inside a quoted section
+        boolean wasQuoted = false; // Field had quotes (so "" is an empty string, not null)
+
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new MalformedRecordException("Unterminated quoted field");
+                }
+                if (c == '"') {
+                    int nextChar = read();
+                    if (nextChar == '"') {
+                        field.append('"'); // Escaped quote
+                    } else {
+                        quoted = false; // Closing quote
+                        c = nextChar;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+                wasQuoted = true;
+            } else if (c == ',' || c == '\n' || c == '\r' || c == -1) {
+                fields.add(field.length() == 0 && !wasQuoted ? null : field.toString());
+                field.setLength(0);
+                wasQuoted = false;
+                if (c == ',') {
+                    c = read();
+                    continue;
+                }
+                if (c == '\r') {
+                    int nextChar = read();
+                    if (nextChar != '\n') {
+                        unread(nextChar); // Bare CR line ending
+                    }
+                }
+                if (c != -1) {
+                    line++;
+                }
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != -2) {
+            int c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private void unread(int c) {
+        pushedBack = c;
+    }
+}
@@ -0,0 +1,16 @@
+// ==============================================
+// File: ImportFormat.java
+// Role:
+//   - Input formats accepted by the bulk import endpoints.
+//
+// Related files:
+//   - AdminImportController.java (picks the format from Content-Type or ?format=)
+//   - CsvRecordReader.java, NdjsonRecordReader.java (one reader per format)
+// ==============================================
+
+package com.junaid.backend.bulkimport; // Declares the Java package this enum belongs to
+
+public enum ImportFormat {
+    NDJSON, // One JSON object per line (application/x-ndjson)
+    CSV     // Header row + comma-separated records (text/csv)
+}
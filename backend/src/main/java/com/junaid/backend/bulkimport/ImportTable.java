@@ -0,0 +1,162 @@
+// ==============================================
+// File: ImportTable.java
+// Role:
+//   - Describes one import target: the table, its columns, and how to turn raw record
+//     fields into validated column values.
+//   - Defines the two supported targets: users and loan applications.
+//
+// Why it matters:
+//   - Every row is validated in Java before it reaches the database, so bad rows are
+//     reported with a precise reason. Each chunk then goes to the database in one fast
+//     COPY or JDBC batch.
+//
+// Field names:
+//   - The same names the JSON API uses (username, firstName, dob, loanType, ...).
+//
+// Related files:
+//   - BulkImportService.java (uses the column list and converters)
+// ==============================================
+
+package com.junaid.backend.bulkimport; // Declares the Java package this class belongs to
+
+import com.junaid.backend.entity.LoanStatus; // Valid loan statuses
+
+import java.math.BigDecimal; // Annual income
+import java.time.LocalDate; // Date of birth
+import java.time.format.DateTimeParseException; // Invalid dates
+import java.util.List; // Column list
+import java.util.Locale; // Upper-casing status values
+import java.util.Map; // One raw record
+import java.util.function.Function; // Value converters
+
+public record ImportTable(String name, List<Column> columns) {
+
+    /**
+     * @param column    database column name
+     * @param field     field name in the input record
+     * @param required  whether a value must be present
+     * @param converter turns the raw text into the JDBC value (throws MalformedRecordException when invalid)
+     */
+    public record Column(String column, String field, boolean required, Function<String, Object> converter) { }
+
+    // === users table (passwords are hashed by the importer when they are not BCrypt hashes already) ===
+    public static final ImportTable USERS = new ImportTable("users", List.of(
+            text("username", "username", true),
+            text("password", "password", true),
+            text("first_name", "firstName", true),
+            text("middle_name", "middleName", false),
+            text("last_name", "lastName", true),
+            text("contact_number", "contactNumber", true),
+            text("email", "email", true),
+            text("address", "address", true),
+            new Column("date_of_birth", "dob", true, ImportTable::date),
+            text("id_type", "idType", true),
+            text("id_number", "idNumber", true),
+            text("employment_status", "employmentStatus", true),
+            new Column("annual_income", "annualIncome", false, ImportTable::decimal)
+    ));
+
+    // === loan_applications table (historical loans keep their status; PENDING ones are decided on next startup) ===
+    public static final ImportTable LOANS = new ImportTable("loan_applications", List.of(
+            text("username", "username", true),
+            text("name_of_applicant", "nameOfApplicant", true),
+            text("loan_type", "loanType", true),
+            new Column("amount", "amount", true, value -> positive(doubleValue(value), "amount")),
+            new Column("tenure", "tenure", true, value -> positive(intValue(value), "tenure")),
+            new Column("interest_rate", "interestRate", true, ImportTable::doubleValue),
+            new Column("status", "status", false, ImportTable::status),
+            new Column("credit_score", "creditScore", false, ImportTable::intValue),
+            text("decision_message", "decisionMessage", false)
+    ));
+
+    // === Converts one raw record into column values (same order as columns()) ===
+    public Object[] toRow(Map<String, String> record) {
+        Object[] row = new Object[columns.size()];
+        for (int i = 0; i < row.length; i++) {
+            Column column = columns.get(i);
+            String raw = record.get(column.field());
+            if (raw == null || raw.isBlank()) {
+                if (column.required()) {
+                    throw new MalformedRecordException("Missing required field '" + column.field() + "'");
+                }
+                row[i] = null;
+            } else {
+                row[i] = column.converter().apply(raw.trim());
+            }
+        }
+        return row;
+    }
+
+    // === Index of a column in toRow() output ===
+    public int indexOf(String columnName) {
+        for (int i = 0; i < columns.size(); i++) {
+            if (columns.get(i).column().equals(columnName)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Unknown column " + columnName);
+    }
+
+    // === Comma-separated column list for SQL ===
+    public String columnList() {
+        StringBuilder sql = new StringBuilder();
+        for (Column column : columns) {
+            if (!sql.isEmpty()) {
+                sql.append(", ");
+            }
+            sql.append(column.column());
+        }
+        return sql.toString();
+    }
+
+    private static Column text(String column, String field, boolean required) {
+        return new Column(column, field, required, value -> value);
+    }
+
+    private static Object date(String value) {
+        try {
+            return LocalDate.parse(value); // ISO-8601, e.g. 1990-04-23
+        } catch (DateTimeParseException e) {
+            throw new MalformedRecordException("Invalid date '" + value + "' (expected yyyy-MM-dd)");
+        }
+    }
+
+    private static Object decimal(String value) {
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw new MalformedRecordException("Invalid number '" + value + "'");
+        }
+    }
+
+    private static double doubleValue(String value) {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new MalformedRecordException("Invalid number '" + value + "'");
+        }
+    }
+
+    private static int intValue(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new MalformedRecordException("Invalid integer '" + value + "'");
+        }
+    }
+
+    private static <N extends Number> N positive(N number, String field) {
+        if (number.doubleValue() <= 0) {
+            throw new MalformedRecordException("'" + field + "' must be greater than zero");
+        }
+        return number;
+    }
+
+    private static Object status(String value) {
+        try {
+            return LoanStatus.valueOf(value.toUpperCase(Locale.ROOT)).name();
+        } catch (IllegalArgumentException e) {
+            throw new MalformedRecordException("Invalid status '" + value + "'");
+        }
+    }
+}
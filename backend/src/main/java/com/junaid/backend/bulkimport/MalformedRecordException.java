@@ -0,0 +1,21 @@
+// ==============================================
+// File: MalformedRecordException.java
+// Role:
+//   - Signals that one input record could not be parsed or validated.
+//
+// Why it matters:
+//   - A bad row is reported and skipped; it never aborts the rest of the import.
+//
+// Related files:
+//   - RecordReader.java, ImportTable.java (throw it)
+//   - BulkImportService.java (turns it into a rejected-row entry)
+// ==============================================
+
+package com.junaid.backend.bulkimport; // Declares the Java package this class belongs to
+
+public class MalformedRecordException extends RuntimeException {
+
+    public MalformedRecordException(String message) {
+        super(message);
+    }
+}
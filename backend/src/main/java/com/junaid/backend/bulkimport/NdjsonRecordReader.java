@@ -0,0 +1,79 @@
+// ==============================================
+// File: NdjsonRecordReader.java
+// Role:
+//   - Reads newline-delimited JSON: one flat JSON object per line.
+//
+// Why it matters:
+//   - Lines are parsed one at a time, so memory use does not depend on the file size.
+//
+// Dependencies:
+//   - Jackson ObjectMapper (parses each line)
+//
+// Related files:
+//   - RecordReader.java (the interface)
+// ==============================================
+
+package com.junaid.backend.bulkimport; // Declares the Java package this class belongs to
+
+import com.fasterxml.jackson.core.JsonProcessingException; // Invalid JSON on a line
+import com.fasterxml.jackson.databind.JsonNode; // Parsed line
+import com.fasterxml.jackson.databind.ObjectMapper; // JSON parser
+
+import java.io.BufferedReader; // Line-oriented reading
+import java.io.IOException; // Thrown on read errors
+import java.util.HashMap; // Record map
+import java.util.Iterator; // Walks the object's fields
+import java.util.Map; // Record map
+
+public class NdjsonRecordReader implements RecordReader {
+
+    private final BufferedReader reader; // Source lines
+    private final ObjectMapper objectMapper; // Shared, thread-safe parser
+    private long lineNumber; // Current line (1-based)
+
+    public NdjsonRecordReader(BufferedReader reader, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Map<String, String> next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null; // End of input
+            }
+            lineNumber++;
+        } while (line.isBlank()); // Blank lines are allowed between records
+
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (JsonProcessingException e) {
+            throw new MalformedRecordException("Invalid JSON: " + e.getOriginalMessage());
+        }
+        if (node == null || !node.isObject()) {
+            throw new MalformedRecordException("Each line must be a JSON object");
+        }
+
+        Map<String, String> record = new HashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode value = field.getValue();
+            record.put(field.getKey(), value.isNull() ? null : value.asText()); // Numbers and booleans become text
+        }
+        return record;
+    }
+
+    @Override
+    public long lineNumber() {
+        return lineNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
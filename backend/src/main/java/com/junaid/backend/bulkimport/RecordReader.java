@@ -0,0 +1,34 @@
+// ==============================================
+// File: RecordReader.java
+// Role:
+//   - Streams import records one at a time as field-name -> value maps.
+//
+// Why it matters:
+//   - Files can be far larger than the heap, so a reader keeps only one record in memory.
+//   - The importer does not care whether the input was CSV or NDJSON.
+//
+// Related files:
+//   - CsvRecordReader.java, NdjsonRecordReader.java (implementations)
+//   - BulkImportService.java (consumer)
+// ==============================================
+
+package com.junaid.backend.bulkimport; // Declares the Java package this interface belongs to
+
+import java.io.Closeable; // Readers wrap the request stream
+import java.io.IOException; // Thrown on unreadable input
+import java.util.Map; // One record
+
+public interface RecordReader extends Closeable {
+
+    /**
+     * @return the next record (field name -> raw value, null for missing/empty values), or null at end of input
+     * @throws IOException           if the stream cannot be read
+     * @throws MalformedRecordException if the current record cannot be parsed (the reader stays usable)
+     */
+    Map<String, String> next() throws IOException;
+
+    /**
+     * @return the 1-based line number where the last returned record started (used in rejection reports)
+     */
+    long lineNumber();
+}
@@ -0,0 +1,89 @@
+// ==============================================
+// File: ReadWriteRoutingConfig.java
+// Role:
+//   - When app.datasource.routing.enabled=true, replaces the single auto-configured
+//     DataSource with two Hikari pools (primary + replica) behind a read/write router.
+//
+// Why it matters:
+//   - Read traffic (my-applications, status polling) is ~10x the write traffic. Read-only
+//     transactions can now be served by a replica, and the primary keeps its capacity for writes.
+//
+// Dependencies:
+//   - spring.datasource.*                 -> primary (unchanged settings)
+//   - app.datasource.replica.*            -> replica url / credentials / pool settings
+//   - ReplicaLagMonitor, ReadYourWritesTracker, ReadWriteRoutingDataSource
+//
+// Related files:
+//   - application-replica-local.properties (two embedded H2 databases for local testing)
+//   - LocalReplicaLinker.java (fills the local replica)
+// ==============================================
+
+package com.junaid.backend.config; // Package declaration for namespace grouping
+
+import com.junaid.backend.datasource.ReadWriteRoutingDataSource; // Picks primary or replica per connection
+import com.junaid.backend.datasource.ReadYourWritesTracker; // Keeps recent writers on the primary
+import com.junaid.backend.datasource.ReplicaLagMonitor; // Takes a lagging replica out of rotation
+
+import com.zaxxer.hikari.HikariDataSource; // Connection pools
+import io.micrometer.core.instrument.MeterRegistry; // Routing metrics
+import org.springframework.beans.factory.annotation.Qualifier; // Selects a specific pool
+import org.springframework.beans.factory.annotation.Value; // Injects configuration
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty; // Only when routing is enabled
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties; // spring.datasource.* settings
+import org.springframework.boot.context.properties.ConfigurationProperties; // Binds Hikari settings onto each pool
+import org.springframework.context.annotation.Bean; // Marks a method as a Spring bean
+import org.springframework.context.annotation.Configuration; // Declares this class as a Spring configuration
+import org.springframework.context.annotation.Primary; // The router is the DataSource everyone else gets
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy; // Defers routing until the first statement
+
+import javax.sql.DataSource; // JDBC DataSource
+import java.util.Map; // Routing targets
+
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.routing.enabled", havingValue = "true")
+public class ReadWriteRoutingConfig {
+
+    @Bean // Primary pool, configured exactly like the single pool was (spring.datasource.*)
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        pool.setPoolName("primary");
+        return pool;
+    }
+
+    @Bean // Replica pool (read-only connections)
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(@Value("${app.datasource.replica.url}") String url,
+                                              @Value("${app.datasource.replica.username:}") String username,
+                                              @Value("${app.datasource.replica.password:}") String password) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl(url);
+        pool.setUsername(username);
+        pool.setPassword(password);
+        pool.setReadOnly(true); // The database rejects accidental writes
+        pool.setPoolName("replica");
+        return pool;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replica,
+                                               @Value("${app.datasource.replica.lagQuery:}") String lagQuery,
+                                               @Value("${app.datasource.replica.maxLagMs:5000}") long maxLagMs) {
+        return new ReplicaLagMonitor(replica, lagQuery, maxLagMs);
+    }
+
+    @Bean
+    @Primary // Used by JPA, JdbcTemplate, the bulk importer, ...
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReplicaLagMonitor lagMonitor, ReadYourWritesTracker writeTracker,
+                                 MeterRegistry registry) {
+        ReadWriteRoutingDataSource router = new ReadWriteRoutingDataSource(lagMonitor, writeTracker, registry);
+        router.setTargetDataSources(Map.of(
+                ReadWriteRoutingDataSource.Target.PRIMARY, primary,
+                ReadWriteRoutingDataSource.Target.REPLICA, replica));
+        router.setDefaultTargetDataSource(primary);
+        router.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(router); // Route only once the transaction's read-only flag is known
+    }
+}
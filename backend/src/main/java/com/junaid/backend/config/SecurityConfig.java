@@ -16,9 +16,13 @@
 //   - SecurityFilterChain to define request-level security rules.
 //   - DaoAuthenticationProvider + BCryptPasswordEncoder for user authentication.
 //   - JwtRequestFilter to read JWTs from requests.
+//   - RateLimitFilter to refuse floods of logins and loan applications before any JWT or BCrypt work.
+//   - IdempotencyFilter to replay retried loan applications and registrations (Idempotency-Key).
 //
 // Related files:
 //   - JwtRequestFilter.java (the filter that checks tokens)
+//   - RateLimitFilter.java (per-client token buckets, runs just before JwtRequestFilter)
+//   - IdempotencyFilter.java (Idempotency-Key handling, runs just after JwtRequestFilter)
 //   - MyUserDetailsService.java (loads user credentials)
 //   - AuthController.java (provides /authenticate endpoint to get token)
 // ==============================================
@@ -26,8 +30,15 @@
 
 package com.junaid.backend.config; // Package declaration for namespace grouping
 
+import com.junaid.backend.filter.IdempotencyFilter; // Idempotency-Key replay for apply-loan / register
 import com.junaid.backend.filter.JwtRequestFilter; // Import custom JWT filter class
+import com.junaid.backend.filter.RateLimitFilter; // Token-bucket limits for authenticate / apply-loan
 import com.junaid.backend.service.MyUserDetailsService; // Import custom user service
+import com.junaid.backend.service.PasswordHashingExecutor; // Bounded pool that runs BCrypt
+import com.junaid.backend.util.BoundedPasswordEncoder; // BCrypt on the hashing pool
+import jakarta.servlet.DispatcherType; // Error dispatches (e.g. a ResponseStatusException rendered by /error)
+import org.springframework.beans.factory.annotation.Value; // Injects BCrypt settings
+import org.springframework.boot.web.servlet.FilterRegistrationBean; // Keeps the rate limiter out of the plain servlet chain
 import org.springframework.context.annotation.Bean; // Marks a method as a Spring bean
 import org.springframework.context.annotation.Configuration; // Declares this class as a Spring configuration
 import org.springframework.http.HttpMethod; // Enum to define HTTP methods like POST/GET
@@ -40,7 +51,6 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity; // Enables Spring Security for web
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer; // Used to disable CSRF
 import org.springframework.security.config.http.SessionCreationPolicy; // Controls how sessions are created
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder; // Provides password hashing
 import org.springframework.security.crypto.password.PasswordEncoder; // Interface for password encoding
 import org.springframework.security.web.SecurityFilterChain; // Defines the filter chain logic
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter; // Adds filters before/after login
@@ -57,16 +67,23 @@ public class SecurityConfig { // Security configuration class
 
     private final MyUserDetailsService userDetailsService; // Inject custom user detail service
     private final JwtRequestFilter jwtRequestFilter; // Inject JWT request filter
+    private final RateLimitFilter rateLimitFilter; // Inject rate limit filter
+    private final IdempotencyFilter idempotencyFilter; // Inject idempotency filter
 
     // Constructor-based dependency injection
     public SecurityConfig(MyUserDetailsService userDetailsService,
-                          JwtRequestFilter jwtRequestFilter) {
+                          JwtRequestFilter jwtRequestFilter,
+                          RateLimitFilter rateLimitFilter,
+                          IdempotencyFilter idempotencyFilter) {
         this.userDetailsService = userDetailsService;
         this.jwtRequestFilter = jwtRequestFilter;
+        this.rateLimitFilter = rateLimitFilter;
+        this.idempotencyFilter = idempotencyFilter;
     }
 
     @Bean // Marks this method as a Spring-managed bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   DaoAuthenticationProvider authenticationProvider) throws Exception {
         http
                 .cors(Customizer.withDefaults()) // Enable CORS using our settings
                 .csrf(AbstractHttpConfigurer::disable) // Disable CSRF (we’re using JWT, not cookies)
@@ -75,28 +92,59 @@ public class SecurityConfig { // Security configuration class
                                 HttpMethod.POST,
                                 "/api/register",
                                 "/api/authenticate",
+                                "/api/refresh",
                                 "/api/login"
                         ).permitAll() // Allow open access to these endpoints
+                        .requestMatchers(HttpMethod.GET, "/api/register/availability").permitAll() // Live signup validation
+                        .requestMatchers(HttpMethod.GET, "/.well-known/jwks.json").permitAll() // Public keys for offline token verification
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll() // Allow pre-flight CORS
+                        .dispatcherTypeMatchers(DispatcherType.ERROR).permitAll() // Let 4xx/5xx from controllers reach the client instead of becoming 403
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll() // Completion of an already-authorized event stream (no JWT on re-dispatch)
+                        .requestMatchers(HttpMethod.GET, "/actuator/health").permitAll() // Liveness/readiness probes
+                        .requestMatchers("/actuator/**").hasRole("ADMIN") // Metrics (including the Prometheus scrape) and other actuator endpoints are admin-only
+                        .requestMatchers("/api/admin/**").hasRole("ADMIN") // Bulk import and other admin tools
                         .anyRequest().authenticated() // All other requests require authentication
                 )
                 .sessionManagement(sm -> sm
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS) // Do not use session — use JWT
                 )
-                .authenticationProvider(authenticationProvider()) // Hook up custom user service
+                .authenticationProvider(authenticationProvider) // Hook up custom user service
                 .addFilterBefore(
                         jwtRequestFilter, // Add our custom JWT filter
                         UsernamePasswordAuthenticationFilter.class // Place it before Spring's default login filter
+                )
+                .addFilterBefore(
+                        rateLimitFilter, // Refuse floods first (429 + Retry-After)
+                        JwtRequestFilter.class // Before any token is verified or password hashed
+                )
+                .addFilterAfter(
+                        idempotencyFilter, // Replays retried requests (Idempotency-Key)
+                        JwtRequestFilter.class // After the caller is known (keys are per user); rate-limited requests never claim a key
                 );
 
         return http.build(); // Return the security chain
     }
 
+    @Bean // Spring Boot would also register the filter bean with the servlet container; it belongs in the security chain only
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration() {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(rateLimitFilter);
+        registration.setEnabled(false); // Runs once, at its place in securityFilterChain
+        return registration;
+    }
+
+    @Bean // Same as above: the idempotency filter only runs inside the security chain
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilterRegistration() {
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(idempotencyFilter);
+        registration.setEnabled(false); // Runs once, at its place in securityFilterChain
+        return registration;
+    }
+
     @Bean // Create a DAO-based authentication provider bean
-    public DaoAuthenticationProvider authenticationProvider() {
+    public DaoAuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         var provider = new DaoAuthenticationProvider(); // Instance of authentication provider
         provider.setUserDetailsService(userDetailsService); // Use our user lookup logic
-        provider.setPasswordEncoder(passwordEncoder()); // Use BCrypt encoder
+        provider.setPasswordEncoder(passwordEncoder); // Use BCrypt encoder
+        provider.setUserDetailsPasswordService(userDetailsService); // Re-hash outdated hashes on successful login
         return provider; // Return configured provider
     }
 
@@ -106,8 +154,14 @@ public class SecurityConfig { // Security configuration class
     }
 
     @Bean // Create a bean for encoding passwords
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(); // Use BCrypt algorithm
+    public PasswordEncoder passwordEncoder(PasswordHashingExecutor hashingExecutor,
+                                           @Value("${security.bcrypt.strength:0}") int strength,
+                                           @Value("${security.bcrypt.targetMs:100}") long targetMs,
+                                           @Value("${security.bcrypt.minStrength:10}") int minStrength,
+                                           @Value("${security.bcrypt.maxStrength:14}") int maxStrength) {
+        int cost = strength > 0 ? strength // Fixed cost from configuration
+                : BoundedPasswordEncoder.calibrate(targetMs, minStrength, maxStrength); // Fit the target latency on this machine
+        return new BoundedPasswordEncoder(cost, hashingExecutor); // Use BCrypt algorithm on the bounded hashing pool
     }
 
     @Bean // Create a CORS configuration source bean
@@ -115,7 +169,8 @@ public class SecurityConfig { // Security configuration class
         var cors = new CorsConfiguration(); // New CORS config
         cors.setAllowedOrigins(List.of("http://localhost:3000")); // Allow frontend origin
         cors.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS")); // Allowed HTTP methods
-        cors.setAllowedHeaders(List.of("Authorization", "Content-Type")); // Allowed headers
+        cors.setAllowedHeaders(List.of("Authorization", "Content-Type", "Idempotency-Key")); // Allowed headers
+        cors.setExposedHeaders(List.of("X-Next-Cursor", "Location", "Retry-After", "Idempotent-Replayed")); // Let the frontend read the paging cursor, status URL, retry hint and replay marker
         cors.setAllowCredentials(true); // Allow sending cookies/auth headers
 
         var source = new UrlBasedCorsConfigurationSource(); // URL mapping config
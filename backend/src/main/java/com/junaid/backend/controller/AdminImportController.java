@@ -0,0 +1,63 @@
+// ==============================================
+// File: AdminImportController.java
+// Role:
+//   - Admin endpoints that bulk-import users and loan applications from NDJSON or CSV.
+//   - The request body is streamed straight into BulkImportService — never buffered whole.
+//
+// Why it matters:
+//   - Onboarding a partner's historical loan book through the regular API meant one
+//     request and one INSERT per row. Here rows go in chunks, with a report of rejected rows.
+//
+// Usage:
+//   curl -X POST -H "Authorization: Bearer <admin jwt>" -H "Content-Type: text/csv" \
+//        --data-binary @loans.csv http://localhost:8080/api/admin/import/loans
+//
+// Dependencies:
+//   - BulkImportService (parsing, validation, chunked inserts)
+//
+// Related files:
+//   - SecurityConfig.java (restricts /api/admin/** to ROLE_ADMIN)
+//   - MyUserDetailsService.java (grants ROLE_ADMIN to app.admin.usernames)
+// ==============================================
+
+package com.junaid.backend.controller; // Declares the Java package this class belongs to
+
+import com.junaid.backend.bulkimport.BulkImportService; // Streams records into the database
+import com.junaid.backend.bulkimport.ImportFormat; // NDJSON or CSV
+import com.junaid.backend.model.ImportReport; // Import result
+
+import jakarta.servlet.http.HttpServletRequest; // Raw request, read as a stream
+import org.springframework.beans.factory.annotation.Autowired; // Lets Spring inject dependencies automatically
+import org.springframework.http.ResponseEntity; // Used to build structured HTTP responses
+import org.springframework.web.bind.annotation.*; // REST API annotations
+
+import java.io.IOException; // Thrown if the request body cannot be read
+
+@RestController // Declares this class as a REST API controller
+@RequestMapping("/api/admin/import") // All endpoints here are admin-only (see SecurityConfig)
+public class AdminImportController {
+
+    @Autowired // Spring injects the import service here
+    private BulkImportService bulkImportService;
+
+    @PostMapping("/users") // Body: NDJSON or CSV with the same field names as /api/register
+    public ResponseEntity<ImportReport> importUsers(HttpServletRequest request,
+                                                    @RequestParam(required = false) ImportFormat format) throws IOException {
+        return ResponseEntity.ok(bulkImportService.importUsers(request.getInputStream(), resolveFormat(request, format)));
+    }
+
+    @PostMapping("/loans") // Body: NDJSON or CSV with loan application fields (plus optional status/creditScore)
+    public ResponseEntity<ImportReport> importLoans(HttpServletRequest request,
+                                                    @RequestParam(required = false) ImportFormat format) throws IOException {
+        return ResponseEntity.ok(bulkImportService.importLoans(request.getInputStream(), resolveFormat(request, format)));
+    }
+
+    // ?format= wins; otherwise text/csv means CSV and anything else is treated as NDJSON
+    private static ImportFormat resolveFormat(HttpServletRequest request, ImportFormat format) {
+        if (format != null) {
+            return format;
+        }
+        String contentType = request.getContentType();
+        return contentType != null && contentType.toLowerCase().contains("csv") ? ImportFormat.CSV : ImportFormat.NDJSON;
+    }
+}
@@ -0,0 +1,116 @@
+// ==============================================
+// File: AmortizationController.java
+// Role:
+//   - Repayment quotes: the full installment schedule for a loan (or a hypothetical one)
+//     and what-if grids comparing many rates and tenures at once.
+//
+// Why it matters:
+//   - Schedules are streamed as JSON while they are computed, so a 50-year schedule never
+//     exists as a list of objects in memory.
+//   - What-if grids are evaluated in parallel by the AmortizationEngine.
+//
+// Usage:
+//   GET  /api/amortization/schedule?amount=250000&rate=8.5&tenure=240
+//   GET  /api/loans/{id}/schedule                    (one of the caller's applications)
+//   POST /api/amortization/what-if  {"amount":250000,"rates":[8,8.5,9],"tenures":[120,180,240]}
+//
+// Dependencies:
+//   - AmortizationEngine (EMI math, schedules, parallel what-if)
+//   - LoanService (ownership check for stored applications)
+//
+// Related files:
+//   - WhatIfRequest.java / WhatIfQuotes.java (what-if body and response)
+// ==============================================
+
+package com.junaid.backend.controller; // Declares the Java package this class belongs to
+
+import com.fasterxml.jackson.core.JsonGenerator; // Writes the schedule incrementally
+import com.fasterxml.jackson.databind.ObjectMapper; // Source of the JSON factory
+import com.junaid.backend.amortization.AmortizationEngine; // EMI and schedule math
+import com.junaid.backend.entity.LoanApplication; // Stored application to quote
+import com.junaid.backend.model.WhatIfQuotes; // What-if response
+import com.junaid.backend.model.WhatIfRequest; // What-if body
+import com.junaid.backend.service.LoanService; // Ownership-checked lookup
+
+import jakarta.servlet.http.HttpServletResponse; // Streamed response
+import org.springframework.beans.factory.annotation.Autowired; // Lets Spring inject dependencies automatically
+import org.springframework.http.MediaType; // JSON content type
+import org.springframework.http.ResponseEntity; // Used to build structured HTTP responses
+import org.springframework.web.bind.annotation.*; // REST API annotations
+
+import java.io.IOException; // Thrown if the client goes away mid-stream
+import java.io.UncheckedIOException; // Carries IOException out of the installment callback
+import java.security.Principal; // Current user
+
+@RestController // Declares this class as a REST API controller
+@RequestMapping("/api") // All endpoints here will be under /api
+@CrossOrigin(origins = "http://localhost:3000") // Allows frontend at this origin to access this controller
+public class AmortizationController {
+
+    @Autowired // Spring injects the engine here
+    private AmortizationEngine amortizationEngine;
+
+    @Autowired // Spring injects the loan service here
+    private LoanService loanService;
+
+    @Autowired // Spring injects Jackson here
+    private ObjectMapper objectMapper;
+
+    @GetMapping("/amortization/schedule") // Quote for a loan that hasn't been applied for yet
+    public void schedule(@RequestParam double amount, @RequestParam double rate, @RequestParam int tenure,
+                         HttpServletResponse response) throws IOException {
+        amortizationEngine.validate(amount, rate, tenure);
+        writeSchedule(response, amount, rate, tenure);
+    }
+
+    @GetMapping("/loans/{id}/schedule") // Schedule of one of the caller's applications
+    public void loanSchedule(@PathVariable Long id, Principal principal, HttpServletResponse response) throws IOException {
+        LoanApplication loan = loanService.getOwnedApplication(id, principal.getName()); // 404 unless it is the caller's loan
+        amortizationEngine.validate(loan.getAmount(), loan.getInterestRate(), loan.getTenure());
+        writeSchedule(response, loan.getAmount(), loan.getInterestRate(), loan.getTenure());
+    }
+
+    @PostMapping("/amortization/what-if") // EMI and totals for every rate × tenure combination
+    public ResponseEntity<WhatIfQuotes> whatIf(@RequestBody WhatIfRequest request) {
+        return ResponseEntity.ok(amortizationEngine.whatIf(request.amount(), request.rates(), request.tenures()));
+    }
+
+    // Writes {"amount", "annualRate", "tenure", "emi", "totalInterest", "totalPayment", "installments": [...]}
+    // Totals come from a first allocation-free pass; the second pass streams each row as it is computed.
+    private void writeSchedule(HttpServletResponse response, double amount, double rate, int tenure) throws IOException {
+        long principalCents = AmortizationEngine.toCents(amount);
+        long emiCents = AmortizationEngine.emiCents(principalCents, rate, tenure);
+        long totalInterestCents = AmortizationEngine.amortize(principalCents, rate, tenure, null);
+
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            json.writeStartObject();
+            json.writeNumberField("amount", AmortizationEngine.toAmount(principalCents));
+            json.writeNumberField("annualRate", rate);
+            json.writeNumberField("tenure", tenure);
+            json.writeNumberField("emi", AmortizationEngine.toAmount(emiCents));
+            json.writeNumberField("totalInterest", AmortizationEngine.toAmount(totalInterestCents));
+            json.writeNumberField("totalPayment", AmortizationEngine.toAmount(principalCents + totalInterestCents));
+            json.writeArrayFieldStart("installments");
+            try {
+                AmortizationEngine.amortize(principalCents, rate, tenure, (month, payment, principal, interest, balance) -> {
+                    try {
+                        json.writeStartObject();
+                        json.writeNumberField("month", month);
+                        json.writeNumberField("payment", AmortizationEngine.toAmount(payment));
+                        json.writeNumberField("principal", AmortizationEngine.toAmount(principal));
+                        json.writeNumberField("interest", AmortizationEngine.toAmount(interest));
+                        json.writeNumberField("balance", AmortizationEngine.toAmount(balance));
+                        json.writeEndObject();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause(); // Client disconnected
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+    }
+}
@@ -2,7 +2,10 @@
 // File: AuthController.java
 // Role:
 //   - This controller handles login/authentication requests.
-//   - Accepts a POST request with username/password, and returns a JWT if valid.
+//   - Accepts a POST request with username/password, and returns a short-lived JWT plus a refresh token if valid.
+//   - /refresh exchanges a refresh token for a new JWT and the next refresh token (single use, rotated).
+//   - /logout revokes the current JWT and its refresh token family.
+//   - /logout-all revokes every token the current user holds (token version bump).
 //
 // Why it matters:
 //   - It connects the frontend login form with Spring Security's backend.
@@ -10,8 +13,11 @@
 //
 // Dependencies:
 //   - AuthenticationManager: checks if credentials are correct
-//   - JwtUtil: generates JWT token after login
-//   - MyUserDetailsService: loads user from DB
+//   - JwtUtil: reads the current token's ID and expiry on /logout
+//   - RefreshTokenService: issues, rotates and revokes refresh tokens (and the JWTs issued with them)
+//   - TokenRevocationService: revokes the current JWT on /logout
+//   - TokenVersionService: revokes tokens on /logout-all
+//   - LoginThrottle: refuses a client with too many recent failed logins for a username (429) before BCrypt runs
 //
 // Related files:
 //   - JwtUtil.java
@@ -21,18 +27,29 @@
 
 package com.junaid.backend.controller; // Declares the Java package this class belongs to
 
+import com.junaid.backend.metrics.RequestMetrics; // Times the authenticate stage
+import com.junaid.backend.model.AppUserDetails; // Authenticated user with ID and token version
 import com.junaid.backend.model.AuthenticationRequest; // Model class to hold login data (username, password)
 import com.junaid.backend.model.AuthenticationResponse; // Model class to return the generated JWT
-import com.junaid.backend.service.MyUserDetailsService; // Service to load user details from DB
-import com.junaid.backend.util.JwtUtil; // Utility class for JWT generation
+import com.junaid.backend.model.RefreshRequest; // Body of /refresh and /logout
+import com.junaid.backend.service.LoginThrottle; // Failed-login budget per username and client address
+import com.junaid.backend.service.RefreshTokenService; // Refresh token rotation and revocation
+import com.junaid.backend.service.TokenRevocationService; // Revokes a single JWT
+import com.junaid.backend.service.TokenVersionService; // Revokes all of a user's tokens
+import com.junaid.backend.util.JwtUtil; // Utility class for JWT parsing
+import io.jsonwebtoken.Claims; // Verified claims of the current token
+import jakarta.servlet.http.HttpServletRequest; // Client address for the login throttle
 import org.springframework.beans.factory.annotation.Autowired; // Allows Spring to inject dependencies
+import org.springframework.http.HttpHeaders; // Retry-After header name
 import org.springframework.http.ResponseEntity; // Used to return HTTP responses
 import org.springframework.security.authentication.AuthenticationManager; // Main Spring Security interface to authenticate credentials
 import org.springframework.security.authentication.BadCredentialsException; // Exception thrown when login fails
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken; // Holds the username/password for authentication
-import org.springframework.security.core.userdetails.UserDetails; // Represents user information used by Spring Security
+import org.springframework.security.core.Authentication; // Result of a successful login
 import org.springframework.web.bind.annotation.*; // Provides REST API annotations
 
+import java.security.Principal; // Currently authenticated user
+
 @RestController // Marks this class as a REST controller (returns JSON responses)
 @RequestMapping("/api") // All endpoints in this controller will start with /api
 public class AuthController { // Declares a class named AuthController
@@ -40,33 +57,81 @@ public class AuthController { // Declares a class named AuthController
     @Autowired // Injects an instance of AuthenticationManager from Spring context
     private AuthenticationManager authenticationManager; // Used to authenticate credentials
 
-    @Autowired // Injects custom user loading service
-    private MyUserDetailsService userDetailsService; // Loads user info from DB
+    @Autowired // Injects the token version registry
+    private TokenVersionService tokenVersionService; // Used to revoke tokens on /logout-all
+
+    @Autowired // Injects the pre-built stage timers
+    private RequestMetrics requestMetrics; // Records how long authenticate() takes
+
+    @Autowired // Injects the per-username failed-login limiter
+    private LoginThrottle loginThrottle; // Stops password guessing before BCrypt runs
+
+    @Autowired // Injects the refresh token service
+    private RefreshTokenService refreshTokenService; // Issues the JWT + refresh token pair
 
-    @Autowired // Injects utility to generate JWTs
-    private JwtUtil jwtUtil; // Used to generate tokens upon successful login
+    @Autowired // Injects the single-token revocation set
+    private TokenRevocationService tokenRevocationService; // Used to revoke the current JWT on /logout
+
+    @Autowired // Injects the JWT utility
+    private JwtUtil jwtUtil; // Reads the current token's claims on /logout
 
     @PostMapping("/authenticate") // Endpoint for user login, expects POST at /api/authenticate
-    public ResponseEntity<?> createAuthenticationToken(@RequestBody AuthenticationRequest authRequest) { // Declares method that handles login
+    public ResponseEntity<?> createAuthenticationToken(@RequestBody AuthenticationRequest authRequest,
+                                                       HttpServletRequest request) { // Declares method that handles login
+        final Authentication authentication;
+        String clientAddress = request.getRemoteAddr(); // Same key as RateLimitFilter (honours server.forward-headers-strategy)
+        long retryAfter = loginThrottle.retryAfterSeconds(authRequest.getUsername(), clientAddress); // Too many recent failures?
+        if (retryAfter > 0) {
+            return ResponseEntity.status(429) // Too Many Requests, without spending a BCrypt hash
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter))
+                    .body("Too many failed login attempts. Please try again later.");
+        }
+        long startNanos = System.nanoTime(); // Start of the authenticate stage (user lookup + BCrypt)
         try { // Try to validate credentials
-            authenticationManager.authenticate( // Ask Spring Security to validate credentials
+            authentication = authenticationManager.authenticate( // Ask Spring Security to validate credentials
                     new UsernamePasswordAuthenticationToken( // Wraps username and password for validation
                             authRequest.getUsername(), // Gets username from request
                             authRequest.getPassword() // Gets password from request
                     )
             );
         } catch (BadCredentialsException e) { // If credentials are invalid
+            loginThrottle.recordFailure(authRequest.getUsername(), clientAddress); // Spends one token of this client's budget for the username
             return ResponseEntity.status(401).body("Incorrect username or password"); // Return 401 Unauthorized with message
+        } finally {
+            requestMetrics.recordAuthenticate(System.nanoTime() - startNanos); // Failed logins cost the same CPU, so count them too
         }
 
-        // Load full user details by username
-        final UserDetails userDetails =
-                userDetailsService.loadUserByUsername(authRequest.getUsername());
+        // The authenticated principal was already loaded during authenticate() — no second lookup
+        final AppUserDetails userDetails = (AppUserDetails) authentication.getPrincipal();
+
+        // Generate a short-lived JWT (ID, roles and token version embedded as claims) and a refresh token
+        final AuthenticationResponse tokens = refreshTokenService.open(userDetails);
 
-        // Generate a JWT for the user
-        final String jwt = jwtUtil.generateToken(userDetails.getUsername());
+        // Return both in the response
+        return ResponseEntity.ok(tokens);
+    }
+
+    @PostMapping("/refresh") // Public: the access token may already have expired
+    public ResponseEntity<AuthenticationResponse> refresh(@RequestBody RefreshRequest request) {
+        return ResponseEntity.ok(refreshTokenService.rotate(request.getRefreshToken())); // 401 if unusable (and revokes a replayed family)
+    }
+
+    @PostMapping("/logout") // Signs out this session only; other devices stay signed in
+    public ResponseEntity<String> logout(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization,
+                                         @RequestBody(required = false) RefreshRequest request,
+                                         Principal principal) {
+        Claims claims = jwtUtil.verify(authorization.substring(7)); // Cached: the filter verified it already
+        tokenRevocationService.revoke(jwtUtil.extractTokenId(claims), claims.getExpiration().toInstant()); // This JWT stops working now
+        if (request != null) {
+            refreshTokenService.revoke(request.getRefreshToken(), principal.getName()); // And so does its refresh token family
+        }
+        return ResponseEntity.ok("Signed out");
+    }
 
-        // Return the JWT in the response
-        return ResponseEntity.ok(new AuthenticationResponse(jwt));
+    @PostMapping("/logout-all") // Revokes every token issued to the current user, on every device
+    public ResponseEntity<String> logoutEverywhere(Principal principal) {
+        tokenVersionService.revokeAll(principal.getName()); // Bumps the token version in DB and memory
+        refreshTokenService.revokeAll(principal.getName()); // No refresh token can start a new session either
+        return ResponseEntity.ok("All sessions have been signed out");
     }
 }
\ No newline at end of file
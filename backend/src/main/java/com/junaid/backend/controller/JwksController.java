@@ -0,0 +1,49 @@
+// ==============================================
+// File: JwksController.java
+// Role:
+//   - GET /.well-known/jwks.json: the public keys that verify our access tokens (JWK Set, RFC 7517).
+//
+// Why it matters:
+//   - Sibling services and other backend nodes verify tokens locally with these keys.
+//     They need no shared secret and make no call back to us per request.
+//   - Tokens name their key ("kid"), so a verifier only refetches this document when it sees a
+//     kid it does not know, typically right after a rotation.
+//
+// Usage:
+//   curl http://localhost:8080/.well-known/jwks.json
+//
+// Dependencies:
+//   - SigningKeyService (current and retired keys)
+//
+// Related files:
+//   - SecurityConfig.java (registers this endpoint as public)
+//   - JwksKeyResolver.java (the caching client side)
+// ==============================================
+
+package com.junaid.backend.controller; // Declares the Java package this class belongs to
+
+import com.junaid.backend.service.SigningKeyService; // Published keys
+
+import org.springframework.beans.factory.annotation.Autowired; // Lets Spring inject dependencies automatically
+import org.springframework.http.CacheControl; // Lets verifiers and proxies cache the key set briefly
+import org.springframework.http.ResponseEntity; // Used to build structured HTTP responses
+import org.springframework.web.bind.annotation.GetMapping; // Maps GET requests
+import org.springframework.web.bind.annotation.RestController; // Declares this class as a REST API controller
+
+import java.util.List; // JWK list
+import java.util.Map; // JWK Set document
+import java.util.concurrent.TimeUnit; // Cache lifetime
+
+@RestController // Declares this class as a REST API controller
+public class JwksController {
+
+    @Autowired // Spring injects the key service here
+    private SigningKeyService signingKeyService;
+
+    @GetMapping("/.well-known/jwks.json") // Standard location for an issuer's keys
+    public ResponseEntity<Map<String, List<Map<String, Object>>>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic()) // New kids are fetched on demand anyway
+                .body(Map.of("keys", signingKeyService.jwks()));
+    }
+}
@@ -3,6 +3,10 @@
 // Role:
 //   - Exposes endpoints for submitting and viewing loan applications.
 //   - Handles file uploads and links loan data to the logged-in user.
+//   - Accepts applications with 202 + a status URL; decisions are made asynchronously.
+//   - Lists applications as keyset-paginated summaries (no document data).
+//   - Streams supporting documents back to their owner on demand.
+//   - Status and listing responses carry strong ETags; unchanged polls get 304 without a query.
 //
 // Why it matters:
 //   - This is the core controller for loan-related actions in your app.
@@ -18,21 +22,40 @@
 //   - LoanApplication.java (Entity)
 //   - LoanService.java (Service logic)
 //   - LoanRepository.java (Database access)
+//   - DocumentStore.java (Document storage)
 // ==============================================
 
 package com.junaid.backend.controller; // Declares the Java package this class belongs to
 
 import com.fasterxml.jackson.module.paramnames.ParameterNamesModule; // Used by Jackson to deserialize constructor arguments
+import com.junaid.backend.entity.DocumentBlob; // Encoding and sizes of a stored document
 import com.junaid.backend.entity.LoanApplication; // Imports the loan entity class
+import com.junaid.backend.model.LoanApplicationSummary; // Document-free view returned by listings
+import com.junaid.backend.model.LoanStatusResponse; // Decision status returned to pollers
+import com.junaid.backend.service.DocumentIngestionService; // Metadata of stored documents
 import com.junaid.backend.service.LoanService; // Business logic for loans
+import com.junaid.backend.service.UserDataVersions; // Per-user versions behind the ETags
+import com.junaid.backend.storage.DocumentStore; // Reads stored supporting documents
 
+import jakarta.servlet.http.HttpServletRequest; // Reads Accept-Encoding for document downloads
+import jakarta.servlet.http.HttpServletResponse; // Raw response, used to stream documents
 import org.springframework.beans.factory.annotation.Autowired; // Allows Spring to inject dependencies automatically
+import org.springframework.beans.factory.annotation.Value; // Injects configuration
+import org.springframework.http.CacheControl; // Tells browsers to revalidate with If-None-Match
+import org.springframework.http.ContentDisposition; // Builds the Content-Disposition download header
+import org.springframework.http.HttpHeaders; // Standard HTTP header names
+import org.springframework.http.HttpStatus; // HTTP status codes
 import org.springframework.http.ResponseEntity; // Used to build API responses
 import org.springframework.web.bind.annotation.*; // REST controller annotations (e.g., @PostMapping, @GetMapping)
+import org.springframework.web.context.request.WebRequest; // If-None-Match handling (checkNotModified)
 import org.springframework.web.multipart.MultipartFile; // Handles file upload from frontend
 import org.springframework.http.MediaType; // Specifies media type for file upload requests
+import org.springframework.web.server.ResponseStatusException; // Used to return HTTP errors
 
 import java.io.IOException; // Handles IO exceptions (e.g., from file reading)
+import java.net.URI; // Location header of the status endpoint
+import java.nio.channels.Channels; // Wraps the response stream as a channel
+import java.nio.charset.StandardCharsets; // Encodes the download file name
 import java.security.Principal; // Represents the currently authenticated user
 import java.util.List; // Java List collection
 
@@ -40,37 +63,172 @@ import java.util.List; // Java List collection
 @RequestMapping("/api") // All routes in this class will be prefixed with /api
 public class LoanController { // Defines the controller class
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor"; // Response header carrying the keyset cursor
+    private static final int DEFAULT_PAGE_SIZE = 20; // Rows per page when only a cursor is given
+    private static final int MAX_PAGE_SIZE = 100; // Upper bound on rows per page
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate(); // Browser may keep it, but must ask first
+
+    @Value("${loan.pipeline.async.enabled:true}") // Decide applications asynchronously (202 + status URL)
+    private boolean asyncDecisions;
+
     @Autowired // Injects LoanService bean
     private LoanService loanService; // Service class for loan business logic
 
+    @Autowired // Injects the per-user data versions
+    private UserDataVersions userDataVersions; // Source of the ETags
+
+    @Autowired // Injects the document store
+    private DocumentStore documentStore; // Serves uploaded supporting documents
+
+    @Autowired // Injects the document ingestion stage
+    private DocumentIngestionService documentIngestion; // Tells whether a stored document is gzip-encoded
+
     @Autowired // Injects Jackson helper bean
     private ParameterNamesModule parameterNamesModule; // Optional: helps deserialize objects with constructors
 
     /**
      * Endpoint to submit a loan application.
      * Accepts both form data and a file.
+     * In asynchronous mode (default) it answers 202 Accepted with a Location header pointing
+     * at the status endpoint; the credit decision is made by the LoanDecisionPipeline.
      */
     @PostMapping(value = "/apply-loan", consumes = MediaType.MULTIPART_FORM_DATA_VALUE) // POST endpoint to apply for loan with file upload
-    public ResponseEntity<String> applyLoan( // Method to handle loan submission
+    public ResponseEntity<?> applyLoan( // Method to handle loan submission
                                              @RequestPart("loan") LoanApplication loan, // Reads the loan form data part
                                              @RequestPart("file") MultipartFile file, // Reads the uploaded file part
                                              Principal principal              // Captures the logged-in user's identity from JWT
     ) {
-        try {
-            loan.setUsername(principal.getName()); // Set the username on the loan from JWT's authenticated user
-            loan.setSupportingDocument(file.getBytes()); // Convert uploaded file to byte[] and set on the entity
+        loan.setUsername(principal.getName()); // Set the username on the loan from JWT's authenticated user
 
-            String result = loanService.applyLoan(loan, file); // Call service layer to process the application
+        if (!asyncDecisions) { // Synchronous mode: score on this thread and answer with the outcome
+            String result = loanService.applyLoan(loan, file); // Service streams the file to the document store
             return ResponseEntity.ok(result); // Return success response
-        } catch (IOException e) {
-            return ResponseEntity.status(500).body("File upload failed: " + e.getMessage()); // Return error if file fails
         }
+
+        LoanApplication saved = loanService.submitLoan(loan, file); // Saved as PENDING and queued for a decision
+        return ResponseEntity.accepted() // 202: accepted, decision still to come
+                .location(URI.create("/api/loans/" + saved.getId() + "/status")) // Where to poll
+                .body(LoanStatusResponse.of(saved));
+    }
+
+    // Endpoint to check the decision for one of the current user's applications
+    @GetMapping("/loans/{id}/status") // GET request polled after a 202 from /apply-loan
+    public ResponseEntity<LoanStatusResponse> loanStatus(@PathVariable Long id, Principal principal, WebRequest request) {
+        String etag = etag(principal, "s", id); // Read before the query: a later write always changes it
+        if (etag != null && request.checkNotModified(etag)) {
+            return null; // 304 — no database access
+        }
+        LoanApplication loan = loanService.getOwnedApplication(id, principal.getName()); // 404 unless it is the caller's loan
+        return withETag(ResponseEntity.ok(), etag).body(LoanStatusResponse.of(loan));
     }
 
-    // Endpoint to view all loan applications submitted by current user
+    /**
+     * Endpoint to view the loan applications submitted by the current user, newest first, as
+     * document-free summaries. Without parameters it returns the whole list, as it always has.
+     * With ?limit= (or ?after=) it returns one keyset page; when more rows exist the cursor for
+     * the next page is sent in the X-Next-Cursor header (pass it back as ?after=).
+     */
     @GetMapping("/loans/my-applications") // GET request to fetch only user’s own applications
-    public ResponseEntity<List<LoanApplication>> myApplications(Principal principal) {
-        List<LoanApplication> apps = loanService.getByUsername(principal.getName()); // Call service to fetch from DB
-        return ResponseEntity.ok(apps); // Return the list of loans
+    public ResponseEntity<List<LoanApplicationSummary>> myApplications(
+            @RequestParam(required = false) Long after, // Keyset cursor from the previous page
+            @RequestParam(required = false) Integer limit, // Requested page size (absent with no cursor = everything)
+            Principal principal,
+            WebRequest request) {
+        if (after == null && limit == null) { // Existing clients: the unpaginated list
+            String etag = etag(principal, "l", "all");
+            if (etag != null && request.checkNotModified(etag)) {
+                return null; // 304 — no database access
+            }
+            return withETag(ResponseEntity.ok(), etag).body(loanService.getAllSummariesByUsername(principal.getName()));
+        }
+        int pageSize = Math.max(1, Math.min(limit != null ? limit : DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE)); // Clamp to a sane range
+
+        String etag = etag(principal, "l", (after != null ? after : "") + "-" + pageSize); // One ETag per page
+        if (etag != null && request.checkNotModified(etag)) {
+            return null; // 304 — no database access
+        }
+
+        // Ask for one extra row so we know whether another page exists without a COUNT query
+        List<LoanApplicationSummary> rows = loanService.getSummariesByUsername(principal.getName(), after, pageSize + 1);
+        if (rows.size() <= pageSize) {
+            return withETag(ResponseEntity.ok(), etag).body(rows); // Last page — no cursor
+        }
+
+        List<LoanApplicationSummary> page = rows.subList(0, pageSize); // Drop the look-ahead row
+        return withETag(ResponseEntity.ok(), etag)
+                .header(NEXT_CURSOR_HEADER, String.valueOf(page.get(pageSize - 1).getId())) // Lowest ID on this page
+                .body(page);
+    }
+
+    // Endpoint to download the supporting document of one of the current user's applications.
+    // Compressed blobs go out as stored (Content-Encoding: gzip) to clients that accept gzip, and are inflated for the rest.
+    @GetMapping("/loans/{id}/document") // GET request that streams the stored file
+    public void downloadDocument(@PathVariable Long id, Principal principal, HttpServletRequest request,
+                                 HttpServletResponse response) throws IOException {
+        LoanApplication loan = loanService.getOwnedApplication(id, principal.getName()); // 404 unless it is the caller's loan
+        String reference = loan.getDocumentRef();
+        DocumentBlob blob = reference != null ? documentIngestion.describe(reference) : null;
+        if (blob == null || !documentStore.exists(reference)) { // Older rows or missing blobs
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No supporting document for this application");
+        }
+
+        String contentType = loan.getDocumentContentType() != null
+                ? loan.getDocumentContentType()
+                : MediaType.APPLICATION_OCTET_STREAM_VALUE; // Unknown type: let the browser download it
+        String fileName = loan.getDocumentName() != null ? loan.getDocumentName() : reference;
+        boolean sendGzip = blob.isCompressed() && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+
+        response.setContentType(contentType);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(fileName, StandardCharsets.UTF_8)
+                .build()
+                .toString());
+        if (blob.isCompressed()) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING); // Body depends on Accept-Encoding (keeps the CORS Vary values)
+        }
+
+        if (sendGzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            response.setContentLengthLong(blob.getStoredSize()); // Lets the client show progress
+            response.setHeader(HttpHeaders.ETAG, "\"" + reference + "-gzip\""); // Each encoding needs its own strong ETag
+            documentStore.transferStoredTo(reference, Channels.newChannel(response.getOutputStream())); // Zero-copy, no inflating
+        } else {
+            response.setContentLengthLong(blob.getOriginalSize()); // Lets the client show progress
+            response.setHeader(HttpHeaders.ETAG, "\"" + reference + "\""); // Content hash is a natural strong ETag
+            documentStore.transferTo(reference, Channels.newChannel(response.getOutputStream())); // Streams without buffering the file in heap
+        }
+    }
+
+    // Strong ETag: kind + the caller's data version + what identifies the representation (null when disabled)
+    private String etag(Principal principal, String kind, Object representation) {
+        if (!userDataVersions.isEnabled()) {
+            return null;
+        }
+        return "\"" + kind + userDataVersions.current(principal.getName()) + "-" + representation + "\"";
+    }
+
+    // True if the Accept-Encoding header lists gzip (or *) without q=0
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            String name = parts[0].trim();
+            if (!name.equalsIgnoreCase("gzip") && !name.equals("*")) {
+                continue;
+            }
+            boolean refused = false;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].replace(" ", "");
+                refused |= param.matches("(?i)q=0(\\.0{0,3})?");
+            }
+            return !refused;
+        }
+        return false;
+    }
+
+    private static ResponseEntity.BodyBuilder withETag(ResponseEntity.BodyBuilder builder, String etag) {
+        return etag == null ? builder : builder.eTag(etag).cacheControl(REVALIDATE);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,67 @@
+// ==============================================
+// File: LoanEventsController.java
+// Role:
+//   - GET /api/loans/events: a Server-Sent Events stream of the caller's loan status changes.
+//   - Every status change (received, approved, rejected) arrives as a "loan-status" event
+//     with the same JSON as GET /api/loans/{id}/status.
+//
+// Why it matters:
+//   - The browser learns about a decision the moment it is made, over one idle connection,
+//     instead of polling the status or listing endpoints.
+//
+// Resume:
+//   - EventSource reconnects by itself and sends the last event ID it saw (Last-Event-ID);
+//     missed events are replayed. If they are no longer available, a "resync" event tells the
+//     client to reload its list once.
+//
+// Authentication:
+//   - Same JWT as every other endpoint (JwtRequestFilter). EventSource cannot send headers,
+//     so this path also accepts the token as the "access_token" query parameter.
+//
+// Related files:
+//   - LoanEventBroker.java (fan-out, buffering, heartbeats, replay)
+//   - LoanServiceImpl.java (publishes the events)
+//   - PastApplications.jsx (the subscriber)
+// ==============================================
+
+package com.junaid.backend.controller; // Declares the Java package this class belongs to
+
+import com.junaid.backend.service.LoanEventBroker; // Per-user event fan-out
+
+import jakarta.servlet.http.HttpServletResponse; // Disables proxy buffering for the stream
+import org.springframework.beans.factory.annotation.Autowired; // Allows Spring to inject dependencies automatically
+import org.springframework.http.MediaType; // text/event-stream
+import org.springframework.web.bind.annotation.GetMapping; // Maps GET requests
+import org.springframework.web.bind.annotation.RequestHeader; // Reads Last-Event-ID
+import org.springframework.web.bind.annotation.RequestMapping; // Base path
+import org.springframework.web.bind.annotation.RestController; // Marks this class as a REST controller
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter; // The open stream
+
+import java.security.Principal; // Represents the currently authenticated user
+
+@RestController // Marks this class as a REST controller
+@RequestMapping("/api/loans") // All routes in this class are under /api/loans
+public class LoanEventsController {
+
+    @Autowired // Injects the event broker
+    private LoanEventBroker eventBroker; // Holds the open streams
+
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE) // One stream per browser tab
+    public SseEmitter events(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+                             Principal principal, HttpServletResponse response) {
+        response.setHeader("X-Accel-Buffering", "no"); // Reverse proxies (nginx) must pass events through immediately
+        return eventBroker.subscribe(principal.getName(), parseEventId(lastEventId)); // Replays missed events first
+    }
+
+    // A malformed Last-Event-ID is treated like a fresh connection
+    private static Long parseEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+// ==============================================
+// File: PortfolioController.java
+// Role:
+//   - Admin endpoint with live portfolio statistics: count, total amount, average interest
+//     rate and approved / rejected / pending counts, overall, per loan type and per tenure band.
+//
+// Why it matters:
+//   - Dashboards refresh this often. The figures come from in-memory aggregates, so a
+//     refresh never runs a GROUP BY over loan_applications.
+//
+// Usage:
+//   curl -H "Authorization: Bearer <admin jwt>" http://localhost:8080/api/admin/portfolio
+//
+// Dependencies:
+//   - PortfolioAggregates (incrementally maintained figures)
+//
+// Related files:
+//   - SecurityConfig.java (restricts /api/admin/** to ROLE_ADMIN)
+//   - PortfolioStats.java (response body)
+// ==============================================
+
+package com.junaid.backend.controller; // Declares the Java package this class belongs to
+
+import com.junaid.backend.model.PortfolioStats; // Response body
+import com.junaid.backend.service.PortfolioAggregates; // In-memory figures
+
+import org.springframework.beans.factory.annotation.Autowired; // Lets Spring inject dependencies automatically
+import org.springframework.http.ResponseEntity; // Used to build structured HTTP responses
+import org.springframework.web.bind.annotation.*; // REST API annotations
+
+@RestController // Declares this class as a REST API controller
+@RequestMapping("/api/admin/portfolio") // Admin-only (see SecurityConfig)
+public class PortfolioController {
+
+    @Autowired // Spring injects the aggregates here
+    private PortfolioAggregates portfolioAggregates;
+
+    @GetMapping // Current figures, served from memory
+    public ResponseEntity<PortfolioStats> getPortfolio() {
+        return ResponseEntity.ok(portfolioAggregates.snapshot());
+    }
+
+    @PostMapping("/rebuild") // Recomputes the figures from the table (e.g. after manual SQL changes)
+    public ResponseEntity<PortfolioStats> rebuild() {
+        portfolioAggregates.rebuild();
+        return ResponseEntity.ok(portfolioAggregates.snapshot());
+    }
+}
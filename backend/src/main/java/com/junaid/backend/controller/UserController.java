@@ -4,30 +4,51 @@
 //   - Handles user registration logic and exposes /register endpoint.
 //   - Validates uniqueness of username, email, and ID number.
 //   - Encrypts password before saving the user to the database.
+//   - Exposes /register/availability for live validation of usernames and emails in the signup form
+//     (ID numbers are never disclosed there: a taken one is only reported by the 409 on submit).
+//   - Serves the current user's profile at /users/me with a strong ETag (304 when unchanged).
 //
 // Why it matters:
 //   - Without this, users can’t sign up in your system.
 //   - It prevents duplicate entries and ensures password security.
+//   - Registration is a single INSERT: the unique constraints reject duplicates, even
+//     when two signups race, and the violated constraint picks the 409 message.
 //
 // Dependencies:
 //   - UserRepository to interact with the DB
 //   - PasswordEncoder to hash passwords
+//   - AvailabilityService for Bloom-filter backed availability checks
 //   - @RestController, @RequestMapping for defining REST API
 //
 // Related files:
-//   - User.java (Entity being saved)
+//   - User.java (Entity being saved, declares the named unique constraints)
 //   - UserRepository.java (JPA interface for User)
 //   - SecurityConfig.java (allows public access to /register)
 // ==============================================
 
 package com.junaid.backend.controller; // Declares the Java package this class belongs to
 
+import com.junaid.backend.datasource.ReadYourWritesTracker; // Keeps the new user's first reads on the primary
 import com.junaid.backend.entity.User; // Entity representing the user
+import com.junaid.backend.model.UserProfile; // Profile view without the password hash
 import com.junaid.backend.repository.UserRepository; // Repository interface to perform DB operations
+import com.junaid.backend.service.AvailabilityService; // In-memory availability checks
+import com.junaid.backend.service.UserDataVersions; // Per-user versions behind the ETags
+import org.hibernate.exception.ConstraintViolationException; // Carries the violated constraint's name
 import org.springframework.beans.factory.annotation.Autowired; // Lets Spring inject dependencies automatically
+import org.springframework.dao.DataIntegrityViolationException; // Thrown when a unique constraint rejects the insert
+import org.springframework.http.CacheControl; // Tells browsers to revalidate with If-None-Match
+import org.springframework.http.HttpStatus; // 404 for a deleted account
 import org.springframework.http.ResponseEntity; // Used to build structured HTTP responses
 import org.springframework.security.crypto.password.PasswordEncoder; // For password encryption
 import org.springframework.web.bind.annotation.*; // REST API annotations like @PostMapping, @RequestBody
+import org.springframework.web.context.request.WebRequest; // If-None-Match handling (checkNotModified)
+import org.springframework.web.server.ResponseStatusException; // Allows throwing custom HTTP response errors
+
+import java.security.Principal; // Current user
+import java.util.LinkedHashMap; // Keeps the response fields in request order
+import java.util.Locale; // Locale-independent matching of database messages
+import java.util.Map; // Availability response
 
 @RestController // Declares this class as a REST API controller
 @RequestMapping("/api") // All endpoints here will be under /api
@@ -35,36 +56,103 @@ import org.springframework.web.bind.annotation.*; // REST API annotations like @
 public class UserController { // Declares the controller class
 
     @Autowired // Spring injects a UserRepository bean here
-    private UserRepository userRepository; // Used to check existing users and save new ones
+    private UserRepository userRepository; // Used to save new users
 
     @Autowired // Spring injects PasswordEncoder bean here
     private PasswordEncoder passwordEncoder; // Used to hash the password before storing
 
+    @Autowired // Spring injects the availability filters here
+    private AvailabilityService availabilityService; // Answers live "is it free?" checks
+
+    @Autowired // Spring injects the read-your-writes tracker here
+    private ReadYourWritesTracker writeTracker; // Keeps reads right after signup on the primary
+
+    @Autowired // Spring injects the per-user data versions here
+    private UserDataVersions userDataVersions; // Source of the profile ETag
+
     @PostMapping("/register") // POST endpoint for user registration
     public ResponseEntity<?> registerUser(@RequestBody User user) { // Method that handles registration logic
 
-        // 1) Check if username already exists in DB
-        if (userRepository.existsByUsername(user.getUsername())) {
-            return ResponseEntity.status(409).body("Username already exists"); // Return conflict status if true
+        // 1) Hash the password securely using BCrypt
+        user.setPassword(passwordEncoder.encode(user.getPassword()));
+        user.setId(null); // Always insert, never update an existing row
+
+        // 2) Insert in one round-trip; the unique constraints catch duplicates (even concurrent ones)
+        try {
+            userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            String conflict = conflictMessage(e);
+            if (conflict == null) {
+                throw e; // Not a uniqueness problem (e.g. a missing required field)
+            }
+            return ResponseEntity.status(409).body(conflict); // Return conflict status
+        }
+
+        // 3) Make the new values show up as taken right away
+        availabilityService.recordTaken(user.getUsername(), user.getEmail());
+        writeTracker.markWrite(user.getUsername()); // Profile reads right after signup must find the row
+        userDataVersions.bump(user.getUsername()); // A recreated account never matches an old ETag
+
+        // 4) Return success response
+        return ResponseEntity.ok("Registration successful");
+    }
+
+    @GetMapping("/register/availability") // GET endpoint for live validation, e.g. ?username=jdoe&email=... (rate limited per IP)
+    public ResponseEntity<Map<String, Boolean>> checkAvailability(@RequestParam(required = false) String username,
+                                                                  @RequestParam(required = false) String email) {
+        Map<String, Boolean> available = new LinkedHashMap<>(); // field -> true if still free
+        if (username != null) {
+            available.put("username", availabilityService.isUsernameAvailable(username));
+        }
+        if (email != null) {
+            available.put("email", availabilityService.isEmailAvailable(email));
         }
+        return ResponseEntity.ok(available);
+    }
 
-        // 2) Check if email already exists
-        if (userRepository.existsByEmail(user.getEmail())) {
-            return ResponseEntity.status(409).body("Email already registered"); // Conflict if true
+    @GetMapping("/users/me") // GET endpoint for the logged-in user's profile
+    public ResponseEntity<UserProfile> myProfile(Principal principal, WebRequest request) {
+        String etag = userDataVersions.isEnabled()
+                ? "\"p" + userDataVersions.current(principal.getName()) + "\"" // Read before the query
+                : null;
+        if (etag != null && request.checkNotModified(etag)) {
+            return null; // 304 — no database access
         }
 
-        // 3) Check if ID number already exists
-        if (userRepository.existsByIdNumber(user.getIdNumber())) {
-            return ResponseEntity.status(409).body("ID number already registered"); // Conflict if true
+        UserProfile profile = userRepository.findProfileByUsername(principal.getName());
+        if (profile == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"); // Account deleted after login
         }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (etag != null) {
+            response.eTag(etag).cacheControl(CacheControl.noCache().cachePrivate()); // Browser must revalidate
+        }
+        return response.body(profile);
+    }
 
-        // 4) Hash the password securely using BCrypt
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
+    // Maps a unique violation to the message the frontend already shows, or null if it isn't one.
+    // Databases created before the constraints were named still report "Key (column)=(...)".
+    private static String conflictMessage(DataIntegrityViolationException e) {
+        String constraint = e.getCause() instanceof ConstraintViolationException violation
+                ? violation.getConstraintName() : null;
+        constraint = constraint != null ? constraint.toLowerCase(Locale.ROOT) : ""; // H2: "public.uk_users_username_index_6"
+        String detail = e.getMostSpecificCause().getMessage();
+        detail = detail != null ? detail.toLowerCase(Locale.ROOT) : "";
 
-        // 5) Save the user object to the database
-        userRepository.save(user);
+        if (violates(constraint, detail, User.UK_USERNAME, "(username)")) {
+            return "Username already exists";
+        }
+        if (violates(constraint, detail, User.UK_EMAIL, "(email)")) {
+            return "Email already registered";
+        }
+        if (violates(constraint, detail, User.UK_ID_NUMBER, "(id_number)")) {
+            return "ID number already registered";
+        }
+        return null;
+    }
 
-        // 6) Return success response
-        return ResponseEntity.ok("Registration successful");
+    // Constraint name anywhere in the (schema-qualified, suffixed) name or the message, else the column in PostgreSQL's detail
+    private static boolean violates(String constraint, String detail, String constraintName, String column) {
+        return constraint.contains(constraintName) || detail.contains(constraintName) || detail.contains(column);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,79 @@
+// ==========================================================
+// File: LocalReplicaLinker.java
+//
+// ❖ ROLE:
+//    - Local testing only (profile "replica-local"): turns the embedded replica database
+//      into a read-only mirror by creating H2 linked tables that point at the primary.
+//
+// ❖ WHY IT'S IMPORTANT:
+//    - Read/write routing can be tried on a laptop with two separate embedded databases.
+//      The replica serves real data, and app.datasource.route shows which one answered.
+//
+// ❖ USED IN:
+//    - application-replica-local.properties (app.datasource.replica.linkPrimaryTables=true)
+// ==========================================================
+
+package com.junaid.backend.datasource; // Declares this class belongs to the 'datasource' package
+
+import org.slf4j.Logger; // Logging API
+import org.slf4j.LoggerFactory; // Creates the logger
+import org.springframework.beans.factory.annotation.Qualifier; // Selects a specific pool
+import org.springframework.beans.factory.annotation.Value; // Injects configuration
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty; // Only in the local replica setup
+import org.springframework.boot.context.event.ApplicationReadyEvent; // Schema exists by now
+import org.springframework.context.event.EventListener; // Subscribes a method to an application event
+import org.springframework.jdbc.core.ConnectionCallback; // Runs the DDL on one replica connection
+import org.springframework.jdbc.core.JdbcTemplate; // Lists the primary tables, runs the DDL
+import org.springframework.stereotype.Component; // Registers this class as a Spring bean
+
+import javax.sql.DataSource; // Both pools
+import java.sql.Statement; // One DDL statement per table
+import java.util.List; // Table names
+
+@Component
+@ConditionalOnProperty(name = "app.datasource.replica.linkPrimaryTables", havingValue = "true")
+public class LocalReplicaLinker {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalReplicaLinker.class);
+
+    private final JdbcTemplate primary;
+    private final DataSource replica;
+    private final String primaryUrl;
+    private final String primaryUsername;
+    private final String primaryPassword;
+
+    public LocalReplicaLinker(@Qualifier("primaryDataSource") DataSource primary,
+                              @Qualifier("replicaDataSource") DataSource replica,
+                              @Value("${spring.datasource.url}") String primaryUrl,
+                              @Value("${spring.datasource.username:sa}") String primaryUsername,
+                              @Value("${spring.datasource.password:}") String primaryPassword) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = replica;
+        this.primaryUrl = primaryUrl;
+        this.primaryUsername = primaryUsername;
+        this.primaryPassword = primaryPassword;
+    }
+
+    @EventListener(ApplicationReadyEvent.class) // Hibernate has created the tables on the primary by now
+    public void linkTables() {
+        List<String> tables = primary.queryForList(
+                "select table_name from information_schema.tables where table_schema = 'public' and table_type = 'BASE TABLE'",
+                String.class);
+
+        // The replica pool hands out read-only connections, so the DDL needs a writable one
+        new JdbcTemplate(replica).execute((ConnectionCallback<Void>) connection -> {
+            connection.setReadOnly(false);
+            try (Statement statement = connection.createStatement()) {
+                for (String table : tables) {
+                    statement.execute("create linked table if not exists " + table
+                            + "('org.h2.Driver', '" + primaryUrl + "', '" + primaryUsername + "', '" + primaryPassword
+                            + "', 'public', '" + table + "') readonly");
+                }
+            } finally {
+                connection.setReadOnly(true);
+            }
+            return null;
+        });
+        log.info("Linked {} primary tables into the local replica: {}", tables.size(), tables);
+    }
+}
@@ -0,0 +1,69 @@
+// ==========================================================
+// File: ReadWriteRoutingDataSource.java
+//
+// ❖ ROLE:
+//    - DataSource that picks the primary or the replica pool for each new connection.
+//    - Read-only transactions (@Transactional(readOnly = true)) go to the replica; everything
+//      else, including work outside a transaction, goes to the primary.
+//
+// ❖ WHEN THE REPLICA IS SKIPPED:
+//    - ReplicaLagMonitor reports the replica as too far behind (or unreachable).
+//    - The current user wrote something moments ago (ReadYourWritesTracker), so their
+//      next reads must see it.
+//
+// ❖ IMPORTANT:
+//    - Must be wrapped in a LazyConnectionDataSourceProxy (see ReadWriteRoutingConfig).
+//      Otherwise the connection is fetched before Spring marks the transaction read-only.
+//
+// ❖ USED IN:
+//    - ReadWriteRoutingConfig.java
+// ==========================================================
+
+package com.junaid.backend.datasource; // Declares this class belongs to the 'datasource' package
+
+import io.micrometer.core.instrument.Counter; // Routing decisions per target
+import io.micrometer.core.instrument.MeterRegistry; // Where meters are registered
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource; // Spring's routing base class
+import org.springframework.security.core.Authentication; // Current user, for stickiness
+import org.springframework.security.core.context.SecurityContextHolder; // Request-scoped security context
+import org.springframework.transaction.support.TransactionSynchronizationManager; // Read-only flag of the current transaction
+
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target { PRIMARY, REPLICA }
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReadYourWritesTracker writeTracker;
+    private final Counter toPrimary;
+    private final Counter toReplica;
+
+    public ReadWriteRoutingDataSource(ReplicaLagMonitor lagMonitor, ReadYourWritesTracker writeTracker,
+                                      MeterRegistry registry) {
+        this.lagMonitor = lagMonitor;
+        this.writeTracker = writeTracker;
+        this.toPrimary = routeCounter(registry, "primary");
+        this.toReplica = routeCounter(registry, "replica");
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Target target = TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && lagMonitor.isReplicaUsable()
+                && !writeTracker.isSticky(currentUsername())
+                ? Target.REPLICA : Target.PRIMARY;
+        (target == Target.REPLICA ? toReplica : toPrimary).increment();
+        return target;
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : null;
+    }
+
+    private static Counter routeCounter(MeterRegistry registry, String target) {
+        return Counter.builder("app.datasource.route")
+                .description("Connections handed out by the read/write router")
+                .tag("target", target)
+                .register(registry);
+    }
+}
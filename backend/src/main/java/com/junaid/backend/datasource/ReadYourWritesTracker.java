@@ -0,0 +1,61 @@
+// ==========================================================
+// File: ReadYourWritesTracker.java
+//
+// ❖ ROLE:
+//    - Remembers which users wrote something in the last few seconds, so their reads are
+//      served by the primary until the replica has caught up.
+//
+// ❖ WHY IT'S IMPORTANT:
+//    - A user who just applied for a loan opens "my applications" right away. If that
+//      read hit a replica that is a second behind, the new application would be missing.
+//
+// ❖ CONFIGURATION:
+//    - app.datasource.routing.stickinessMs -> how long reads stay on the primary after a write
+//
+// ❖ USED IN:
+//    - LoanServiceImpl.java, UserController.java (markWrite)
+//    - ReadWriteRoutingDataSource.java (isSticky)
+// ==========================================================
+
+package com.junaid.backend.datasource; // Declares this class belongs to the 'datasource' package
+
+import org.springframework.beans.factory.annotation.Value; // Injects configuration
+import org.springframework.scheduling.annotation.Scheduled; // Periodic cleanup
+import org.springframework.stereotype.Component; // Registers this class as a Spring bean
+
+import java.util.Map; // Map interface
+import java.util.concurrent.ConcurrentHashMap; // Safe for request and worker threads
+
+@Component
+public class ReadYourWritesTracker {
+
+    @Value("${app.datasource.routing.enabled:false}") // Nothing to track when there is no replica
+    private boolean enabled;
+
+    @Value("${app.datasource.routing.stickinessMs:5000}") // Should exceed the usual replication lag
+    private long stickinessMs;
+
+    private final Map<String, Long> stickyUntil = new ConcurrentHashMap<>(); // username -> epoch millis
+
+    // === Records that this user just changed data ===
+    public void markWrite(String username) {
+        if (enabled && username != null) {
+            stickyUntil.put(username, System.currentTimeMillis() + stickinessMs);
+        }
+    }
+
+    // === true while this user's reads must go to the primary ===
+    public boolean isSticky(String username) {
+        if (username == null) {
+            return false;
+        }
+        Long until = stickyUntil.get(username);
+        return until != null && until > System.currentTimeMillis();
+    }
+
+    @Scheduled(fixedDelay = 60_000) // Drop expired entries so the map only holds recent writers
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        stickyUntil.values().removeIf(until -> until <= now);
+    }
+}
@@ -0,0 +1,78 @@
+// ==========================================================
+// File: ReplicaLagMonitor.java
+//
+// ❖ ROLE:
+//    - Measures replication lag on a schedule and decides whether the replica may serve reads.
+//
+// ❖ WHY IT'S IMPORTANT:
+//    - A replica that falls minutes behind (vacuum, network, a long query) would serve
+//      stale loan statuses. Past the tolerance, reads fall back to the primary until it recovers.
+//    - The check runs in the background; request threads only read a volatile flag.
+//
+// ❖ CONFIGURATION:
+//    - app.datasource.replica.maxLagMs   -> tolerated lag
+//    - app.datasource.replica.lagCheckMs -> how often the lag is measured
+//    - app.datasource.replica.lagQuery   -> SQL returning the lag in milliseconds
+//                                           (blank = no lag check, e.g. embedded test databases)
+//
+// ❖ USED IN:
+//    - ReadWriteRoutingDataSource.java
+// ==========================================================
+
+package com.junaid.backend.datasource; // Declares this class belongs to the 'datasource' package
+
+import org.slf4j.Logger; // Logging API
+import org.slf4j.LoggerFactory; // Creates the logger
+import org.springframework.jdbc.core.JdbcTemplate; // Runs the lag query on the replica
+import org.springframework.scheduling.annotation.Scheduled; // Periodic check
+
+import javax.sql.DataSource; // Replica pool
+
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final JdbcTemplate replica;
+    private final String lagQuery;
+    private final long maxLagMs;
+
+    private volatile boolean usable = true; // Read on every routed connection
+    private volatile long lastLagMs; // Last measured lag (for diagnostics)
+
+    public ReplicaLagMonitor(DataSource replica, String lagQuery, long maxLagMs) {
+        this.replica = new JdbcTemplate(replica);
+        this.lagQuery = lagQuery == null ? "" : lagQuery.trim();
+        this.maxLagMs = maxLagMs;
+    }
+
+    public boolean isReplicaUsable() {
+        return usable;
+    }
+
+    public long getLastLagMs() {
+        return lastLagMs;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lagCheckMs:2000}")
+    public void check() {
+        if (lagQuery.isEmpty()) {
+            return; // Lag checking disabled — the replica is always considered current
+        }
+        boolean wasUsable = usable;
+        try {
+            Number lag = replica.queryForObject(lagQuery, Number.class);
+            lastLagMs = lag != null ? lag.longValue() : 0L; // null: nothing replayed yet
+            usable = lastLagMs <= maxLagMs;
+        } catch (RuntimeException e) {
+            usable = false; // Unreachable replica: serve reads from the primary
+            if (wasUsable) {
+                log.warn("Replica lag check failed, routing reads to the primary", e);
+            }
+            return;
+        }
+        if (wasUsable != usable) {
+            log.warn("Replica lag is {} ms (max {} ms): reads now go to the {}",
+                    lastLagMs, maxLagMs, usable ? "replica" : "primary");
+        }
+    }
+}
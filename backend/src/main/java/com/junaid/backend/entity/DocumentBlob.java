@@ -0,0 +1,60 @@
+// ==============================================
+// File: DocumentBlob.java
+// Role:
+//   - JPA entity for one stored supporting document blob (table `document_blobs`).
+//   - Holds what the ingestion pass learned (sniffed type, sizes, encoding) and how many
+//     loan applications reference the blob.
+//
+// Why it matters:
+//   - Identical uploads share one blob, so a blob can only be deleted once nothing points at it.
+//     refCount says when that is; the sweeper in DocumentIngestionService deletes blobs left at 0.
+//   - Downloads read the encoding and sizes from here instead of inspecting the file.
+//
+// Dependencies:
+//   - @Entity, @Table: Map this class to the document_blobs table (created by db/migration V5).
+//   - Lombok: @Data, @NoArgsConstructor, @AllArgsConstructor to reduce boilerplate.
+//
+// Related files:
+//   - DocumentBlobRepository.java (reference counting queries)
+//   - DocumentIngestionService.java (registers, retains and sweeps blobs)
+//   - LoanController.java (serves downloads using the stored encoding)
+// ==============================================
+
+package com.junaid.backend.entity; // Declares the Java package this class belongs to
+
+import jakarta.persistence.*; // JPA annotations to define table and columns
+import lombok.AllArgsConstructor; // Lombok annotation to generate an all-args constructor
+import lombok.Data; // Lombok annotation to generate getters, setters, toString, equals, hashCode
+import lombok.NoArgsConstructor; // Lombok annotation to generate a no-arg constructor
+
+import java.time.Instant; // Last ingestion time (timestamptz)
+
+@Entity // Tells JPA this class represents a DB table
+@Table(name = "document_blobs") // Maps this class to the "document_blobs" table
+@Data // Lombok: Generates getters/setters/toString/etc.
+@NoArgsConstructor // Lombok: Needed for JPA (no-arg constructor)
+@AllArgsConstructor // Lombok: Generates constructor with all fields
+public class DocumentBlob { // One blob in the DocumentStore
+
+    @Id // The content hash is the natural key
+    @Column(name = "reference", length = 64) // SHA-256 hex, same value as loan_applications.document_ref
+    private String reference;
+
+    @Column(name = "content_type", length = 100, nullable = false) // Sniffed MIME type
+    private String contentType; // e.g. "application/pdf"
+
+    @Column(name = "compressed", nullable = false) // True if the blob is stored gzip-encoded
+    private boolean compressed;
+
+    @Column(name = "original_size", nullable = false) // Size of the uploaded file in bytes
+    private long originalSize;
+
+    @Column(name = "stored_size", nullable = false) // Bytes on disk
+    private long storedSize;
+
+    @Column(name = "ref_count", nullable = false) // Loan applications pointing at this blob
+    private int refCount;
+
+    @Column(name = "touched_at", nullable = false) // Last upload of this content; unreferenced blobs get a grace period from here
+    private Instant touchedAt;
+}
@@ -12,20 +12,29 @@
 //   - @Entity: Marks this class as a JPA entity.
 //   - @Table: Specifies the DB table name.
 //   - Lombok: @Data, @NoArgsConstructor, @AllArgsConstructor to reduce boilerplate.
-//   - @Lob: Used to store large binary files like uploaded documents.
+//   - documentRef: points at the uploaded file in the DocumentStore (the bytes are not kept in this table).
+//   - status / creditScore / decisionMessage: outcome written by the decision pipeline.
+//   - version: bumped on every change (JPA @Version, and by the decision pipeline's UPDATE).
+//   - createdAt: partition key — the table is range-partitioned by month (see db/migration).
+//   - id: drawn from loan_applications_seq in blocks of 50 (identity columns cannot span partitions).
 //
 // Related files:
 //   - LoanController.java (uses this class as input/output)
 //   - LoanRepository.java (performs DB operations using this entity)
+//   - DocumentStore.java (holds the supporting document referenced by documentRef)
 // ==============================================
 
 package com.junaid.backend.entity; // Declares the Java package this class belongs to
 
+import com.fasterxml.jackson.annotation.JsonProperty; // Marks server-managed fields as read-only in JSON
 import jakarta.persistence.*; // JPA annotations to define table and columns
+import org.hibernate.annotations.CreationTimestamp; // Sets created_at on insert
 import lombok.Data; // Lombok annotation to generate getters, setters, toString, equals, hashCode
 import lombok.NoArgsConstructor; // Lombok annotation to generate a no-arg constructor
 import lombok.AllArgsConstructor; // Lombok annotation to generate an all-args constructor
 
+import java.time.Instant; // Creation time (timestamptz)
+
 @Entity // Tells JPA this class represents a DB table
 @Table(name = "loan_applications") // Maps this class to the "loan_applications" table in DB
 @Data // Lombok: Generates getters/setters/toString/etc.
@@ -34,7 +43,8 @@ import lombok.AllArgsConstructor; // Lombok annotation to generate an all-args c
 public class LoanApplication { // Declares a class to hold loan application data
 
     @Id // Marks this field as the primary key
-    @GeneratedValue(strategy = GenerationType.IDENTITY) // Auto-increment ID in DB
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "loan_applications_seq") // IDs from a DB sequence
+    @SequenceGenerator(name = "loan_applications_seq", sequenceName = "loan_applications_seq", allocationSize = 50) // One nextval per 50 inserts
     private Long id; // Unique ID for each loan application
 
     @Column(nullable = false) // Field must not be null in DB
@@ -55,7 +65,39 @@ public class LoanApplication { // Declares a class to hold loan application data
     @Column(nullable = false) // Cannot be null
     private double interestRate; // Interest rate associated with the loan
 
-    @Lob // Large object — used to store large files
-    @Column(name = "supporting document") // Custom name for the column
-    private byte[] supportingDocument; // Uploaded file as byte array (PDFs, images, etc.)
-}
\ No newline at end of file
+    @Column(name = "document_ref", length = 64) // SHA-256 hex of the uploaded file
+    private String documentRef; // Content-addressed reference into the DocumentStore
+
+    @Column(name = "document_name") // Original file name, used for downloads
+    private String documentName; // e.g. "payslip.pdf"
+
+    @Column(name = "document_content_type") // MIME type reported by the client
+    private String documentContentType; // e.g. "application/pdf"
+
+    @Column(name = "document_size") // Size of the uploaded file in bytes
+    private Long documentSize; // Lets clients show the size without downloading
+
+    // — Decision (set by the server, never accepted from clients) —
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Enumerated(EnumType.STRING) // Stored as text, e.g. 'PENDING'
+    @Column(name = "status", length = 16, columnDefinition = "varchar(16) default 'APPROVED'") // Older rows were only saved when approved
+    private LoanStatus status; // PENDING until the decision pipeline has scored it
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "credit_score") // Null while pending
+    private Integer creditScore; // Mock credit score the decision was based on
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "decision_message", length = 512) // Null while pending
+    private String decisionMessage; // Human-readable outcome shown to the applicant
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @CreationTimestamp // Filled in by Hibernate; rows inserted by SQL get the column default now()
+    @Column(name = "created_at", nullable = false, updatable = false) // Also the partition key
+    private Instant createdAt; // When the application was submitted
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Version // Optimistic locking: concurrent JPA updates of the same row fail instead of overwriting
+    @Column(name = "version", nullable = false)
+    private Long version; // Incremented on every change to this application
+}
@@ -0,0 +1,21 @@
+// ==============================================
+// File: LoanStatus.java
+// Role:
+//   - Lifecycle state of a loan application.
+//
+// Why it matters:
+//   - Applications are accepted first (PENDING) and decided asynchronously by the
+//     LoanDecisionPipeline, so the state has to be stored and queryable.
+//
+// Related files:
+//   - LoanApplication.java (stores it in the status column)
+//   - LoanServiceImpl.java (moves applications from PENDING to APPROVED / REJECTED)
+// ==============================================
+
+package com.junaid.backend.entity; // Declares the Java package this enum belongs to
+
+public enum LoanStatus {
+    PENDING,  // Accepted, waiting for a credit decision
+    APPROVED, // Credit score met the policy threshold
+    REJECTED  // Credit score was below the policy threshold
+}
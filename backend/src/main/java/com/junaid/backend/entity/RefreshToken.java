@@ -0,0 +1,63 @@
+// ==============================================
+// File: RefreshToken.java
+// Role:
+//   - JPA entity for one issued refresh token (table `refresh_tokens`).
+//   - Only the token's SHA-256 is stored; the token itself exists only on the client.
+//
+// Why it matters:
+//   - Access tokens are short-lived; a refresh token is what keeps a user signed in.
+//     Each one can be used once: a refresh marks it used and issues its successor in the
+//     same family, so a stolen token that is replayed gives itself away.
+//   - The access token issued with each refresh token is recorded, so revoking a family
+//     also revokes the access tokens it handed out.
+//
+// Dependencies:
+//   - @Entity, @Table: Map this class to the refresh_tokens table (created by db/migration V6).
+//   - Lombok: @Data, @NoArgsConstructor, @AllArgsConstructor to reduce boilerplate.
+//
+// Related files:
+//   - RefreshTokenRepository.java (rotation and revocation queries)
+//   - RefreshTokenService.java (issues, rotates and revokes refresh tokens)
+// ==============================================
+
+package com.junaid.backend.entity; // Declares the Java package this class belongs to
+
+import jakarta.persistence.*; // JPA annotations to define table and columns
+import lombok.AllArgsConstructor; // Lombok annotation to generate an all-args constructor
+import lombok.Data; // Lombok annotation to generate getters, setters, toString, equals, hashCode
+import lombok.NoArgsConstructor; // Lombok annotation to generate a no-arg constructor
+
+import java.time.Instant; // Issue, expiry and use times (timestamptz)
+
+@Entity // Tells JPA this class represents a DB table
+@Table(name = "refresh_tokens") // Maps this class to the "refresh_tokens" table
+@Data // Lombok: Generates getters/setters/toString/etc.
+@NoArgsConstructor // Lombok: Needed for JPA (no-arg constructor)
+@AllArgsConstructor // Lombok: Generates constructor with all fields
+public class RefreshToken { // One refresh token in a rotation family
+
+    @Id // The token's hash is the natural key
+    @Column(name = "token_hash", length = 64) // SHA-256 hex of the token
+    private String tokenHash;
+
+    @Column(name = "family_id", length = 36, nullable = false) // Shared by every token rotated from the same login
+    private String familyId;
+
+    @Column(name = "username", nullable = false) // Owner of the session
+    private String username;
+
+    @Column(name = "access_jti", length = 36, nullable = false) // ID of the access token issued alongside
+    private String accessJti;
+
+    @Column(name = "access_expires_at", nullable = false) // Its expiry (revocations are kept until then)
+    private Instant accessExpiresAt;
+
+    @Column(name = "issued_at", nullable = false) // When this token was issued
+    private Instant issuedAt;
+
+    @Column(name = "expires_at", nullable = false) // When this token stops working
+    private Instant expiresAt;
+
+    @Column(name = "used_at") // When it was exchanged for its successor (null while unused)
+    private Instant usedAt;
+}
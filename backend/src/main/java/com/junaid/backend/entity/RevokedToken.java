@@ -0,0 +1,45 @@
+// ==============================================
+// File: RevokedToken.java
+// Role:
+//   - JPA entity for one revoked access token (table `revoked_tokens`), kept until the
+//     token would have expired anyway.
+//
+// Why it matters:
+//   - Requests are checked against an in-memory set (TokenRevocationService), never this table.
+//     The table makes revocations survive restarts and reach the other nodes.
+//
+// Dependencies:
+//   - @Entity, @Table: Map this class to the revoked_tokens table (created by db/migration V6).
+//   - Lombok: @Data, @NoArgsConstructor, @AllArgsConstructor to reduce boilerplate.
+//
+// Related files:
+//   - RevokedTokenRepository.java (loads and purges rows)
+//   - TokenRevocationService.java (the in-memory view)
+// ==============================================
+
+package com.junaid.backend.entity; // Declares the Java package this class belongs to
+
+import jakarta.persistence.*; // JPA annotations to define table and columns
+import lombok.AllArgsConstructor; // Lombok annotation to generate an all-args constructor
+import lombok.Data; // Lombok annotation to generate getters, setters, toString, equals, hashCode
+import lombok.NoArgsConstructor; // Lombok annotation to generate a no-arg constructor
+
+import java.time.Instant; // Expiry and revocation times (timestamptz)
+
+@Entity // Tells JPA this class represents a DB table
+@Table(name = "revoked_tokens") // Maps this class to the "revoked_tokens" table
+@Data // Lombok: Generates getters/setters/toString/etc.
+@NoArgsConstructor // Lombok: Needed for JPA (no-arg constructor)
+@AllArgsConstructor // Lombok: Generates constructor with all fields
+public class RevokedToken { // One revoked access token
+
+    @Id // The token's "jti" claim
+    @Column(name = "jti", length = 36)
+    private String jti;
+
+    @Column(name = "expires_at", nullable = false) // The token's own expiry; the row is purged after it
+    private Instant expiresAt;
+
+    @Column(name = "revoked_at", nullable = false) // Other nodes poll for rows newer than their last refresh
+    private Instant revokedAt;
+}
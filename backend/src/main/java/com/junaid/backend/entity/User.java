@@ -20,6 +20,7 @@
 
 package com.junaid.backend.entity; // Declares the Java package this class belongs to
 
+import com.fasterxml.jackson.annotation.JsonIgnore; // Keeps server-managed fields out of JSON
 import jakarta.persistence.*; // Jakarta Persistence (JPA) import for database handling
 import lombok.AllArgsConstructor; // Lombok: creates constructor with all fields
 import lombok.Data; // Lombok: adds getters, setters, equals, hashCode, toString
@@ -29,18 +30,27 @@ import java.math.BigDecimal; // Used for precise currency/income calculations
 import java.time.LocalDate; // Java 8 date type (used for DOB)
 
 @Entity // Marks this class as a JPA entity (will become a DB table)
-@Table(name = "users") // Map this entity to a table named "users"
+@Table(name = "users", uniqueConstraints = { // Map this entity to a table named "users"
+        // Named so a duplicate on insert can be reported as a precise 409 (see UserController)
+        @UniqueConstraint(name = User.UK_USERNAME, columnNames = "username"),
+        @UniqueConstraint(name = User.UK_EMAIL, columnNames = "email"),
+        @UniqueConstraint(name = User.UK_ID_NUMBER, columnNames = "id_number")
+})
 @Data // Lombok: adds getters/setters/toString/equals/hashCode
 @NoArgsConstructor // Lombok: adds no-arg constructor
 @AllArgsConstructor // Lombok: adds constructor with all fields
 public class User { // Declares the User class
 
+    public static final String UK_USERNAME = "uk_users_username"; // Unique constraint on username
+    public static final String UK_EMAIL = "uk_users_email"; // Unique constraint on email
+    public static final String UK_ID_NUMBER = "uk_users_id_number"; // Unique constraint on id_number
+
     @Id // Marks this field as the primary key
     @GeneratedValue(strategy = GenerationType.IDENTITY) // Auto-generates ID values in DB
     private Long id; // Unique identifier for each user
 
     // — Credentials —
-    @Column(name = "username", nullable = false, unique = true) // Required + must be unique
+    @Column(name = "username", nullable = false) // Required + must be unique (UK_USERNAME)
     private String username; // Used for login
 
     @Column(name = "password", nullable = false) // Required field
@@ -59,7 +69,7 @@ public class User { // Declares the User class
     @Column(name = "contact_number", nullable = false) // Cannot be null
     private String contactNumber; // Phone number
 
-    @Column(nullable = false, unique = true) // Must be present and unique
+    @Column(nullable = false) // Must be present and unique (UK_EMAIL)
     private String email; // User’s email (used for communication or login)
 
     @Column(nullable = false) // Required field
@@ -71,7 +81,7 @@ public class User { // Declares the User class
     @Column(name = "id_type", nullable = false) // Required field
     private String idType; // Type of ID: SSN, passport, etc.
 
-    @Column(name = "id_number", nullable = false, unique = true) // Required and must be unique
+    @Column(name = "id_number", nullable = false) // Required and must be unique (UK_ID_NUMBER)
     private String idNumber; // ID number (SSN, Aadhar, etc.)
 
     @Column(name = "employment_status", nullable = false) // Required field
@@ -79,4 +89,9 @@ public class User { // Declares the User class
 
     @Column(name = "annual_income") // Optional field
     private BigDecimal annualIncome; // User’s income (used for loan eligibility)
+
+    // — Session control —
+    @JsonIgnore // Never accepted from or sent to clients
+    @Column(name = "token_version", nullable = false, columnDefinition = "integer default 0") // Existing rows start at 0
+    private int tokenVersion; // Embedded in every JWT; bumping it revokes all tokens issued before
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+// ==============================================
+// File: InvalidRefreshTokenException.java
+// Role:
+//   - A 401 Unauthorized error for refresh tokens that are unknown, expired, already used or revoked.
+//
+// Why it matters:
+//   - Every failure gets the same status, so a client simply sends the user back to the login page.
+//     A replayed token gets the same answer, and its whole session is revoked as well.
+//
+// Dependencies:
+//   - ResponseStatusException (Spring MVC turns it into the HTTP response)
+//
+// Related files:
+//   - RefreshTokenService.java (thrown while rotating a refresh token)
+// ==============================================
+
+package com.junaid.backend.exception; // Declares the Java package this class belongs to
+
+import org.springframework.http.HttpStatus; // HTTP status codes
+import org.springframework.web.server.ResponseStatusException; // Spring's HTTP-aware exception
+
+public class InvalidRefreshTokenException extends ResponseStatusException {
+
+    public InvalidRefreshTokenException(String reason) {
+        super(HttpStatus.UNAUTHORIZED, reason); // 401
+    }
+}
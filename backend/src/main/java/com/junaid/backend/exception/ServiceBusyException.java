@@ -0,0 +1,38 @@
+// ==============================================
+// File: ServiceBusyException.java
+// Role:
+//   - A 503 Service Unavailable error that also tells the client when to retry.
+//
+// Why it matters:
+//   - Bounded queues and worker pools reject work quickly when full. The client gets
+//     a cheap 503 with a Retry-After header right away, and no request thread is held while it waits.
+//
+// Dependencies:
+//   - ResponseStatusException (Spring MVC turns it into the HTTP response)
+//
+// Related files:
+//   - LoanDecisionPipeline.java (thrown when the decision queue is full)
+// ==============================================
+
+package com.junaid.backend.exception; // Declares the Java package this class belongs to
+
+import org.springframework.http.HttpHeaders; // Response headers
+import org.springframework.http.HttpStatus; // HTTP status codes
+import org.springframework.web.server.ResponseStatusException; // Spring's HTTP-aware exception
+
+public class ServiceBusyException extends ResponseStatusException {
+
+    private final long retryAfterSeconds; // Value of the Retry-After header
+
+    public ServiceBusyException(String reason, long retryAfterSeconds) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, reason); // 503
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds)); // Seconds until a retry makes sense
+        return headers;
+    }
+}
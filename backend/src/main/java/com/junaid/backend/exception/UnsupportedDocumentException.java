@@ -0,0 +1,28 @@
+// ==============================================
+// File: UnsupportedDocumentException.java
+// Role:
+//   - A 415 Unsupported Media Type error for uploads whose content is not an accepted document format.
+//
+// Why it matters:
+//   - The check looks at the file's magic bytes, so a renamed executable labelled
+//     "application/pdf" is rejected before anything is written to the document store.
+//
+// Dependencies:
+//   - ResponseStatusException (Spring MVC turns it into the HTTP response)
+//
+// Related files:
+//   - LocalFileSystemDocumentStore.java (thrown while sniffing an upload)
+//   - DocumentType.java (the accepted formats)
+// ==============================================
+
+package com.junaid.backend.exception; // Declares the Java package this class belongs to
+
+import org.springframework.http.HttpStatus; // HTTP status codes
+import org.springframework.web.server.ResponseStatusException; // Spring's HTTP-aware exception
+
+public class UnsupportedDocumentException extends ResponseStatusException {
+
+    public UnsupportedDocumentException(String reason) {
+        super(HttpStatus.UNSUPPORTED_MEDIA_TYPE, reason); // 415
+    }
+}
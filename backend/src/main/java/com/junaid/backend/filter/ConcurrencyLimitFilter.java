@@ -0,0 +1,127 @@
+// ==============================================
+// File: ConcurrencyLimitFilter.java
+// Role:
+//   - Caps how many API requests run at the same time, based on the size of the
+//     database connection pool.
+//   - Requests beyond the cap wait briefly for a permit, then get 503 + Retry-After.
+//
+// Why it matters:
+//   - With virtual threads (profile "virtual") there is no Tomcat thread limit anymore:
+//     thousands of requests can start at once, and all of them would queue inside Hikari
+//     for one of ~10 connections until connectionTimeout (30 s) expires.
+//   - Limiting at the edge keeps Postgres at its pool size, and excess load is refused
+//     quickly and cheaply instead of timing out slowly.
+//
+// Configuration:
+//   - app.concurrency.limit.enabled            -> turns the filter on (on in the "virtual" profile)
+//   - app.concurrency.limit.requestsPerConnection -> permits per pooled connection
+//   - app.concurrency.limit.maxInFlight        -> fixed limit (0 = pool size x requestsPerConnection)
+//   - app.concurrency.limit.acquireTimeoutMs   -> how long a request may wait for a permit
+//
+// Related files:
+//   - application-virtual.properties (virtual-thread mode)
+//   - RequestMetrics.java (other request-path metrics)
+// ==============================================
+
+package com.junaid.backend.filter; // Declares that this file belongs to the 'filter' package in the project
+
+import com.zaxxer.hikari.HikariDataSource; // Reads the pool size
+
+import io.micrometer.core.instrument.Counter; // Rejected requests
+import io.micrometer.core.instrument.Gauge; // Requests in flight
+import io.micrometer.core.instrument.MeterRegistry; // Where meters are registered
+import jakarta.servlet.FilterChain; // Used to continue the filter chain execution
+import jakarta.servlet.ServletException; // Exception thrown during servlet processing
+import jakarta.servlet.http.HttpServletRequest; // Represents the incoming HTTP request
+import jakarta.servlet.http.HttpServletResponse; // Represents the outgoing HTTP response
+import org.slf4j.Logger; // Logging API
+import org.slf4j.LoggerFactory; // Creates the logger
+import org.springframework.beans.factory.annotation.Value; // Injects configuration
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty; // Only active when enabled
+import org.springframework.core.Ordered; // Filter ordering constants
+import org.springframework.core.annotation.Order; // Runs before Spring Security
+import org.springframework.http.HttpHeaders; // Retry-After header name
+import org.springframework.stereotype.Component; // Registers this filter as a Spring bean
+import org.springframework.web.filter.OncePerRequestFilter; // Runs once per request
+
+import javax.sql.DataSource; // Connection pool
+import java.io.IOException; // Exception thrown when writing the response fails
+import java.sql.SQLException; // Thrown by DataSource.unwrap
+import java.util.concurrent.Semaphore; // Permits = allowed concurrent requests
+import java.util.concurrent.TimeUnit; // Acquire timeout
+
+@Component
+@ConditionalOnProperty(name = "app.concurrency.limit.enabled", havingValue = "true")
+@Order(Ordered.HIGHEST_PRECEDENCE + 10) // After request metrics, before security, so rejections are still measured
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(ConcurrencyLimitFilter.class);
+
+    private final Semaphore permits;
+    private final int limit;
+    private final long acquireTimeoutMs;
+    private final long retryAfterSeconds;
+    private final Counter rejected;
+
+    public ConcurrencyLimitFilter(DataSource dataSource, MeterRegistry registry,
+                                  @Value("${app.concurrency.limit.maxInFlight:0}") int maxInFlight,
+                                  @Value("${app.concurrency.limit.requestsPerConnection:2}") int requestsPerConnection,
+                                  @Value("${app.concurrency.limit.acquireTimeoutMs:1000}") long acquireTimeoutMs,
+                                  @Value("${app.concurrency.limit.retryAfterSeconds:1}") long retryAfterSeconds) {
+        this.limit = maxInFlight > 0 ? maxInFlight : poolSize(dataSource) * requestsPerConnection;
+        this.permits = new Semaphore(limit, true); // Fair: the longest waiter goes first
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.rejected = Counter.builder("app.concurrency.rejected")
+                .description("Requests refused because the concurrency limit was reached")
+                .register(registry);
+        Gauge.builder("app.concurrency.in_flight", permits, p -> limit - p.availablePermits())
+                .description("Requests currently holding a concurrency permit")
+                .register(registry);
+        log.info("Concurrency limit: {} requests in flight", limit);
+    }
+
+    // Health checks and metrics scrapes must keep working while the API is saturated
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS); // Parks cheaply on a virtual thread
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+
+        if (!acquired) {
+            rejected.increment();
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            response.setContentType("text/plain;charset=UTF-8");
+            response.getWriter().write("The service is busy. Please try again shortly.");
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private static int poolSize(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+        } catch (SQLException e) {
+            log.warn("Could not read the connection pool size, assuming 10", e);
+        }
+        return 10; // Hikari's default maximum-pool-size
+    }
+}
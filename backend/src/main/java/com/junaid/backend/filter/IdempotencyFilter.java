@@ -0,0 +1,378 @@
+// ==============================================
+// File: IdempotencyFilter.java
+// Role:
+//   - Idempotency-Key handling for POST /api/apply-loan and POST /api/register, in the
+//     security filter chain right after JwtRequestFilter:
+//       * first request with a key  -> runs normally; a 2xx response is stored
+//       * same key again            -> the stored response is replayed (Idempotent-Replayed: true)
+//       * same key while it runs    -> waits for the first request and gets its response
+//                                      (409 + Retry-After if it takes longer than app.idempotency.waitMs)
+//       * same key, other request   -> 422 (a key belongs to one request)
+//   - Requests without the header are not touched.
+//
+// Why it matters:
+//   - Clients retry after timeouts. Without a key every retry of apply-loan re-uploads the
+//     document, re-scores and inserts another LoanApplication. A replay costs one lookup, and
+//     the upload of a replayed request is never read.
+//   - Concurrent duplicates on one node are coalesced in memory, so they never reach the store.
+//     With app.idempotency.store=jdbc, duplicates on other nodes wait on the shared row instead.
+//
+// Keys:
+//   - apply-loan keys are per user (from the verified JWT). Requests without a valid token
+//     pass through and are refused by Spring Security. register keys have no user.
+//   - Keys are stored as SHA-256(scope, path, key). JSON bodies are part of the fingerprint,
+//     hashed together with the raw key so the stored fingerprint reveals nothing about a
+//     password without the key. Multipart bodies are not hashed, so a retry is answered
+//     before its upload is read.
+//   - Only 2xx responses are stored: after an error the client may retry and run again.
+//
+// Configuration:
+//   - app.idempotency.enabled          -> turns Idempotency-Key handling on or off
+//   - app.idempotency.store            -> memory (default, one node) or jdbc (all nodes)
+//   - app.idempotency.waitMs           -> how long a duplicate waits for the running request
+//   - app.idempotency.maxResponseBytes -> larger responses are not stored
+//   - app.idempotency.ttlMs / .lockTimeoutMs / .maxEntries -> see the stores
+//
+// Related files:
+//   - SecurityConfig.java (places this filter after JwtRequestFilter)
+//   - IdempotencyStore.java and its implementations (claims and stored responses)
+//   - LoanController.java, UserController.java (the endpoints behind it)
+// ==============================================
+
+package com.junaid.backend.filter; // Declares that this file belongs to the 'filter' package in the project
+
+import com.junaid.backend.idempotency.IdempotencyStore; // Claims keys and keeps responses
+import com.junaid.backend.idempotency.StoredResponse; // Response to replay
+
+import io.micrometer.core.instrument.Counter; // Requests per outcome
+import io.micrometer.core.instrument.MeterRegistry; // Where meters are registered
+import jakarta.servlet.FilterChain; // Used to continue the filter chain execution
+import jakarta.servlet.ReadListener; // Part of the ServletInputStream contract
+import jakarta.servlet.ServletException; // Exception thrown during servlet processing
+import jakarta.servlet.ServletInputStream; // Replays a JSON body that was read for the fingerprint
+import jakarta.servlet.http.HttpServletRequest; // Represents the incoming HTTP request
+import jakarta.servlet.http.HttpServletRequestWrapper; // Swaps in the replayable body
+import jakarta.servlet.http.HttpServletResponse; // Represents the outgoing HTTP response
+import org.slf4j.Logger; // Logging API
+import org.slf4j.LoggerFactory; // Creates the logger
+import org.springframework.beans.factory.annotation.Value; // Injects configuration
+import org.springframework.http.HttpHeaders; // Location / Retry-After header names
+import org.springframework.security.core.Authentication; // Verified caller
+import org.springframework.security.core.context.SecurityContextHolder; // Set by JwtRequestFilter
+import org.springframework.stereotype.Component; // Registers this filter as a Spring bean
+import org.springframework.web.filter.OncePerRequestFilter; // Runs once per request
+import org.springframework.web.util.ContentCachingResponseWrapper; // Captures the response to store it
+
+import java.io.BufferedReader; // getReader() over the replayable body
+import java.io.ByteArrayInputStream; // Replayable body
+import java.io.IOException; // Exception thrown when reading or writing fails
+import java.io.InputStreamReader; // getReader() over the replayable body
+import java.nio.charset.Charset; // Request character encoding
+import java.nio.charset.StandardCharsets; // Key and fingerprint bytes
+import java.security.MessageDigest; // SHA-256
+import java.security.NoSuchAlgorithmException; // Never thrown for SHA-256
+import java.util.HexFormat; // Hash encoding
+import java.util.Map; // Requests in flight on this node
+import java.util.concurrent.CompletableFuture; // Completed with the first request's response
+import java.util.concurrent.ConcurrentHashMap; // Lock-striped map safe for request threads
+import java.util.concurrent.ExecutionException; // Never thrown: futures are only completed normally
+import java.util.concurrent.TimeUnit; // Wait timeout
+import java.util.concurrent.TimeoutException; // Duplicate waited too long
+
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyFilter.class);
+
+    static final String HEADER = "Idempotency-Key";
+    static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    static final String APPLY_LOAN_PATH = "/api/apply-loan";
+    static final String REGISTER_PATH = "/api/register";
+    private static final int MAX_KEY_LENGTH = 255; // UUIDs are 36 characters
+    private static final int MAX_FINGERPRINT_BODY = 64 * 1024; // Registration bodies are a few hundred bytes
+    private static final long POLL_INTERVAL_MS = 100; // How often a duplicate rechecks a key held by another node
+
+    // A request running on this node; duplicates wait on `done` (null = nothing to replay)
+    private record InFlight(String fingerprint, CompletableFuture<StoredResponse> done) {
+    }
+
+    private final IdempotencyStore store;
+    private final boolean enabled;
+    private final long waitMs;
+    private final int maxResponseBytes;
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>(); // hashed key -> running request
+    private final Counter executed;
+    private final Counter replayed;
+    private final Counter conflicts;
+    private final Counter mismatches;
+
+    public IdempotencyFilter(IdempotencyStore store, MeterRegistry registry,
+                             @Value("${app.idempotency.enabled:true}") boolean enabled,
+                             @Value("${app.idempotency.waitMs:10000}") long waitMs,
+                             @Value("${app.idempotency.maxResponseBytes:65536}") int maxResponseBytes) {
+        this.store = store;
+        this.enabled = enabled;
+        this.waitMs = waitMs;
+        this.maxResponseBytes = maxResponseBytes;
+        this.executed = outcomeCounter(registry, "executed");
+        this.replayed = outcomeCounter(registry, "replayed");
+        this.conflicts = outcomeCounter(registry, "in-progress");
+        this.mismatches = outcomeCounter(registry, "mismatch");
+    }
+
+    // Only keyed POSTs to the two endpoints pay for this filter
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled || !"POST".equals(request.getMethod()) || request.getHeader(HEADER) == null) {
+            return true;
+        }
+        String path = request.getRequestURI();
+        return !APPLY_LOAN_PATH.equals(path) && !REGISTER_PATH.equals(path);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String clientKey = request.getHeader(HEADER).trim();
+        if (clientKey.isEmpty() || clientKey.length() > MAX_KEY_LENGTH) {
+            reject(response, HttpServletResponse.SC_BAD_REQUEST, "Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters.");
+            return;
+        }
+
+        String path = request.getRequestURI();
+        String scope = "";
+        if (APPLY_LOAN_PATH.equals(path)) {
+            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+            if (auth == null || !auth.isAuthenticated()) {
+                filterChain.doFilter(request, response); // Refused by Spring Security; nothing to remember
+                return;
+            }
+            scope = auth.getName();
+        }
+
+        byte[] body = null;
+        String contentType = request.getContentType();
+        if (contentType == null || !contentType.regionMatches(true, 0, "multipart/", 0, 10)) {
+            body = request.getInputStream().readNBytes(MAX_FINGERPRINT_BODY + 1);
+            if (body.length > MAX_FINGERPRINT_BODY) {
+                reject(response, HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE, "Request body too large.");
+                return;
+            }
+            request = new CachedBodyRequest(request, body); // The controller reads the same bytes
+        }
+
+        String key = sha256(scope, path, clientKey);
+        String fingerprint = sha256(clientKey, request.getMethod() + " " + path, body);
+
+        InFlight mine = new InFlight(fingerprint, new CompletableFuture<>());
+        InFlight running = inFlight.putIfAbsent(key, mine);
+        if (running != null) { // Duplicate of a request running on this node
+            if (!running.fingerprint().equals(fingerprint)) {
+                mismatch(response);
+                return;
+            }
+            replayOrConflict(response, awaitLocal(running));
+            return;
+        }
+
+        try {
+            IdempotencyStore.Claim claim = store.claim(key, fingerprint);
+            if (claim.outcome() != IdempotencyStore.Outcome.ACQUIRED && !claim.fingerprint().equals(fingerprint)) {
+                mismatch(response);
+            } else if (claim.outcome() == IdempotencyStore.Outcome.COMPLETED) {
+                mine.done().complete(claim.response()); // Local duplicates get it too
+                replay(response, claim.response());
+            } else if (claim.outcome() == IdempotencyStore.Outcome.IN_PROGRESS) {
+                StoredResponse stored = awaitStore(key); // Running on another node
+                mine.done().complete(stored);
+                replayOrConflict(response, stored);
+            } else {
+                execute(request, response, filterChain, key, mine);
+            }
+        } finally {
+            inFlight.remove(key, mine);
+            mine.done().complete(null); // No-op if already completed; otherwise waiters get a 409
+        }
+    }
+
+    // Runs the request as the key's owner and stores a successful response
+    private void execute(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain,
+                         String key, InFlight mine) throws ServletException, IOException {
+        executed.increment();
+        ContentCachingResponseWrapper capture = new ContentCachingResponseWrapper(response);
+        StoredResponse stored = null;
+        try {
+            filterChain.doFilter(request, capture);
+            int status = capture.getStatus();
+            if (status >= 200 && status < 300 && capture.getContentSize() <= maxResponseBytes) {
+                stored = new StoredResponse(status, capture.getContentType(),
+                        capture.getHeader(HttpHeaders.LOCATION), capture.getContentAsByteArray());
+            }
+        } finally {
+            mine.done().complete(stored); // Wake local duplicates before touching the store
+            try {
+                if (stored != null) {
+                    store.complete(key, stored);
+                } else {
+                    store.release(key); // Errors are not remembered: a retry runs again
+                }
+            } catch (RuntimeException e) {
+                log.warn("Could not record Idempotency-Key outcome: {}", e.getMessage()); // The request itself succeeded or failed on its own
+            }
+            capture.copyBodyToResponse();
+        }
+    }
+
+    // Waits for a request running on this node; null if it failed or took longer than waitMs
+    private StoredResponse awaitLocal(InFlight running) {
+        try {
+            return running.done().get(waitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    // Polls the store until another node finishes the request; null if it failed or took longer than waitMs
+    private StoredResponse awaitStore(String key) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitMs);
+        while (System.nanoTime() < deadline) {
+            try {
+                Thread.sleep(POLL_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            IdempotencyStore.Claim claim = store.find(key);
+            if (claim == null) {
+                return null; // Released: the first request failed
+            }
+            if (claim.outcome() == IdempotencyStore.Outcome.COMPLETED) {
+                return claim.response();
+            }
+        }
+        return null;
+    }
+
+    private void replayOrConflict(HttpServletResponse response, StoredResponse stored) throws IOException {
+        if (stored != null) {
+            replay(response, stored);
+            return;
+        }
+        conflicts.increment();
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        reject(response, HttpServletResponse.SC_CONFLICT,
+                "A request with this Idempotency-Key is still in progress or has failed. Please retry.");
+    }
+
+    private void replay(HttpServletResponse response, StoredResponse stored) throws IOException {
+        replayed.increment();
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        if (stored.location() != null) {
+            response.setHeader(HttpHeaders.LOCATION, stored.location());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private void mismatch(HttpServletResponse response) throws IOException {
+        mismatches.increment();
+        reject(response, 422, "This Idempotency-Key was already used for a different request.");
+    }
+
+    private static void reject(HttpServletResponse response, int status, String message) throws IOException {
+        response.setStatus(status);
+        response.setContentType("text/plain;charset=UTF-8");
+        response.getWriter().write(message);
+    }
+
+    // Hex SHA-256 over the parts, each followed by a newline (a null part hashes as empty)
+    private static String sha256(Object... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Object part : parts) {
+                if (part instanceof byte[] bytes) {
+                    digest.update(bytes);
+                } else if (part != null) {
+                    digest.update(part.toString().getBytes(StandardCharsets.UTF_8));
+                }
+                digest.update((byte) '\n');
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static Counter outcomeCounter(MeterRegistry registry, String outcome) {
+        return Counter.builder("app.idempotency.requests")
+                .description("Requests carrying an Idempotency-Key, by outcome")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    // The request with its body already read: the controller gets the same bytes again
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException("Body is already in memory");
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -10,20 +10,49 @@
 //
 // Dependencies:
 //   - JwtUtil: For extracting and validating the JWT.
-//   - MyUserDetailsService: Loads the user from the database.
+//   - MyUserDetailsService: Loads the user from the database (only when jwt.claimsAuth.enabled=false).
+//   - TokenVersionService: In-memory revocation check (token "ver" claim), no DB query.
+//   - TokenRevocationService: In-memory check of single revoked tokens ("jti" claim), no DB query.
 //   - SecurityContextHolder: Holds the security context (like a thread-local user session).
 //   - OncePerRequestFilter: Ensures the filter is executed once per request.
+//
+// Modes:
+//   - jwt.claimsAuth.enabled=true (default): the Authentication is built from the verified
+//     token claims alone (username, uid, roles) — no user lookup per request. Legacy HS256
+//     tokens (JwtUtil.isLegacy) are the exception: their user is always reloaded.
+//   - jwt.claimsAuth.enabled=false: the user is reloaded from the database on every request.
+//
+// Event stream:
+//   - EventSource (GET /api/loans/events) cannot send headers, so on that path only the token
+//     may also come from the "access_token" query parameter. Everywhere else it is ignored,
+//     which keeps tokens out of the URLs (and access logs) of ordinary requests.
+//
+// Logging:
+//   - One DEBUG line per request at most, sampled via logging.sample.jwt-filter, with the
+//     token and username masked (LogRedactor). Nothing is built when DEBUG is off.
 // ==============================================
 
 package com.junaid.backend.filter; // Declares that this file belongs to the 'filter' package in the project
 
 // === IMPORTS (Each serves a specific purpose in JWT filtering) ===
 
+import com.junaid.backend.metrics.RequestMetrics; // Stage timer for this filter
+import com.junaid.backend.model.TokenPrincipal; // Principal built from token claims
 import com.junaid.backend.service.MyUserDetailsService; // Custom service class that loads user details from DB (used to fetch user for token validation)
+import com.junaid.backend.service.TokenRevocationService; // In-memory single-token revocation check
+import com.junaid.backend.service.TokenVersionService; // In-memory token revocation check
 import com.junaid.backend.util.JwtUtil; // Custom utility class to generate, extract, and validate JWTs
+import com.junaid.backend.util.LogRedactor; // Masks tokens and usernames in log lines
+import com.junaid.backend.util.LogSampler; // Logs 1 in N requests when DEBUG is on
 
+import io.jsonwebtoken.Claims; // Verified token claims, reused for the whole request
+import org.slf4j.Logger; // Logging API (asynchronous appender, see logback-spring.xml)
+import org.slf4j.LoggerFactory; // Creates the logger
 import org.springframework.beans.factory.annotation.Autowired; // Enables automatic injection of dependencies by Spring
+import org.springframework.beans.factory.annotation.Value; // Injects the claims-auth switch
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken; // Represents authentication token used by Spring Security
+import org.springframework.security.core.GrantedAuthority; // A single role
+import org.springframework.security.core.authority.SimpleGrantedAuthority; // Role built from a claim value
 import org.springframework.security.core.context.SecurityContextHolder; // Holds the security context across the current request thread
 import org.springframework.security.core.userdetails.UserDetails; // Represents the authenticated user's details (username, password, authorities)
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource; // Builds additional authentication details from HttpServletRequest
@@ -36,68 +65,133 @@ import jakarta.servlet.http.HttpServletRequest; // Represents the incoming HTTP
 import jakarta.servlet.http.HttpServletResponse; // Represents the outgoing HTTP response
 
 import java.io.IOException; // Exception thrown when an IO operation fails (used here for filter execution)
+import java.util.ArrayList; // Holds the authorities built from the roles claim
+import java.util.List; // Role lists
 
 // === MAIN CLASS ===
 
 @Component // Marks this class as a Spring component to be managed and auto-registered as a bean
 public class JwtRequestFilter extends OncePerRequestFilter { // This class is a filter that runs ONCE per request
 
+    private static final String EVENT_STREAM_PATH = "/api/loans/events"; // Only path that accepts ?access_token=
+
+    private static final Logger log = LoggerFactory.getLogger(JwtRequestFilter.class);
+
+    private final LogSampler debugSampler = new LogSampler(); // Sampling for the per-request debug line
+
     @Autowired // Injects an instance of JwtUtil at runtime
     private JwtUtil jwtUtil; // Utility to extract and validate JWT token
 
     @Autowired // Injects an instance of MyUserDetailsService at runtime
     private MyUserDetailsService userDetailsService; // Service to load user from the database
 
+    @Autowired // Injects the in-memory token version registry
+    private TokenVersionService tokenVersionService; // Rejects revoked tokens without a DB query
+
+    @Autowired // Injects the revoked token set
+    private TokenRevocationService tokenRevocationService; // Rejects logged-out tokens without a DB query
+
+    @Autowired // Injects the pre-built stage timers
+    private RequestMetrics requestMetrics; // Times this filter's own work (not the rest of the chain)
+
+    @Value("${jwt.claimsAuth.enabled:true}") // Build the Authentication from token claims only
+    private boolean claimsAuthEnabled;
+
+    @Value("${logging.sample.jwt-filter:1}") // Log 1 in N requests at DEBUG (category "jwt-filter")
+    void setDebugSampleEvery(long every) {
+        debugSampler.setEvery(every);
+    }
+
     @Override // Overrides the method from OncePerRequestFilter
     protected void doFilterInternal(HttpServletRequest request, // Represents the current HTTP request
                                     HttpServletResponse response, // Represents the HTTP response
                                     FilterChain filterChain) // Allows the request to proceed to the next filter or controller
             throws ServletException, IOException { // Declares potential exceptions
 
-        String uri = request.getRequestURI(); // Gets the URI of the current request
+        long startNanos = System.nanoTime(); // Start of the jwt_filter stage
         String authorizationHeader = request.getHeader("Authorization"); // Retrieves the value of the 'Authorization' header
 
-        System.out.println(">>> [JwtFilter] Request URI: " + uri); // Logs the URI being requested
-        System.out.println(">>> [JwtFilter] Authorization header: " + authorizationHeader); // Logs the Authorization header
-
         String username = null; // Placeholder for the extracted username
         String jwt = null; // Placeholder for the extracted JWT
+        Claims claims = null; // Verified claims — the token is parsed and checked only once per request
+        String outcome = "no token"; // Summarised in a single (sampled) debug line at the end
 
         // Check if the Authorization header is present and starts with "Bearer "
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
             jwt = authorizationHeader.substring(7); // Extract the JWT by removing the "Bearer " prefix
-            System.out.println(">>> [JwtFilter] Extracted JWT: " + jwt);
             try {
-                username = jwtUtil.extractUsername(jwt); // Extracts the username from the JWT
-                System.out.println(">>> [JwtFilter] Extracted username: " + username);
+                claims = jwtUtil.verify(jwt); // Parse + verify signature and expiry (cached across requests)
+                username = claims.getSubject(); // The username is the token subject
             } catch (Exception e) {
-                System.out.println(">>> [JwtFilter] Error extracting username: " + e.getMessage()); // Log any issues with extracting the username
+                outcome = "invalid token: " + e.getClass().getSimpleName(); // Expired or tampered tokens are routine — no stack trace
+            }
+        } else if (authorizationHeader == null && EVENT_STREAM_PATH.equals(request.getServletPath())) {
+            jwt = request.getParameter("access_token"); // EventSource cannot set an Authorization header
+            if (jwt != null) {
+                try {
+                    claims = jwtUtil.verify(jwt); // Same verification as the header path
+                    username = claims.getSubject();
+                } catch (Exception e) {
+                    outcome = "invalid token: " + e.getClass().getSimpleName();
+                }
             }
         }
 
         // If we got a username and there's no authentication yet in the context
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username); // Load full user details from DB
-            System.out.println(">>> [JwtFilter] Loaded userDetails: " + userDetails.getUsername());
-
-            boolean valid = jwtUtil.validateToken(jwt, userDetails.getUsername()); // Validate the JWT against the username
-            System.out.println(">>> [JwtFilter] Token valid? " + valid);
-
-            if (valid) {
-                // Create an authentication token
-                UsernamePasswordAuthenticationToken authToken =
-                        new UsernamePasswordAuthenticationToken(
-                                userDetails, // Principal (user info)
-                                null, // No credentials needed since we already have JWT
-                                userDetails.getAuthorities() // User roles and permissions
-                        );
+            boolean current = tokenVersionService.isCurrent(username, jwtUtil.extractTokenVersion(claims)) // Revoked? (memory only)
+                    && !tokenRevocationService.isRevoked(jwtUtil.extractTokenId(claims), claims.getExpiration()); // Logged out? (memory only)
+
+            UsernamePasswordAuthenticationToken authToken = null;
+            if (current) {
+                authToken = claimsAuthEnabled && !jwtUtil.isLegacy(claims)
+                        ? authenticateFromClaims(claims, username) // No DB round-trip
+                        : authenticateFromDatabase(claims, username); // Reloads the user (always for legacy HS256 tokens)
+            }
 
+            if (authToken != null) {
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request)); // Attach extra request details
                 SecurityContextHolder.getContext().setAuthentication(authToken); // Set authentication in the security context
-                System.out.println(">>> [JwtFilter] Authentication set in context");
+                outcome = "authenticated";
+            } else {
+                outcome = current ? "token rejected" : "token revoked";
             }
         }
 
+        if (log.isDebugEnabled() && debugSampler.sample()) { // Free when DEBUG is off; 1 in N requests when on
+            log.debug("{} {} token={} user={} -> {}", request.getMethod(), request.getRequestURI(),
+                    LogRedactor.token(jwt), LogRedactor.username(username), outcome); // Never the raw token
+        }
+
+        requestMetrics.recordJwtFilter(System.nanoTime() - startNanos); // Stop before handing over to the controller
         filterChain.doFilter(request, response); // Continue the filter chain
     }
-}
\ No newline at end of file
+
+    // === Claims mode: the signed token already says who the user is and what they may do ===
+    private UsernamePasswordAuthenticationToken authenticateFromClaims(Claims claims, String username) {
+        List<String> roles = jwtUtil.extractRoles(claims);
+        List<GrantedAuthority> authorities = new ArrayList<>(roles.size());
+        for (String role : roles) {
+            authorities.add(new SimpleGrantedAuthority(role));
+        }
+        TokenPrincipal principal = new TokenPrincipal(username, jwtUtil.extractUserId(claims));
+        return new UsernamePasswordAuthenticationToken(principal, null, authorities); // Authenticated token
+    }
+
+    // === Database mode: reload the user so account changes apply immediately ===
+    private UsernamePasswordAuthenticationToken authenticateFromDatabase(Claims claims, String username) {
+        UserDetails userDetails = userDetailsService.loadUserByUsername(username); // Load full user details from DB
+
+        boolean valid = jwtUtil.validateToken(claims, userDetails.getUsername()); // Validate the verified claims against the username
+        if (!valid) {
+            return null;
+        }
+
+        // Create an authentication token
+        return new UsernamePasswordAuthenticationToken(
+                userDetails, // Principal (user info)
+                null, // No credentials needed since we already have JWT
+                userDetails.getAuthorities() // User roles and permissions
+        );
+    }
+}
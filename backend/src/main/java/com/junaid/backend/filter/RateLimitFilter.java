@@ -0,0 +1,186 @@
+// ==============================================
+// File: RateLimitFilter.java
+// Role:
+//   - Token-bucket rate limits for the most expensive or most sensitive public endpoints,
+//     checked in the security filter chain before JwtRequestFilter:
+//       * POST /api/authenticate -> per client IP; a successful login gives its token back,
+//                                   so only failed attempts spend the budget
+//       * POST /api/apply-loan   -> per client IP and per user (from the verified JWT)
+//       * GET /api/register/availability -> per client IP; it is public and tells whether a
+//                                   username or email is registered, so it must not be scriptable
+//   - Refused requests get 429 Too Many Requests + Retry-After (seconds).
+//
+// Why it matters:
+//   - /api/authenticate is public and runs BCrypt on every attempt; /api/apply-loan parses
+//     a multipart upload. A single client hammering either one could use up the CPU
+//     budget of everyone else. The check runs before authentication and before the body
+//     is read, so refusing a request costs almost nothing.
+//   - Failed logins per username and address are limited separately in LoginThrottle (the username
+//     is in the JSON body, which this filter does not read).
+//
+// Configuration:
+//   - app.ratelimit.enabled                               -> turns rate limiting on or off
+//   - app.ratelimit.authenticate.ip.capacity / .refillPerMinute
+//   - app.ratelimit.applyLoan.ip.capacity / .refillPerMinute
+//   - app.ratelimit.applyLoan.user.capacity / .refillPerMinute
+//   - app.ratelimit.availability.ip.capacity / .refillPerMinute
+//   - app.ratelimit.maxKeys                               -> max clients tracked per limit
+//   - Clients are keyed by request.getRemoteAddr(); behind a proxy, set server.forward-headers-strategy.
+//
+// Related files:
+//   - SecurityConfig.java (places this filter before JwtRequestFilter)
+//   - TokenBucketLimiter.java (the buckets)
+//   - ConcurrencyLimitFilter.java (caps requests in flight, independent of the client)
+// ==============================================
+
+package com.junaid.backend.filter; // Declares that this file belongs to the 'filter' package in the project
+
+import com.junaid.backend.util.JwtUtil; // Reads the user from the (cached) verified token
+import com.junaid.backend.util.TokenBucketLimiter; // Per-key token buckets
+
+import io.micrometer.core.instrument.Counter; // Refused requests
+import io.micrometer.core.instrument.MeterRegistry; // Where meters are registered
+import jakarta.servlet.FilterChain; // Used to continue the filter chain execution
+import jakarta.servlet.ServletException; // Exception thrown during servlet processing
+import jakarta.servlet.http.HttpServletRequest; // Represents the incoming HTTP request
+import jakarta.servlet.http.HttpServletResponse; // Represents the outgoing HTTP response
+import org.springframework.beans.factory.annotation.Value; // Injects configuration
+import org.springframework.http.HttpHeaders; // Retry-After header name
+import org.springframework.stereotype.Component; // Registers this filter as a Spring bean
+import org.springframework.web.filter.OncePerRequestFilter; // Runs once per request
+
+import java.io.IOException; // Exception thrown when writing the response fails
+import java.util.concurrent.TimeUnit; // Nanos -> seconds for Retry-After
+
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    static final String AUTHENTICATE_PATH = "/api/authenticate";
+    static final String APPLY_LOAN_PATH = "/api/apply-loan";
+    static final String AVAILABILITY_PATH = "/api/register/availability";
+
+    private final JwtUtil jwtUtil;
+    private final boolean enabled;
+    private final TokenBucketLimiter authenticateByIp;
+    private final TokenBucketLimiter applyLoanByIp;
+    private final TokenBucketLimiter applyLoanByUser;
+    private final TokenBucketLimiter availabilityByIp;
+    private final Counter authenticateIpRejected;
+    private final Counter applyLoanIpRejected;
+    private final Counter applyLoanUserRejected;
+    private final Counter availabilityIpRejected;
+
+    public RateLimitFilter(JwtUtil jwtUtil, MeterRegistry registry,
+                           @Value("${app.ratelimit.enabled:true}") boolean enabled,
+                           @Value("${app.ratelimit.maxKeys:100000}") int maxKeys,
+                           @Value("${app.ratelimit.authenticate.ip.capacity:20}") int authenticateIpCapacity,
+                           @Value("${app.ratelimit.authenticate.ip.refillPerMinute:10}") double authenticateIpRefill,
+                           @Value("${app.ratelimit.applyLoan.ip.capacity:20}") int applyLoanIpCapacity,
+                           @Value("${app.ratelimit.applyLoan.ip.refillPerMinute:10}") double applyLoanIpRefill,
+                           @Value("${app.ratelimit.applyLoan.user.capacity:5}") int applyLoanUserCapacity,
+                           @Value("${app.ratelimit.applyLoan.user.refillPerMinute:2}") double applyLoanUserRefill,
+                           @Value("${app.ratelimit.availability.ip.capacity:20}") int availabilityIpCapacity,
+                           @Value("${app.ratelimit.availability.ip.refillPerMinute:20}") double availabilityIpRefill) {
+        this.jwtUtil = jwtUtil;
+        this.enabled = enabled;
+        this.authenticateByIp = new TokenBucketLimiter(authenticateIpCapacity, authenticateIpRefill, maxKeys);
+        this.applyLoanByIp = new TokenBucketLimiter(applyLoanIpCapacity, applyLoanIpRefill, maxKeys);
+        this.applyLoanByUser = new TokenBucketLimiter(applyLoanUserCapacity, applyLoanUserRefill, maxKeys);
+        this.availabilityByIp = new TokenBucketLimiter(availabilityIpCapacity, availabilityIpRefill, maxKeys);
+        this.authenticateIpRejected = rejectedCounter(registry, "authenticate", "ip");
+        this.applyLoanIpRejected = rejectedCounter(registry, "apply-loan", "ip");
+        this.applyLoanUserRejected = rejectedCounter(registry, "apply-loan", "user");
+        this.availabilityIpRejected = rejectedCounter(registry, "availability", "ip");
+    }
+
+    // Only the limited endpoints pay for this filter
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled) {
+            return true;
+        }
+        String path = request.getRequestURI();
+        if ("GET".equals(request.getMethod())) {
+            return !AVAILABILITY_PATH.equals(path);
+        }
+        return !"POST".equals(request.getMethod())
+                || !AUTHENTICATE_PATH.equals(path) && !APPLY_LOAN_PATH.equals(path);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String ip = request.getRemoteAddr();
+        long now = System.nanoTime();
+
+        if (AVAILABILITY_PATH.equals(request.getRequestURI())) {
+            long wait = availabilityByIp.tryAcquire(ip, now);
+            if (wait > 0) {
+                reject(response, wait, availabilityIpRejected);
+                return;
+            }
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (AUTHENTICATE_PATH.equals(request.getRequestURI())) {
+            long wait = authenticateByIp.tryAcquire(ip, now);
+            if (wait > 0) {
+                reject(response, wait, authenticateIpRejected);
+                return;
+            }
+            filterChain.doFilter(request, response);
+            if (response.getStatus() == HttpServletResponse.SC_OK) {
+                authenticateByIp.refund(ip, System.nanoTime()); // Logins that succeed cost the client nothing
+            }
+            return;
+        }
+
+        long wait = applyLoanByIp.tryAcquire(ip, now);
+        if (wait > 0) {
+            reject(response, wait, applyLoanIpRejected);
+            return;
+        }
+        String username = verifiedUsername(request);
+        if (username != null) { // Requests without a valid token are refused later by Spring Security
+            wait = applyLoanByUser.tryAcquire(username, now);
+            if (wait > 0) {
+                reject(response, wait, applyLoanUserRejected);
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    // Subject of a valid bearer token, or null. Unverified tokens are never trusted as a key,
+    // or a forged "sub" could spend someone else's budget. The verification result is cached,
+    // so JwtRequestFilter does not verify the token a second time.
+    private String verifiedUsername(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith("Bearer ")) {
+            return null;
+        }
+        try {
+            return jwtUtil.verify(header.substring(7)).getSubject();
+        } catch (Exception e) {
+            return null; // Expired or tampered: JwtRequestFilter reports it
+        }
+    }
+
+    private static void reject(HttpServletResponse response, long waitNanos, Counter counter) throws IOException {
+        counter.increment();
+        long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1)); // Round up
+        response.setStatus(429); // Too Many Requests
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(seconds));
+        response.setContentType("text/plain;charset=UTF-8");
+        response.getWriter().write("Too many requests. Please try again in " + seconds + " seconds.");
+    }
+
+    private static Counter rejectedCounter(MeterRegistry registry, String endpoint, String key) {
+        return Counter.builder("app.ratelimit.rejected")
+                .description("Requests refused by a rate limit")
+                .tag("endpoint", endpoint)
+                .tag("key", key)
+                .register(registry);
+    }
+}
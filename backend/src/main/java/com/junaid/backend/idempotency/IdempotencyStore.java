@@ -0,0 +1,72 @@
+// ==============================================
+// File: IdempotencyStore.java
+// Role:
+//   - Defines the contract for remembering Idempotency-Key requests and their responses.
+//   - A key is claimed by the first request that carries it. Once that request succeeds,
+//     its response is stored, and later requests with the key get that response again.
+//
+// Why it matters:
+//   - Clients retry POST /api/apply-loan and POST /api/register after timeouts. Without a
+//     record of the first attempt, every retry re-uploads, re-scores and inserts again.
+//   - Claiming is atomic, so two nodes never both run the same key.
+//
+// Keys:
+//   - Callers pass an already-hashed key (scope + path + client key), never the raw header.
+//   - The fingerprint identifies the request. Reusing a key for a different request is refused.
+//
+// Related files:
+//   - InMemoryIdempotencyStore.java (default, one node)
+//   - JdbcIdempotencyStore.java (shared by every node through the idempotency_keys table)
+//   - IdempotencyFilter.java (the only caller)
+// ==============================================
+
+package com.junaid.backend.idempotency; // Declares the Java package this interface belongs to
+
+public interface IdempotencyStore { // Contract for every idempotency backend
+
+    /** What a claim found. */
+    enum Outcome {
+        ACQUIRED, // Nobody had the key: the caller runs the request
+        IN_PROGRESS, // Another request holds the key and has not finished
+        COMPLETED // The response is stored
+    }
+
+    /**
+     * @param outcome     what the claim found
+     * @param fingerprint fingerprint of the request that holds the key
+     * @param response    the stored response (only for {@link Outcome#COMPLETED})
+     */
+    record Claim(Outcome outcome, String fingerprint, StoredResponse response) {
+    }
+
+    /**
+     * Atomically claims the key unless a live entry exists. An in-progress claim older than the
+     * lock timeout (its node died) and an entry past its TTL count as absent.
+     *
+     * @param key         hashed idempotency key
+     * @param fingerprint fingerprint of the request making the claim
+     * @return ACQUIRED if the caller now holds the key, otherwise the existing entry
+     */
+    Claim claim(String key, String fingerprint);
+
+    /**
+     * @param key hashed idempotency key
+     * @return the live entry for the key (never ACQUIRED), or null if there is none
+     */
+    Claim find(String key);
+
+    /**
+     * Stores the response of a claimed key. It is replayed until the TTL runs out.
+     *
+     * @param key      hashed idempotency key, claimed by the caller
+     * @param response the response to replay
+     */
+    void complete(String key, StoredResponse response);
+
+    /**
+     * Gives up a claim without a stored response (the request failed), so a retry runs again.
+     *
+     * @param key hashed idempotency key, claimed by the caller
+     */
+    void release(String key);
+}
@@ -0,0 +1,99 @@
+// ==============================================
+// File: InMemoryIdempotencyStore.java
+// Role:
+//   - Default IdempotencyStore: recent keys and their responses, held in this node's heap.
+//
+// Why it matters:
+//   - A retry costs one map lookup. There is no database round-trip on the hot path.
+//   - Enough for a single node, or for nodes behind sticky sessions. When any node can receive
+//     a retry, use app.idempotency.store=jdbc.
+//
+// Bounds:
+//   - At most app.idempotency.maxEntries keys. When full, the oldest entry is evicted (LRU by
+//     insertion order), so a burst of keys cannot grow the heap.
+//   - Completed entries live for app.idempotency.ttlMs. In-progress entries live for
+//     app.idempotency.lockTimeoutMs, so a claim is never held forever.
+//
+// Dependencies:
+//   - app.idempotency.store (selects this implementation; "memory" is the default)
+//
+// Related files:
+//   - IdempotencyStore.java (the interface)
+//   - JdbcIdempotencyStore.java (multi-node alternative)
+// ==============================================
+
+package com.junaid.backend.idempotency; // Declares the Java package this class belongs to
+
+import org.springframework.beans.factory.annotation.Value; // Injects values from application.properties
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty; // Activates this bean only for app.idempotency.store=memory
+import org.springframework.stereotype.Component; // Registers this store as a Spring bean
+
+import java.util.LinkedHashMap; // Insertion-ordered map with eldest-entry eviction
+import java.util.Map; // Map interface
+
+@Component // Registers this store as a Spring bean
+@ConditionalOnProperty(name = "app.idempotency.store", havingValue = "memory", matchIfMissing = true) // Default backend
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    // One key; response == null while the request is still running
+    private record Entry(String fingerprint, StoredResponse response, long expiresAt) {
+    }
+
+    private final Map<String, Entry> entries; // hashed key -> entry (guarded by this)
+    private final long ttlMs;
+    private final long lockTimeoutMs;
+
+    public InMemoryIdempotencyStore(@Value("${app.idempotency.maxEntries:10000}") int maxEntries,
+                                    @Value("${app.idempotency.ttlMs:86400000}") long ttlMs,
+                                    @Value("${app.idempotency.lockTimeoutMs:60000}") long lockTimeoutMs) {
+        this.ttlMs = ttlMs;
+        this.lockTimeoutMs = lockTimeoutMs;
+        this.entries = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries; // Oldest key goes first
+            }
+        };
+    }
+
+    @Override
+    public synchronized Claim claim(String key, String fingerprint) {
+        Claim existing = find(key);
+        if (existing != null) {
+            return existing;
+        }
+        entries.put(key, new Entry(fingerprint, null, System.currentTimeMillis() + lockTimeoutMs));
+        return new Claim(Outcome.ACQUIRED, fingerprint, null);
+    }
+
+    @Override
+    public synchronized Claim find(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt() <= System.currentTimeMillis()) {
+            entries.remove(key); // Expired entries are dropped when next touched
+            return null;
+        }
+        return entry.response() != null
+                ? new Claim(Outcome.COMPLETED, entry.fingerprint(), entry.response())
+                : new Claim(Outcome.IN_PROGRESS, entry.fingerprint(), null);
+    }
+
+    @Override
+    public synchronized void complete(String key, StoredResponse response) {
+        Entry claimed = entries.remove(key); // Re-inserted below, so it counts as newest
+        if (claimed != null) {
+            entries.put(key, new Entry(claimed.fingerprint(), response, System.currentTimeMillis() + ttlMs));
+        }
+    }
+
+    @Override
+    public synchronized void release(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.response() == null) {
+            entries.remove(key);
+        }
+    }
+}
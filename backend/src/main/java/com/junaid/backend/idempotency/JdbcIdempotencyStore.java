@@ -0,0 +1,118 @@
+// ==============================================
+// File: JdbcIdempotencyStore.java
+// Role:
+//   - IdempotencyStore shared by every node through the idempotency_keys table.
+//   - A claim is a single INSERT ... ON CONFLICT DO UPDATE ... WHERE. It inserts the key, or
+//     takes over a row that has expired, and otherwise changes nothing. One row affected means
+//     the caller holds the key.
+//
+// Why it matters:
+//   - Behind a load balancer, a retry can reach a different node than the first attempt. The
+//     primary key makes the claim atomic across nodes, so the request runs exactly once.
+//
+// Expiry:
+//   - expires_at is the lock deadline (app.idempotency.lockTimeoutMs) while the request runs,
+//     and the replay deadline (app.idempotency.ttlMs) once its response is stored.
+//   - Expired rows are deleted every app.idempotency.purgeMs.
+//
+// Dependencies:
+//   - app.idempotency.store=jdbc (selects this implementation)
+//   - V7__create_idempotency_keys.sql (the table; PostgreSQL's ON CONFLICT)
+//
+// Related files:
+//   - IdempotencyStore.java (the interface)
+//   - InMemoryIdempotencyStore.java (single-node default)
+// ==============================================
+
+package com.junaid.backend.idempotency; // Declares the Java package this class belongs to
+
+import org.springframework.beans.factory.annotation.Value; // Injects values from application.properties
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty; // Activates this bean only for app.idempotency.store=jdbc
+import org.springframework.jdbc.core.JdbcTemplate; // Plain SQL, no entity needed
+import org.springframework.scheduling.annotation.Scheduled; // Periodic purge
+import org.springframework.stereotype.Component; // Registers this store as a Spring bean
+
+import java.sql.Timestamp; // timestamptz parameters
+import java.time.Instant; // Lock and replay deadlines
+import java.util.List; // Query results
+
+@Component // Registers this store as a Spring bean
+@ConditionalOnProperty(name = "app.idempotency.store", havingValue = "jdbc") // Multi-node backend
+public class JdbcIdempotencyStore implements IdempotencyStore {
+
+    private static final String CLAIM_SQL = """
+            insert into idempotency_keys (key_hash, fingerprint, expires_at) values (?, ?, ?)
+            on conflict (key_hash) do update
+                set fingerprint = excluded.fingerprint, status_code = null, content_type = null,
+                    location = null, body = null, expires_at = excluded.expires_at
+                where idempotency_keys.expires_at <= ?
+            """; // Inserts, or takes over an expired row; a live row is left alone
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long ttlMs;
+    private final long lockTimeoutMs;
+
+    public JdbcIdempotencyStore(JdbcTemplate jdbcTemplate,
+                                @Value("${app.idempotency.ttlMs:86400000}") long ttlMs,
+                                @Value("${app.idempotency.lockTimeoutMs:60000}") long lockTimeoutMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttlMs = ttlMs;
+        this.lockTimeoutMs = lockTimeoutMs;
+    }
+
+    @Override
+    public Claim claim(String key, String fingerprint) {
+        for (int attempt = 0; attempt < 2; attempt++) {
+            Instant now = Instant.now();
+            int claimed = jdbcTemplate.update(CLAIM_SQL, key, fingerprint,
+                    Timestamp.from(now.plusMillis(lockTimeoutMs)), Timestamp.from(now));
+            if (claimed == 1) {
+                return new Claim(Outcome.ACQUIRED, fingerprint, null);
+            }
+            Claim existing = find(key);
+            if (existing != null) {
+                return existing;
+            }
+            // The live row was released or purged between the two statements: claim again
+        }
+        return new Claim(Outcome.IN_PROGRESS, fingerprint, null); // Still racing; the caller waits and retries later
+    }
+
+    @Override
+    public Claim find(String key) {
+        List<Claim> rows = jdbcTemplate.query(
+                "select fingerprint, status_code, content_type, location, body from idempotency_keys"
+                        + " where key_hash = ? and expires_at > ?",
+                (rs, i) -> {
+                    int status = rs.getInt("status_code");
+                    if (rs.wasNull()) {
+                        return new Claim(Outcome.IN_PROGRESS, rs.getString("fingerprint"), null);
+                    }
+                    StoredResponse response = new StoredResponse(status, rs.getString("content_type"),
+                            rs.getString("location"), rs.getBytes("body"));
+                    return new Claim(Outcome.COMPLETED, rs.getString("fingerprint"), response);
+                },
+                key, Timestamp.from(Instant.now()));
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    @Override
+    public void complete(String key, StoredResponse response) {
+        jdbcTemplate.update(
+                "update idempotency_keys set status_code = ?, content_type = ?, location = ?, body = ?, expires_at = ?"
+                        + " where key_hash = ?",
+                response.status(), response.contentType(), response.location(), response.body(),
+                Timestamp.from(Instant.now().plusMillis(ttlMs)), key);
+    }
+
+    @Override
+    public void release(String key) {
+        jdbcTemplate.update("delete from idempotency_keys where key_hash = ? and status_code is null", key);
+    }
+
+    // === Deletes expired keys (completed past their TTL, or claims whose node never finished) ===
+    @Scheduled(fixedDelayString = "${app.idempotency.purgeMs:600000}", initialDelayString = "${app.idempotency.purgeMs:600000}")
+    public void purge() {
+        jdbcTemplate.update("delete from idempotency_keys where expires_at <= ?", Timestamp.from(Instant.now()));
+    }
+}
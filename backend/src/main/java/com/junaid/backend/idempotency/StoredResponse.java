@@ -0,0 +1,20 @@
+// ==============================================
+// File: StoredResponse.java
+// Role:
+//   - The parts of a response that are replayed for a repeated Idempotency-Key.
+//
+// Related files:
+//   - IdempotencyStore.java (stores it)
+//   - IdempotencyFilter.java (captures and replays it)
+// ==============================================
+
+package com.junaid.backend.idempotency; // Declares the Java package this record belongs to
+
+/**
+ * @param status      HTTP status (always 2xx: only successful responses are stored)
+ * @param contentType Content-Type header, or null
+ * @param location    Location header (e.g. the status URL of a 202), or null
+ * @param body        response body
+ */
+public record StoredResponse(int status, String contentType, String location, byte[] body) {
+}
@@ -0,0 +1,102 @@
+// ==========================================================
+// File: RequestMetrics.java
+//
+// ❖ ROLE:
+//    - Pre-built Micrometer timers for each stage of the request path, plus loan decision
+//      counters per loan type and outcome.
+//
+// ❖ WHY IT'S IMPORTANT:
+//    - Shows where request time goes (token check, password check, scoring, decision writes).
+//      Each timer publishes a percentile histogram, so p95/p99 can be computed across instances.
+//    - Meters are created once here. The hot path only calls record() and increment(): no
+//      registry lookups, no tag maps per request. That keeps it cheap enough for production.
+//
+// ❖ METRICS:
+//    - app.request.stage{stage=jwt_filter|authenticate|scoring|decision_write}  (timer)
+//    - loan.decisions{loan_type, outcome}                                       (counter)
+//    - Provided by Spring Boot: http.server.requests, spring.data.repository.invocations
+//      (LoanRepository / UserRepository), hikaricp.connections.* (pool gauges)
+//
+// ❖ USED IN:
+//    - JwtRequestFilter.java, AuthController.java, LoanServiceImpl.java
+// ==========================================================
+
+package com.junaid.backend.metrics; // Declares this class belongs to the 'metrics' package
+
+import com.junaid.backend.entity.LoanStatus; // Decision outcomes
+
+import io.micrometer.core.instrument.Counter; // Monotonic count
+import io.micrometer.core.instrument.MeterRegistry; // Where meters are registered
+import io.micrometer.core.instrument.Timer; // Latency with histogram
+import org.springframework.stereotype.Component; // Registers this class as a Spring bean
+
+import java.util.Locale; // Lower-case tag values
+import java.util.Map; // Per-loan-type counters
+import java.util.concurrent.ConcurrentHashMap; // Safe for request and worker threads
+import java.util.concurrent.TimeUnit; // Durations are recorded in nanoseconds
+
+@Component
+public class RequestMetrics {
+
+    private static final String STAGE_TIMER = "app.request.stage";
+    private static final String DECISION_COUNTER = "loan.decisions";
+
+    private final MeterRegistry registry;
+    private final Timer jwtFilter; // Token parsing, verification and revocation check
+    private final Timer authenticate; // AuthenticationManager.authenticate (user lookup + BCrypt)
+    private final Timer scoring; // Credit scoring of one application
+    private final Timer decisionWrite; // Batched write of decided applications
+
+    // loan type (already canonical, see CreditPolicy.canonicalType) -> one counter per LoanStatus
+    private final Map<String, Counter[]> decisions = new ConcurrentHashMap<>();
+
+    public RequestMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.jwtFilter = stageTimer(registry, "jwt_filter");
+        this.authenticate = stageTimer(registry, "authenticate");
+        this.scoring = stageTimer(registry, "scoring");
+        this.decisionWrite = stageTimer(registry, "decision_write");
+    }
+
+    public void recordJwtFilter(long nanos) {
+        jwtFilter.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordAuthenticate(long nanos) {
+        authenticate.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordScoring(long nanos) {
+        scoring.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordDecisionWrite(long nanos) {
+        decisionWrite.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    // === Counts one decision; loanType must come from a bounded set ===
+    public void recordDecision(String loanType, LoanStatus outcome) {
+        decisions.computeIfAbsent(loanType, this::decisionCounters)[outcome.ordinal()].increment();
+    }
+
+    private Counter[] decisionCounters(String loanType) {
+        LoanStatus[] statuses = LoanStatus.values();
+        Counter[] counters = new Counter[statuses.length];
+        for (LoanStatus status : statuses) {
+            counters[status.ordinal()] = Counter.builder(DECISION_COUNTER)
+                    .description("Loan applications decided, by loan type and outcome")
+                    .tag("loan_type", loanType)
+                    .tag("outcome", status.name().toLowerCase(Locale.ROOT))
+                    .register(registry);
+        }
+        return counters;
+    }
+
+    private static Timer stageTimer(MeterRegistry registry, String stage) {
+        return Timer.builder(STAGE_TIMER)
+                .description("Time spent in one stage of the request path")
+                .tag("stage", stage)
+                .publishPercentileHistogram() // Aggregatable percentiles on the scrape endpoint
+                .register(registry);
+    }
+}
@@ -0,0 +1,46 @@
+// ==============================================
+// File: AppUserDetails.java
+// Role:
+//   - Spring Security UserDetails that also carries the user's database ID and token version.
+//   - Returned by MyUserDetailsService, so a successful login already has everything
+//     needed to mint a self-contained JWT.
+//
+// Why it matters:
+//   - AuthController no longer has to reload the user after authenticate() just to build a token.
+//
+// Dependencies:
+//   - org.springframework.security.core.userdetails.User (the class this extends)
+//
+// Related files:
+//   - MyUserDetailsService.java (creates it)
+//   - AuthController.java (reads it after a successful login)
+//   - JwtUtil.java (embeds its ID, roles and token version as claims)
+// ==============================================
+
+package com.junaid.backend.model; // Declares the Java package this class belongs to
+
+import org.springframework.security.core.GrantedAuthority; // A role such as ROLE_USER
+import org.springframework.security.core.userdetails.User; // Spring Security's standard UserDetails
+
+import java.util.Collection; // Holds the user's roles
+
+public class AppUserDetails extends User { // Standard Spring Security user plus two extra fields
+
+    private final Long id; // Primary key of the users row
+    private final int tokenVersion; // Current token version of the user
+
+    public AppUserDetails(Long id, String username, String password, int tokenVersion,
+                          Collection<? extends GrantedAuthority> authorities) {
+        super(username, password, authorities); // Enabled, non-expired, non-locked account
+        this.id = id;
+        this.tokenVersion = tokenVersion;
+    }
+
+    public Long getId() {
+        return id; // Returns the user's database ID
+    }
+
+    public int getTokenVersion() {
+        return tokenVersion; // Returns the user's current token version
+    }
+}
@@ -3,10 +3,12 @@
 // Role:
 //   - This class is used to return the JWT token back to the frontend after successful login.
 //   - It holds the token securely and makes it easy to return in a JSON response.
+//   - Also returned by /api/refresh: a new short-lived access token and the next refresh token.
 //
 // Why it matters:
 //   - After authenticating a user, the backend needs to send a signed token to the frontend.
-//   - This class wraps that token neatly as a JSON object: { "jwt": "..." }
+//   - This class wraps that token neatly as a JSON object:
+//     { "jwt": "...", "refreshToken": "...", "expiresIn": 900 }
 //
 // Dependencies:
 //   - None (This is a simple POJO — Plain Old Java Object)
@@ -21,14 +23,28 @@ package com.junaid.backend.model; // Declares the Java package this class belong
 public class AuthenticationResponse { // Declares a public class named AuthenticationResponse
 
     private final String jwt; // Stores the generated JWT token (marked final since it won’t change)
+    private final String refreshToken; // Single-use token for POST /api/refresh
+    private final long expiresIn; // Seconds until the JWT expires (refresh before then)
 
-    // Constructor that sets the JWT token field
-    public AuthenticationResponse(String jwt) {
+    // Constructor that sets all fields
+    public AuthenticationResponse(String jwt, String refreshToken, long expiresIn) {
         this.jwt = jwt; // Assigns the input JWT value to the field
+        this.refreshToken = refreshToken;
+        this.expiresIn = expiresIn;
     }
 
     // Getter method to retrieve the JWT token
     public String getJwt() {
         return jwt; // Returns the token value
     }
-}
\ No newline at end of file
+
+    // Getter method to retrieve the refresh token
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    // Getter method to retrieve the access token lifetime
+    public long getExpiresIn() {
+        return expiresIn;
+    }
+}
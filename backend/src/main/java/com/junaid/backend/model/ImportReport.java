@@ -0,0 +1,84 @@
+// ==============================================
+// File: ImportReport.java
+// Role:
+//   - Result of a bulk import: how many rows were read, inserted and rejected, and why.
+//
+// Why it matters:
+//   - Bad rows never abort an import. They are listed here by line number so the partner
+//     can fix them and re-send only those rows.
+//
+// Related files:
+//   - BulkImportService.java (builds it)
+//   - AdminImportController.java (returns it as JSON)
+// ==============================================
+
+package com.junaid.backend.model; // Declares the Java package this class belongs to
+
+import java.util.ArrayList; // Rejected row list
+import java.util.List; // Rejected row list
+
+public class ImportReport {
+
+    /**
+     * @param line   1-based line number in the uploaded file
+     * @param reason why the row was not imported
+     */
+    public record RejectedRow(long line, String reason) { }
+
+    private final int maxReportedRejections; // Cap on listed rejections (the count is always exact)
+    private long received; // Records read from the input
+    private long inserted; // Records written to the database
+    private long rejected; // Records skipped
+    private long chunks; // Committed chunks
+    private boolean rejectionsTruncated; // True if more rejections happened than are listed
+    private final List<RejectedRow> rejections = new ArrayList<>(); // Listed rejections
+
+    public ImportReport(int maxReportedRejections) {
+        this.maxReportedRejections = maxReportedRejections;
+    }
+
+    public void recordReceived() {
+        received++;
+    }
+
+    public void recordInserted(long count) {
+        inserted += count;
+    }
+
+    public void recordChunk() {
+        chunks++;
+    }
+
+    public void reject(long line, String reason) {
+        rejected++;
+        if (rejections.size() < maxReportedRejections) {
+            rejections.add(new RejectedRow(line, reason));
+        } else {
+            rejectionsTruncated = true;
+        }
+    }
+
+    public long getReceived() {
+        return received;
+    }
+
+    public long getInserted() {
+        return inserted;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public long getChunks() {
+        return chunks;
+    }
+
+    public boolean isRejectionsTruncated() {
+        return rejectionsTruncated;
+    }
+
+    public List<RejectedRow> getRejections() {
+        return rejections;
+    }
+}
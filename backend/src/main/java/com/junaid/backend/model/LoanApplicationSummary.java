@@ -0,0 +1,49 @@
+// ==============================================
+// File: LoanApplicationSummary.java
+// Role:
+//   - Spring Data "closed" interface projection of LoanApplication used for listings.
+//   - Only the getters declared here are selected from the database.
+//
+// Why it matters:
+//   - /api/loans/my-applications is the most polled endpoint; it only needs a few columns per row.
+//   - Document bytes are never part of this view — clients fetch them on demand from
+//     /api/loans/{id}/document when the user actually opens one.
+//
+// Dependencies:
+//   - None (Spring Data generates the implementation at runtime)
+//
+// Related files:
+//   - LoanRepository.java (returns this projection for keyset-paginated queries)
+//   - LoanController.java (serves it to the frontend)
+// ==============================================
+
+package com.junaid.backend.model; // Declares the Java package this interface belongs to
+
+import com.junaid.backend.entity.LoanStatus; // Decision state
+
+import java.time.Instant; // Submission time
+
+public interface LoanApplicationSummary { // Read-only view of one loan application
+
+    Long getId(); // Loan application ID (also the keyset cursor)
+
+    String getNameOfApplicant(); // Full name of the person applying
+
+    String getLoanType(); // Type of loan: personal, home, etc.
+
+    double getAmount(); // Amount requested
+
+    int getTenure(); // Loan duration in months
+
+    double getInterestRate(); // Interest rate associated with the loan
+
+    LoanStatus getStatus(); // PENDING, APPROVED or REJECTED
+
+    Integer getCreditScore(); // Credit score used for the decision (null while pending)
+
+    String getDocumentName(); // Original file name of the supporting document (null if none)
+
+    Long getDocumentSize(); // Size of the supporting document in bytes (null if none)
+
+    Instant getCreatedAt(); // When the application was submitted
+}
@@ -0,0 +1,30 @@
+// ==============================================
+// File: LoanDecision.java
+// Role:
+//   - Outcome of scoring one loan application against the credit policy.
+//
+// Why it matters:
+//   - The same result type is produced by the synchronous path and by the decision
+//     pipeline, and is written back to loan_applications in batches.
+//
+// Related files:
+//   - LoanServiceImpl.java (creates and persists it)
+// ==============================================
+
+package com.junaid.backend.model; // Declares the Java package this record belongs to
+
+import com.junaid.backend.entity.LoanStatus; // APPROVED or REJECTED
+
+/**
+ * @param loanId        the decided application (null on the synchronous path before saving)
+ * @param status        APPROVED or REJECTED
+ * @param creditScore   generated credit score
+ * @param requiredScore policy threshold for the loan type
+ * @param message       human-readable outcome
+ */
+public record LoanDecision(Long loanId, LoanStatus status, int creditScore, int requiredScore, String message) {
+
+    public boolean approved() {
+        return status == LoanStatus.APPROVED;
+    }
+}
@@ -0,0 +1,32 @@
+// ==============================================
+// File: LoanStatusResponse.java
+// Role:
+//   - JSON body returned by POST /api/apply-loan (202 Accepted) and GET /api/loans/{id}/status.
+//
+// Why it matters:
+//   - Clients poll this small object instead of re-fetching their whole application list.
+//
+// Related files:
+//   - LoanController.java (returns it)
+// ==============================================
+
+package com.junaid.backend.model; // Declares the Java package this record belongs to
+
+import com.junaid.backend.entity.LoanApplication; // Source entity
+import com.junaid.backend.entity.LoanStatus; // Decision state
+
+/**
+ * @param id          loan application ID
+ * @param status      PENDING, APPROVED or REJECTED
+ * @param creditScore credit score used for the decision (null while pending)
+ * @param message     human-readable outcome, or a "received" note while pending
+ */
+public record LoanStatusResponse(Long id, LoanStatus status, Integer creditScore, String message) {
+
+    public static LoanStatusResponse of(LoanApplication loan) {
+        String message = loan.getStatus() == LoanStatus.PENDING
+                ? "Loan application received. We are checking your credit score."
+                : loan.getDecisionMessage();
+        return new LoanStatusResponse(loan.getId(), loan.getStatus(), loan.getCreditScore(), message);
+    }
+}
@@ -0,0 +1,39 @@
+// ==============================================
+// File: PortfolioStats.java
+// Role:
+//   - Snapshot of the loan portfolio: counts, amounts, average interest rate and
+//     decision outcomes, overall and broken down by loan type and by tenure band.
+//
+// Why it matters:
+//   - Served to dashboards straight from memory; no GROUP BY runs per refresh.
+//
+// Related files:
+//   - PortfolioAggregates.java (builds it)
+//   - PortfolioController.java (returns it as JSON)
+// ==============================================
+
+package com.junaid.backend.model; // Declares the Java package this record belongs to
+
+import java.time.Instant; // Time of the last full rebuild
+import java.util.Map; // Breakdowns
+
+/**
+ * @param overall      every application
+ * @param byLoanType   per loan type ("other" for types the credit policy doesn't know)
+ * @param byTenureBand per tenure band in months, e.g. "13-36"
+ * @param rebuiltAt    when the figures were last recomputed from the table (null before the first rebuild)
+ */
+public record PortfolioStats(Totals overall, Map<String, Totals> byLoanType, Map<String, Totals> byTenureBand,
+                             Instant rebuiltAt) {
+
+    /**
+     * @param count               applications
+     * @param totalAmount         sum of requested amounts
+     * @param averageInterestRate mean interest rate (0 when there are no applications)
+     * @param approved            applications approved
+     * @param rejected            applications rejected
+     * @param pending             applications still waiting for a decision
+     */
+    public record Totals(long count, double totalAmount, double averageInterestRate,
+                         long approved, long rejected, long pending) { }
+}
@@ -0,0 +1,28 @@
+// ==============================================
+// File: RefreshRequest.java
+// Role:
+//   - Request body of POST /api/refresh (and, optionally, POST /api/logout): { "refreshToken": "..." }
+//
+// Related files:
+//   - AuthController.java (receives it)
+//   - AuthenticationResponse.java (returned by /api/refresh)
+// ==============================================
+
+package com.junaid.backend.model; // Declares that this class is part of the 'model' package
+
+public class RefreshRequest { // Declares a public class named RefreshRequest
+
+    private String refreshToken; // The refresh token returned by /api/authenticate or the last /api/refresh
+
+    public RefreshRequest() { } // Default no-argument constructor (required for JSON deserialization)
+
+    // Getter method for the refresh token
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    // Setter method for the refresh token (called when mapping the JSON request body)
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+}
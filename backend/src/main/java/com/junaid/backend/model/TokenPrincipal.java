@@ -0,0 +1,33 @@
+// ==============================================
+// File: TokenPrincipal.java
+// Role:
+//   - The authenticated principal built purely from verified JWT claims.
+//   - Used when jwt.claimsAuth.enabled=true, so no database lookup is needed per request.
+//
+// Why it matters:
+//   - Controllers keep calling principal.getName() exactly as before; Spring Security
+//     resolves it through AuthenticatedPrincipal.getName().
+//
+// Dependencies:
+//   - AuthenticatedPrincipal (Spring Security interface for custom principals)
+//
+// Related files:
+//   - JwtRequestFilter.java (creates it from the token)
+//   - JwtUtil.java (defines the claims it is built from)
+// ==============================================
+
+package com.junaid.backend.model; // Declares the Java package this record belongs to
+
+import org.springframework.security.core.AuthenticatedPrincipal; // Lets Authentication.getName() return the username
+
+/**
+ * @param username the token subject
+ * @param userId   the "uid" claim (null for tokens issued before it existed)
+ */
+public record TokenPrincipal(String username, Long userId) implements AuthenticatedPrincipal {
+
+    @Override
+    public String getName() {
+        return username; // What principal.getName() returns in controllers
+    }
+}
@@ -0,0 +1,42 @@
+// ==============================================
+// File: UserProfile.java
+// Role:
+//   - Spring Data "closed" interface projection of User returned by GET /api/users/me.
+//   - Only the getters declared here are selected; the password hash and token version never are.
+//
+// Related files:
+//   - UserRepository.java (findProfileByUsername)
+//   - UserController.java (serves it with an ETag)
+// ==============================================
+
+package com.junaid.backend.model; // Declares the Java package this interface belongs to
+
+import java.math.BigDecimal; // Annual income
+import java.time.LocalDate; // Date of birth
+
+public interface UserProfile { // Read-only view of the current user
+
+    String getUsername(); // Login name
+
+    String getFirstName(); // First name
+
+    String getMiddleName(); // Middle name (null if none)
+
+    String getLastName(); // Last name
+
+    String getContactNumber(); // Phone number
+
+    String getEmail(); // Email address
+
+    String getAddress(); // Home address
+
+    LocalDate getDob(); // Date of birth
+
+    String getIdType(); // Type of ID document
+
+    String getIdNumber(); // ID document number
+
+    String getEmploymentStatus(); // Employed, self-employed, ...
+
+    BigDecimal getAnnualIncome(); // Annual income (null if not given)
+}
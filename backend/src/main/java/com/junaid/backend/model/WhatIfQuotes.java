@@ -0,0 +1,27 @@
+// ==============================================
+// File: WhatIfQuotes.java
+// Role:
+//   - Result of a what-if request: EMI, total interest and total payment for every
+//     combination of the requested rates and tenures.
+//
+// Why it matters:
+//   - Grids are returned as arrays indexed [rate][tenure], which is compact on the wire
+//     and maps directly onto a comparison table in the frontend.
+//
+// Related files:
+//   - AmortizationEngine.java (builds it)
+//   - AmortizationController.java (returns it as JSON)
+// ==============================================
+
+package com.junaid.backend.model; // Declares the Java package this record belongs to
+
+/**
+ * @param amount        loan amount the quotes are for
+ * @param rates         annual interest rates in percent (row order)
+ * @param tenures       tenures in months (column order)
+ * @param emi           monthly installment per [rate][tenure]
+ * @param totalInterest interest paid over the whole loan per [rate][tenure]
+ * @param totalPayment  amount plus total interest per [rate][tenure]
+ */
+public record WhatIfQuotes(double amount, double[] rates, int[] tenures,
+                           double[][] emi, double[][] totalInterest, double[][] totalPayment) { }
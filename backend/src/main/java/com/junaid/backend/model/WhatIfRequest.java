@@ -0,0 +1,18 @@
+// ==============================================
+// File: WhatIfRequest.java
+// Role:
+//   - Body of POST /api/amortization/what-if: one amount and the rates and tenures to compare.
+//
+// Related files:
+//   - AmortizationController.java (accepts it)
+//   - WhatIfQuotes.java (response)
+// ==============================================
+
+package com.junaid.backend.model; // Declares the Java package this record belongs to
+
+/**
+ * @param amount  loan amount
+ * @param rates   annual interest rates in percent, e.g. [7.5, 8, 8.5]
+ * @param tenures tenures in months, e.g. [120, 180, 240]
+ */
+public record WhatIfRequest(double amount, double[] rates, int[] tenures) { }
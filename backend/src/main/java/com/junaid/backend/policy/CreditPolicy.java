@@ -0,0 +1,115 @@
+// ==========================================================
+// File: CreditPolicy.java
+//
+// ❖ ROLE:
+//    - Immutable, compiled form of the credit rules (required score per loan type + score range).
+//    - Built once from configuration; swapped as a whole when the configuration changes.
+//
+// ❖ WHY IT'S IMPORTANT:
+//    - Every loan decision reads it, so lookups must be cheap and must not allocate.
+//    - Because it never changes after construction, request threads can share it freely.
+//
+// ❖ FORMAT (see credit-policy.properties):
+//    - score.min / score.max      -> range of generated scores (inclusive)
+//    - required.default           -> threshold for unknown loan types
+//    - required.<loanType>        -> threshold for that loan type
+//
+// ❖ USED IN:
+//    - CreditPolicyEngine.java (compiles and publishes it)
+//    - LoanServiceImpl.java, MockCreditScoreService.java (read thresholds)
+// ==========================================================
+
+package com.junaid.backend.policy; // Declares this class belongs to the 'policy' package
+
+import java.util.ArrayList; // Collects rules while compiling
+import java.util.List; // Rule list while compiling
+import java.util.Locale; // Locale-independent lower-casing
+import java.util.Properties; // Raw configuration
+
+public final class CreditPolicy {
+
+    private static final String REQUIRED_PREFIX = "required."; // Key prefix for per-type thresholds
+
+    private final String[] loanTypes; // Lower-case loan types, parallel to requiredScores
+    private final int[] requiredScores; // Threshold for loanTypes[i]
+    private final int defaultRequiredScore; // Threshold for unknown loan types
+    private final int minScore; // Lowest score that can be generated
+    private final int maxScore; // Highest score that can be generated
+
+    private CreditPolicy(String[] loanTypes, int[] requiredScores, int defaultRequiredScore, int minScore, int maxScore) {
+        this.loanTypes = loanTypes;
+        this.requiredScores = requiredScores;
+        this.defaultRequiredScore = defaultRequiredScore;
+        this.minScore = minScore;
+        this.maxScore = maxScore;
+    }
+
+    // === Compiles raw properties into a lookup table; throws IllegalArgumentException on bad input ===
+    public static CreditPolicy compile(Properties properties) {
+        int minScore = intValue(properties, "score.min");
+        int maxScore = intValue(properties, "score.max");
+        if (minScore > maxScore) {
+            throw new IllegalArgumentException("score.min must not be greater than score.max");
+        }
+        int defaultRequired = intValue(properties, REQUIRED_PREFIX + "default");
+
+        List<String> types = new ArrayList<>();
+        List<Integer> scores = new ArrayList<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith(REQUIRED_PREFIX) && !key.equals(REQUIRED_PREFIX + "default")) {
+                types.add(key.substring(REQUIRED_PREFIX.length()).toLowerCase(Locale.ROOT)); // Stored lower-case
+                scores.add(intValue(properties, key));
+            }
+        }
+
+        int[] requiredScores = new int[scores.size()];
+        for (int i = 0; i < requiredScores.length; i++) {
+            requiredScores[i] = scores.get(i);
+        }
+        return new CreditPolicy(types.toArray(new String[0]), requiredScores, defaultRequired, minScore, maxScore);
+    }
+
+    // === Required score for a loan type (case-insensitive, allocation-free) ===
+    public int requiredScore(String loanType) {
+        if (loanType != null) {
+            for (int i = 0; i < loanTypes.length; i++) { // A handful of entries — a scan beats hashing a lower-cased copy
+                if (loanTypes[i].equalsIgnoreCase(loanType)) {
+                    return requiredScores[i];
+                }
+            }
+        }
+        return defaultRequiredScore; // Unknown loan type
+    }
+
+    // === Lower-case name of a configured loan type, or "other" (bounded label set for metrics) ===
+    public String canonicalType(String loanType) {
+        if (loanType != null) {
+            for (String type : loanTypes) {
+                if (type.equalsIgnoreCase(loanType)) {
+                    return type;
+                }
+            }
+        }
+        return "other"; // Free-text input never becomes a new metric series
+    }
+
+    public int getMinScore() {
+        return minScore;
+    }
+
+    public int getMaxScore() {
+        return maxScore;
+    }
+
+    private static int intValue(Properties properties, String key) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing credit policy setting: " + key);
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number for " + key + ": " + value, e);
+        }
+    }
+}
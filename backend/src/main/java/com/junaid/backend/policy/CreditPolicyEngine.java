@@ -0,0 +1,101 @@
+// ==========================================================
+// File: CreditPolicyEngine.java
+//
+// ❖ ROLE:
+//    - Single source of truth for credit rules. Loads them from configuration,
+//      compiles them into a CreditPolicy and hot-swaps it when the source changes.
+//
+// ❖ WHY IT'S IMPORTANT:
+//    - LoanServiceImpl and MockCreditScoreService used to keep two different threshold tables.
+//    - Every loan decision goes through here, so reads are a single volatile load.
+//
+// ❖ CONFIGURATION:
+//    - credit.policy.location  -> Spring resource with the rules (default classpath:credit-policy.properties)
+//    - credit.policy.reloadMs  -> how often a file-based location is checked for changes
+//    - credit.policy.seed      -> optional; makes generated scores deterministic
+//
+// ❖ USED IN:
+//    - LoanServiceImpl.java (loan decisions)
+//    - MockCreditScoreService.java (eligibility checks)
+// ==========================================================
+
+package com.junaid.backend.policy; // Declares this class belongs to the 'policy' package
+
+import jakarta.annotation.PostConstruct; // Loads the first policy on startup
+import org.slf4j.Logger; // Logging API
+import org.slf4j.LoggerFactory; // Creates the logger
+import org.springframework.beans.factory.annotation.Value; // Injects configuration
+import org.springframework.core.io.Resource; // Location of the rules (classpath or file)
+import org.springframework.scheduling.annotation.Scheduled; // Periodic change detection
+import org.springframework.stereotype.Service; // Marks this class as a Spring service
+
+import java.io.IOException; // Thrown when the rules cannot be read
+import java.io.InputStream; // Reads the rules
+import java.util.Properties; // Raw rules
+
+@Service
+public class CreditPolicyEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(CreditPolicyEngine.class);
+
+    @Value("${credit.policy.location:classpath:credit-policy.properties}") // Where the rules live
+    private Resource location;
+
+    @Value("${credit.policy.seed:#{null}}") // Optional seed for deterministic scores
+    private Long seed;
+
+    private volatile CreditPolicy policy; // Current compiled rules — replaced, never mutated
+    private volatile long loadedLastModified = -1; // Timestamp of the file the current policy came from
+    private CreditScoreSource scoreSource; // Random source for mock scores
+
+    @PostConstruct // Fail fast on startup if the rules are missing or invalid
+    void init() throws IOException {
+        scoreSource = seed != null ? CreditScoreSource.seeded(seed) : CreditScoreSource.perThread();
+        reload();
+    }
+
+    // === Current rules; callers should read once per decision so one decision never mixes two versions ===
+    public CreditPolicy current() {
+        return policy;
+    }
+
+    // === Draws a mock credit score within the given policy's range ===
+    public int drawScore(CreditPolicy policy) {
+        return scoreSource.nextScore(policy.getMinScore(), policy.getMaxScore());
+    }
+
+    // === Reads, compiles and publishes the rules (the old policy stays active if anything fails) ===
+    public synchronized void reload() throws IOException {
+        long lastModified = lastModified();
+        Properties properties = new Properties();
+        try (InputStream in = location.getInputStream()) {
+            properties.load(in);
+        }
+        policy = CreditPolicy.compile(properties); // Atomic swap: readers see old or new, never a mix
+        loadedLastModified = lastModified;
+        log.info("Loaded credit policy from {}", location);
+    }
+
+    // === Hot reload: re-compile when a file-based policy changes on disk ===
+    @Scheduled(fixedDelayString = "${credit.policy.reloadMs:10000}", initialDelayString = "${credit.policy.reloadMs:10000}")
+    public void reloadIfChanged() {
+        long lastModified = lastModified();
+        if (lastModified <= 0 || lastModified == loadedLastModified) {
+            return; // Classpath resource (not reloadable) or unchanged file
+        }
+        try {
+            reload();
+        } catch (IOException | IllegalArgumentException e) {
+            loadedLastModified = lastModified; // Don't retry the same broken file every tick
+            log.error("Credit policy at {} is invalid; keeping the previous rules: {}", location, e.getMessage());
+        }
+    }
+
+    private long lastModified() {
+        try {
+            return location.isFile() ? location.lastModified() : 0; // Only plain files can change at runtime
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+// ==========================================================
+// File: CreditScoreSource.java
+//
+// ❖ ROLE:
+//    - Supplies the mock credit scores used by loan decisions.
+//
+// ❖ WHY IT'S IMPORTANT:
+//    - The old code created a new java.util.Random for every application.
+//    - By default each request thread draws from its own ThreadLocalRandom (no contention, no allocation).
+//    - When credit.policy.seed is set, all draws come from one seeded generator, so a
+//      test or a replay sees the same sequence of scores every run.
+//
+// ❖ USED IN:
+//    - CreditPolicyEngine.java
+// ==========================================================
+
+package com.junaid.backend.policy; // Declares this class belongs to the 'policy' package
+
+import java.util.SplittableRandom; // Fast seedable generator
+import java.util.concurrent.ThreadLocalRandom; // Per-thread generator
+
+public final class CreditScoreSource {
+
+    private final SplittableRandom seeded; // Non-null only in seeded (deterministic) mode
+
+    private CreditScoreSource(SplittableRandom seeded) {
+        this.seeded = seeded;
+    }
+
+    // === Per-thread random source (production default) ===
+    public static CreditScoreSource perThread() {
+        return new CreditScoreSource(null);
+    }
+
+    // === Deterministic source: the same seed always yields the same sequence ===
+    public static CreditScoreSource seeded(long seed) {
+        return new CreditScoreSource(new SplittableRandom(seed));
+    }
+
+    // === Draws a score in [min, max] (both inclusive) ===
+    public int nextScore(int min, int max) {
+        if (seeded == null) {
+            return ThreadLocalRandom.current().nextInt(min, max + 1);
+        }
+        synchronized (seeded) { // SplittableRandom is not thread-safe; seeded mode is for tests and replays
+            return seeded.nextInt(min, max + 1);
+        }
+    }
+}
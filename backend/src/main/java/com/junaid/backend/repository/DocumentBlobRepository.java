@@ -0,0 +1,70 @@
+// ==============================================
+// File: DocumentBlobRepository.java
+// Role:
+//   - Reference counting for stored document blobs (DocumentBlob entity).
+//   - Every write is a single UPDATE or INSERT in its own transaction, so concurrent uploads
+//     of the same content never overwrite each other's counts.
+//
+// Why it matters:
+//   - A read-modify-write through save() would lose increments under concurrency; these
+//     statements let the database do the counting.
+//
+// Dependencies:
+//   - JpaRepository: findById() for download metadata
+//   - @Modifying / @Query: atomic reference counting statements
+//
+// Related files:
+//   - DocumentBlob.java (the entity it operates on)
+//   - DocumentIngestionService.java (the only caller)
+// ==============================================
+
+package com.junaid.backend.repository; // Declares the package this interface belongs to
+
+import com.junaid.backend.entity.DocumentBlob; // The entity this repository manages
+import jakarta.persistence.LockModeType; // Row lock taken by the sweeper
+import org.springframework.data.domain.Limit; // Caps the number of sweep candidates
+import org.springframework.data.jpa.repository.JpaRepository; // Spring Data JPA interface for CRUD operations
+import org.springframework.data.jpa.repository.Lock; // Adds FOR UPDATE to a query
+import org.springframework.data.jpa.repository.Modifying; // Marks UPDATE/INSERT queries
+import org.springframework.data.jpa.repository.Query; // Custom JPQL and SQL queries
+import org.springframework.data.repository.query.Param; // Binds named query parameters
+import org.springframework.stereotype.Repository; // Tells Spring this interface is a repository
+import org.springframework.transaction.annotation.Transactional; // Each statement commits on its own
+
+import java.time.Instant; // Ingestion and sweep times
+import java.util.List; // Sweep candidates
+
+@Repository // Tells Spring to manage this interface as a bean for dependency injection
+public interface DocumentBlobRepository extends JpaRepository<DocumentBlob, String> {
+
+    // Records another upload of known content (restarts its grace period); 0 if the blob is not registered yet
+    @Transactional
+    @Modifying
+    @Query("update DocumentBlob b set b.touchedAt = :now where b.reference = :reference")
+    int touch(@Param("reference") String reference, @Param("now") Instant now);
+
+    // Registers new content with no references yet; fails with a duplicate key if another upload registered it first.
+    // Plain INSERT on purpose: save() would merge and could overwrite a concurrent ref_count.
+    @Transactional
+    @Modifying
+    @Query(value = "insert into document_blobs (reference, content_type, compressed, original_size, stored_size, ref_count, touched_at) " +
+            "values (:reference, :contentType, :compressed, :originalSize, :storedSize, 0, :now)", nativeQuery = true)
+    int register(@Param("reference") String reference, @Param("contentType") String contentType,
+                 @Param("compressed") boolean compressed, @Param("originalSize") long originalSize,
+                 @Param("storedSize") long storedSize, @Param("now") Instant now);
+
+    // Adds one reference (a loan application now points at the blob)
+    @Transactional
+    @Modifying
+    @Query("update DocumentBlob b set b.refCount = b.refCount + 1 where b.reference = :reference")
+    int retain(@Param("reference") String reference);
+
+    // Blobs nothing references whose last upload is older than the cutoff
+    @Query("select b.reference from DocumentBlob b where b.refCount = 0 and b.touchedAt < :cutoff")
+    List<String> findUnreferencedBefore(@Param("cutoff") Instant cutoff, Limit limit);
+
+    // Locks one sweep candidate, re-checking the condition under the lock (null if it was retained or re-uploaded)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from DocumentBlob b where b.reference = :reference and b.refCount = 0 and b.touchedAt < :cutoff")
+    DocumentBlob lockUnreferencedBefore(@Param("reference") String reference, @Param("cutoff") Instant cutoff);
+}
@@ -3,6 +3,8 @@
 // Role:
 //   - This interface extends JpaRepository to perform CRUD operations for LoanApplication entity.
 //   - Allows fetching loan data by username (custom finder method).
+//   - Provides keyset-paginated summary queries on (username, id) that never touch document data.
+//   - Username queries are served by ix_loan_applications_username_id (V3 migration).
 //
 // Why it matters:
 //   - Without this repository, you would have to manually write SQL queries.
@@ -19,12 +21,17 @@
 
 package com.junaid.backend.repository; // Declares the package this interface belongs to
 
+import java.time.Instant; // Submission-time cut-off
 import java.util.List; // Java utility class used to represent a list of LoanApplication objects
 
+import org.springframework.data.domain.Limit; // Caps the number of rows a derived query returns
 import org.springframework.data.jpa.repository.JpaRepository; // JPA-specific Spring interface for CRUD DB operations
+import org.springframework.data.jpa.repository.Query; // Custom JPQL queries
 import org.springframework.stereotype.Repository; // Marks this interface as a Spring repository component
 
 import com.junaid.backend.entity.LoanApplication; // The entity this repository will manage
+import com.junaid.backend.entity.LoanStatus; // Decision state
+import com.junaid.backend.model.LoanApplicationSummary; // Column-limited projection used for listings
 
 @Repository // Informs Spring to treat this interface as a repository bean
 public interface LoanRepository extends JpaRepository<LoanApplication, Long> {
@@ -37,4 +44,25 @@ public interface LoanRepository extends JpaRepository<LoanApplication, Long> {
      * - This works because your entity class (LoanApplication) has a field named 'username'.
      */
     List<LoanApplication> findByUsername(String username); // Fetches all loan applications for a specific username
-}
\ No newline at end of file
+
+    /**
+     * First page of a user's applications, newest first:
+     *   SELECT id, name_of_applicant, ... FROM loan_applications
+     *   WHERE username = ? ORDER BY id DESC LIMIT ?
+     */
+    List<LoanApplicationSummary> findByUsernameOrderByIdDesc(String username, Limit limit);
+
+    /**
+     * Following pages (keyset pagination — no OFFSET scan, stable under concurrent inserts):
+     *   ... WHERE username = ? AND id < ? ORDER BY id DESC LIMIT ?
+     */
+    List<LoanApplicationSummary> findByUsernameAndIdLessThanOrderByIdDesc(String username, Long id, Limit limit);
+
+    // (id, username, loanType, tenure) of every application in the given state — just what the decision pipeline needs
+    @Query("select l.id, l.username, l.loanType, l.tenure from LoanApplication l where l.status = :status")
+    List<Object[]> findDecisionInputsByStatus(LoanStatus status);
+
+    // Same, for applications submitted before the given instant (stale-pending sweep)
+    @Query("select l.id, l.username, l.loanType, l.tenure from LoanApplication l where l.status = :status and l.createdAt < :before")
+    List<Object[]> findDecisionInputsByStatusAndCreatedAtBefore(LoanStatus status, Instant before);
+}
@@ -0,0 +1,59 @@
+// ==============================================
+// File: RefreshTokenRepository.java
+// Role:
+//   - Rotation and revocation queries for refresh tokens (RefreshToken entity).
+//
+// Why it matters:
+//   - markUsed() is a single conditional UPDATE, so when the same token is presented twice at
+//     once exactly one request wins the rotation; the other sees it as already used.
+//
+// Dependencies:
+//   - JpaRepository: findById() and save()
+//   - @Modifying / @Query: atomic rotation and bulk deletes
+//
+// Related files:
+//   - RefreshToken.java (the entity it operates on)
+//   - RefreshTokenService.java (the only caller)
+// ==============================================
+
+package com.junaid.backend.repository; // Declares the package this interface belongs to
+
+import com.junaid.backend.entity.RefreshToken; // The entity this repository manages
+import org.springframework.data.jpa.repository.JpaRepository; // Spring Data JPA interface for CRUD operations
+import org.springframework.data.jpa.repository.Modifying; // Marks UPDATE/DELETE queries
+import org.springframework.data.jpa.repository.Query; // Custom JPQL queries
+import org.springframework.data.repository.query.Param; // Binds named query parameters
+import org.springframework.stereotype.Repository; // Tells Spring this interface is a repository
+import org.springframework.transaction.annotation.Transactional; // Each statement commits on its own
+
+import java.time.Instant; // Use and expiry times
+import java.util.List; // Family lookups
+
+@Repository // Tells Spring to manage this interface as a bean for dependency injection
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, String> {
+
+    // Claims an unused, unexpired token for rotation; 0 if it is unknown, expired or already used
+    @Transactional
+    @Modifying
+    @Query("update RefreshToken t set t.usedAt = :now where t.tokenHash = :hash and t.usedAt is null and t.expiresAt > :now")
+    int markUsed(@Param("hash") String hash, @Param("now") Instant now);
+
+    // Every token rotated from the same login
+    List<RefreshToken> findByFamilyId(String familyId);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RefreshToken t where t.familyId = :familyId")
+    int deleteFamily(@Param("familyId") String familyId);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RefreshToken t where t.username = :username")
+    int deleteByOwner(@Param("username") String username);
+
+    // Expired tokens can no longer be rotated or replayed, so reuse detection no longer needs them
+    @Transactional
+    @Modifying
+    @Query("delete from RefreshToken t where t.expiresAt < :cutoff")
+    int deleteExpiredBefore(@Param("cutoff") Instant cutoff);
+}
@@ -0,0 +1,43 @@
+// ==============================================
+// File: RevokedTokenRepository.java
+// Role:
+//   - Persistence for revoked access tokens (RevokedToken entity).
+//
+// Why it matters:
+//   - Read only by TokenRevocationService's scheduled refresh, never on the request path.
+//
+// Dependencies:
+//   - JpaRepository: save() for new revocations
+//   - @Modifying / @Query: purge of expired rows
+//
+// Related files:
+//   - RevokedToken.java (the entity it operates on)
+//   - TokenRevocationService.java (the only caller)
+// ==============================================
+
+package com.junaid.backend.repository; // Declares the package this interface belongs to
+
+import com.junaid.backend.entity.RevokedToken; // The entity this repository manages
+import org.springframework.data.jpa.repository.JpaRepository; // Spring Data JPA interface for CRUD operations
+import org.springframework.data.jpa.repository.Modifying; // Marks DELETE queries
+import org.springframework.data.jpa.repository.Query; // Custom JPQL queries
+import org.springframework.data.repository.query.Param; // Binds named query parameters
+import org.springframework.stereotype.Repository; // Tells Spring this interface is a repository
+import org.springframework.transaction.annotation.Transactional; // Each statement commits on its own
+
+import java.time.Instant; // Revocation and expiry times
+import java.util.List; // Rows loaded into memory
+
+@Repository // Tells Spring to manage this interface as a bean for dependency injection
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    // Unexpired revocations made after the given time (all of them on startup)
+    @Query("select t from RevokedToken t where t.revokedAt > :since and t.expiresAt > :now")
+    List<RevokedToken> findActiveRevokedAfter(@Param("since") Instant since, @Param("now") Instant now);
+
+    // Rows of tokens that have expired since; they would be rejected anyway
+    @Transactional
+    @Modifying
+    @Query("delete from RevokedToken t where t.expiresAt < :cutoff")
+    int deleteExpiredBefore(@Param("cutoff") Instant cutoff);
+}
@@ -21,9 +21,15 @@
 package com.junaid.backend.repository; // Declares the package this interface belongs to
 
 import com.junaid.backend.entity.User; // Imports the User entity class (used in this repository)
+import com.junaid.backend.model.UserProfile; // Column-limited view for /api/users/me
 import org.springframework.data.jpa.repository.JpaRepository; // Spring Data JPA interface for CRUD operations
+import org.springframework.data.jpa.repository.Modifying; // Marks UPDATE queries
+import org.springframework.data.jpa.repository.Query; // Custom JPQL queries
+import org.springframework.data.repository.query.Param; // Binds named query parameters
 import org.springframework.stereotype.Repository; // Tells Spring this interface is a repository
 
+import java.util.List; // Result list for bulk lookups
+
 @Repository // Tells Spring to manage this interface as a bean for dependency injection
 public interface UserRepository extends JpaRepository<User, Long> {
     // JpaRepository provides methods like save(), findAll(), findById(), deleteById(), etc.
@@ -37,9 +43,31 @@ public interface UserRepository extends JpaRepository<User, Long> {
     // Finds and returns a User object based on the given username
     User findByUsername(String username);
 
+    // The current user's profile, without the password hash
+    UserProfile findProfileByUsername(String username);
+
     // Checks if a user with the given email exists
     boolean existsByEmail(String email);
 
     // Checks if a user with the given ID number exists (like SSN or Passport)
     boolean existsByIdNumber(String idNumber);
-}
\ No newline at end of file
+
+    // Lists (username, tokenVersion) for every user whose tokens were ever revoked.
+    // Small by nature — most users stay at version 0 — and read off the request path.
+    @Query("select u.username, u.tokenVersion from User u where u.tokenVersion > 0")
+    List<Object[]> findRevokedTokenVersions();
+
+    // Atomically bumps a user's token version, invalidating every token issued before
+    @Modifying
+    @Query("update User u set u.tokenVersion = u.tokenVersion + 1 where u.username = :username")
+    int incrementTokenVersion(@Param("username") String username);
+
+    // Reads the current token version after a bump
+    @Query("select u.tokenVersion from User u where u.username = :username")
+    Integer findTokenVersionByUsername(@Param("username") String username);
+
+    // Replaces a user's password hash (used when a login upgrades an old hash)
+    @Modifying
+    @Query("update User u set u.password = :password where u.username = :username")
+    int updatePassword(@Param("username") String username, @Param("password") String password);
+}
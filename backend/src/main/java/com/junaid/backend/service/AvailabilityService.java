@@ -0,0 +1,121 @@
+// ==========================================================
+// File: AvailabilityService.java
+//
+// ❖ ROLE:
+//    - Answers "is this username / email still free?" for live form validation. ID numbers are
+//      deliberately not offered: a public lookup would reveal whose national ID is on file.
+//    - Keeps one Bloom filter per unique user column, rebuilt from the users table on
+//      startup and periodically.
+//
+// ❖ WHY IT'S IMPORTANT:
+//    - Signup traffic checks availability on almost every keystroke or blur. Most values
+//      are free, and the filter proves that from memory without touching the database.
+//    - A "maybe taken" answer is confirmed with one indexed exists query, so the
+//      response is always exact. Taken values always cost that query; the per-IP rate limit
+//      on the endpoint (RateLimitFilter) bounds how many a client can ask for.
+//
+// ❖ CONSISTENCY:
+//    - Values are added as soon as they are registered or imported on this node.
+//    - The periodic rebuild picks up users created on other nodes and forgets deleted ones.
+//    - The unique constraints remain the final word: registration itself never trusts the filter.
+//
+// ❖ CONFIGURATION:
+//    - registration.availability.expectedUsers, .falsePositiveRate, .rebuildMs
+//
+// ❖ USED IN:
+//    - UserController.java (availability endpoint, registration)
+//    - BulkImportService.java (imported users)
+// ==========================================================
+
+package com.junaid.backend.service; // Declares this class belongs to the 'service' package
+
+import com.junaid.backend.repository.UserRepository; // Exact checks for "maybe taken" values
+import com.junaid.backend.util.BloomFilter; // In-memory membership filter
+
+import org.slf4j.Logger; // Logging API
+import org.slf4j.LoggerFactory; // Creates the logger
+import org.springframework.beans.factory.annotation.Value; // Injects configuration
+import org.springframework.boot.context.event.ApplicationReadyEvent; // First build after startup
+import org.springframework.context.event.EventListener; // Subscribes a method to an application event
+import org.springframework.jdbc.core.JdbcTemplate; // Streams the unique columns
+import org.springframework.scheduling.annotation.Scheduled; // Periodic rebuild
+import org.springframework.stereotype.Service; // Marks this class as a Spring service
+
+@Service
+public class AvailabilityService {
+
+    private static final Logger log = LoggerFactory.getLogger(AvailabilityService.class);
+
+    // The two filters are always swapped together
+    private record Filters(BloomFilter usernames, BloomFilter emails) {
+
+        void put(String username, String email) {
+            usernames.put(username);
+            emails.put(email);
+        }
+    }
+
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${registration.availability.expectedUsers:100000}") // Minimum filter capacity
+    private long expectedUsers;
+
+    @Value("${registration.availability.falsePositiveRate:0.01}") // Share of free values that still need a DB check
+    private double falsePositiveRate;
+
+    private volatile Filters filters; // null until the first build finishes (every check then goes to the DB)
+    private volatile Filters building; // Filter set being rebuilt; receives concurrent registrations too
+
+    public AvailabilityService(UserRepository userRepository, JdbcTemplate jdbcTemplate) {
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public boolean isUsernameAvailable(String username) {
+        Filters current = filters;
+        return current != null && !current.usernames().mightContain(username)
+                || !userRepository.existsByUsername(username); // Filter says "maybe taken" — ask the database
+    }
+
+    public boolean isEmailAvailable(String email) {
+        Filters current = filters;
+        return current != null && !current.emails().mightContain(email)
+                || !userRepository.existsByEmail(email);
+    }
+
+    // === Marks a user's unique values as taken (called after registration and during import) ===
+    public void recordTaken(String username, String email) {
+        Filters current = filters;
+        if (current != null) {
+            current.put(username, email);
+        }
+        Filters next = building;
+        if (next != null) {
+            next.put(username, email); // Don't lose it if a rebuild is running right now
+        }
+    }
+
+    // === Rebuilds all filters from the users table and swaps them in ===
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${registration.availability.rebuildMs:3600000}",
+            initialDelayString = "${registration.availability.rebuildMs:3600000}")
+    public synchronized void rebuild() {
+        long userCount = userRepository.count();
+        long capacity = Math.max(expectedUsers, userCount * 2); // Headroom for growth until the next rebuild
+        Filters next = new Filters(
+                new BloomFilter(capacity, falsePositiveRate),
+                new BloomFilter(capacity, falsePositiveRate));
+
+        building = next;
+        try {
+            jdbcTemplate.query("select username, email from users", rs -> {
+                next.put(rs.getString(1), rs.getString(2)); // Streams rows, no entities
+            });
+            filters = next;
+        } finally {
+            building = null;
+        }
+        log.info("Rebuilt registration availability filters for {} users (capacity {})", userCount, capacity);
+    }
+}
@@ -0,0 +1,145 @@
+// ==========================================================
+// File: DocumentIngestionService.java
+//
+// ❖ ROLE:
+//    - Ingestion stage for supporting documents, used by LoanServiceImpl before an application is saved.
+//    - Streams each upload once through the DocumentStore (hash, type sniffing, compression),
+//      then registers the blob in document_blobs.
+//    - Counts references: a blob gains one per loan application that points at it.
+//    - Sweeps blobs nothing references (e.g. uploads of rejected or failed applications).
+//
+// ❖ WHY IT'S IMPORTANT:
+//    - Re-uploads of identical files share one blob, so deleting a blob is only safe once its
+//      reference count says no application needs it.
+//    - Downloads need the stored encoding and sizes; they come from here, not from the filesystem.
+//
+// ❖ CONSISTENCY:
+//    - retain() runs before the application row is saved. If the save then fails, the count
+//      is one too high and the blob is kept. Storage leaks a little, but a referenced blob is never deleted.
+//    - The sweeper locks the row and re-checks it before deleting the file. An upload of the same
+//      content waits for that lock. If it then finds the file gone, it stores the file again.
+//
+// ❖ CONFIGURATION:
+//    - document.sweep.intervalMs   -> how often unreferenced blobs are swept
+//    - document.sweep.graceMinutes -> how long an unreferenced blob is kept after its last upload
+//    - document.sweep.batchSize    -> max blobs deleted per sweep
+//
+// ❖ USED IN:
+//    - LoanServiceImpl.java (ingest + retain), LoanController.java (download metadata)
+// ==========================================================
+
+package com.junaid.backend.service; // Declares this class belongs to the 'service' package
+
+import com.junaid.backend.entity.DocumentBlob; // One registered blob
+import com.junaid.backend.repository.DocumentBlobRepository; // Reference counting queries
+import com.junaid.backend.storage.DocumentStore; // Where the bytes live
+import com.junaid.backend.storage.StoredDocument; // Result of the ingestion pass
+
+import org.slf4j.Logger; // Logging API
+import org.slf4j.LoggerFactory; // Creates the logger
+import org.springframework.beans.factory.annotation.Value; // Injects configuration
+import org.springframework.dao.DataIntegrityViolationException; // Another upload registered the same content first
+import org.springframework.data.domain.Limit; // Caps sweep candidates
+import org.springframework.scheduling.annotation.Scheduled; // Periodic sweep
+import org.springframework.stereotype.Service; // Marks this class as a Spring service
+import org.springframework.transaction.PlatformTransactionManager; // Per-blob sweep transactions
+import org.springframework.transaction.support.TransactionTemplate; // Programmatic transactions
+import org.springframework.web.multipart.MultipartFile; // The uploaded file
+
+import java.io.IOException; // Storage failures
+import java.io.UncheckedIOException; // Carries a failed delete out of the sweep transaction
+import java.time.Duration; // Grace period
+import java.time.Instant; // Ingestion and sweep times
+
+@Service
+public class DocumentIngestionService {
+
+    private static final Logger log = LoggerFactory.getLogger(DocumentIngestionService.class);
+
+    private final DocumentStore documentStore; // Blob bytes
+    private final DocumentBlobRepository blobRepository; // Blob metadata and reference counts
+    private final TransactionTemplate sweepTransaction; // Holds the row lock while a file is deleted
+
+    @Value("${document.sweep.graceMinutes:1440}") // Unreferenced blobs survive this long after their last upload
+    private long graceMinutes;
+
+    @Value("${document.sweep.batchSize:500}") // Max blobs deleted per sweep
+    private int sweepBatchSize;
+
+    public DocumentIngestionService(DocumentStore documentStore, DocumentBlobRepository blobRepository,
+                                    PlatformTransactionManager transactionManager) {
+        this.documentStore = documentStore;
+        this.blobRepository = blobRepository;
+        this.sweepTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    // === Stores the upload in one streaming pass and registers the blob (with no references yet) ===
+    public StoredDocument ingest(MultipartFile file) throws IOException {
+        StoredDocument stored = documentStore.store(file); // 415 for unsupported content, before anything is written
+        register(stored);
+        if (!documentStore.exists(stored.reference())) {
+            // A sweep deleted the identical, unreferenced blob between store() and register(); the row is ours now
+            stored = documentStore.store(file);
+        }
+        return stored;
+    }
+
+    // === One more application references the blob; call before saving the application ===
+    public void retain(String reference) {
+        if (blobRepository.retain(reference) == 0) {
+            throw new IllegalStateException("Document " + reference + " was not ingested");
+        }
+    }
+
+    // === Download metadata, or null if the blob is unknown ===
+    public DocumentBlob describe(String reference) {
+        return blobRepository.findById(reference).orElse(null);
+    }
+
+    // === Deletes blobs nothing has referenced for the grace period ===
+    @Scheduled(fixedDelayString = "${document.sweep.intervalMs:3600000}",
+            initialDelayString = "${document.sweep.intervalMs:3600000}")
+    public void sweep() {
+        Instant cutoff = Instant.now().minus(Duration.ofMinutes(graceMinutes));
+        int deleted = 0;
+        for (String reference : blobRepository.findUnreferencedBefore(cutoff, Limit.of(sweepBatchSize))) {
+            try {
+                Boolean removed = sweepTransaction.execute(status -> {
+                    DocumentBlob blob = blobRepository.lockUnreferencedBefore(reference, cutoff);
+                    if (blob == null) {
+                        return false; // Retained or re-uploaded since the candidate query
+                    }
+                    try {
+                        documentStore.delete(reference); // File first: the row (and lock) go away only on success
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e); // Rolls back; the next sweep retries
+                    }
+                    blobRepository.delete(blob);
+                    return true;
+                });
+                if (Boolean.TRUE.equals(removed)) {
+                    deleted++;
+                }
+            } catch (RuntimeException e) {
+                log.warn("Could not sweep document {}: {}", reference, e.getMessage());
+            }
+        }
+        if (deleted > 0) {
+            log.info("Swept {} unreferenced document blob(s)", deleted);
+        }
+    }
+
+    // Inserts the blob's row, or restarts the grace period of an existing one
+    private void register(StoredDocument stored) {
+        Instant now = Instant.now();
+        if (blobRepository.touch(stored.reference(), now) > 0) {
+            return; // Known content
+        }
+        try {
+            blobRepository.register(stored.reference(), stored.type().mimeType(), stored.compressed(),
+                    stored.size(), stored.storedSize(), now);
+        } catch (DataIntegrityViolationException e) {
+            blobRepository.touch(stored.reference(), now); // A concurrent upload of the same content registered it first
+        }
+    }
+}
@@ -0,0 +1,216 @@
+// ==========================================================
+// File: LoanDecisionPipeline.java
+//
+// ❖ ROLE:
+//    - Bounded queue + small worker pool that decides loan applications off the request thread.
+//    - Workers drain the queue in batches so the resulting status updates can be written together.
+//
+// ❖ WHY IT'S IMPORTANT:
+//    - POST /api/apply-loan used to score and save on the Tomcat thread. Now it only
+//      persists a PENDING row and enqueues it, so servlet threads are freed quickly.
+//    - Backpressure: capacity is reserved before any work is done. When the queue is full
+//      the request fails fast with 503 + Retry-After instead of piling up.
+//
+// ❖ FLOW:
+//    1. reserve()   -> claims a queue slot (or throws ServiceBusyException)
+//    2. submit()    -> enqueues the task using that slot (release() gives it back on failure)
+//    3. a worker takes one task, drains up to batchSize-1 more, frees their slots,
+//       and hands the batch to the handler registered by LoanServiceImpl
+//    4. if the batch fails, the whole batch is handed to a retry scheduler, up to
+//       loan.pipeline.maxAttempts attempts with a growing pause in between. Workers never wait
+//       for a retry, so the queue keeps draining while the database recovers.
+//       The handler may replace tasks in the list it is given (with their decision attached),
+//       so a retry reuses the first score. Tasks that still fail stay PENDING for
+//       LoanServiceImpl's stale-pending sweep.
+//
+// ❖ CONFIGURATION:
+//    - loan.pipeline.workers, loan.pipeline.queueCapacity, loan.pipeline.batchSize
+//    - loan.pipeline.maxAttempts, loan.pipeline.retryDelayMs
+//
+// ❖ USED IN:
+//    - LoanServiceImpl.java (registers the batch handler and submits tasks)
+// ==========================================================
+
+package com.junaid.backend.service; // Declares this class belongs to the 'service' package
+
+import com.junaid.backend.exception.ServiceBusyException; // 503 with Retry-After
+import com.junaid.backend.model.LoanDecision; // Score kept for retries
+
+import jakarta.annotation.PreDestroy; // Stops workers on shutdown
+import org.slf4j.Logger; // Logging API
+import org.slf4j.LoggerFactory; // Creates the logger
+import org.springframework.beans.factory.annotation.Value; // Injects configuration
+import org.springframework.stereotype.Component; // Registers this class as a Spring bean
+
+import java.util.ArrayList; // Reusable batch buffer per worker
+import java.util.List; // Batch type
+import java.util.concurrent.ArrayBlockingQueue; // Bounded FIFO queue
+import java.util.concurrent.BlockingQueue; // Queue interface
+import java.util.concurrent.Executors; // Creates the retry scheduler
+import java.util.concurrent.ScheduledExecutorService; // Runs failed batches again after a pause
+import java.util.concurrent.Semaphore; // Tracks free queue slots
+import java.util.concurrent.TimeUnit; // Retry delays
+import java.util.function.Consumer; // Batch handler
+
+@Component
+public class LoanDecisionPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(LoanDecisionPipeline.class);
+
+    /**
+     * One queued decision.
+     *
+     * @param loanId   the PENDING application to decide
+     * @param username its owner
+     * @param loanType its loan type (needed to look up the threshold)
+     * @param tenure   its tenure in months (needed to update the portfolio aggregates)
+     * @param decision its score, once computed (null until the first attempt scores it)
+     */
+    public record Task(Long loanId, String username, String loanType, int tenure, LoanDecision decision) {
+
+        public Task(Long loanId, String username, String loanType, int tenure) {
+            this(loanId, username, loanType, tenure, null); // Not scored yet
+        }
+
+        // Same task with its score attached, so a retry does not score (or count) it again
+        public Task withDecision(LoanDecision decision) {
+            return new Task(loanId, username, loanType, tenure, decision);
+        }
+    }
+
+    @Value("${loan.pipeline.workers:4}") // Number of decision threads
+    private int workers;
+
+    @Value("${loan.pipeline.queueCapacity:1000}") // Max applications waiting for a decision
+    private int queueCapacity;
+
+    @Value("${loan.pipeline.batchSize:50}") // Max decisions written in one batch
+    private int batchSize;
+
+    @Value("${loan.pipeline.retryAfterSeconds:5}") // Retry-After sent when the queue is full
+    private long retryAfterSeconds;
+
+    @Value("${loan.pipeline.maxAttempts:3}") // Attempts per task, counting the batch it first ran in
+    private int maxAttempts;
+
+    @Value("${loan.pipeline.retryDelayMs:1000}") // Pause before the second attempt (doubles each time)
+    private long retryDelayMs;
+
+    private BlockingQueue<Task> queue; // Waiting tasks
+    private Semaphore freeSlots; // Free queue capacity, claimed before any work is done
+    private final List<Thread> threads = new ArrayList<>(); // Worker threads
+    private ScheduledExecutorService retryScheduler; // Runs failed batches again, off the worker threads
+    private volatile boolean running; // Cleared on shutdown
+
+    // === Starts the workers; called once by the component that owns the decision logic ===
+    public synchronized void start(Consumer<List<Task>> batchHandler) {
+        if (running) {
+            throw new IllegalStateException("Loan decision pipeline already started");
+        }
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        freeSlots = new Semaphore(queueCapacity);
+        retryScheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "loan-decision-retry");
+            thread.setDaemon(true); // Never blocks JVM shutdown
+            return thread;
+        });
+        running = true;
+        for (int i = 0; i < workers; i++) {
+            Thread thread = new Thread(() -> runWorker(batchHandler), "loan-decision-" + i);
+            thread.setDaemon(true); // Never blocks JVM shutdown
+            thread.start();
+            threads.add(thread);
+        }
+    }
+
+    // === Claims one queue slot, or fails fast when the pipeline is saturated ===
+    public void reserve() {
+        if (!freeSlots.tryAcquire()) {
+            throw new ServiceBusyException("We are receiving a lot of applications right now. Please try again shortly.",
+                    retryAfterSeconds);
+        }
+    }
+
+    // === Gives back a slot claimed by reserve() when the submission is abandoned ===
+    public void release() {
+        freeSlots.release();
+    }
+
+    // === Enqueues a task; the caller must hold a slot from reserve() ===
+    public void submit(Task task) {
+        queue.add(task); // Cannot overflow: every queued task holds a slot
+    }
+
+    // === Enqueues a task if a slot is free right now (used by the stale-pending sweep) ===
+    public boolean trySubmit(Task task) {
+        if (!freeSlots.tryAcquire()) {
+            return false; // Busy: the sweep tries again next time
+        }
+        queue.add(task);
+        return true;
+    }
+
+    // === Enqueues a task, waiting for a free slot (used for startup recovery, never on request threads) ===
+    public void submitBlocking(Task task) throws InterruptedException {
+        freeSlots.acquire();
+        queue.put(task);
+    }
+
+    // === Number of tasks waiting for a worker ===
+    public int queued() {
+        return queue == null ? 0 : queue.size();
+    }
+
+    // === Worker loop: block for one task, then take whatever else is ready (up to batchSize) ===
+    private void runWorker(Consumer<List<Task>> batchHandler) {
+        List<Task> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                batch.add(queue.take()); // Wait for work
+                queue.drainTo(batch, batchSize - 1); // Batch whatever else is already queued
+                freeSlots.release(batch.size()); // These tasks no longer occupy the queue
+
+                try {
+                    batchHandler.accept(batch);
+                } catch (RuntimeException e) {
+                    scheduleRetry(new ArrayList<>(batch), batchHandler, 2, retryDelayMs, e); // Copy: the buffer is reused
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return; // Shutdown
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // Runs a failed batch again after delayMs (the pause gives a failover or lock timeout time to clear);
+    // a batch that fails every attempt stays PENDING
+    private void scheduleRetry(List<Task> batch, Consumer<List<Task>> batchHandler, int attempt, long delayMs,
+                               RuntimeException failure) {
+        if (attempt > maxAttempts || !running) {
+            log.error("Giving up on a batch of {} loan application(s) after {} attempts; they stay PENDING until the"
+                    + " stale-pending sweep", batch.size(), attempt - 1, failure);
+            return;
+        }
+        log.warn("Failed to decide a batch of {} loan application(s), retrying in {} ms (attempt {} of {})",
+                batch.size(), delayMs, attempt, maxAttempts, failure);
+        retryScheduler.schedule(() -> {
+            try {
+                batchHandler.accept(batch);
+            } catch (RuntimeException e) {
+                scheduleRetry(batch, batchHandler, attempt + 1, delayMs * 2, e);
+            }
+        }, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy // Stop workers when the application shuts down
+    public synchronized void stop() {
+        running = false;
+        threads.forEach(Thread::interrupt);
+        threads.clear();
+        if (retryScheduler != null) {
+            retryScheduler.shutdownNow(); // Pending retries stay PENDING for the next start
+        }
+    }
+}
@@ -0,0 +1,314 @@
+// ==========================================================
+// File: LoanEventBroker.java
+//
+// ❖ ROLE:
+//    - In-process publish/subscribe for loan status changes, delivered as Server-Sent Events.
+//    - LoanServiceImpl publishes on every status change (received, approved, rejected).
+//      Each of the user's open streams (one per browser tab) gets the event.
+//
+// ❖ WHY IT'S IMPORTANT:
+//    - Without it the frontend can only learn about a decision by polling. One idle,
+//      long-lived connection per tab replaces a request every few seconds.
+//
+// ❖ HOW IT WORKS:
+//    - Event IDs come from one counter, seeded from the clock at boot so IDs from before a
+//      restart are always lower than any ID issued after it.
+//    - Each user has a channel: a short replay history plus the user's subscribers. Publishing
+//      and subscribing lock only that channel, so replay and live events never overlap or skip.
+//    - Publishing never blocks: the event is offered to each subscriber's bounded queue and a
+//      small sender pool writes it to the socket.
+//    - Drop-slow-consumer: a subscriber whose queue is full is disconnected. The browser reconnects
+//      with Last-Event-ID and catches up from the history, so nothing is lost.
+//    - Resume: on reconnect, events after Last-Event-ID are replayed from the history. If they
+//      are no longer all there (history overflowed, or the server restarted), a "resync" event
+//      tells the client to reload its list instead.
+//    - Heartbeats (SSE comments) keep proxies from closing idle streams and detect dead clients.
+//
+// ❖ CONFIGURATION:
+//    - loan.events.timeoutMs              -> lifetime of one stream (the browser reconnects after it)
+//    - loan.events.heartbeatMs            -> heartbeat interval
+//    - loan.events.bufferSize             -> queued events per subscriber before it counts as slow
+//    - loan.events.historySize            -> events kept per user for Last-Event-ID replay
+//    - loan.events.historyTtlMs           -> how long a user's history outlives their last event
+//    - loan.events.maxSubscribersPerUser  -> open streams per user (the oldest is closed beyond it)
+//    - loan.events.senderThreads          -> threads writing events to sockets
+//
+// ❖ USED IN:
+//    - LoanServiceImpl.java (publish), LoanEventsController.java (subscribe)
+// ==========================================================
+
+package com.junaid.backend.service; // Declares this class belongs to the 'service' package
+
+import com.junaid.backend.model.LoanStatusResponse; // Event payload (same shape as the status endpoint)
+
+import io.micrometer.core.instrument.Counter; // Dropped subscribers
+import io.micrometer.core.instrument.Gauge; // Open streams
+import io.micrometer.core.instrument.MeterRegistry; // Where meters are registered
+import jakarta.annotation.PostConstruct; // Starts the sender pool
+import jakarta.annotation.PreDestroy; // Closes streams on shutdown
+import org.springframework.beans.factory.annotation.Value; // Injects configuration
+import org.springframework.http.MediaType; // JSON event data
+import org.springframework.scheduling.annotation.Scheduled; // Heartbeats and history cleanup
+import org.springframework.stereotype.Service; // Marks this class as a Spring service
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter; // One SSE stream
+
+import java.io.IOException; // Client went away
+import java.util.ArrayDeque; // Per-user replay history
+import java.util.ArrayList; // Subscribers of one user
+import java.util.List; // Subscribers of one user
+import java.util.Map; // Map interface
+import java.util.concurrent.ArrayBlockingQueue; // Bounded per-subscriber buffer
+import java.util.concurrent.ConcurrentHashMap; // username -> channel
+import java.util.concurrent.ExecutorService; // Sender pool
+import java.util.concurrent.Executors; // Creates the sender pool
+import java.util.concurrent.RejectedExecutionException; // Pool already shut down
+import java.util.concurrent.atomic.AtomicBoolean; // "Drain scheduled" flag per subscriber
+import java.util.concurrent.atomic.AtomicInteger; // Open stream count, thread names
+import java.util.concurrent.atomic.AtomicLong; // Event IDs
+
+@Service
+public class LoanEventBroker {
+
+    public static final String STATUS_EVENT = "loan-status"; // Event name of a status change
+    public static final String RESYNC_EVENT = "resync"; // Replay impossible: the client should reload
+
+    private static final Object HEARTBEAT = new Object(); // Queue marker for an SSE comment
+
+    private final Map<String, Channel> channels = new ConcurrentHashMap<>(); // username -> channel
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis() * 1000); // Event IDs
+    private final long firstId = sequence.get() + 1; // Lower IDs were issued before this boot
+    private final AtomicInteger openStreams = new AtomicInteger(); // For the gauge
+    private final Counter droppedSubscribers;
+
+    @Value("${loan.events.timeoutMs:1800000}") // One stream lives at most this long (EventSource reconnects)
+    private long timeoutMs;
+
+    @Value("${loan.events.bufferSize:32}") // Queued events per subscriber before it is dropped as slow
+    private int bufferSize;
+
+    @Value("${loan.events.historySize:50}") // Events kept per user for Last-Event-ID replay
+    private int historySize;
+
+    @Value("${loan.events.historyTtlMs:900000}") // A user's history is forgotten this long after their last event
+    private long historyTtlMs;
+
+    @Value("${loan.events.maxSubscribersPerUser:5}") // Open streams per user
+    private int maxSubscribersPerUser;
+
+    @Value("${loan.events.senderThreads:2}") // Threads writing events to sockets
+    private int senderThreads;
+
+    private ExecutorService senders; // Writes queued events to the streams
+
+    public LoanEventBroker(MeterRegistry registry) {
+        this.droppedSubscribers = Counter.builder("loan.events.dropped")
+                .description("Event streams closed because the client could not keep up")
+                .register(registry);
+        Gauge.builder("loan.events.subscribers", openStreams, AtomicInteger::get)
+                .description("Open loan event streams")
+                .register(registry);
+    }
+
+    @PostConstruct
+    void start() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        senders = Executors.newFixedThreadPool(Math.max(1, senderThreads), runnable -> {
+            Thread thread = new Thread(runnable, "loan-events-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        for (Channel channel : channels.values()) {
+            for (Subscriber subscriber : channel.snapshot()) {
+                subscriber.emitter.complete(); // Clients reconnect to another node or after the restart
+            }
+        }
+        senders.shutdownNow();
+    }
+
+    // === Publishes a status change to all of the user's open streams; never blocks ===
+    public void publish(String username, LoanStatusResponse status) {
+        Event event = new Event(sequence.incrementAndGet(), status);
+        channels.compute(username, (u, channel) -> { // Inside compute: the idle sweep cannot drop the channel meanwhile
+            Channel target = channel != null ? channel : new Channel();
+            target.publish(event);
+            return target;
+        });
+    }
+
+    // === Opens a stream for the user; events after lastEventId (if given) are replayed first ===
+    public SseEmitter subscribe(String username, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(username, emitter, new ArrayBlockingQueue<>(Math.max(1, bufferSize)));
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+
+        openStreams.incrementAndGet();
+        Subscriber[] evictedHolder = new Subscriber[1];
+        channels.compute(username, (u, channel) -> { // Inside compute: the idle sweep cannot drop the channel meanwhile
+            Channel target = channel != null ? channel : new Channel();
+            evictedHolder[0] = target.subscribe(subscriber, lastEventId);
+            return target;
+        });
+        Subscriber evicted = evictedHolder[0];
+        if (evicted != null) {
+            evicted.emitter.complete(); // Too many tabs: the oldest stream makes room
+        }
+        schedule(subscriber); // Flushes the replay (if any)
+        return emitter;
+    }
+
+    // === Queues a heartbeat on every stream; a full queue means the client stopped reading ===
+    @Scheduled(fixedDelayString = "${loan.events.heartbeatMs:15000}")
+    public void heartbeat() {
+        for (Channel channel : channels.values()) {
+            for (Subscriber subscriber : channel.snapshot()) {
+                offer(subscriber, HEARTBEAT);
+            }
+        }
+    }
+
+    // === Forgets histories of users with no open stream and no recent event ===
+    @Scheduled(fixedDelayString = "${loan.events.historyTtlMs:900000}")
+    public void evictIdleChannels() {
+        long cutoff = System.currentTimeMillis() - historyTtlMs;
+        for (String username : channels.keySet()) {
+            // Check and removal in one step: a stream subscribing at the same time is never dropped with the channel
+            channels.computeIfPresent(username, (u, channel) -> channel.isIdleSince(cutoff) ? null : channel);
+        }
+    }
+
+    // Offers to a subscriber's buffer; a full buffer drops the subscriber (it resumes via Last-Event-ID)
+    private void offer(Subscriber subscriber, Object item) {
+        if (subscriber.closed) {
+            return;
+        }
+        if (subscriber.queue.offer(item)) {
+            schedule(subscriber);
+            return;
+        }
+        droppedSubscribers.increment();
+        subscriber.closed = true;
+        subscriber.emitter.complete(); // onCompletion removes it from its channel
+    }
+
+    // At most one sender drains a subscriber at a time, so its events stay in order
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.queue.isEmpty() || !subscriber.draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            senders.execute(() -> drain(subscriber));
+        } catch (RejectedExecutionException e) {
+            subscriber.draining.set(false); // Shutting down
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            Object item;
+            while (!subscriber.closed && (item = subscriber.queue.poll()) != null) {
+                if (item == HEARTBEAT) {
+                    subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                } else if (item instanceof Event event) {
+                    subscriber.emitter.send(SseEmitter.event()
+                            .id(Long.toString(event.id()))
+                            .name(STATUS_EVENT)
+                            .data(event.status(), MediaType.APPLICATION_JSON));
+                } else {
+                    subscriber.emitter.send(SseEmitter.event()
+                            .id(Long.toString((Long) item)) // Resume point after the reload
+                            .name(RESYNC_EVENT)
+                            .data("{}", MediaType.APPLICATION_JSON));
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            subscriber.closed = true; // Client went away, or the stream already completed
+            subscriber.emitter.completeWithError(e);
+        } finally {
+            subscriber.draining.set(false);
+        }
+        schedule(subscriber); // Something may have been queued after the last poll
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscriber.closed = true;
+        Channel channel = channels.get(subscriber.username);
+        if (channel != null && channel.unsubscribe(subscriber)) {
+            openStreams.decrementAndGet();
+        }
+    }
+
+    // One status change with its event ID
+    private record Event(long id, LoanStatusResponse status) { }
+
+    // One open stream
+    private static final class Subscriber {
+        final String username;
+        final SseEmitter emitter;
+        final ArrayBlockingQueue<Object> queue; // Events, HEARTBEAT, or a Long resync ID
+        final AtomicBoolean draining = new AtomicBoolean();
+        volatile boolean closed;
+
+        Subscriber(String username, SseEmitter emitter, ArrayBlockingQueue<Object> queue) {
+            this.username = username;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+    }
+
+    // One user's history and subscribers; every method holds the channel's lock briefly
+    private final class Channel {
+        private final ArrayDeque<Event> history = new ArrayDeque<>();
+        private final List<Subscriber> subscribers = new ArrayList<>(1);
+        private long evictedUpTo = firstId - 1; // Highest event ID no longer in the history
+        private long lastEventAt = System.currentTimeMillis();
+
+        synchronized void publish(Event event) {
+            history.addLast(event);
+            while (history.size() > historySize) {
+                evictedUpTo = history.removeFirst().id();
+            }
+            lastEventAt = System.currentTimeMillis();
+            for (Subscriber subscriber : subscribers) {
+                offer(subscriber, event);
+            }
+        }
+
+        // Registers the subscriber after queuing its replay; returns a subscriber to close, if any
+        synchronized Subscriber subscribe(Subscriber subscriber, Long lastEventId) {
+            if (lastEventId != null) {
+                if (lastEventId < evictedUpTo) {
+                    long resumeAt = history.isEmpty() ? evictedUpTo : history.peekLast().id();
+                    subscriber.queue.offer(resumeAt); // Missed events are gone: reload, then continue from here
+                } else {
+                    for (Event event : history) {
+                        if (event.id() > lastEventId && !subscriber.queue.offer(event)) {
+                            subscriber.queue.clear(); // More to replay than fits: a reload is cheaper
+                            subscriber.queue.offer(history.peekLast().id());
+                            break;
+                        }
+                    }
+                }
+            }
+            subscribers.add(subscriber);
+            return subscribers.size() > maxSubscribersPerUser ? subscribers.get(0) : null;
+        }
+
+        synchronized boolean unsubscribe(Subscriber subscriber) {
+            return subscribers.remove(subscriber);
+        }
+
+        synchronized List<Subscriber> snapshot() {
+            return new ArrayList<>(subscribers);
+        }
+
+        synchronized boolean isIdleSince(long cutoffMillis) {
+            return subscribers.isEmpty() && lastEventAt < cutoffMillis;
+        }
+    }
+}
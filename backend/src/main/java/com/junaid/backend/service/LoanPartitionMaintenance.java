@@ -0,0 +1,68 @@
+// ==========================================================
+// File: LoanPartitionMaintenance.java
+//
+// ❖ ROLE:
+//    - Keeps monthly partitions of loan_applications created ahead of time.
+//    - Runs ensure_loan_application_partitions(n) (see V3 migration) on startup and once a day.
+//
+// ❖ WHY IT'S IMPORTANT:
+//    - Rows for a month without its own partition end up in loan_applications_default,
+//      and a month partition can no longer be created once that range has rows there.
+//      Creating them months in advance keeps the default partition empty.
+//
+// ❖ CONFIGURATION:
+//    - loan.partitions.monthsAhead -> future months to create besides the current one
+//    - loan.partitions.cron        -> when the daily check runs
+//
+// ❖ USED IN:
+//    - Runs on its own (PostgreSQL only; embedded databases are not partitioned)
+// ==========================================================
+
+package com.junaid.backend.service; // Declares this class belongs to the 'service' package
+
+import org.slf4j.Logger; // Logging API
+import org.slf4j.LoggerFactory; // Creates the logger
+import org.springframework.beans.factory.annotation.Value; // Injects configuration
+import org.springframework.boot.context.event.ApplicationReadyEvent; // Fired once the app has started
+import org.springframework.context.event.EventListener; // Subscribes a method to an application event
+import org.springframework.jdbc.core.ConnectionCallback; // Reads the database product name
+import org.springframework.jdbc.core.JdbcTemplate; // Calls the maintenance function
+import org.springframework.scheduling.annotation.Scheduled; // Daily check
+import org.springframework.stereotype.Component; // Registers this class as a Spring bean
+
+@Component
+public class LoanPartitionMaintenance {
+
+    private static final Logger log = LoggerFactory.getLogger(LoanPartitionMaintenance.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${loan.partitions.monthsAhead:3}") // Future months to create besides the current one
+    private int monthsAhead;
+
+    private volatile Boolean partitioned; // Resolved on first run: only PostgreSQL schemas are partitioned
+
+    public LoanPartitionMaintenance(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class) // Catch up right away after downtime
+    @Scheduled(cron = "${loan.partitions.cron:0 15 3 * * *}")
+    public void ensurePartitions() {
+        if (!isPartitioned()) {
+            return;
+        }
+        Integer created = jdbcTemplate.queryForObject("select ensure_loan_application_partitions(?)", Integer.class, monthsAhead);
+        if (created != null && created > 0) {
+            log.info("Created {} monthly loan_applications partition(s)", created);
+        }
+    }
+
+    private boolean isPartitioned() {
+        if (partitioned == null) {
+            partitioned = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()));
+        }
+        return partitioned;
+    }
+}
@@ -22,6 +22,7 @@ package com.junaid.backend.service; // Declares this class is part of the 'servi
 
 import java.util.List; // Java collection interface to represent a list of loan applications
 import com.junaid.backend.entity.LoanApplication; // Imports the entity class that holds loan data
+import com.junaid.backend.model.LoanApplicationSummary; // Column-limited view used for listings
 import org.springframework.web.multipart.MultipartFile; // Used to handle uploaded files (e.g., PDFs, ID proofs)
 
 public interface LoanService { // Defines an interface — only method signatures, no implementation here
@@ -36,6 +37,17 @@ public interface LoanService { // Defines an interface — only method signature
      */
     String applyLoan(LoanApplication loan, MultipartFile file); // Method to apply for a loan
 
+    /**
+     * Accepts a loan application without waiting for the credit decision.
+     * The application is saved as PENDING and decided asynchronously.
+     *
+     * @param loan the LoanApplication object from the user
+     * @param file the supporting document uploaded by the user
+     * @return the saved application (with its ID and PENDING status)
+     * @throws com.junaid.backend.exception.ServiceBusyException if the decision queue is full
+     */
+    LoanApplication submitLoan(LoanApplication loan, MultipartFile file); // Method to apply for a loan asynchronously
+
     /**
      * Fetches all loan records submitted by a specific user.
      *
@@ -43,4 +55,32 @@ public interface LoanService { // Defines an interface — only method signature
      * @return a list of LoanApplication objects linked to that username
      */
     List<LoanApplication> getByUsername(String username); // Method to retrieve loan history for a given user
+
+    /**
+     * Fetches one page of a user's loan applications, newest first, without document data.
+     *
+     * @param username the username of the person whose loans should be fetched
+     * @param after    keyset cursor: only applications with an ID below this are returned (null for the first page)
+     * @param limit    maximum number of rows to return
+     * @return the page of summaries; a page shorter than limit is the last one
+     */
+    List<LoanApplicationSummary> getSummariesByUsername(String username, Long after, int limit); // Paged, document-free history
+
+    /**
+     * Fetches all of a user's loan applications, newest first, without document data.
+     *
+     * @param username the username of the person whose loans should be fetched
+     * @return every summary of that user
+     */
+    List<LoanApplicationSummary> getAllSummariesByUsername(String username); // Unpaged, document-free history
+
+    /**
+     * Fetches a single loan application owned by the given user.
+     *
+     * @param id       the loan application ID
+     * @param username the username of the authenticated user
+     * @return the loan application
+     * @throws org.springframework.web.server.ResponseStatusException 404 if it does not exist or belongs to someone else
+     */
+    LoanApplication getOwnedApplication(Long id, String username); // Method to load one of the user's own applications
 }
\ No newline at end of file
@@ -6,11 +6,16 @@
 //    - It implements the LoanService interface.
 //    - It handles validations, uploads documents, checks credit score,
 //      and saves or rejects the loan based on criteria.
+//    - In asynchronous mode it saves the application as PENDING and lets the
+//      LoanDecisionPipeline score it; decisions are written back in JDBC batches.
 //
 // ❖ WHY IT'S IMPORTANT:
 //    - This is the heart of your Loan Application backend logic.
 //    - It talks to the database using LoanRepository.
+//    - It passes uploaded documents through the DocumentIngestionService (type check,
+//      deduplication, compression) and saves only the reference.
 //    - It separates controller logic from business logic (MVC structure).
+//    - It publishes every status change to the applicant's open event streams (LoanEventBroker).
 //
 // ❖ USED IN:
 //    - Called by LoanController.java
@@ -21,21 +26,40 @@
 //
 // ❖ KEY CONCEPTS:
 //    - Spring @Service
-//    - Random credit score generation
+//    - Mock credit score generation (CreditPolicyEngine)
 //    - File upload handling (MultipartFile)
-//    - Business rules using HashMap
+//    - Business rules from the compiled CreditPolicy
 //    - Custom error handling using ResponseStatusException
 // ==========================================================
 
 package com.junaid.backend.service; // Declares this class belongs to the 'service' package in your project
 
 // === Project-level dependencies ===
+import com.junaid.backend.datasource.ReadYourWritesTracker; // Keeps the applicant's next reads on the primary
 import com.junaid.backend.entity.LoanApplication; // Import the LoanApplication class (your loan data model)
+import com.junaid.backend.entity.LoanStatus; // PENDING / APPROVED / REJECTED
+import com.junaid.backend.metrics.RequestMetrics; // Scoring timers and decision counters
+import com.junaid.backend.model.LoanDecision; // Outcome of scoring one application
+import com.junaid.backend.model.LoanApplicationSummary; // Column-limited view used for listings
+import com.junaid.backend.model.LoanStatusResponse; // Payload of status change events
+import com.junaid.backend.policy.CreditPolicy; // Compiled credit rules
+import com.junaid.backend.policy.CreditPolicyEngine; // Source of the current credit rules and scores
 import com.junaid.backend.repository.LoanRepository; // Import LoanRepository interface for DB interaction
+import com.junaid.backend.storage.StoredDocument; // What the ingestion pass stored
 
 // === Spring Framework dependencies ===
+import jakarta.annotation.PostConstruct; // Starts the decision workers
+import org.slf4j.Logger; // Logging API
+import org.slf4j.LoggerFactory; // Creates the logger
 import org.springframework.beans.factory.annotation.Autowired; // Enables Spring to inject dependencies automatically
+import org.springframework.beans.factory.annotation.Value; // Injects configuration
+import org.springframework.boot.context.event.ApplicationReadyEvent; // Fired once the app has started
+import org.springframework.context.event.EventListener; // Subscribes a method to an application event
+import org.springframework.data.domain.Limit; // Caps the number of rows returned by a query
 import org.springframework.http.HttpStatus; // Represents HTTP status codes like 200, 400, etc.
+import org.springframework.jdbc.core.JdbcTemplate; // Batched status updates
+import org.springframework.jdbc.core.RowCallbackHandler; // Collects stored statuses
+import org.springframework.scheduling.annotation.Scheduled; // Periodic stale-pending sweep
 import org.springframework.stereotype.Service; // Marks this class as a Spring @Service (business logic layer)
 import org.springframework.transaction.annotation.Transactional; // Used to manage DB transactions
 import org.springframework.web.multipart.MultipartFile; // Represents uploaded files like ID proof, PDF, etc.
@@ -43,27 +67,174 @@ import org.springframework.web.server.ResponseStatusException; // Allows throwin
 
 // === Java standard libraries ===
 import java.io.IOException; // Used to catch errors related to file handling
-import java.util.HashMap; // A map implementation that stores key-value pairs (e.g., loanType -> score)
+import java.sql.Statement; // SUCCESS_NO_INFO batch result
+import java.time.Instant; // Age cut-off of the stale-pending sweep
+import java.util.ArrayList; // Collects decisions for a batch
+import java.util.Collections; // Placeholder list for the stored-status lookup
+import java.util.HashMap; // Stored statuses by ID
 import java.util.List; // Represents a list of loan applications
-import java.util.Map; // General interface for all maps
-import java.util.Random; // Used to generate a random credit score
+import java.util.Locale; // Locale-independent lower-casing for messages
+import java.util.Map; // Stored statuses by ID
+import java.util.Objects; // Null-safe score comparison
 
 // This annotation tells Spring that this class contains business logic
 @Service
 public class LoanServiceImpl implements LoanService { // This class implements the LoanService interface
 
+    private static final Logger log = LoggerFactory.getLogger(LoanServiceImpl.class);
+
     // This field will allow us to interact with the database using JPA methods
     private final LoanRepository loanRepository;
 
-    // Constructor: Spring injects LoanRepository automatically here
+    // Validates, deduplicates and stores supporting documents outside the database
+    private final DocumentIngestionService documentIngestion;
+
+    // Provides the credit rules (shared with MockCreditScoreService)
+    private final CreditPolicyEngine creditPolicyEngine;
+
+    // Decides applications off the request thread
+    private final LoanDecisionPipeline decisionPipeline;
+
+    // Writes batched decision updates
+    private final JdbcTemplate jdbcTemplate;
+
+    // Stage timers and per-loan-type decision counters
+    private final RequestMetrics requestMetrics;
+
+    // Marks applicants who just wrote, so their reads skip a lagging replica
+    private final ReadYourWritesTracker writeTracker;
+
+    // Live portfolio statistics, updated with every stored application and decision
+    private final PortfolioAggregates portfolioAggregates;
+
+    // Per-user data versions behind the ETags of loan reads
+    private final UserDataVersions userDataVersions;
+
+    // Pushes status changes to the applicant's open event streams
+    private final LoanEventBroker eventBroker;
+
+    // Applications PENDING for longer than this are queued again by the stale-pending sweep
+    @Value("${loan.pipeline.stalePendingMs:600000}")
+    private long stalePendingMs;
+
+    // Constructor: Spring injects the repository, document ingestion, policy engine and pipeline automatically here
     @Autowired
-    public LoanServiceImpl(LoanRepository loanRepository) {
+    public LoanServiceImpl(LoanRepository loanRepository, DocumentIngestionService documentIngestion,
+                           CreditPolicyEngine creditPolicyEngine, LoanDecisionPipeline decisionPipeline,
+                           JdbcTemplate jdbcTemplate, RequestMetrics requestMetrics,
+                           ReadYourWritesTracker writeTracker, PortfolioAggregates portfolioAggregates,
+                           UserDataVersions userDataVersions, LoanEventBroker eventBroker) {
         this.loanRepository = loanRepository; // Assign the injected object to this class's field
+        this.documentIngestion = documentIngestion; // Assign the document ingestion stage
+        this.creditPolicyEngine = creditPolicyEngine; // Assign the policy engine
+        this.decisionPipeline = decisionPipeline; // Assign the decision pipeline
+        this.jdbcTemplate = jdbcTemplate; // Assign the JDBC helper used for batched updates
+        this.requestMetrics = requestMetrics; // Assign the metrics
+        this.writeTracker = writeTracker; // Assign the read-your-writes tracker
+        this.portfolioAggregates = portfolioAggregates; // Assign the portfolio aggregates
+        this.userDataVersions = userDataVersions; // Assign the per-user data versions
+        this.eventBroker = eventBroker; // Assign the event broker
+    }
+
+    // Starts the decision workers with this service's batch handler, then re-queues anything left PENDING
+    @PostConstruct
+    void startDecisionPipeline() {
+        decisionPipeline.start(this::decideBatch);
+    }
+
+    // Applications accepted before a restart are still PENDING — decide them now
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverPendingDecisions() throws InterruptedException {
+        for (Object[] row : loanRepository.findDecisionInputsByStatus(LoanStatus.PENDING)) {
+            decisionPipeline.submitBlocking(toTask(row));
+        }
     }
 
-    // This method is called when a user applies for a loan
+    // Applications still PENDING long after they were accepted (their retries ran out) — queue them again.
+    // One that is in fact still queued is decided twice at worst; the conditional UPDATE keeps only the first.
+    @Scheduled(fixedDelayString = "${loan.pipeline.stalePendingSweepMs:300000}",
+            initialDelayString = "${loan.pipeline.stalePendingSweepMs:300000}")
+    public void requeueStalePendingDecisions() {
+        Instant before = Instant.now().minusMillis(stalePendingMs);
+        int requeued = 0;
+        for (Object[] row : loanRepository.findDecisionInputsByStatusAndCreatedAtBefore(LoanStatus.PENDING, before)) {
+            if (!decisionPipeline.trySubmit(toTask(row))) {
+                break; // Queue full: never compete with new applications, the next sweep continues
+            }
+            requeued++;
+        }
+        if (requeued > 0) {
+            log.warn("Re-queued {} loan application(s) left PENDING for more than {} ms", requeued, stalePendingMs);
+        }
+    }
+
+    private static LoanDecisionPipeline.Task toTask(Object[] row) {
+        return new LoanDecisionPipeline.Task((Long) row[0], (String) row[1], (String) row[2], (Integer) row[3]);
+    }
+
+    // This method is called when a user applies for a loan and waits for the decision (synchronous mode)
     @Override
     public String applyLoan(LoanApplication loan, MultipartFile file) {
+        // Steps 1-2: Validate the request and stream the document to storage
+        prepareApplication(loan, file);
+
+        // Step 3: Score the application against the current credit policy
+        LoanDecision decision = evaluate(creditPolicyEngine.current(), null, loan.getLoanType());
+
+        // Step 4: Rejected applications are not stored in synchronous mode
+        if (!decision.approved()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, decision.message());
+        }
+
+        // Step 5: Save the valid loan application to the database
+        loan.setStatus(LoanStatus.APPROVED);
+        loan.setCreditScore(decision.creditScore());
+        loan.setDecisionMessage(decision.message());
+        documentIngestion.retain(loan.getDocumentRef()); // Before the save: a failed save leaks the blob, never loses it
+        loanRepository.save(loan);
+        writeTracker.markWrite(loan.getUsername()); // The next "my applications" read must see this row
+        userDataVersions.bump(loan.getUsername()); // After the commit: cached listings are stale now
+        portfolioAggregates.recordApplication(loan.getLoanType(), loan.getTenure(), loan.getAmount(),
+                loan.getInterestRate(), LoanStatus.APPROVED);
+        eventBroker.publish(loan.getUsername(), LoanStatusResponse.of(loan)); // Other open tabs learn about it too
+
+        // Step 6: Return a success message back to the frontend
+        return decision.message();
+    }
+
+    // This method accepts an application and leaves the decision to the pipeline (asynchronous mode)
+    @Override
+    public LoanApplication submitLoan(LoanApplication loan, MultipartFile file) {
+        decisionPipeline.reserve(); // Fail fast with 503 before doing any work if the pipeline is full
+        boolean queued = false;
+        try {
+            // Steps 1-2: Validate the request and stream the document to storage
+            prepareApplication(loan, file);
+
+            // Step 3: Persist as PENDING so the client can poll its status right away
+            loan.setStatus(LoanStatus.PENDING);
+            documentIngestion.retain(loan.getDocumentRef()); // Before the save: a failed save leaks the blob, never loses it
+            LoanApplication saved = loanRepository.save(loan);
+            writeTracker.markWrite(saved.getUsername()); // Status polling must see this row
+            userDataVersions.bump(saved.getUsername()); // After the commit: cached listings are stale now
+            portfolioAggregates.recordApplication(saved.getLoanType(), saved.getTenure(), saved.getAmount(),
+                    saved.getInterestRate(), LoanStatus.PENDING);
+            eventBroker.publish(saved.getUsername(), LoanStatusResponse.of(saved)); // "Received" event
+
+            // Step 4: Hand the decision to the worker pipeline (uses the slot reserved above)
+            decisionPipeline.submit(new LoanDecisionPipeline.Task(saved.getId(), saved.getUsername(), saved.getLoanType(),
+                    saved.getTenure()));
+            queued = true;
+            return saved;
+        } finally {
+            if (!queued) {
+                decisionPipeline.release(); // Validation or storage failed — give the slot back
+            }
+        }
+    }
+
+    // === Validation and document storage shared by both modes ===
+    private void prepareApplication(LoanApplication loan, MultipartFile file) {
         // Step 1: Basic validation — amount and tenure should not be zero or negative
         if (loan.getAmount() <= 0 || loan.getTenure() <= 0) {
             throw new ResponseStatusException(
@@ -72,9 +243,19 @@ public class LoanServiceImpl implements LoanService { // This class implements t
             );
         }
 
-        // Step 2: Convert the uploaded file into bytes and attach it to the loan object
+        // Server-managed fields are never taken from the request body
+        loan.setId(null);
+        loan.setStatus(null);
+        loan.setCreditScore(null);
+        loan.setDecisionMessage(null);
+
+        // Step 2: Stream the uploaded file through ingestion (415 for unaccepted types) and keep only its reference
         try {
-            loan.setSupportingDocument(file.getBytes()); // File as byte[] to be stored in DB
+            StoredDocument document = documentIngestion.ingest(file);
+            loan.setDocumentRef(document.reference()); // Content hash of the original file
+            loan.setDocumentName(file.getOriginalFilename()); // Original name for downloads
+            loan.setDocumentContentType(document.type().mimeType()); // Sniffed type, not the client's claim
+            loan.setDocumentSize(document.size()); // Original size in bytes
         } catch (IOException e) {
             // If file conversion fails, return HTTP 500 error
             throw new ResponseStatusException(
@@ -82,40 +263,120 @@ public class LoanServiceImpl implements LoanService { // This class implements t
                     "Failed to upload file: " + e.getMessage()
             );
         }
+    }
 
-        // Step 3: Generate a fake credit score between 600 and 900
-        int generatedCreditScore = new Random().nextInt(301) + 600;
-
-        // Step 4: Define required credit scores for different loan types
-        Map<String, Integer> requiredScores = new HashMap<>();
-        requiredScores.put("home", 720);
-        requiredScores.put("personal", 700);
-        requiredScores.put("education", 680);
-        requiredScores.put("business", 740);
-        requiredScores.put("auto", 710);
+    // === Scores one application; the caller passes a single policy snapshot for consistency ===
+    private LoanDecision evaluate(CreditPolicy policy, Long loanId, String loanType) {
+        long startNanos = System.nanoTime(); // Start of the scoring stage
+        LoanDecision decision = score(policy, loanId, loanType);
+        requestMetrics.recordScoring(System.nanoTime() - startNanos);
+        requestMetrics.recordDecision(policy.canonicalType(loanType), decision.status()); // Bounded loan_type tag
+        return decision;
+    }
 
-        // Step 5: Normalize input loanType to lowercase for comparison
-        String loanType = loan.getLoanType().toLowerCase();
+    // Compares a generated score with the policy threshold for the loan type
+    private LoanDecision score(CreditPolicy policy, Long loanId, String loanType) {
+        // Generate a fake credit score within the policy's range
+        int generatedCreditScore = creditPolicyEngine.drawScore(policy);
 
-        // Step 6: Get the required credit score for this loan type; default is 700
-        int requiredScore = requiredScores.getOrDefault(loanType, 700);
+        // Get the required credit score for this loan type (case-insensitive lookup)
+        int requiredScore = policy.requiredScore(loanType);
 
-        // Step 7: Compare user's generated credit score with required score
+        // Compare user's generated credit score with required score
         if (generatedCreditScore < requiredScore) {
-            // If score is too low, reject the application
-            throw new ResponseStatusException(
-                    HttpStatus.BAD_REQUEST,
+            String normalizedType = loanType.toLowerCase(Locale.ROOT); // Only needed for the message
+            return new LoanDecision(loanId, LoanStatus.REJECTED, generatedCreditScore, requiredScore,
                     "Your credit score is " + generatedCreditScore +
-                            ", but the required score for a " + loanType + " loan is " +
-                            requiredScore + ". Your application was rejected."
-            );
+                            ", but the required score for a " + normalizedType + " loan is " +
+                            requiredScore + ". Your application was rejected.");
+        }
+        return new LoanDecision(loanId, LoanStatus.APPROVED, generatedCreditScore, requiredScore,
+                "Loan application submitted successfully. Your credit score is " + generatedCreditScore + ".");
+    }
+
+    // === Pipeline batch handler: score every task, then write all outcomes in one JDBC batch ===
+    private void decideBatch(List<LoanDecisionPipeline.Task> tasks) {
+        CreditPolicy policy = creditPolicyEngine.current(); // One rules snapshot for the whole batch
+        List<LoanDecision> decisions = new ArrayList<>(tasks.size());
+        boolean[] retried = new boolean[tasks.size()]; // Scored by an earlier attempt of this batch
+        for (int i = 0; i < tasks.size(); i++) {
+            LoanDecisionPipeline.Task task = tasks.get(i);
+            if (task.decision() != null) {
+                retried[i] = true;
+            } else {
+                task = task.withDecision(evaluate(policy, task.loanId(), task.loanType()));
+                tasks.set(i, task); // A retry reuses this score, so the decision metrics count it once
+            }
+            decisions.add(task.decision());
         }
 
-        // Step 8: Save the valid loan application to the database
-        loanRepository.save(loan);
+        long startNanos = System.nanoTime(); // Start of the decision_write stage
+        int[][] updated = jdbcTemplate.batchUpdate(
+                "update loan_applications set status = ?, credit_score = ?, decision_message = ?, version = version + 1 " +
+                        "where id = ? and status = 'PENDING'", // Never overwrite an application decided elsewhere
+                decisions,
+                decisions.size(),
+                (ps, decision) -> {
+                    ps.setString(1, decision.status().name());
+                    ps.setInt(2, decision.creditScore());
+                    ps.setString(3, decision.message());
+                    ps.setLong(4, decision.loanId());
+                });
+        requestMetrics.recordDecisionWrite(System.nanoTime() - startNanos);
+
+        // Only rows this batch actually moved out of PENDING change the aggregates and produce events
+        int[] counts = updated.length > 0 ? updated[0] : new int[0]; // One sub-batch: batch size == decisions.size()
+        List<Integer> unchanged = new ArrayList<>(); // Rows that were no longer PENDING
+        for (int i = 0; i < tasks.size(); i++) {
+            LoanDecisionPipeline.Task task = tasks.get(i);
+            writeTracker.markWrite(task.username()); // Pollers see the decision, not a stale PENDING
+            userDataVersions.bump(task.username()); // Status polls get the decision instead of a 304
+            if (i < counts.length && (counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO)) {
+                LoanDecision decision = decisions.get(i);
+                portfolioAggregates.recordDecision(task.loanType(), task.tenure(), decision.status());
+                eventBroker.publish(task.username(), new LoanStatusResponse(task.loanId(), decision.status(),
+                        decision.creditScore(), decision.message())); // After the write: a refetch sees the same state
+            } else {
+                unchanged.add(i);
+            }
+        }
+        if (!unchanged.isEmpty()) {
+            publishCurrentStatus(tasks, unchanged, retried);
+        }
+    }
+
+    // Rows a batch found already decided: either an earlier attempt of this batch committed them before it
+    // failed (so nobody counted or announced them yet), or another run decided them (the stale-pending sweep).
+    // Their stored status is announced either way; the aggregates count it only if it is this batch's own
+    // decision from an earlier attempt.
+    private void publishCurrentStatus(List<LoanDecisionPipeline.Task> tasks, List<Integer> indexes, boolean[] retried) {
+        List<Object> ids = new ArrayList<>(indexes.size());
+        for (int i : indexes) {
+            ids.add(tasks.get(i).loanId());
+        }
+        Map<Long, LoanStatusResponse> stored = new HashMap<>();
+        jdbcTemplate.query( // Outside a transaction, so it reads the primary that was just written
+                "select id, status, credit_score, decision_message from loan_applications where id in (" +
+                        String.join(", ", Collections.nCopies(ids.size(), "?")) + ")",
+                (RowCallbackHandler) rs -> stored.put(rs.getLong("id"), new LoanStatusResponse(rs.getLong("id"),
+                        LoanStatus.valueOf(rs.getString("status")), rs.getObject("credit_score", Integer.class),
+                        rs.getString("decision_message"))),
+                ids.toArray());
 
-        // Step 9: Return a success message back to the frontend
-        return "Loan application submitted successfully. Your credit score is " + generatedCreditScore + ".";
+        for (int i : indexes) {
+            LoanDecisionPipeline.Task task = tasks.get(i);
+            LoanStatusResponse current = stored.get(task.loanId());
+            if (current == null || current.status() == LoanStatus.PENDING) {
+                continue; // Deleted meanwhile: nothing to announce
+            }
+            LoanDecision decision = task.decision();
+            if (retried[i] && current.status() == decision.status()
+                    && Objects.equals(current.creditScore(), decision.creditScore())
+                    && decision.message().equals(current.message())) {
+                portfolioAggregates.recordDecision(task.loanType(), task.tenure(), decision.status()); // Written, never counted
+            }
+            eventBroker.publish(task.username(), current);
+        }
     }
 
     // This method returns a list of loan applications submitted by a specific user
@@ -124,4 +385,33 @@ public class LoanServiceImpl implements LoanService { // This class implements t
     public List<LoanApplication> getByUsername(String username) {
         return loanRepository.findByUsername(username); // Call repository method to fetch user's loan history
     }
+
+    // Returns one keyset page of a user's applications without ever selecting document columns
+    @Override
+    @Transactional(readOnly = true)
+    public List<LoanApplicationSummary> getSummariesByUsername(String username, Long after, int limit) {
+        if (after == null) { // First page
+            return loanRepository.findByUsernameOrderByIdDesc(username, Limit.of(limit));
+        }
+        return loanRepository.findByUsernameAndIdLessThanOrderByIdDesc(username, after, Limit.of(limit)); // Continue below the cursor
+    }
+
+    // Returns all of a user's applications (clients that do not page), still without document columns
+    @Override
+    @Transactional(readOnly = true)
+    public List<LoanApplicationSummary> getAllSummariesByUsername(String username) {
+        return loanRepository.findByUsernameOrderByIdDesc(username, Limit.unlimited());
+    }
+
+    // Returns a single loan application, but only to the user who submitted it
+    @Override
+    @Transactional(readOnly = true)
+    public LoanApplication getOwnedApplication(Long id, String username) {
+        return loanRepository.findById(id)
+                .filter(loan -> loan.getUsername().equals(username)) // Hide other users' applications
+                .orElseThrow(() -> new ResponseStatusException(
+                        HttpStatus.NOT_FOUND, // Same response for "missing" and "not yours"
+                        "Loan application not found"
+                ));
+    }
 }
@@ -0,0 +1,83 @@
+// ==========================================================
+// File: LoginThrottle.java
+//
+// ❖ ROLE:
+//    - Limits failed logins per (username, client address) with a token bucket (TokenBucketLimiter).
+//    - Only failures take a token, so a user who knows their password is never slowed down
+//      by their own logins.
+//    - The client address is part of the key, so nobody can lock a user out by spending that
+//      username's budget from elsewhere: the owner's own address keeps a full budget.
+//
+// ❖ WHY IT'S IMPORTANT:
+//    - Every login attempt costs a full BCrypt hash. Once a client's failure budget for a
+//      username is spent, its further guesses are refused with 429 before BCrypt runs.
+//    - Guessing from many addresses is bounded by the per-IP limit in RateLimitFilter: every
+//      address has its own failed-login budget across all usernames.
+//
+// ❖ CONFIGURATION:
+//    - app.ratelimit.enabled                        -> turns rate limiting on or off
+//    - app.ratelimit.authenticate.user.capacity        -> failed logins allowed in a burst (per username and address)
+//    - app.ratelimit.authenticate.user.refillPerMinute -> failed logins allowed per minute afterwards
+//    - app.ratelimit.maxKeys                        -> max (username, address) pairs tracked at once
+//
+// ❖ USED IN:
+//    - AuthController.java (checked before authenticate(), charged on BadCredentialsException)
+// ==========================================================
+
+package com.junaid.backend.service; // Declares this class belongs to the 'service' package
+
+import com.junaid.backend.util.TokenBucketLimiter; // Per-(username, address) buckets
+
+import io.micrometer.core.instrument.Counter; // Refused logins
+import io.micrometer.core.instrument.MeterRegistry; // Where meters are registered
+import org.springframework.beans.factory.annotation.Value; // Injects configuration
+import org.springframework.stereotype.Service; // Marks this class as a Spring service
+
+import java.util.Locale; // Case-insensitive keys
+import java.util.concurrent.TimeUnit; // Nanos -> seconds for Retry-After
+
+@Service
+public class LoginThrottle {
+
+    private final boolean enabled; // app.ratelimit.enabled
+    private final TokenBucketLimiter failures; // username|address -> failed-login bucket
+    private final Counter rejected; // Logins refused before BCrypt
+
+    public LoginThrottle(MeterRegistry registry,
+                         @Value("${app.ratelimit.enabled:true}") boolean enabled,
+                         @Value("${app.ratelimit.authenticate.user.capacity:5}") int capacity,
+                         @Value("${app.ratelimit.authenticate.user.refillPerMinute:1}") double refillPerMinute,
+                         @Value("${app.ratelimit.maxKeys:100000}") int maxKeys) {
+        this.enabled = enabled;
+        this.failures = new TokenBucketLimiter(capacity, refillPerMinute, maxKeys);
+        this.rejected = Counter.builder("app.ratelimit.rejected")
+                .description("Requests refused by a rate limit")
+                .tag("endpoint", "authenticate")
+                .tag("key", "user")
+                .register(registry);
+    }
+
+    // === Seconds until this client may try this username again (0 = now); counts a refusal when non-zero ===
+    public long retryAfterSeconds(String username, String clientAddress) {
+        if (!enabled || username == null) {
+            return 0;
+        }
+        long waitNanos = failures.peek(key(username, clientAddress), System.nanoTime()); // Looking is free: only failures take tokens
+        if (waitNanos == 0) {
+            return 0;
+        }
+        rejected.increment();
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1)); // Round up
+    }
+
+    // === A wrong password (or unknown user) spends one token of this client's budget for the username ===
+    public void recordFailure(String username, String clientAddress) {
+        if (enabled && username != null) {
+            failures.tryAcquire(key(username, clientAddress), System.nanoTime());
+        }
+    }
+
+    private static String key(String username, String clientAddress) {
+        return username.trim().toLowerCase(Locale.ROOT) + '|' + clientAddress; // "Alice" and "alice " share one budget
+    }
+}
@@ -23,7 +23,7 @@
 //
 // ❖ FLOW:
 //    1. Spring Security calls `loadUserByUsername()`
-//    2. We fetch user from database
+//    2. We fetch user from UserCache (database on a miss)
 //    3. Return Spring Security User object (used internally by Spring)
 // ==========================================================
 
@@ -31,41 +31,72 @@ package com.junaid.backend.service; // This line declares the Java package this
 
 // === Project-specific imports ===
 import com.junaid.backend.entity.User; // Import your User entity (from your DB)
+import com.junaid.backend.model.AppUserDetails; // UserDetails that also carries ID and token version
 import com.junaid.backend.repository.UserRepository; // Import your repository to access the DB
 
 // === Spring Security and Framework imports ===
 import org.springframework.beans.factory.annotation.Autowired; // Enables Spring to inject objects like UserRepository
+import org.springframework.beans.factory.annotation.Value; // Injects the admin username list
+import org.springframework.security.core.authority.AuthorityUtils; // Builds authority lists from role names
 import org.springframework.security.core.userdetails.UserDetails; // Interface that represents user information used by Spring Security
+import org.springframework.security.core.userdetails.UserDetailsPasswordService; // Lets Spring Security store upgraded hashes
 import org.springframework.security.core.userdetails.UserDetailsService; // Interface you must implement for login handling
 import org.springframework.security.core.userdetails.UsernameNotFoundException; // Exception thrown if user not found
 import org.springframework.stereotype.Service; // Tells Spring this is a service class
+import org.springframework.transaction.annotation.Transactional; // Wraps the password update
+
+import java.util.List; // Admin usernames
 
 /**
  * This class is used by Spring Security to load user details from your database.
  */
 @Service // Spring will treat this class as a Service component and manage it
-public class MyUserDetailsService implements UserDetailsService {
+public class MyUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     // Spring will automatically inject the UserRepository instance here
     @Autowired
     private UserRepository userRepository;
 
+    // Cached user lookups, kept coherent across nodes
+    @Autowired
+    private UserCache userCache;
+
+    // Usernames that also get ROLE_ADMIN (comma-separated in app.admin.usernames)
+    @Value("${app.admin.usernames:}")
+    private List<String> adminUsernames;
+
     // This method is called when a user tries to log in
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        // Try to find the user in the database using the provided username
-        User userEntity = userRepository.findByUsername(username);
+        // Try to find the user (from memory if recently loaded, otherwise the database)
+        User userEntity = userCache.findByUsername(username);
 
         // If no user was found, throw an exception
         if (userEntity == null) {
             throw new UsernameNotFoundException("User not found with username: " + username);
         }
 
-        // If user is found, return a Spring Security user object
-        return org.springframework.security.core.userdetails.User // Fully qualified class name to avoid ambiguity
-                .withUsername(userEntity.getUsername()) // Set the username
-                .password(userEntity.getPassword())     // Set the encoded password
-                .authorities("ROLE_USER")               // Give the user a default role
-                .build();                               // Build and return the UserDetails object
+        // If user is found, return a Spring Security user object (with ID and token version for the JWT)
+        return new AppUserDetails(
+                userEntity.getId(),                          // Database ID, embedded in the token
+                userEntity.getUsername(),                    // Set the username
+                userEntity.getPassword(),                    // Set the encoded password
+                userEntity.getTokenVersion(),                // Current token version, embedded in the token
+                adminUsernames.contains(userEntity.getUsername())
+                        ? AuthorityUtils.createAuthorityList("ROLE_USER", "ROLE_ADMIN") // Configured administrators
+                        : AuthorityUtils.createAuthorityList("ROLE_USER") // Give the user a default role
+        );
+    }
+
+    // Called by Spring Security after a successful login when the stored hash uses an older BCrypt cost
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePassword(user.getUsername(), newPassword); // Store the re-hashed password
+        userCache.evict(user.getUsername()); // Next lookup on this node sees the new hash
+
+        AppUserDetails current = (AppUserDetails) user; // Always ours — loaded by loadUserByUsername
+        return new AppUserDetails(current.getId(), current.getUsername(), newPassword,
+                current.getTokenVersion(), current.getAuthorities());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,131 @@
+// ==========================================================
+// File: PasswordHashingExecutor.java
+//
+// ❖ ROLE:
+//    - Small, bounded thread pool that runs every BCrypt hash and verification.
+//
+// ❖ WHY IT'S IMPORTANT:
+//    - A BCrypt check costs ~100 ms of pure CPU. When it ran directly on servlet threads,
+//      a login storm could take every core and starve all other endpoints.
+//    - Here at most `threads` hashes run at once and at most `queueCapacity` wait. Anything
+//      beyond that fails fast with 503 + Retry-After instead of queueing without bound.
+//
+// ❖ TIMEOUTS:
+//    - A caller that times out gets 503, but its hash cannot be stopped once it runs: BCrypt
+//      never checks for interrupts, so the thread stays busy until the hash is done. Only a
+//      hash still waiting in the queue is skipped.
+//    - Timeouts therefore free no capacity. The queue is sized so that its last entry still
+//      finishes well within the timeout; a full queue is refused up front instead.
+//
+// ❖ CONFIGURATION:
+//    - security.hashing.threads        -> concurrent hashes (default: half the cores, at least 1)
+//    - security.hashing.queueCapacity  -> hashes allowed to wait for a thread (0 = derived from
+//                                         the timeout and security.bcrypt.targetMs, see init)
+//    - security.hashing.timeoutMs      -> max time a caller waits for its result
+//
+// ❖ USED IN:
+//    - BoundedPasswordEncoder.java (wraps the BCrypt encoder, see SecurityConfig)
+// ==========================================================
+
+package com.junaid.backend.service; // Declares this class belongs to the 'service' package
+
+import com.junaid.backend.exception.ServiceBusyException; // 503 with Retry-After
+
+import jakarta.annotation.PostConstruct; // Builds the pool after configuration is injected
+import jakarta.annotation.PreDestroy; // Stops the pool on shutdown
+import org.slf4j.Logger; // Logging API
+import org.slf4j.LoggerFactory; // Creates the logger
+import org.springframework.beans.factory.annotation.Value; // Injects configuration
+import org.springframework.stereotype.Component; // Registers this class as a Spring bean
+
+import java.util.concurrent.ArrayBlockingQueue; // Bounded wait queue
+import java.util.concurrent.Callable; // One hashing job
+import java.util.concurrent.ExecutionException; // Wraps failures thrown by a job
+import java.util.concurrent.Future; // Pending result
+import java.util.concurrent.RejectedExecutionException; // Pool and queue are full
+import java.util.concurrent.ThreadPoolExecutor; // The pool itself
+import java.util.concurrent.TimeUnit; // Timeouts
+import java.util.concurrent.TimeoutException; // Caller gave up waiting
+import java.util.concurrent.atomic.AtomicInteger; // Thread numbering
+
+@Component
+public class PasswordHashingExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordHashingExecutor.class);
+    private static final String BUSY_MESSAGE = "Too many sign-in attempts right now. Please try again shortly.";
+
+    @Value("${security.hashing.threads:0}") // 0 = half the available cores
+    private int threads;
+
+    @Value("${security.hashing.queueCapacity:0}") // Hashes allowed to wait for a thread (0 = derived)
+    private int queueCapacity;
+
+    @Value("${security.hashing.timeoutMs:5000}") // Max wait for a result before answering 503
+    private long timeoutMs;
+
+    @Value("${security.hashing.retryAfterSeconds:2}") // Retry-After sent when saturated
+    private long retryAfterSeconds;
+
+    @Value("${security.bcrypt.targetMs:100}") // Expected duration of one hash
+    private long hashMs;
+
+    private ThreadPoolExecutor pool;
+
+    @PostConstruct
+    void init() {
+        int size = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        // The hash at queue position q finishes after about (q / size + 1) * hashMs. Allowing half of
+        // the timeout for that leaves room for hashes slower than calibrated (a loaded machine).
+        int fitting = (int) Math.max(1, size * (timeoutMs / 2 / Math.max(1, hashMs) - 1));
+        int capacity = queueCapacity > 0 ? queueCapacity : fitting;
+        if (capacity > fitting) {
+            log.warn("security.hashing.queueCapacity={} lets hashes queue past the {} ms timeout; callers will get 503"
+                    + " while their hashes still run (about {} fit)", capacity, timeoutMs, fitting);
+        }
+        AtomicInteger counter = new AtomicInteger();
+        pool = new ThreadPoolExecutor(size, size, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacity),
+                task -> {
+                    Thread thread = new Thread(task, "password-hash-" + counter.getAndIncrement());
+                    thread.setDaemon(true); // Never blocks JVM shutdown
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()); // Full queue -> RejectedExecutionException -> 503
+    }
+
+    // === Runs one hash on the pool and waits for it; throws ServiceBusyException when saturated ===
+    public <T> T call(Callable<T> job) {
+        Future<T> future;
+        try {
+            future = pool.submit(job);
+        } catch (RejectedExecutionException e) {
+            throw new ServiceBusyException(BUSY_MESSAGE, retryAfterSeconds); // Fail fast, no waiting
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(false); // Skips the hash if it is still queued; a running one finishes anyway (BCrypt ignores interrupts)
+            throw new ServiceBusyException(BUSY_MESSAGE, retryAfterSeconds);
+        } catch (InterruptedException e) {
+            future.cancel(false); // Same: only a queued hash is saved
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException(BUSY_MESSAGE, retryAfterSeconds);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime; // e.g. IllegalArgumentException for an over-long password
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    // === Hashes waiting for a thread (for diagnostics) ===
+    public int queued() {
+        return pool.getQueue().size();
+    }
+
+    @PreDestroy // Stop the pool when the application shuts down
+    void stop() {
+        pool.shutdownNow();
+    }
+}
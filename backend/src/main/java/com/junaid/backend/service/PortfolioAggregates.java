@@ -0,0 +1,242 @@
+// ==========================================================
+// File: PortfolioAggregates.java
+//
+// ❖ ROLE:
+//    - Keeps live portfolio statistics (count, total amount, average interest rate and
+//      approved / rejected / pending counts) per loan type and tenure band, in memory.
+//    - LoanServiceImpl records every stored application and every decision as it happens.
+//
+// ❖ WHY IT'S IMPORTANT:
+//    - A GROUP BY over loan_applications on every dashboard refresh grows with the table.
+//      Here a refresh only sums a fixed number of buckets (loan types × tenure bands).
+//    - Buckets are LongAdder / DoubleAdder cells: request threads and decision workers
+//      update them concurrently without locks or contention on a single counter.
+//
+// ❖ CONSISTENCY:
+//    - rebuild() recomputes everything from the table on startup, after bulk imports
+//      and on a schedule. Updates made while a rebuild runs are applied to both the
+//      live and the new buckets (same approach as AvailabilityService).
+//    - A write that commits right as the rebuild query starts can be counted twice; the
+//      next scheduled rebuild corrects it.
+//    - Rejections in synchronous mode are not stored, so they are not counted either.
+//
+// ❖ CONFIGURATION:
+//    - portfolio.tenureBands -> upper bounds (months) of the tenure bands, e.g. 12,36,60,120
+//    - portfolio.rebuildMs   -> how often the figures are recomputed from the table
+//
+// ❖ USED IN:
+//    - LoanServiceImpl.java (recordApplication / recordDecision)
+//    - BulkImportService.java (rebuild after importing loans)
+//    - PortfolioController.java (snapshot)
+// ==========================================================
+
+package com.junaid.backend.service; // Declares this class belongs to the 'service' package
+
+import com.junaid.backend.entity.LoanStatus; // Outcome being counted
+import com.junaid.backend.model.PortfolioStats; // Snapshot returned to callers
+import com.junaid.backend.policy.CreditPolicyEngine; // Known loan types (bounded bucket count)
+
+import jakarta.annotation.PostConstruct; // Builds the band labels
+import org.slf4j.Logger; // Logging API
+import org.slf4j.LoggerFactory; // Creates the logger
+import org.springframework.beans.factory.annotation.Value; // Injects configuration
+import org.springframework.boot.context.event.ApplicationReadyEvent; // First build after startup
+import org.springframework.context.event.EventListener; // Subscribes a method to an application event
+import org.springframework.jdbc.core.JdbcTemplate; // Aggregating query used by rebuild()
+import org.springframework.scheduling.annotation.Scheduled; // Periodic rebuild
+import org.springframework.stereotype.Service; // Marks this class as a Spring service
+
+import java.time.Instant; // Rebuild time
+import java.util.LinkedHashMap; // Bands in ascending order
+import java.util.List; // Band bounds
+import java.util.Map; // Buckets and breakdowns
+import java.util.TreeMap; // Sorted breakdowns in the response
+import java.util.concurrent.ConcurrentHashMap; // Bucket lookup from many threads
+import java.util.concurrent.atomic.DoubleAdder; // Striped double sums
+import java.util.concurrent.atomic.LongAdder; // Striped counters
+
+@Service
+public class PortfolioAggregates {
+
+    private static final Logger log = LoggerFactory.getLogger(PortfolioAggregates.class);
+
+    // One bucket per (canonical loan type, tenure band index)
+    private record BucketKey(String loanType, int band) { }
+
+    // Striped accumulators: concurrent adds land in different cells instead of one contended field
+    private static final class Bucket {
+        final LongAdder count = new LongAdder();
+        final DoubleAdder totalAmount = new DoubleAdder();
+        final DoubleAdder interestRateSum = new DoubleAdder();
+        final LongAdder approved = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+        final LongAdder pending = new LongAdder();
+
+        void add(long applications, double amount, double interestRate, LoanStatus status) {
+            count.add(applications);
+            totalAmount.add(amount);
+            interestRateSum.add(interestRate);
+            LongAdder outcome = counter(status);
+            if (outcome != null) {
+                outcome.add(applications);
+            }
+        }
+
+        void move(LoanStatus from, LoanStatus to) {
+            LongAdder source = counter(from);
+            LongAdder target = counter(to);
+            if (source != null) {
+                source.decrement();
+            }
+            if (target != null) {
+                target.increment();
+            }
+        }
+
+        LongAdder counter(LoanStatus status) {
+            if (status == null) {
+                return approved; // Rows stored before decisions were recorded were approved ones
+            }
+            return switch (status) {
+                case APPROVED -> approved;
+                case REJECTED -> rejected;
+                case PENDING -> pending;
+            };
+        }
+    }
+
+    // Mutable running sum used while building a snapshot (single thread)
+    private static final class Sum {
+        long count;
+        double totalAmount;
+        double interestRateSum;
+        long approved;
+        long rejected;
+        long pending;
+
+        void add(Bucket bucket) {
+            count += bucket.count.sum();
+            totalAmount += bucket.totalAmount.sum();
+            interestRateSum += bucket.interestRateSum.sum();
+            approved += bucket.approved.sum();
+            rejected += bucket.rejected.sum();
+            pending += bucket.pending.sum();
+        }
+
+        PortfolioStats.Totals toTotals() {
+            return new PortfolioStats.Totals(count, totalAmount, count > 0 ? interestRateSum / count : 0.0,
+                    approved, rejected, pending);
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CreditPolicyEngine creditPolicyEngine;
+
+    @Value("${portfolio.tenureBands:12,36,60,120}") // Upper bounds (months) of the tenure bands
+    private List<Integer> tenureBandBounds;
+
+    private String[] bandLabels; // "1-12", "13-36", ..., "121+"
+
+    private volatile Map<BucketKey, Bucket> buckets = new ConcurrentHashMap<>(); // Live figures
+    private volatile Map<BucketKey, Bucket> building; // Buckets being rebuilt; receive concurrent updates too
+    private volatile Instant rebuiltAt; // Last successful rebuild
+
+    public PortfolioAggregates(JdbcTemplate jdbcTemplate, CreditPolicyEngine creditPolicyEngine) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.creditPolicyEngine = creditPolicyEngine;
+    }
+
+    @PostConstruct
+    void initBands() {
+        List<Integer> bounds = tenureBandBounds.stream().sorted().toList();
+        bandLabels = new String[bounds.size() + 1];
+        int lower = 1;
+        for (int i = 0; i < bounds.size(); i++) {
+            bandLabels[i] = lower + "-" + bounds.get(i);
+            lower = bounds.get(i) + 1;
+        }
+        bandLabels[bounds.size()] = lower + "+";
+        tenureBandBounds = bounds;
+    }
+
+    // === A new application was stored (PENDING in async mode, APPROVED in sync mode) ===
+    public void recordApplication(String loanType, int tenure, double amount, double interestRate, LoanStatus status) {
+        BucketKey key = key(loanType, tenure);
+        bucket(buckets, key).add(1, amount, interestRate, status);
+        Map<BucketKey, Bucket> next = building;
+        if (next != null) {
+            bucket(next, key).add(1, amount, interestRate, status); // Don't lose it if a rebuild is running right now
+        }
+    }
+
+    // === A PENDING application was decided ===
+    public void recordDecision(String loanType, int tenure, LoanStatus outcome) {
+        BucketKey key = key(loanType, tenure);
+        bucket(buckets, key).move(LoanStatus.PENDING, outcome);
+        Map<BucketKey, Bucket> next = building;
+        if (next != null) {
+            bucket(next, key).move(LoanStatus.PENDING, outcome);
+        }
+    }
+
+    // === Current figures; cost depends on the number of buckets, not on the table size ===
+    public PortfolioStats snapshot() {
+        Sum overall = new Sum();
+        Map<String, Sum> byLoanType = new TreeMap<>();
+        Map<Integer, Sum> byBand = new TreeMap<>();
+        buckets.forEach((key, bucket) -> {
+            overall.add(bucket);
+            byLoanType.computeIfAbsent(key.loanType(), type -> new Sum()).add(bucket);
+            byBand.computeIfAbsent(key.band(), band -> new Sum()).add(bucket);
+        });
+
+        Map<String, PortfolioStats.Totals> loanTypes = new TreeMap<>();
+        byLoanType.forEach((type, sum) -> loanTypes.put(type, sum.toTotals()));
+        Map<String, PortfolioStats.Totals> bands = new LinkedHashMap<>(); // Ordered by band, not by label
+        byBand.forEach((band, sum) -> bands.put(bandLabels[band], sum.toTotals()));
+        return new PortfolioStats(overall.toTotals(), loanTypes, bands, rebuiltAt);
+    }
+
+    // === Recomputes every bucket from the table and swaps them in ===
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${portfolio.rebuildMs:3600000}", initialDelayString = "${portfolio.rebuildMs:3600000}")
+    public synchronized void rebuild() {
+        Map<BucketKey, Bucket> next = new ConcurrentHashMap<>();
+        building = next;
+        try {
+            // One row per (type, tenure, status): a few hundred rows at most, aggregated in the database
+            jdbcTemplate.query(
+                    "select loan_type, tenure, status, count(*), coalesce(sum(amount), 0), coalesce(sum(interest_rate), 0) " +
+                            "from loan_applications group by loan_type, tenure, status",
+                    rs -> {
+                        String status = rs.getString(3);
+                        bucket(next, key(rs.getString(1), rs.getInt(2)))
+                                .add(rs.getLong(4), rs.getDouble(5), rs.getDouble(6),
+                                        status != null ? LoanStatus.valueOf(status) : null);
+                    });
+            buckets = next;
+            rebuiltAt = Instant.now();
+        } finally {
+            building = null;
+        }
+        log.info("Rebuilt portfolio aggregates ({} buckets)", next.size());
+    }
+
+    private BucketKey key(String loanType, int tenure) {
+        return new BucketKey(creditPolicyEngine.current().canonicalType(loanType), band(tenure));
+    }
+
+    private int band(int tenure) {
+        List<Integer> bounds = tenureBandBounds;
+        for (int i = 0; i < bounds.size(); i++) {
+            if (tenure <= bounds.get(i)) {
+                return i;
+            }
+        }
+        return bounds.size(); // Open-ended last band
+    }
+
+    private static Bucket bucket(Map<BucketKey, Bucket> map, BucketKey key) {
+        return map.computeIfAbsent(key, k -> new Bucket()); // Lock-free once the bucket exists
+    }
+}
@@ -0,0 +1,184 @@
+// ==========================================================
+// File: RefreshTokenService.java
+//
+// ❖ ROLE:
+//    - Opens sessions at login: a short-lived access token (JWT) plus a refresh token.
+//    - Rotates refresh tokens: each one can be exchanged once, for a new access token and
+//      its own successor in the same "family" (one family per login).
+//    - Revokes sessions: one family on logout, every family of a user on "log out everywhere".
+//
+// ❖ WHY IT'S IMPORTANT:
+//    - Short-lived access tokens limit what a leaked token is worth, without asking users
+//      to log in every few minutes.
+//    - Rotation detects theft: if a used refresh token comes back, either the client or an
+//      attacker holds a copy. The whole family and its access tokens are then revoked.
+//
+// ❖ HOW IT WORKS:
+//    - A refresh token is 256 random bits (base64url). Only its SHA-256 is stored.
+//    - Rotation claims the token with one conditional UPDATE (markUsed), so concurrent refreshes
+//      with the same token cannot both succeed.
+//    - Rotation is one read-write transaction: the reads that follow the claim run on the same
+//      primary connection, never on a replica that may not have the claim (or the row) yet.
+//    - Two tabs sharing a token can race to refresh. A token reused within jwt.refresh.reuseGraceMs
+//      of its rotation is refused (401) without revoking the family, so the losing tab can pick up
+//      the winner's token instead of signing the user out.
+//    - Access tokens of a revoked family go to TokenRevocationService, so they stop working at once.
+//
+// ❖ CONFIGURATION:
+//    - jwt.refresh.expirationMs  -> lifetime of each refresh token (sliding: every refresh renews it)
+//    - jwt.refresh.reuseGraceMs  -> window in which a just-rotated token is refused without revocation
+//    - jwt.refresh.purgeMs       -> how often expired refresh tokens are deleted
+//
+// ❖ USED IN:
+//    - AuthController.java (/api/authenticate, /api/refresh, /api/logout, /api/logout-all)
+// ==========================================================
+
+package com.junaid.backend.service; // Declares this class belongs to the 'service' package
+
+import com.junaid.backend.entity.RefreshToken; // One issued refresh token
+import com.junaid.backend.exception.InvalidRefreshTokenException; // 401 for unusable refresh tokens
+import com.junaid.backend.model.AppUserDetails; // User the tokens are issued to
+import com.junaid.backend.model.AuthenticationResponse; // Access token + refresh token pair
+import com.junaid.backend.repository.RefreshTokenRepository; // Rotation and revocation queries
+import com.junaid.backend.util.JwtUtil; // Signs access tokens
+import com.junaid.backend.util.LogRedactor; // Masks usernames in log lines
+
+import org.slf4j.Logger; // Logging API
+import org.slf4j.LoggerFactory; // Creates the logger
+import org.springframework.beans.factory.annotation.Value; // Injects configuration
+import org.springframework.scheduling.annotation.Scheduled; // Periodic purge
+import org.springframework.security.core.userdetails.UsernameNotFoundException; // Account deleted since login
+import org.springframework.stereotype.Service; // Marks this class as a Spring service
+import org.springframework.transaction.annotation.Transactional; // Rotation reads and writes on the primary
+
+import java.nio.charset.StandardCharsets; // Token bytes for hashing
+import java.security.MessageDigest; // SHA-256
+import java.security.NoSuchAlgorithmException; // Never thrown for SHA-256
+import java.security.SecureRandom; // Token entropy
+import java.time.Duration; // Lifetimes
+import java.time.Instant; // Issue, use and expiry times
+import java.util.Base64; // URL-safe token encoding
+import java.util.HexFormat; // Hash encoding
+import java.util.UUID; // Family IDs
+
+@Service
+public class RefreshTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+    private static final int TOKEN_BYTES = 32; // 256 bits: unguessable, so refreshes need no rate limit
+
+    private final RefreshTokenRepository refreshTokenRepository; // Hashes, families and use times
+    private final TokenRevocationService tokenRevocation; // Kills the access tokens of a revoked family
+    private final MyUserDetailsService userDetailsService; // Current roles and token version at each refresh
+    private final JwtUtil jwtUtil; // Signs access tokens
+    private final SecureRandom random = new SecureRandom(); // Thread-safe
+
+    @Value("${jwt.refresh.expirationMs:1209600000}") // 14 days without a refresh signs the user out
+    private long refreshExpirationMs;
+
+    @Value("${jwt.refresh.reuseGraceMs:10000}") // A token reused this soon after rotation is refused, not treated as theft
+    private long reuseGraceMs;
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository, TokenRevocationService tokenRevocation,
+                               MyUserDetailsService userDetailsService, JwtUtil jwtUtil) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.tokenRevocation = tokenRevocation;
+        this.userDetailsService = userDetailsService;
+        this.jwtUtil = jwtUtil;
+    }
+
+    // === Login: starts a new family ===
+    public AuthenticationResponse open(AppUserDetails user) {
+        return issue(user, UUID.randomUUID().toString(), Instant.now());
+    }
+
+    // === Exchanges a refresh token for a new access token and the token's successor ===
+    // A refused token still commits its family's revocation, hence noRollbackFor
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public AuthenticationResponse rotate(String refreshToken) {
+        if (refreshToken == null || refreshToken.isBlank()) {
+            throw new InvalidRefreshTokenException("Refresh token is missing");
+        }
+        String hash = hash(refreshToken);
+        Instant now = Instant.now();
+
+        if (refreshTokenRepository.markUsed(hash, now) == 1) { // This request won the token
+            RefreshToken used = refreshTokenRepository.findById(hash)
+                    .orElseThrow(() -> new InvalidRefreshTokenException("Session has been signed out")); // Family revoked meanwhile
+            AppUserDetails user;
+            try {
+                user = (AppUserDetails) userDetailsService.loadUserByUsername(used.getUsername()); // Roles and version may have changed
+            } catch (UsernameNotFoundException e) {
+                revokeFamily(used.getFamilyId());
+                throw new InvalidRefreshTokenException("Session has been signed out");
+            }
+            return issue(user, used.getFamilyId(), now);
+        }
+
+        RefreshToken token = refreshTokenRepository.findById(hash).orElse(null);
+        if (token == null || !token.getExpiresAt().isAfter(now)) {
+            throw new InvalidRefreshTokenException("Refresh token is invalid or expired"); // Unknown, expired or revoked
+        }
+        if (token.getUsedAt() == null // Not expected on the primary; refused without revoking anything
+                || token.getUsedAt().plusMillis(reuseGraceMs).isAfter(now)) {
+            throw new InvalidRefreshTokenException("Refresh token was already used"); // Another tab refreshed first
+        }
+        revokeFamily(token.getFamilyId()); // A copy of a rotated token is in someone else's hands
+        log.warn("Refresh token reuse for user {}: session revoked", LogRedactor.username(token.getUsername()));
+        throw new InvalidRefreshTokenException("Refresh token was already used");
+    }
+
+    // === Logout: revokes the family of the given refresh token, if it belongs to the user ===
+    public void revoke(String refreshToken, String username) {
+        if (refreshToken == null || refreshToken.isBlank()) {
+            return;
+        }
+        refreshTokenRepository.findById(hash(refreshToken))
+                .filter(token -> token.getUsername().equals(username)) // Nobody signs out someone else's session
+                .ifPresent(token -> revokeFamily(token.getFamilyId()));
+    }
+
+    // === "Log out everywhere": no refresh token of the user works any more ===
+    // (their access tokens are already rejected by the token version bump)
+    public void revokeAll(String username) {
+        refreshTokenRepository.deleteByOwner(username);
+    }
+
+    // === Deletes expired refresh tokens (they can no longer be rotated or replayed) ===
+    @Scheduled(fixedDelayString = "${jwt.refresh.purgeMs:3600000}", initialDelayString = "${jwt.refresh.purgeMs:3600000}")
+    public void purge() {
+        int deleted = refreshTokenRepository.deleteExpiredBefore(Instant.now());
+        if (deleted > 0) {
+            log.info("Purged {} expired refresh token(s)", deleted);
+        }
+    }
+
+    // Signs an access token and stores its successor refresh token in the family
+    private AuthenticationResponse issue(AppUserDetails user, String familyId, Instant now) {
+        JwtUtil.AccessToken accessToken = jwtUtil.issueAccessToken(user);
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String refreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        refreshTokenRepository.save(new RefreshToken(hash(refreshToken), familyId, user.getUsername(),
+                accessToken.jti(), accessToken.expiresAt(), now, now.plus(Duration.ofMillis(refreshExpirationMs)), null));
+        return new AuthenticationResponse(accessToken.token(), refreshToken, jwtUtil.getExpirationSeconds());
+    }
+
+    // Revokes every refresh token of the family and every access token it issued
+    private void revokeFamily(String familyId) {
+        for (RefreshToken token : refreshTokenRepository.findByFamilyId(familyId)) {
+            tokenRevocation.revoke(token.getAccessJti(), token.getAccessExpiresAt()); // Skips expired ones
+        }
+        refreshTokenRepository.deleteFamily(familyId);
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e); // Required of every JVM
+        }
+    }
+}
@@ -0,0 +1,304 @@
+// ==========================================================
+// File: SigningKeyService.java
+//
+// ❖ ROLE:
+//    - Owns the ES256 (P-256) key pairs that sign access tokens, each identified by a "kid".
+//    - Signs with the newest key, and keeps older keys for verification until every token
+//      they signed has expired.
+//    - Publishes the public keys as a JWKS (GET /.well-known/jwks.json).
+//
+// ❖ WHY IT'S IMPORTANT:
+//    - Only this service holds the private key. Anyone with the JWKS can verify tokens offline.
+//    - Rotation limits how long a leaked key is useful, with no forced logout: tokens carry
+//      their kid, so tokens from before a rotation keep verifying.
+//
+// ❖ HOW IT WORKS:
+//    - Keys are PEM files in jwt.keys.dir, named "<kid>.pem"; the kid starts with the key's
+//      creation time (epoch seconds), so the directory alone says which key is newest.
+//    - A scheduled check generates a new key once the newest is older than jwt.keys.rotationMs,
+//      and deletes a retired key once its successor has been signing for jwt.keys.retainMs.
+//    - A new key is published in the JWKS jwt.keys.publishAheadMs before it starts signing, so
+//      verifiers (and nodes sharing the directory) have loaded it before the first token uses it.
+//    - Nodes sharing the directory pick up each other's keys at the next check, or sooner when
+//      a token names a kid they have not loaded (rescans are rate-limited).
+//    - The key ring is an immutable snapshot swapped atomically: signing and verification never lock.
+//
+// ❖ CONFIGURATION:
+//    - jwt.keys.dir         -> directory holding the key files (share it between signing nodes; keep it private)
+//    - jwt.keys.rotationMs  -> age at which a new signing key is generated
+//    - jwt.keys.publishAheadMs -> how long a new key is published before it signs
+//    - jwt.keys.retainMs    -> how long a retired key still verifies (never less than jwt.expirationMs)
+//    - jwt.keys.checkMs     -> how often rotation and the directory are checked
+//
+// ❖ USED IN:
+//    - JwtUtil.java (signing and verification keys), JwksController.java (published keys)
+// ==========================================================
+
+package com.junaid.backend.service; // Declares this class belongs to the 'service' package
+
+import com.junaid.backend.util.EcJwk; // Public key -> JWK
+
+import jakarta.annotation.PostConstruct; // Loads (or creates) the keys on startup
+import org.slf4j.Logger; // Logging API
+import org.slf4j.LoggerFactory; // Creates the logger
+import org.springframework.beans.factory.annotation.Value; // Injects configuration
+import org.springframework.scheduling.annotation.Scheduled; // Periodic rotation check
+import org.springframework.stereotype.Service; // Marks this class as a Spring service
+
+import java.io.IOException; // Key file failures
+import java.io.UncheckedIOException; // Startup failures
+import java.nio.charset.StandardCharsets; // PEM is ASCII
+import java.nio.file.AtomicMoveNotSupportedException; // Fallback for odd filesystems
+import java.nio.file.DirectoryStream; // Lists key files
+import java.nio.file.FileAlreadyExistsException; // Another node wrote the same kid (practically never)
+import java.nio.file.Files; // File I/O
+import java.nio.file.Path; // Key directory
+import java.nio.file.Paths; // Builds the directory path
+import java.nio.file.StandardCopyOption; // Atomic rename
+import java.nio.file.attribute.PosixFilePermissions; // Owner-only key files
+import java.security.GeneralSecurityException; // Key parsing failures
+import java.security.KeyFactory; // PEM -> key objects
+import java.security.KeyPair; // Generated key pair
+import java.security.KeyPairGenerator; // Generates P-256 keys
+import java.security.SecureRandom; // kid suffix
+import java.security.interfaces.ECPrivateKey; // Signing key
+import java.security.interfaces.ECPublicKey; // Verification key
+import java.security.spec.PKCS8EncodedKeySpec; // Private key encoding
+import java.security.spec.X509EncodedKeySpec; // Public key encoding
+import java.time.Instant; // Key creation times
+import java.util.ArrayList; // Loaded keys
+import java.util.Base64; // PEM bodies
+import java.util.Comparator; // Orders keys by age
+import java.util.HexFormat; // kid suffix
+import java.util.LinkedHashMap; // kid -> key, newest first
+import java.util.List; // Key lists
+import java.util.Map; // kid -> key
+import java.util.concurrent.atomic.AtomicLong; // Rate-limits rescans triggered by unknown kids
+
+@Service
+public class SigningKeyService {
+
+    private static final Logger log = LoggerFactory.getLogger(SigningKeyService.class);
+    private static final String SUFFIX = ".pem";
+    private static final long RESCAN_INTERVAL_NANOS = 5_000_000_000L; // Unknown kids rescan the directory at most every 5 s
+
+    /**
+     * One key pair.
+     *
+     * @param kid        key ID, written into the header of every token it signs
+     * @param createdAt  creation time (encoded in the kid)
+     * @param privateKey signing key (never leaves this service)
+     * @param publicKey  verification key (published in the JWKS)
+     */
+    public record SigningKey(String kid, Instant createdAt, ECPrivateKey privateKey, ECPublicKey publicKey) {
+    }
+
+    // Immutable snapshot: the key that signs, every key that verifies, and the JWKS built from them
+    private record KeyRing(SigningKey active, Map<String, ECPublicKey> publicKeys, List<Map<String, Object>> jwks) {
+    }
+
+    private final SecureRandom random = new SecureRandom();
+    private final AtomicLong nextRescanAt = new AtomicLong(System.nanoTime()); // nanoTime of the next allowed rescan
+    private volatile KeyRing ring; // Replaced as a whole on every reload
+
+    @Value("${jwt.keys.dir:./data/keys}") // Directory holding <kid>.pem files
+    private String keysDir;
+
+    @Value("${jwt.keys.rotationMs:604800000}") // A new signing key every 7 days
+    private long rotationMs;
+
+    @Value("${jwt.keys.publishAheadMs:300000}") // New keys are in the JWKS 5 minutes before they sign
+    private long publishAheadMs;
+
+    @Value("${jwt.keys.retainMs:86400000}") // Retired keys verify for one more day
+    private long retainMs;
+
+    @Value("${jwt.expirationMs}") // Tokens live this long, so retired keys must verify at least as long
+    private long tokenLifetimeMs;
+
+    private Path directory;
+
+    @PostConstruct
+    void init() {
+        directory = Paths.get(keysDir).toAbsolutePath().normalize();
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create key directory " + directory, e);
+        }
+        reload(); // Creates the first key if the directory is empty
+    }
+
+    // === The key new tokens are signed with ===
+    public SigningKey signingKey() {
+        return ring.active();
+    }
+
+    // === Verification key for a kid; an unknown kid may mean another node just rotated ===
+    public ECPublicKey publicKey(String kid) {
+        ECPublicKey key = ring.publicKeys().get(kid);
+        if (key != null || kid == null) {
+            return key;
+        }
+        long now = System.nanoTime();
+        long rescanAt = nextRescanAt.get();
+        if (now - rescanAt >= 0 && nextRescanAt.compareAndSet(rescanAt, now + RESCAN_INTERVAL_NANOS)) {
+            reload(); // Only one request thread rescans, and only every few seconds
+            return ring.publicKeys().get(kid);
+        }
+        return null;
+    }
+
+    // === Public keys as JWK objects (newest first), for GET /.well-known/jwks.json ===
+    public List<Map<String, Object>> jwks() {
+        return ring.jwks();
+    }
+
+    // === Rotates when due, deletes expired retired keys and picks up keys written by other nodes ===
+    @Scheduled(fixedDelayString = "${jwt.keys.checkMs:60000}", initialDelayString = "${jwt.keys.checkMs:60000}")
+    public synchronized void reload() {
+        Instant now = Instant.now();
+        List<SigningKey> keys = load(); // Oldest first
+        if (keys.isEmpty() || !keys.get(keys.size() - 1).createdAt().plusMillis(rotationMs).isAfter(now)) {
+            keys.add(generate(now)); // Newest key is due for rotation (or there is none yet)
+        }
+
+        long retain = Math.max(retainMs, tokenLifetimeMs + 60_000); // A retired key outlives every token it signed
+        List<SigningKey> kept = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            SigningKey key = keys.get(i);
+            boolean retiredLongEnough = i + 1 < keys.size()
+                    && !activatesAt(keys.get(i + 1)).plusMillis(retain).isAfter(now); // Successor has signed for `retain`
+            if (retiredLongEnough) {
+                delete(key);
+            } else {
+                kept.add(key);
+            }
+        }
+
+        SigningKey active = kept.get(0); // The only key on first start signs right away
+        for (SigningKey key : kept) {
+            if (!activatesAt(key).isAfter(now)) {
+                active = key; // Newest key that has been published long enough
+            }
+        }
+        Map<String, ECPublicKey> publicKeys = new LinkedHashMap<>();
+        List<Map<String, Object>> jwks = new ArrayList<>();
+        for (int i = kept.size() - 1; i >= 0; i--) {
+            SigningKey key = kept.get(i);
+            publicKeys.put(key.kid(), key.publicKey());
+            jwks.add(EcJwk.toJwk(key.kid(), key.publicKey()));
+        }
+        KeyRing previous = ring;
+        ring = new KeyRing(active, Map.copyOf(publicKeys), List.copyOf(jwks));
+        if (previous == null || !previous.active().kid().equals(active.kid())) {
+            log.info("Signing tokens with key {} ({} key(s) published)", active.kid(), kept.size());
+        }
+    }
+
+    // A key signs once it has been published for publishAheadMs
+    private Instant activatesAt(SigningKey key) {
+        return key.createdAt().plusMillis(publishAheadMs);
+    }
+
+    // Reads every parsable key file, oldest first
+    private List<SigningKey> load() {
+        List<SigningKey> keys = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path file : files) {
+                String kid = file.getFileName().toString();
+                kid = kid.substring(0, kid.length() - SUFFIX.length());
+                try {
+                    keys.add(read(kid, file));
+                } catch (IOException | GeneralSecurityException | RuntimeException e) {
+                    log.warn("Ignoring unreadable key file {}: {}", file.getFileName(), e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list key directory " + directory, e);
+        }
+        keys.sort(Comparator.comparing(SigningKey::createdAt).thenComparing(SigningKey::kid));
+        return keys;
+    }
+
+    private SigningKey read(String kid, Path file) throws IOException, GeneralSecurityException {
+        String pem = Files.readString(file, StandardCharsets.US_ASCII);
+        KeyFactory factory = KeyFactory.getInstance("EC");
+        ECPrivateKey privateKey = (ECPrivateKey) factory.generatePrivate(new PKCS8EncodedKeySpec(block(pem, "PRIVATE KEY")));
+        ECPublicKey publicKey = (ECPublicKey) factory.generatePublic(new X509EncodedKeySpec(block(pem, "PUBLIC KEY")));
+        Instant createdAt = Instant.ofEpochSecond(Long.parseLong(kid.substring(0, kid.indexOf('-')))); // "<epochSeconds>-<random>"
+        return new SigningKey(kid, createdAt, privateKey, publicKey);
+    }
+
+    // Generates a key pair and writes it atomically, readable by the owner only
+    private SigningKey generate(Instant now) {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(EcJwk.curve(), random);
+            KeyPair pair = generator.generateKeyPair();
+            byte[] suffix = new byte[4];
+            random.nextBytes(suffix);
+            String kid = now.getEpochSecond() + "-" + HexFormat.of().formatHex(suffix);
+
+            String pem = pem("PRIVATE KEY", pair.getPrivate().getEncoded()) + pem("PUBLIC KEY", pair.getPublic().getEncoded());
+            Path temp = Files.createTempFile(directory, "key", ".tmp");
+            try {
+                restrictToOwner(temp);
+                Files.writeString(temp, pem, StandardCharsets.US_ASCII);
+                move(temp, directory.resolve(kid + SUFFIX));
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            return new SigningKey(kid, Instant.ofEpochSecond(now.getEpochSecond()),
+                    (ECPrivateKey) pair.getPrivate(), (ECPublicKey) pair.getPublic());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write signing key to " + directory, e);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot generate a P-256 key", e); // Required of every JVM
+        }
+    }
+
+    private void delete(SigningKey key) {
+        try {
+            if (Files.deleteIfExists(directory.resolve(key.kid() + SUFFIX))) {
+                log.info("Deleted retired signing key {}", key.kid());
+            }
+        } catch (IOException e) {
+            log.warn("Could not delete retired signing key {}: {}", key.kid(), e.getMessage()); // Retried at the next check
+        }
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE); // Other nodes never see a half-written key
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target);
+        } catch (FileAlreadyExistsException e) {
+            // Same kid from another node: 4 random bytes in the same second, keep theirs
+        }
+    }
+
+    private static void restrictToOwner(Path file) throws IOException {
+        try {
+            Files.setPosixFilePermissions(file, PosixFilePermissions.fromString("rw-------"));
+        } catch (UnsupportedOperationException e) {
+            // Not a POSIX filesystem: rely on the directory's permissions
+        }
+    }
+
+    private static String pem(String type, byte[] der) {
+        return "-----BEGIN " + type + "-----\n"
+                + Base64.getMimeEncoder(64, new byte[]{'\n'}).encodeToString(der)
+                + "\n-----END " + type + "-----\n";
+    }
+
+    private static byte[] block(String pem, String type) {
+        String begin = "-----BEGIN " + type + "-----";
+        int start = pem.indexOf(begin);
+        int end = pem.indexOf("-----END " + type + "-----");
+        if (start < 0 || end < start) {
+            throw new IllegalArgumentException("missing " + type + " block");
+        }
+        return Base64.getMimeDecoder().decode(pem.substring(start + begin.length(), end));
+    }
+}
@@ -0,0 +1,91 @@
+// ==========================================================
+// File: TokenRevocationService.java
+//
+// ❖ ROLE:
+//    - Revokes individual access tokens (by their "jti" claim) before they expire:
+//      on logout, and for every access token of a refresh token family caught being replayed.
+//    - Answers "is this token revoked?" for every authenticated request from memory.
+//
+// ❖ WHY IT'S IMPORTANT:
+//    - TokenVersionService can only sign a user out everywhere; this signs out one session.
+//    - The check runs per request, so it must never cost a database query.
+//
+// ❖ HOW IT WORKS:
+//    - Revoked IDs live in a RevokedTokenSet, bucketed by token expiry, so entries disappear
+//      together with the tokens they revoke. With short-lived access tokens the set stays tiny.
+//    - Each revocation is also written to revoked_tokens. Every node loads the unexpired rows on
+//      startup and polls for new ones on a schedule (jwt.revocation.refreshMs), like token versions.
+//
+// ❖ USED IN:
+//    - JwtRequestFilter.java (isRevoked on every authenticated request)
+//    - RefreshTokenService.java (family revocation), AuthController.java (/api/logout)
+// ==========================================================
+
+package com.junaid.backend.service; // Declares this class belongs to the 'service' package
+
+import com.junaid.backend.entity.RevokedToken; // One persisted revocation
+import com.junaid.backend.repository.RevokedTokenRepository; // Persists and reloads revocations
+import com.junaid.backend.util.RevokedTokenSet; // In-memory set checked per request
+
+import org.springframework.boot.context.event.ApplicationReadyEvent; // Fired once the app has started
+import org.springframework.context.event.EventListener; // Subscribes a method to an application event
+import org.springframework.scheduling.annotation.Scheduled; // Periodic refresh
+import org.springframework.stereotype.Service; // Marks this class as a Spring service
+
+import java.time.Duration; // Overlap between refreshes
+import java.time.Instant; // Revocation and expiry times
+import java.util.Date; // Expiry as carried by JWT claims
+
+@Service
+public class TokenRevocationService {
+
+    private static final long BUCKET_MILLIS = 60_000; // Revocations are dropped at most a minute after their token expires
+    private static final Duration REFRESH_OVERLAP = Duration.ofMinutes(1); // Rows committed late or by a node with a skewed clock
+
+    private final RevokedTokenRepository revokedTokenRepository; // Database access (never used on the request path)
+    private final RevokedTokenSet revoked = new RevokedTokenSet(BUCKET_MILLIS); // What requests are checked against
+    private volatile Instant lastRefresh = Instant.EPOCH; // The first refresh loads every unexpired row
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository) {
+        this.revokedTokenRepository = revokedTokenRepository;
+    }
+
+    // === Hot path: is this token revoked? (tokens without an ID are never revoked here) ===
+    public boolean isRevoked(String jti, Date expiresAt) {
+        return expiresAt != null && revoked.contains(jti, expiresAt.getTime()); // Pure memory — no DB
+    }
+
+    // === Revokes one access token until its expiry, on this node now and on the others at their next refresh ===
+    public void revoke(String jti, Instant expiresAt) {
+        Instant now = Instant.now();
+        if (jti == null || !expiresAt.isAfter(now)) {
+            return; // Nothing to revoke: no ID, or already expired
+        }
+        revoked.add(jti, expiresAt.toEpochMilli(), now.toEpochMilli()); // Takes effect on this node immediately
+        revokedTokenRepository.save(new RevokedToken(jti, expiresAt, now));
+    }
+
+    // === Loads revocations made since the last refresh (on any node) and forgets expired ones ===
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${jwt.revocation.refreshMs:30000}", initialDelayString = "${jwt.revocation.refreshMs:30000}")
+    public void refresh() {
+        Instant now = Instant.now();
+        Instant since = lastRefresh == Instant.EPOCH ? Instant.EPOCH : lastRefresh.minus(REFRESH_OVERLAP);
+        for (RevokedToken row : revokedTokenRepository.findActiveRevokedAfter(since, now)) {
+            revoked.add(row.getJti(), row.getExpiresAt().toEpochMilli(), now.toEpochMilli()); // Re-adding is harmless
+        }
+        revoked.expire(now.toEpochMilli());
+        lastRefresh = now;
+    }
+
+    // === Deletes rows of tokens that have expired anyway ===
+    @Scheduled(fixedDelayString = "${jwt.revocation.purgeMs:3600000}", initialDelayString = "${jwt.revocation.purgeMs:3600000}")
+    public void purge() {
+        revokedTokenRepository.deleteExpiredBefore(Instant.now());
+    }
+
+    // === Number of revoked tokens held in memory (for diagnostics) ===
+    public int size() {
+        return revoked.size();
+    }
+}
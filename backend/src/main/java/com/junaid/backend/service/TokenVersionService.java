@@ -0,0 +1,75 @@
+// ==========================================================
+// File: TokenVersionService.java
+//
+// ❖ ROLE:
+//    - Keeps an in-memory view of every user's token version so revoked tokens are
+//      rejected without a database query on the request path.
+//
+// ❖ WHY IT'S IMPORTANT:
+//    - Claims-based authentication trusts the token; this is what still makes "log out
+//      everywhere" and disabling a compromised session possible.
+//
+// ❖ HOW IT WORKS:
+//    - Each JWT carries the user's token version ("ver" claim).
+//    - Revoking bumps users.token_version and this map; tokens with a lower "ver" stop working.
+//    - Only users that ever revoked (version > 0) are held in memory. The map is loaded on
+//      startup and refreshed on a schedule, which also picks up bumps made by other nodes.
+//
+// ❖ USED IN:
+//    - JwtRequestFilter.java (isCurrent on every authenticated request)
+//    - AuthController.java (revokeAll for /api/logout-all)
+// ==========================================================
+
+package com.junaid.backend.service; // Declares this class belongs to the 'service' package
+
+import com.junaid.backend.repository.UserRepository; // Reads and bumps token versions
+
+import org.springframework.boot.context.event.ApplicationReadyEvent; // Fired once the app has started
+import org.springframework.context.event.EventListener; // Subscribes a method to an application event
+import org.springframework.scheduling.annotation.Scheduled; // Periodic refresh
+import org.springframework.stereotype.Service; // Marks this class as a Spring service
+import org.springframework.transaction.annotation.Transactional; // Wraps the bump in a transaction
+
+import java.util.Map; // Map interface
+import java.util.concurrent.ConcurrentHashMap; // Lock-free reads from request threads
+
+@Service
+public class TokenVersionService {
+
+    private final UserRepository userRepository; // Database access (never used on the request path)
+    private final UserCache userCache; // Holds token versions too; evicted on every bump
+
+    // username -> current token version; users absent from the map are at version 0
+    // Versions only ever grow, so merging with Math::max keeps concurrent updates safe
+    private final Map<String, Integer> versions = new ConcurrentHashMap<>();
+
+    public TokenVersionService(UserRepository userRepository, UserCache userCache) {
+        this.userRepository = userRepository;
+        this.userCache = userCache;
+    }
+
+    // === Hot path: is a token carrying this version still valid? ===
+    public boolean isCurrent(String username, int tokenVersion) {
+        return tokenVersion >= versions.getOrDefault(username, 0); // Pure map lookup — no DB
+    }
+
+    // === Invalidates every token the user currently holds ===
+    @Transactional
+    public int revokeAll(String username) {
+        userRepository.incrementTokenVersion(username); // Atomic bump in the DB (survives restarts)
+        Integer current = userRepository.findTokenVersionByUsername(username);
+        int version = current != null ? current : 0;
+        versions.merge(username, version, Math::max); // Takes effect on this node immediately
+        userCache.evict(username); // Tokens issued from now on must carry the new version
+        return version;
+    }
+
+    // === Loads all non-zero versions on startup and keeps them fresh (picks up other nodes' bumps) ===
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${jwt.revocation.refreshMs:30000}", initialDelayString = "${jwt.revocation.refreshMs:30000}")
+    public void refresh() {
+        for (Object[] row : userRepository.findRevokedTokenVersions()) {
+            versions.merge((String) row[0], ((Number) row[1]).intValue(), Math::max); // Never move a version backwards
+        }
+    }
+}
@@ -0,0 +1,280 @@
+// ==========================================================
+// File: UserCache.java
+//
+// ❖ ROLE:
+//    - Bounded in-memory cache in front of UserRepository.findByUsername, for logins, token
+//      refreshes and database-mode authentication (jwt.claimsAuth.enabled=false).
+//    - Stays coherent across nodes: every update or delete of a users row reaches every node
+//      through PostgreSQL LISTEN/NOTIFY, and each node evicts that user.
+//
+// ❖ WHY IT'S IMPORTANT:
+//    - The same few users are looked up over and over, and each lookup was a query. A hit costs
+//      one map lookup and no connection from the pool.
+//    - No external cache service is needed: the database that owns the rows announces changes.
+//
+// ❖ HOW IT WORKS:
+//    - Entries live for user.cache.ttlMs. At most user.cache.maxEntries users are kept, and the
+//      least recently used one is evicted first.
+//    - Callers get a copy, so changing a returned User never changes the cached one.
+//    - A trigger on "users" (V8 migration) calls pg_notify('user_changed', username) on UPDATE
+//      and DELETE. The notification is sent on commit, whichever node or tool made the change,
+//      including bulk JPQL updates that bypass JPA entity listeners.
+//    - Writers on this node also evict right away (evict), so their own next read is fresh.
+//    - A lookup that races with an invalidation is not cached: every eviction bumps a
+//      generation counter, and a loaded user is stored only if the counter has not moved.
+//    - The listener has its own connection (not one from the pool). While it is disconnected,
+//      lookups go to the database and nothing is cached. After reconnecting, the cache is
+//      cleared, because notifications sent in between were missed.
+//
+// ❖ CONFIGURATION:
+//    - user.cache.maxEntries     -> cached users (0 disables the cache)
+//    - user.cache.ttlMs          -> how long an entry is served without a notification
+//    - user.cache.listen.enabled -> LISTEN for changes (PostgreSQL only; off = this node's writes only)
+//    - user.cache.listen.reconnectMs -> pause before reconnecting a dropped listener
+//
+// ❖ USED IN:
+//    - MyUserDetailsService.java, UserServiceImpl.java (lookups and evictions)
+//    - TokenVersionService.java (evicts after revoking a user's tokens)
+// ==========================================================
+
+package com.junaid.backend.service; // Declares this class belongs to the 'service' package
+
+import com.junaid.backend.entity.User; // Cached row
+import com.junaid.backend.repository.UserRepository; // Source of truth
+
+import io.micrometer.core.instrument.Counter; // Hits, misses, evictions
+import io.micrometer.core.instrument.Gauge; // Cache size
+import io.micrometer.core.instrument.MeterRegistry; // Where meters are registered
+import jakarta.annotation.PostConstruct; // Builds the map and starts the listener
+import jakarta.annotation.PreDestroy; // Stops the listener
+import org.postgresql.PGConnection; // Access to LISTEN/NOTIFY
+import org.postgresql.PGNotification; // One received notification
+import org.slf4j.Logger; // Logging API
+import org.slf4j.LoggerFactory; // Creates the logger
+import org.springframework.beans.factory.annotation.Value; // Injects configuration
+import org.springframework.stereotype.Service; // Marks this class as a Spring service
+
+import java.sql.Connection; // Listener connection
+import java.sql.DriverManager; // Opens it outside the pool
+import java.sql.SQLException; // Listener failures
+import java.sql.Statement; // Runs LISTEN
+import java.util.LinkedHashMap; // Access-ordered map with LRU eviction
+import java.util.Map; // Map interface
+import java.util.concurrent.atomic.AtomicLong; // Invalidation generation
+
+@Service
+public class UserCache {
+
+    private static final Logger log = LoggerFactory.getLogger(UserCache.class);
+    static final String CHANNEL = "user_changed"; // Must match the trigger in V8__notify_user_changes.sql
+    private static final int POLL_TIMEOUT_MS = 10_000; // Wait for notifications at most this long, then recheck `running`
+
+    // One cached user and when it stops being served
+    private record Entry(User user, long expiresAt) {
+    }
+
+    private final UserRepository userRepository;
+    private final AtomicLong generation = new AtomicLong(); // Bumped by every eviction
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+    private final Counter localInvalidations;
+    private final Counter remoteInvalidations;
+    private Map<String, Entry> entries; // username -> entry, least recently used first (guarded by this)
+
+    private volatile boolean coherent; // False while changes made elsewhere could be missed
+    private volatile boolean running;
+    private volatile Connection listenerConnection;
+    private Thread listener;
+
+    @Value("${user.cache.maxEntries:10000}") // Cached users (0 disables the cache)
+    private int maxEntries;
+
+    @Value("${user.cache.ttlMs:300000}") // Entries are reloaded at least every 5 minutes
+    private long ttlMs;
+
+    @Value("${user.cache.listen.enabled:true}") // Cross-node invalidation through LISTEN/NOTIFY
+    private boolean listenEnabled;
+
+    @Value("${user.cache.listen.reconnectMs:5000}") // Pause before reconnecting a dropped listener
+    private long reconnectMs;
+
+    @Value("${spring.datasource.url:}") // The listener connects to the primary, like the pool
+    private String url;
+
+    @Value("${spring.datasource.username:}")
+    private String dbUsername;
+
+    @Value("${spring.datasource.password:}")
+    private String dbPassword;
+
+    public UserCache(UserRepository userRepository, MeterRegistry registry) {
+        this.userRepository = userRepository;
+        this.hits = Counter.builder("cache.gets").tag("cache", "users").tag("result", "hit")
+                .description("User lookups answered from memory").register(registry);
+        this.misses = Counter.builder("cache.gets").tag("cache", "users").tag("result", "miss")
+                .description("User lookups that went to the database").register(registry);
+        this.evictions = Counter.builder("cache.evictions").tag("cache", "users")
+                .description("Users dropped because the cache was full").register(registry);
+        this.localInvalidations = Counter.builder("user.cache.invalidations").tag("source", "local")
+                .description("Users evicted after a write on this node").register(registry);
+        this.remoteInvalidations = Counter.builder("user.cache.invalidations").tag("source", "notify")
+                .description("Users evicted by a database notification").register(registry);
+        Gauge.builder("cache.size", this, UserCache::size).tag("cache", "users")
+                .description("Cached users").register(registry);
+    }
+
+    @PostConstruct
+    void start() {
+        entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > maxEntries) {
+                    evictions.increment();
+                    return true; // Least recently used user goes first
+                }
+                return false;
+            }
+        };
+        if (maxEntries <= 0) {
+            return;
+        }
+        if (!listenEnabled) {
+            coherent = true; // Only this node's writes are seen (single node, or TTL-bounded staleness)
+            return;
+        }
+        if (!url.startsWith("jdbc:postgresql:")) {
+            log.info("User cache disabled: LISTEN/NOTIFY needs PostgreSQL (set user.cache.listen.enabled=false to cache anyway)");
+            return;
+        }
+        running = true;
+        listener = new Thread(this::listen, "user-cache-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        Connection connection = listenerConnection;
+        if (connection != null) {
+            try {
+                connection.close(); // Unblocks a pending getNotifications
+            } catch (SQLException e) {
+                // Shutting down anyway
+            }
+        }
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    // === Same contract as UserRepository.findByUsername (null if there is no such user) ===
+    public User findByUsername(String username) {
+        if (maxEntries <= 0 || username == null) {
+            return userRepository.findByUsername(username);
+        }
+        long now = System.currentTimeMillis();
+        User cached = lookup(username, now);
+        if (cached != null) {
+            hits.increment();
+            return copy(cached);
+        }
+        misses.increment();
+
+        long seen = generation.get(); // Read before the query: an eviction after this point wins
+        User user = userRepository.findByUsername(username);
+        if (user != null && coherent) {
+            store(username, copy(user), seen, now);
+        }
+        return user;
+    }
+
+    // === Drops a user after a write on this node (other nodes hear about it from the trigger) ===
+    public void evict(String username) {
+        invalidate(username);
+        localInvalidations.increment();
+    }
+
+    // === Number of cached users (for diagnostics) ===
+    public synchronized int size() {
+        return entries != null ? entries.size() : 0;
+    }
+
+    private synchronized User lookup(String username, long now) {
+        Entry entry = entries.get(username);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt() <= now) {
+            entries.remove(username);
+            return null;
+        }
+        return entry.user();
+    }
+
+    private synchronized void store(String username, User user, long seenGeneration, long now) {
+        if (generation.get() == seenGeneration) { // Nothing was evicted while the row was being read
+            entries.put(username, new Entry(user, now + ttlMs));
+        }
+    }
+
+    private synchronized void invalidate(String username) {
+        generation.incrementAndGet();
+        entries.remove(username);
+    }
+
+    private synchronized void clear() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    // Listener thread: holds one connection with LISTEN and evicts each notified username
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, dbUsername, dbPassword)) {
+                listenerConnection = connection;
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                clear(); // Anything cached before now may have missed a notification
+                coherent = true;
+                log.info("User cache listening for changes on channel {}", CHANNEL);
+
+                PGConnection pg = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pg.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        invalidate(notification.getParameter());
+                        remoteInvalidations.increment();
+                    }
+                }
+            } catch (SQLException e) {
+                coherent = false;
+                clear(); // Changes may go unnoticed until we listen again
+                if (running) {
+                    log.warn("User cache listener disconnected, retrying in {} ms: {}", reconnectMs, e.getMessage());
+                    try {
+                        Thread.sleep(reconnectMs);
+                    } catch (InterruptedException interrupted) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            } finally {
+                listenerConnection = null;
+            }
+        }
+    }
+
+    // Detached copy, so callers never share (or change) the cached instance
+    private static User copy(User user) {
+        return new User(user.getId(), user.getUsername(), user.getPassword(), user.getFirstName(),
+                user.getMiddleName(), user.getLastName(), user.getContactNumber(), user.getEmail(),
+                user.getAddress(), user.getDob(), user.getIdType(), user.getIdNumber(),
+                user.getEmploymentStatus(), user.getAnnualIncome(), user.getTokenVersion());
+    }
+}
@@ -0,0 +1,79 @@
+// ==========================================================
+// File: UserDataVersions.java
+//
+// ❖ ROLE:
+//    - Keeps one version number per user, in memory, that changes whenever anything the
+//      user can read changes (their profile, their applications, a decision on one).
+//    - Controllers turn it into strong ETags and answer unchanged polls with 304 before
+//      any database work.
+//
+// ❖ WHY IT'S IMPORTANT:
+//    - The frontend polls my-applications and status endpoints. Most polls see no change;
+//      now they cost a map lookup instead of a query plus a full JSON body.
+//
+// ❖ HOW IT WORKS:
+//    - Versions come from one counter, so no two users (or two states) ever share a value.
+//      An ETag handed to one user can never match another user's data.
+//    - The counter starts from the clock at boot, so ETags from before a restart don't
+//      match; the first poll after a restart simply gets a 200.
+//    - Users without an entry get a fresh version on first read.
+//    - At most http.etag.maxUsers versions are kept; the least recently used user is dropped
+//      first. A dropped user's next read gets a fresh version, so an old ETag can only cost
+//      one extra 200, never a wrong 304.
+//    - Versions are per node. Behind a load balancer without sticky sessions, a write on
+//      another node would go unnoticed here, which is why http.etag.enabled defaults to false.
+//
+// ❖ USED IN:
+//    - LoanServiceImpl.java, UserController.java (bump after a committed write)
+//    - BulkImportService.java (bumpAll after imports)
+//    - LoanController.java, UserController.java (ETags)
+// ==========================================================
+
+package com.junaid.backend.service; // Declares this class belongs to the 'service' package
+
+import org.springframework.beans.factory.annotation.Value; // Injects configuration
+import org.springframework.stereotype.Service; // Marks this class as a Spring service
+
+import java.util.LinkedHashMap; // Access-ordered map with LRU eviction
+import java.util.Map; // Map interface
+import java.util.concurrent.atomic.AtomicLong; // Global version source
+
+@Service
+public class UserDataVersions {
+
+    private final boolean enabled;
+    private final AtomicLong counter = new AtomicLong(System.currentTimeMillis() * 1000); // Unique across restarts
+    private final Map<String, Long> versions; // username -> current version, least recently used first (guarded by this)
+
+    public UserDataVersions(@Value("${http.etag.enabled:false}") boolean enabled, // true: answer unchanged polls with 304 (single node or sticky sessions)
+                            @Value("${http.etag.maxUsers:10000}") int maxUsers) { // Versions kept in memory
+        this.enabled = enabled;
+        this.versions = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > maxUsers; // Dropped users get a fresh version on their next read
+            }
+        };
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // === Current version of a user's data (assigns one on first use) ===
+    public synchronized long current(String username) {
+        return versions.computeIfAbsent(username, user -> counter.incrementAndGet());
+    }
+
+    // === Something the user can read changed ===
+    public synchronized void bump(String username) {
+        if (username != null) {
+            versions.put(username, counter.incrementAndGet());
+        }
+    }
+
+    // === Changes made outside the tracked paths (bulk import): every user starts over ===
+    public synchronized void bumpAll() {
+        versions.clear(); // Next read assigns a fresh, never-used version
+    }
+}
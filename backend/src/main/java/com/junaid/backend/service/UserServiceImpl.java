@@ -44,6 +44,10 @@ public class UserServiceImpl implements UserService {
     @Autowired
     private UserRepository userRepository;
 
+    // Cached user lookups, kept coherent across nodes
+    @Autowired
+    private UserCache userCache;
+
     /**
      * Save a new user to the database.
      * This is typically called from the registration form.
@@ -53,7 +57,9 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     public User saveUser(User user) {
-        return userRepository.save(user); // Save the user and return the saved object
+        User saved = userRepository.save(user); // Save the user
+        userCache.evict(saved.getUsername()); // Drop the cached copy (other nodes hear it from the DB trigger)
+        return saved; // Return the saved object
     }
 
     /**
@@ -65,7 +71,7 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     public User getUserByUsername(String username) {
-        return userRepository.findByUsername(username); // Query DB for matching username
+        return userCache.findByUsername(username); // From memory, or a DB query on a miss
     }
 
     /**
@@ -0,0 +1,95 @@
+// ==============================================
+// File: DocumentStore.java
+// Role:
+//   - Defines the contract for storing and serving loan supporting documents.
+//   - Implementations stream uploads to durable storage and key them by content (SHA-256).
+//   - In that same pass they sniff the format (only DocumentType formats are accepted)
+//     and gzip the formats that compress well.
+//
+// Why it matters:
+//   - Documents used to live as byte[] columns, so every upload sat in heap and in a Postgres row.
+//   - With this interface only a short reference is stored on LoanApplication.
+//   - New backends (object storage, NFS, ...) can be plugged in without touching the service layer.
+//
+// Dependencies:
+//   - MultipartFile (the uploaded file, read as a stream — never as a byte[])
+//   - WritableByteChannel (target for downloads, so implementations can use zero-copy transfers)
+//   - DocumentType / StoredDocument (what the upload turned out to be)
+//
+// Related files:
+//   - LocalFileSystemDocumentStore.java (default implementation)
+//   - DocumentIngestionService.java (stores uploads through this interface and counts references)
+//   - LoanController.java (serves downloads through this interface)
+// ==============================================
+
+package com.junaid.backend.storage; // Declares the Java package this interface belongs to
+
+import com.junaid.backend.exception.UnsupportedDocumentException; // 415 for content that is not an accepted format
+import org.springframework.web.multipart.MultipartFile; // Represents the uploaded file
+
+import java.io.IOException; // Thrown when reading or writing the document fails
+import java.io.InputStream; // Content imported without an upload
+import java.nio.channels.WritableByteChannel; // Target channel for document downloads
+
+public interface DocumentStore { // Contract for every document storage backend
+
+    /**
+     * Streams the uploaded file into the store in a single pass: the content is hashed,
+     * its format is sniffed from the first bytes, and compressible formats are gzipped on the way to disk.
+     * Uploading identical content twice yields the same reference and stores it only once.
+     *
+     * @param file the uploaded document
+     * @return the reference (hex SHA-256 of the original content) and what was stored
+     * @throws UnsupportedDocumentException if the content is not one of the {@link DocumentType}s
+     * @throws IOException                  if the upload cannot be read or persisted
+     */
+    StoredDocument store(MultipartFile file) throws IOException;
+
+    /**
+     * Stores content that never went through the upload checks, such as documents moved out of the
+     * database by {@link InlineDocumentMigration}. It is hashed and sniffed like an upload, but kept
+     * whatever its format and always stored raw (never compressed).
+     *
+     * @param content the document; read to the end but not closed
+     * @return the reference and what was stored ({@link StoredDocument#type()} is null for unrecognised formats)
+     * @throws IOException if the content cannot be read or persisted
+     */
+    StoredDocument importRaw(InputStream content) throws IOException;
+
+    /**
+     * @param reference a reference previously returned by {@link #store(MultipartFile)}
+     * @return true if the referenced content is present in the store
+     */
+    boolean exists(String reference);
+
+    /**
+     * Copies the original document into the given channel (e.g. the HTTP response),
+     * decompressing it if it is stored compressed.
+     *
+     * @param reference a reference previously returned by {@link #store(MultipartFile)}
+     * @param target    the channel to write the document to
+     * @return the number of bytes written
+     * @throws IOException if the document is missing or the transfer fails
+     */
+    long transferTo(String reference, WritableByteChannel target) throws IOException;
+
+    /**
+     * Copies the document exactly as stored (gzip-encoded if {@link StoredDocument#compressed()}).
+     * Lets clients that accept gzip receive the blob without it being decompressed on the server.
+     *
+     * @param reference a reference previously returned by {@link #store(MultipartFile)}
+     * @param target    the channel to write the stored bytes to
+     * @return the number of bytes written
+     * @throws IOException if the document is missing or the transfer fails
+     */
+    long transferStoredTo(String reference, WritableByteChannel target) throws IOException;
+
+    /**
+     * Removes a blob that nothing references any more.
+     *
+     * @param reference a reference previously returned by {@link #store(MultipartFile)}
+     * @return true if a blob was deleted, false if it was already gone
+     * @throws IOException if the blob exists but cannot be deleted
+     */
+    boolean delete(String reference) throws IOException;
+}
@@ -0,0 +1,62 @@
+// ==============================================
+// File: DocumentType.java
+// Role:
+//   - Lists the supporting document formats the system accepts.
+//   - Recognises each one by its magic bytes, never by the file name or the client's Content-Type.
+//   - Says whether a format is worth compressing before it is stored.
+//
+// Why it matters:
+//   - A client can label any bytes "application/pdf". Sniffing the content means only real
+//     PDFs and images reach the store, and downloads are served with the type they really have.
+//   - PNG and JPEG are already compressed, so gzip would only cost CPU. PDFs usually shrink.
+//
+// Related files:
+//   - LocalFileSystemDocumentStore.java (sniffs the first bytes of every upload)
+//   - DocumentBlob.java (records the sniffed type of each stored blob)
+// ==============================================
+
+package com.junaid.backend.storage; // Declares the Java package this enum belongs to
+
+import java.util.Arrays; // Prefix comparison of the magic bytes
+
+public enum DocumentType {
+
+    PDF("application/pdf", true, new byte[]{'%', 'P', 'D', 'F', '-'}), // "%PDF-"
+    PNG("image/png", false, new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'}), // PNG signature
+    JPEG("image/jpeg", false, new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF}); // SOI marker + first segment marker
+
+    public static final int SNIFF_LENGTH = 8; // Longest signature above; enough bytes to tell every type apart
+
+    private final String mimeType; // Served as Content-Type on download
+    private final boolean compressible; // True if gzip usually makes the file smaller
+    private final byte[] signature; // Magic bytes at the start of the file
+
+    DocumentType(String mimeType, boolean compressible, byte[] signature) {
+        this.mimeType = mimeType;
+        this.compressible = compressible;
+        this.signature = signature;
+    }
+
+    public String mimeType() {
+        return mimeType;
+    }
+
+    public boolean compressible() {
+        return compressible;
+    }
+
+    /**
+     * @param head   the first bytes of the file
+     * @param length how many bytes of {@code head} are valid (short files have fewer than {@link #SNIFF_LENGTH})
+     * @return the detected type, or null if the content matches none of the supported formats
+     */
+    public static DocumentType sniff(byte[] head, int length) {
+        for (DocumentType type : values()) {
+            byte[] magic = type.signature;
+            if (length >= magic.length && Arrays.equals(head, 0, magic.length, magic, 0, magic.length)) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
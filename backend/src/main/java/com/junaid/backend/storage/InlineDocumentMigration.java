@@ -0,0 +1,143 @@
+// ==============================================
+// File: InlineDocumentMigration.java
+// Role:
+//   - Flyway migration V2: moves the supporting documents still stored inline (the old
+//     "supporting document" LOB column) into the DocumentStore, then drops that column.
+//   - Each document is hashed into the store as is. Its row gets the reference, the sniffed
+//     content type (when recognised) and the size, and V5 then creates its document_blobs row.
+//
+// Why it matters:
+//   - Databases created before the DocumentStore still hold every document in loan_applications.
+//     Dropping the column without copying the bytes first would lose them.
+//   - It is a Spring bean (Spring Boot hands JavaMigration beans to Flyway), so it writes through
+//     the same configured DocumentStore the application reads from.
+//
+// How it works:
+//   - Rows are read through a cursor, one document at a time, and streamed to the store.
+//   - Hibernate mapped the @Lob byte[] to a large object (oid), whose data lives outside the
+//     table: those large objects are unlinked before the column is dropped. A bytea column
+//     (older schemas) is read directly.
+//   - Documents are imported without the upload checks (DocumentStore.importRaw), because they
+//     were accepted before those checks existed. Unrecognised formats are served as
+//     application/octet-stream.
+//   - A blob written by a run that then fails stays on disk. It is harmless: the retry finds it
+//     by its content hash and reuses it.
+//
+// Dependencies:
+//   - DocumentStore (where the documents go)
+//   - V1_1__add_document_and_decision_columns.sql (document_ref and related columns)
+//
+// Related files:
+//   - V1__baseline_schema.sql (the inline column)
+//   - V5__create_document_blobs.sql (records the imported blobs as stored raw)
+// ==============================================
+
+package com.junaid.backend.storage; // Declares the Java package this class belongs to
+
+import org.flywaydb.core.api.MigrationVersion; // Version of this migration
+import org.flywaydb.core.api.migration.Context; // Gives access to the migration's connection
+import org.flywaydb.core.api.migration.JavaMigration; // Java migration with an explicit version (the class name need not encode it)
+import org.slf4j.Logger; // Logging API
+import org.slf4j.LoggerFactory; // Creates the logger
+import org.springframework.stereotype.Component; // Registers this migration as a Spring bean
+
+import java.io.InputStream; // One document's content
+import java.sql.Connection; // Flyway's connection (inside the migration's transaction)
+import java.sql.PreparedStatement; // Reads rows and writes references
+import java.sql.ResultSet; // Rows with an inline document
+import java.sql.SQLException; // Lookup failures
+import java.sql.Statement; // Unlinks large objects and drops the column
+import java.sql.Types; // Null content type
+
+@Component // Picked up by Spring Boot's Flyway auto-configuration
+public class InlineDocumentMigration implements JavaMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(InlineDocumentMigration.class);
+    private static final String COLUMN = "\"supporting document\""; // The name contains a space
+    private static final int FETCH_SIZE = 16; // Rows held by the cursor at a time (each may carry a large document)
+
+    private final DocumentStore documentStore;
+
+    public InlineDocumentMigration(DocumentStore documentStore) {
+        this.documentStore = documentStore;
+    }
+
+    @Override
+    public MigrationVersion getVersion() {
+        return MigrationVersion.fromVersion("2"); // Runs after V1_1 added document_ref, before V3 rebuilds the table
+    }
+
+    @Override
+    public String getDescription() {
+        return "move inline documents to the document store";
+    }
+
+    @Override
+    public Integer getChecksum() {
+        return null; // Like any Java migration, not validated against a checksum
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return true; // The large objects are only readable inside a transaction
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        String columnType = inlineColumnType(connection);
+        if (columnType == null) {
+            return; // This database never had the inline column
+        }
+        boolean largeObject = "oid".equals(columnType);
+
+        int moved = 0;
+        try (PreparedStatement select = connection.prepareStatement("select id, " + COLUMN
+                + " from loan_applications where " + COLUMN + " is not null and document_ref is null");
+             PreparedStatement update = connection.prepareStatement("update loan_applications"
+                     + " set document_ref = ?, document_content_type = ?, document_size = ? where id = ?")) {
+            select.setFetchSize(FETCH_SIZE); // Streams the rows instead of loading every document at once
+            try (ResultSet rows = select.executeQuery()) {
+                while (rows.next()) {
+                    StoredDocument stored;
+                    try (InputStream content = largeObject
+                            ? rows.getBlob(2).getBinaryStream() // Reads the large object in chunks
+                            : rows.getBinaryStream(2)) {
+                        stored = documentStore.importRaw(content);
+                    }
+                    update.setString(1, stored.reference());
+                    if (stored.type() != null) {
+                        update.setString(2, stored.type().mimeType());
+                    } else {
+                        update.setNull(2, Types.VARCHAR); // Downloaded as application/octet-stream
+                    }
+                    update.setLong(3, stored.size());
+                    update.setLong(4, rows.getLong(1));
+                    update.executeUpdate();
+                    moved++;
+                }
+            }
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            if (largeObject) { // Dropping the column would leave the large objects behind
+                statement.execute("select lo_unlink(d.lo) from (select distinct " + COLUMN + " as lo from loan_applications"
+                        + " where " + COLUMN + " is not null) d"
+                        + " where exists (select 1 from pg_largeobject_metadata m where m.oid = d.lo)");
+            }
+            statement.execute("alter table loan_applications drop column " + COLUMN);
+        }
+        log.info("Moved {} inline supporting documents to the document store", moved);
+    }
+
+    // === Data type of the inline column ("oid" or "bytea"), or null if it does not exist ===
+    private static String inlineColumnType(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("select data_type from information_schema.columns"
+                + " where table_schema = current_schema() and table_name = 'loan_applications'"
+                + " and column_name = 'supporting document'")) {
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        }
+    }
+}
@@ -0,0 +1,287 @@
+// ==============================================
+// File: LocalFileSystemDocumentStore.java
+// Role:
+//   - Default DocumentStore that keeps supporting documents on the local filesystem.
+//   - Streams uploads to disk with NIO channels while hashing them (SHA-256) in the same pass.
+//   - The first bytes of that pass decide the format (DocumentType); anything else is rejected
+//     before a byte is written, and compressible formats are gzipped as they stream to disk.
+//   - Serves downloads with FileChannel.transferTo so the kernel can copy without touching the heap.
+//
+// Why it matters:
+//   - Upload size no longer drives heap usage or database size.
+//   - Identical files are stored once because the file name is the content hash.
+//   - The hash is taken over the original bytes, so compression never changes a reference.
+//
+// Dependencies:
+//   - document.store.type   (selects this implementation; "local" is the default)
+//   - document.store.root   (directory that holds the blobs)
+//   - document.allowedTypes (DocumentType names accepted on upload)
+//   - document.compression.level (gzip level 1-9 for compressible formats; 0 stores everything raw)
+//
+// Layout on disk:
+//   <root>/tmp/upload-*.part          -> in-flight uploads (import-*.part for importRaw)
+//   <root>/ab/cd/abcd1234...          -> committed blobs, sharded by the first two hash bytes
+//   <root>/ab/cd/abcd1234....gz       -> same, for blobs stored gzip-encoded
+//
+// Related files:
+//   - DocumentStore.java (the interface)
+//   - DocumentIngestionService.java, LoanController.java (callers)
+// ==============================================
+
+package com.junaid.backend.storage; // Declares the Java package this class belongs to
+
+import com.junaid.backend.exception.UnsupportedDocumentException; // 415 for unrecognised content
+import jakarta.annotation.PostConstruct; // Runs setup once the bean is created
+import org.springframework.beans.factory.annotation.Value; // Injects values from application.properties
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty; // Activates this bean only for document.store.type=local
+import org.springframework.stereotype.Component; // Registers this class as a Spring bean
+import org.springframework.web.multipart.MultipartFile; // Represents the uploaded file
+
+import java.io.FileNotFoundException; // Thrown when a reference points to a missing blob
+import java.io.IOException; // Thrown on filesystem errors
+import java.io.InputStream; // Decompressed view of a gzip blob
+import java.io.OutputStream; // Compressed view of the staging file
+import java.nio.ByteBuffer; // Writes the sniffed header bytes
+import java.nio.channels.Channels; // Adapts streams to channels
+import java.nio.channels.FileChannel; // Used for transferFrom / transferTo
+import java.nio.channels.ReadableByteChannel; // Source channel for uploads
+import java.nio.channels.WritableByteChannel; // Target channel for downloads
+import java.nio.file.AtomicMoveNotSupportedException; // Thrown when the filesystem cannot rename atomically
+import java.nio.file.FileAlreadyExistsException; // Thrown when a concurrent upload committed the same content first
+import java.nio.file.Files; // File helpers
+import java.nio.file.Path; // Filesystem paths
+import java.nio.file.Paths; // Builds a Path from the configured root
+import java.nio.file.StandardCopyOption; // ATOMIC_MOVE option
+import java.nio.file.StandardOpenOption; // File open modes
+import java.security.DigestInputStream; // Hashes bytes as they are read
+import java.security.MessageDigest; // SHA-256 implementation
+import java.security.NoSuchAlgorithmException; // Never thrown for SHA-256, but declared by the JDK
+import java.util.HexFormat; // Hex encoding for the hash
+import java.util.Set; // Accepted document types
+import java.util.stream.Collectors; // Builds the rejection message
+import java.util.zip.GZIPInputStream; // Decompresses gzip blobs on download
+import java.util.zip.GZIPOutputStream; // Compresses uploads on the way to disk
+
+@Component // Registers this store as a Spring bean
+@ConditionalOnProperty(name = "document.store.type", havingValue = "local", matchIfMissing = true) // Default backend
+public class LocalFileSystemDocumentStore implements DocumentStore {
+
+    private static final long TRANSFER_CHUNK = 8L * 1024 * 1024; // Max bytes per transferFrom/transferTo call
+    private static final int GZIP_BUFFER = 64 * 1024; // Buffer of the gzip streams
+    private static final String GZIP_SUFFIX = ".gz"; // File name suffix of gzip-encoded blobs
+
+    @Value("${document.store.root:./data/documents}") // Root directory for all blobs
+    private String rootLocation;
+
+    @Value("${document.allowedTypes:PDF,PNG,JPEG}") // Formats accepted on upload
+    private Set<DocumentType> allowedTypes;
+
+    @Value("${document.compression.level:6}") // gzip level for compressible formats (0 = never compress)
+    private int compressionLevel;
+
+    private Path root; // Resolved root directory
+    private Path tempDir; // Staging directory for in-flight uploads (same filesystem as root, so moves are atomic)
+
+    @PostConstruct // Create the directory layout once on startup
+    void init() throws IOException {
+        root = Paths.get(rootLocation).toAbsolutePath().normalize(); // Resolve the configured root
+        tempDir = root.resolve("tmp"); // Uploads are staged here first
+        Files.createDirectories(tempDir); // Creates root and tmp if missing
+    }
+
+    @Override
+    public StoredDocument store(MultipartFile file) throws IOException {
+        MessageDigest sha256 = newSha256(); // Fresh digest per upload (MessageDigest is not thread-safe)
+        Path staged = Files.createTempFile(tempDir, "upload-", ".part"); // Unique staging file
+
+        try {
+            DocumentType type;
+            boolean compressed;
+            long size;
+            // One pass over the upload: hash every byte, sniff the first ones, compress if worthwhile
+            try (DigestInputStream in = new DigestInputStream(file.getInputStream(), sha256);
+                 FileChannel out = FileChannel.open(staged, StandardOpenOption.WRITE)) {
+                byte[] head = in.readNBytes(DocumentType.SNIFF_LENGTH); // Hashed like the rest of the content
+                type = accept(DocumentType.sniff(head, head.length)); // Rejects before anything is written
+                compressed = type.compressible() && compressionLevel > 0;
+                size = compressed ? deflate(head, in, out) : copy(head, in, out);
+            }
+
+            return publish(staged, HexFormat.of().formatHex(sha256.digest()), type, size, compressed); // Hash of the original bytes
+        } finally {
+            Files.deleteIfExists(staged); // No-op after a successful move; cleans up after failures
+        }
+    }
+
+    @Override
+    public StoredDocument importRaw(InputStream content) throws IOException {
+        MessageDigest sha256 = newSha256();
+        Path staged = Files.createTempFile(tempDir, "import-", ".part");
+
+        try {
+            DocumentType type;
+            long size;
+            try (FileChannel out = FileChannel.open(staged, StandardOpenOption.WRITE)) {
+                DigestInputStream in = new DigestInputStream(content, sha256); // Not closed: the caller owns the stream
+                byte[] head = in.readNBytes(DocumentType.SNIFF_LENGTH);
+                type = DocumentType.sniff(head, head.length); // Recorded, not enforced: the content predates the checks
+                size = copy(head, in, out);
+            }
+            return publish(staged, HexFormat.of().formatHex(sha256.digest()), type, size, false);
+        } finally {
+            Files.deleteIfExists(staged);
+        }
+    }
+
+    @Override
+    public boolean exists(String reference) {
+        return locate(reference) != null; // A blob exists if either of its files does
+    }
+
+    @Override
+    public long transferTo(String reference, WritableByteChannel target) throws IOException {
+        Path blob = existing(reference); // Fails fast for unknown references
+        if (!isGzip(blob)) {
+            return transferStored(blob, target); // Stored as-is: zero-copy
+        }
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(blob), GZIP_BUFFER)) {
+            return in.transferTo(Channels.newOutputStream(target)); // Inflate chunk by chunk; target stays open
+        }
+    }
+
+    @Override
+    public long transferStoredTo(String reference, WritableByteChannel target) throws IOException {
+        return transferStored(existing(reference), target); // Fails fast for unknown references
+    }
+
+    @Override
+    public boolean delete(String reference) throws IOException {
+        boolean deleted = Files.deleteIfExists(gzipPath(reference));
+        return Files.deleteIfExists(resolve(reference)) || deleted; // Clears both names, whichever exists
+    }
+
+    // === Returns the sniffed type, or rejects the upload if it is unknown or not accepted ===
+    private DocumentType accept(DocumentType type) {
+        if (type == null || !allowedTypes.contains(type)) {
+            throw new UnsupportedDocumentException("Unsupported document type. Accepted formats: "
+                    + allowedTypes.stream().map(Enum::name).sorted().collect(Collectors.joining(", ")));
+        }
+        return type;
+    }
+
+    // === Writes the header and the rest of the upload unchanged; returns the size ===
+    private static long copy(byte[] head, InputStream in, FileChannel out) throws IOException {
+        out.write(ByteBuffer.wrap(head)); // The bytes consumed by sniffing
+        ReadableByteChannel source = Channels.newChannel(in);
+        long position = head.length;
+        long copied;
+        while ((copied = out.transferFrom(source, position, TRANSFER_CHUNK)) > 0) { // 0 means the source is exhausted
+            position += copied;
+        }
+        return position;
+    }
+
+    // === Writes the header and the rest of the upload gzip-encoded; returns the original size ===
+    private long deflate(byte[] head, InputStream in, FileChannel out) throws IOException {
+        int level = compressionLevel;
+        try (OutputStream gzip = new GZIPOutputStream(Channels.newOutputStream(out), GZIP_BUFFER) {
+            { def.setLevel(level); } // GZIPOutputStream has no level parameter
+        }) {
+            gzip.write(head);
+            return head.length + in.transferTo(gzip);
+        }
+    }
+
+    private static long transferStored(Path blob, WritableByteChannel target) throws IOException {
+        try (FileChannel in = FileChannel.open(blob, StandardOpenOption.READ)) {
+            long size = in.size();
+            long position = 0;
+            while (position < size) { // transferTo may copy fewer bytes than requested
+                position += in.transferTo(position, Math.min(TRANSFER_CHUNK, size - position), target);
+            }
+            return position;
+        }
+    }
+
+    // === Moves a staged blob to its sharded location, unless identical content is already stored ===
+    private StoredDocument publish(Path staged, String reference, DocumentType type, long size, boolean compressed)
+            throws IOException {
+        Path existing = locate(reference);
+        if (existing != null) { // Same content already stored — keep the existing copy
+            Files.delete(staged);
+            return new StoredDocument(reference, type, size, Files.size(existing), isGzip(existing));
+        }
+
+        long storedSize = Files.size(staged);
+        Path target = compressed ? gzipPath(reference) : resolve(reference); // Final sharded location
+        Files.createDirectories(target.getParent()); // Make sure the shard directory exists
+        commit(staged, target); // Publish the blob
+        return new StoredDocument(reference, type, size, storedSize, compressed);
+    }
+
+    // === Moves the staged upload into place; tolerates a concurrent upload of the same content ===
+    private void commit(Path staged, Path target) throws IOException {
+        try {
+            Files.move(staged, target, StandardCopyOption.ATOMIC_MOVE); // Readers never see a half-written blob
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(staged, target); // Fallback for filesystems without atomic rename
+        } catch (FileAlreadyExistsException e) {
+            // Another request stored identical content first; its copy is byte-for-byte the same
+        }
+    }
+
+    // === Resolves a reference to an existing blob or throws ===
+    private Path existing(String reference) throws IOException {
+        Path blob = locate(reference);
+        if (blob == null) {
+            throw new FileNotFoundException("Document not found: " + reference);
+        }
+        return blob;
+    }
+
+    // === The blob's file in whichever encoding it was stored, or null ===
+    private Path locate(String reference) {
+        Path gzip = gzipPath(reference);
+        if (Files.isRegularFile(gzip)) {
+            return gzip;
+        }
+        Path raw = resolve(reference);
+        return Files.isRegularFile(raw) ? raw : null;
+    }
+
+    private Path gzipPath(String reference) {
+        return resolve(reference).resolveSibling(reference + GZIP_SUFFIX);
+    }
+
+    private static boolean isGzip(Path blob) {
+        return blob.getFileName().toString().endsWith(GZIP_SUFFIX);
+    }
+
+    // === Maps a reference to its sharded path, rejecting anything that is not a SHA-256 hex string ===
+    private Path resolve(String reference) {
+        if (reference == null || reference.length() != 64 || !isLowerHex(reference)) { // Prevents path traversal
+            throw new IllegalArgumentException("Invalid document reference");
+        }
+        return root.resolve(reference.substring(0, 2)) // First byte of the hash
+                .resolve(reference.substring(2, 4)) // Second byte of the hash
+                .resolve(reference);
+    }
+
+    private static boolean isLowerHex(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e); // Every JDK ships SHA-256
+        }
+    }
+}
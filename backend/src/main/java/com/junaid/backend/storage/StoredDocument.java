@@ -0,0 +1,21 @@
+// ==============================================
+// File: StoredDocument.java
+// Role:
+//   - What DocumentStore.store() learned about an upload during its single streaming pass.
+//
+// Related files:
+//   - DocumentStore.java (returns it)
+//   - DocumentIngestionService.java (registers it in document_blobs)
+// ==============================================
+
+package com.junaid.backend.storage; // Declares the Java package this record belongs to
+
+/**
+ * @param reference  hex SHA-256 of the original (uncompressed) content
+ * @param type       the sniffed format (null only for content imported with {@link DocumentStore#importRaw})
+ * @param size       original size in bytes
+ * @param storedSize bytes on disk (smaller than {@code size} when compressed)
+ * @param compressed true if the blob is stored gzip-encoded
+ */
+public record StoredDocument(String reference, DocumentType type, long size, long storedSize, boolean compressed) {
+}
@@ -0,0 +1,99 @@
+// ==========================================================
+// File: BloomFilter.java
+//
+// ❖ ROLE:
+//    - Compact, thread-safe probabilistic set of strings.
+//    - mightContain() == false means "definitely never added"; true means "probably added".
+//
+// ❖ WHY IT'S IMPORTANT:
+//    - Lets the registration availability check answer "this is free" for most inputs
+//      from memory, without a database query.
+//
+// ❖ HOW IT WORKS:
+//    - One 64-bit hash per value is split into two halves and combined (double hashing)
+//      to pick k bit positions in a shared bit array.
+//    - Bits are only ever set, so adds are lock-free (AtomicLongArray CAS) and readers never block.
+//
+// ❖ USED IN:
+//    - AvailabilityService.java
+// ==========================================================
+
+package com.junaid.backend.util; // This file is inside the 'util' package
+
+import java.nio.charset.StandardCharsets; // Values are hashed as UTF-8
+import java.util.concurrent.atomic.AtomicLongArray; // Bit array shared by request threads
+
+public class BloomFilter {
+
+    private final AtomicLongArray words; // The bit array, 64 bits per word
+    private final long bitCount; // Number of usable bits
+    private final int hashCount; // Bits set per value (k)
+
+    // === Sizes the filter for the expected number of values and false-positive rate ===
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        long bits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2))); // m = -n ln p / (ln 2)^2
+        int words = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (bits + 63) / 64));
+        this.words = new AtomicLongArray(words);
+        this.bitCount = (long) words * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2))); // k = m/n ln 2
+    }
+
+    // === Records a value (null is ignored) ===
+    public void put(String value) {
+        if (value == null) {
+            return;
+        }
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            setBit(index(h1 + i * h2));
+        }
+    }
+
+    // === false = the value was definitely never added ===
+    public boolean mightContain(String value) {
+        if (value == null) {
+            return false;
+        }
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = index(h1 + i * h2);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long index(int combinedHash) {
+        return (combinedHash & Integer.MAX_VALUE) % bitCount; // Non-negative position
+    }
+
+    private void setBit(long bit) {
+        int word = (int) (bit >>> 6);
+        long mask = 1L << bit; // Java masks the shift to the low 6 bits
+        long current;
+        do {
+            current = words.get(word);
+            if ((current & mask) != 0) {
+                return; // Already set — the common case once the filter warms up
+            }
+        } while (!words.compareAndSet(word, current, current | mask));
+    }
+
+    // === 64-bit FNV-1a over the UTF-8 bytes, finished with the SplitMix64 mixer ===
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x100000001b3L;
+        }
+        h = (h ^ (h >>> 30)) * 0xbf58476d1ce4e5b9L;
+        h = (h ^ (h >>> 27)) * 0x94d049bb133111ebL;
+        return h ^ (h >>> 31);
+    }
+}
@@ -0,0 +1,88 @@
+// ==========================================================
+// File: BoundedPasswordEncoder.java
+//
+// ❖ ROLE:
+//    - PasswordEncoder that runs BCrypt on the PasswordHashingExecutor instead of the caller's thread.
+//    - Chooses the BCrypt cost at startup: a fixed value, or the highest cost whose hash
+//      still fits the target latency on this machine.
+//
+// ❖ WHY IT'S IMPORTANT:
+//    - Login and registration keep their ~100 ms hash, but the number of hashes running at
+//      once is capped, so other endpoints keep their CPU.
+//    - upgradeEncoding() reports hashes made with a lower cost. Spring Security then re-hashes
+//      the password on the next successful login (see MyUserDetailsService.updatePassword).
+//    - direct() gives batch jobs the same algorithm and cost without the pool, so they can hash
+//      on their own threads and never take the slots logins need.
+//
+// ❖ USED IN:
+//    - SecurityConfig.java (the application's PasswordEncoder bean)
+//    - BulkImportService.java (direct(), on the importer's own pool)
+// ==========================================================
+
+package com.junaid.backend.util; // This file is inside the 'util' package
+
+import com.junaid.backend.service.PasswordHashingExecutor; // Bounded hashing pool
+
+import org.slf4j.Logger; // Logging API
+import org.slf4j.LoggerFactory; // Creates the logger
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder; // The actual algorithm
+import org.springframework.security.crypto.password.PasswordEncoder; // Spring Security contract
+
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private static final Logger log = LoggerFactory.getLogger(BoundedPasswordEncoder.class);
+
+    private static final int CALIBRATION_COST = 10; // Cost measured during calibration (Spring's default)
+    private static final int CALIBRATION_ROUNDS = 3; // Timed hashes; the fastest one counts
+
+    private final BCryptPasswordEncoder delegate;
+    private final PasswordHashingExecutor executor;
+
+    public BoundedPasswordEncoder(int strength, PasswordHashingExecutor executor) {
+        this.delegate = new BCryptPasswordEncoder(strength);
+        this.executor = executor;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return executor.call(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return executor.call(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    // === Same BCrypt and cost, run on the caller's thread (for jobs that bring their own threads) ===
+    public PasswordEncoder direct() {
+        return delegate;
+    }
+
+    // Cheap string check (no hashing), so it stays on the caller's thread
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    // === Picks the highest cost in [minCost, maxCost] whose hash takes at most targetMillis here ===
+    public static int calibrate(long targetMillis, int minCost, int maxCost) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(CALIBRATION_COST);
+        probe.encode("warm-up"); // Let the JIT compile BCrypt before timing it
+
+        long fastestNanos = Long.MAX_VALUE;
+        for (int i = 0; i < CALIBRATION_ROUNDS; i++) {
+            long start = System.nanoTime();
+            probe.encode("calibration");
+            fastestNanos = Math.min(fastestNanos, System.nanoTime() - start);
+        }
+
+        // Each +1 in cost doubles the work
+        double measuredMillis = fastestNanos / 1_000_000.0;
+        int cost = CALIBRATION_COST + (int) Math.floor(Math.log(targetMillis / measuredMillis) / Math.log(2));
+        cost = Math.max(minCost, Math.min(maxCost, cost));
+
+        log.info("BCrypt cost {} selected (cost {} took {} ms, target {} ms)",
+                cost, CALIBRATION_COST, Math.round(measuredMillis), targetMillis);
+        return cost;
+    }
+}
@@ -0,0 +1,108 @@
+// ==========================================================
+// File: EcJwk.java
+//
+// ❖ ROLE:
+//    - Converts P-256 public keys to and from JSON Web Keys (RFC 7517/7518), the format
+//      published by GET /.well-known/jwks.json.
+//
+// ❖ WHY IT'S IMPORTANT:
+//    - The JWKS is how other services and nodes get our ES256 verification keys. They verify
+//      tokens locally, with no shared secret and no call back to this service.
+//
+// ❖ FORMAT:
+//    - {"kty":"EC","crv":"P-256","alg":"ES256","use":"sig","kid":"...","x":"...","y":"..."}
+//    - x and y are the point's coordinates as 32-byte big-endian values, base64url without padding.
+//
+// ❖ USED IN:
+//    - SigningKeyService.java (publishes its keys), JwksKeyResolver.java (reads remote keys)
+// ==========================================================
+
+package com.junaid.backend.util; // This file is inside the 'util' package
+
+import java.math.BigInteger; // Point coordinates
+import java.security.AlgorithmParameters; // Looks up the P-256 curve parameters
+import java.security.GeneralSecurityException; // Key factory failures
+import java.security.KeyFactory; // Builds a public key from coordinates
+import java.security.interfaces.ECPublicKey; // P-256 public key
+import java.security.spec.ECGenParameterSpec; // Names the curve
+import java.security.spec.ECParameterSpec; // Curve parameters
+import java.security.spec.ECPoint; // Public point
+import java.security.spec.ECPublicKeySpec; // Point + curve
+import java.util.Arrays; // Strips the sign byte of BigInteger
+import java.util.Base64; // base64url coordinates
+import java.util.LinkedHashMap; // Keeps JWK members in their usual order
+import java.util.Map; // JSON object
+
+public final class EcJwk {
+
+    public static final String CURVE = "P-256"; // The only curve ES256 uses
+    private static final int COORDINATE_BYTES = 32; // P-256 field size
+
+    private static final ECParameterSpec P256 = curveParameters();
+
+    private EcJwk() {
+    }
+
+    // === Public key -> JWK members (ready to be serialised as JSON) ===
+    public static Map<String, Object> toJwk(String kid, ECPublicKey key) {
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        jwk.put("kty", "EC");
+        jwk.put("crv", CURVE);
+        jwk.put("alg", "ES256");
+        jwk.put("use", "sig");
+        jwk.put("kid", kid);
+        jwk.put("x", encode(key.getW().getAffineX()));
+        jwk.put("y", encode(key.getW().getAffineY()));
+        return jwk;
+    }
+
+    // === JWK members -> public key; null if the JWK is not a P-256 signing key ===
+    public static ECPublicKey fromJwk(Map<String, ?> jwk) {
+        if (!"EC".equals(jwk.get("kty")) || !CURVE.equals(jwk.get("crv"))
+                || (jwk.get("use") != null && !"sig".equals(jwk.get("use")))) {
+            return null; // Not ours to use for ES256
+        }
+        Object x = jwk.get("x");
+        Object y = jwk.get("y");
+        if (!(x instanceof String xs) || !(y instanceof String ys)) {
+            return null;
+        }
+        try {
+            ECPoint point = new ECPoint(decode(xs), decode(ys));
+            return (ECPublicKey) KeyFactory.getInstance("EC").generatePublic(new ECPublicKeySpec(point, P256));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            return null; // Point not on the curve, or malformed base64
+        }
+    }
+
+    // === The P-256 parameters, e.g. for generating key pairs ===
+    public static ECParameterSpec curve() {
+        return P256;
+    }
+
+    private static String encode(BigInteger coordinate) {
+        byte[] bytes = coordinate.toByteArray(); // Big-endian, possibly with a leading sign byte
+        if (bytes.length > COORDINATE_BYTES) {
+            bytes = Arrays.copyOfRange(bytes, bytes.length - COORDINATE_BYTES, bytes.length);
+        } else if (bytes.length < COORDINATE_BYTES) {
+            byte[] padded = new byte[COORDINATE_BYTES];
+            System.arraycopy(bytes, 0, padded, COORDINATE_BYTES - bytes.length, bytes.length);
+            bytes = padded;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static BigInteger decode(String coordinate) {
+        return new BigInteger(1, Base64.getUrlDecoder().decode(coordinate)); // Unsigned
+    }
+
+    private static ECParameterSpec curveParameters() {
+        try {
+            AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+            parameters.init(new ECGenParameterSpec("secp256r1")); // = P-256
+            return parameters.getParameterSpec(ECParameterSpec.class);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("P-256 is not available", e); // Required of every JVM
+        }
+    }
+}
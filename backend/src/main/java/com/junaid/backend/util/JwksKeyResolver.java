@@ -0,0 +1,118 @@
+// ==========================================================
+// File: JwksKeyResolver.java
+//
+// ❖ ROLE:
+//    - Verifier-side cache of ES256 public keys fetched from a JWKS URL, looked up by "kid".
+//    - Has no Spring dependencies, so a sibling service can verify our tokens with this class,
+//      the JWKS URL and any JWT library.
+//
+// ❖ WHY IT'S IMPORTANT:
+//    - Verification scales out without sharing a secret and without an introspection call per
+//      request. The JWKS is fetched once and then only when a token names an unknown key.
+//
+// ❖ HOW IT WORKS:
+//    - Keys live in an immutable map swapped atomically, so lookups are lock-free.
+//    - The owner refreshes it in the background (JwtUtil, every jwt.jwks.refreshMs); new keys are
+//      published ahead of use, so they are normally cached before the first token names them.
+//    - A token with an unknown kid still triggers one refetch as a fallback. Refetches
+//      are at most one per minRefreshInterval, so tokens with made-up kids cannot flood the
+//      JWKS endpoint. Concurrent misses share that one fetch.
+//    - Each fetch replaces the whole map, so keys we stopped publishing stop verifying.
+//    - If a fetch fails, the keys already cached stay in use.
+//
+// ❖ USED IN:
+//    - JwtUtil.java (when jwt.jwks.uri is set: verifies tokens signed by other nodes' keys)
+// ==========================================================
+
+package com.junaid.backend.util; // This file is inside the 'util' package
+
+import com.fasterxml.jackson.databind.JsonNode; // Parsed JWKS document
+import com.fasterxml.jackson.databind.ObjectMapper; // JSON parsing
+
+import org.slf4j.Logger; // Logging API
+import org.slf4j.LoggerFactory; // Creates the logger
+
+import java.io.IOException; // Fetch failures
+import java.net.URI; // JWKS location
+import java.net.http.HttpClient; // Fetches the JWKS
+import java.net.http.HttpRequest; // GET request
+import java.net.http.HttpResponse; // Response body
+import java.security.interfaces.ECPublicKey; // Cached keys
+import java.time.Duration; // Timeouts and refetch interval
+import java.util.HashMap; // Builds the next key map
+import java.util.Map; // kid -> key
+
+public class JwksKeyResolver {
+
+    private static final Logger log = LoggerFactory.getLogger(JwksKeyResolver.class);
+    private static final Duration FETCH_TIMEOUT = Duration.ofSeconds(2); // A slow JWKS must not hold up requests for long
+
+    private final URI jwksUri; // e.g. https://auth.example.com/.well-known/jwks.json
+    private final long minRefreshNanos; // Minimum time between two fetches
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private volatile Map<String, ECPublicKey> keys = Map.of(); // kid -> key, replaced as a whole
+    private long lastFetchAt; // nanoTime of the last fetch attempt (guarded by this)
+    private boolean fetched; // Whether a fetch was ever attempted (guarded by this)
+
+    public JwksKeyResolver(URI jwksUri, Duration minRefreshInterval) {
+        this.jwksUri = jwksUri;
+        this.minRefreshNanos = minRefreshInterval.toNanos();
+        this.httpClient = HttpClient.newBuilder().connectTimeout(FETCH_TIMEOUT).build();
+    }
+
+    // === Key for a kid: from the cache, or after one (rate-limited) refetch; null if unknown ===
+    public ECPublicKey resolve(String kid) {
+        ECPublicKey key = keys.get(kid);
+        if (key != null || kid == null) {
+            return key; // Common case: no lock, no I/O
+        }
+        Map<String, ECPublicKey> seen = keys;
+        synchronized (this) {
+            if (keys != seen) {
+                return keys.get(kid); // Another thread refetched while we waited
+            }
+            long now = System.nanoTime();
+            if (fetched && now - lastFetchAt < minRefreshNanos) {
+                return null; // Fetched recently: the kid really is unknown
+            }
+            fetched = true;
+            lastFetchAt = now;
+            refresh();
+        }
+        return keys.get(kid);
+    }
+
+    // === Fetches the JWKS now (e.g. on startup); keeps the current keys if the fetch fails ===
+    public synchronized void refresh() {
+        try {
+            HttpResponse<String> response = httpClient.send(
+                    HttpRequest.newBuilder(jwksUri).timeout(FETCH_TIMEOUT).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                log.warn("JWKS fetch from {} returned HTTP {}", jwksUri, response.statusCode());
+                return;
+            }
+            Map<String, ECPublicKey> next = new HashMap<>();
+            for (JsonNode jwk : objectMapper.readTree(response.body()).path("keys")) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> members = objectMapper.convertValue(jwk, Map.class);
+                ECPublicKey key = EcJwk.fromJwk(members);
+                if (key != null && members.get("kid") instanceof String kid) {
+                    next.put(kid, key); // Keys for other algorithms are ignored
+                }
+            }
+            keys = Map.copyOf(next);
+        } catch (IOException e) {
+            log.warn("JWKS fetch from {} failed: {}", jwksUri, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // === Number of cached keys (for diagnostics) ===
+    public int size() {
+        return keys.size();
+    }
+}
@@ -16,10 +16,30 @@
 // ❖ SPRING CONCEPTS:
 //    - @Component: Makes this class available for dependency injection
 //    - @Value: Injects values from application.properties
+//    - @PostConstruct: Builds the parser (and the optional JWKS resolver) once at startup
 //
 // ❖ JWT CONCEPTS:
 //    - subject: stores username
 //    - issuedAt and expiration: used for time-limited sessions
+//    - uid / roles / ver: user ID, granted roles and token version, so a request can be
+//      authenticated from the token alone (see JwtRequestFilter, TokenVersionService)
+//    - jti: a random token ID, so a single token can be revoked (see TokenRevocationService)
+//    - Access tokens are short-lived (jwt.expirationMs); sessions are kept alive with
+//      refresh tokens (RefreshTokenService), which are opaque and never JWTs
+//
+// ❖ SIGNING:
+//    - ES256 with rotating P-256 keys from SigningKeyService; the "kid" header names the key.
+//    - Verification picks the key by kid: our own keys first, then (if jwt.jwks.uri is set)
+//      keys fetched from another issuer's JWKS. Tokens without a kid are accepted only as
+//      HS256 tokens signed with jwt.secret whose "iat" is before jwt.legacy.issuedBefore; both
+//      are empty by default, which refuses them.
+//    - The roles claim of such a legacy token is never trusted: isLegacy() tells
+//      JwtRequestFilter to load the user's authorities from the database instead.
+//
+// ❖ PERFORMANCE:
+//    - The parser is built once and reused (thread-safe); key lookups by kid are map reads.
+//    - verify() parses and checks the signature once; the result is cached in
+//      VerifiedClaimsCache until the token expires, so repeat requests skip the ECDSA check.
 //
 // ❖ OUTPUT:
 //    - Generates and validates JWTs
@@ -27,17 +47,39 @@
 
 package com.junaid.backend.util; // This file is inside the 'util' package
 
+// === Project Imports ===
+import com.junaid.backend.model.AppUserDetails; // Logged-in user with ID and token version
+import com.junaid.backend.service.SigningKeyService; // Rotating ES256 keys
+
 // === JWT Library Imports ===
 import io.jsonwebtoken.Claims; // Represents all the claims (data) stored in the JWT token
+import io.jsonwebtoken.JwsHeader; // Token header ("alg", "kid")
+import io.jsonwebtoken.JwtParser; // Reusable, thread-safe token parser
 import io.jsonwebtoken.Jwts; // Main class for creating and parsing JWT tokens
-import io.jsonwebtoken.SignatureAlgorithm; // Enum for which algorithm to use (HS256 is used here)
+import io.jsonwebtoken.SignatureAlgorithm; // ES256 for new tokens, HS256 for old ones
+import io.jsonwebtoken.SigningKeyResolverAdapter; // Picks the verification key per token
+import io.jsonwebtoken.security.Keys; // Builds the legacy HMAC key from raw bytes
+import io.jsonwebtoken.security.SignatureException; // Unknown key or unexpected algorithm
 
 // === Spring Imports ===
+import jakarta.annotation.PostConstruct; // Runs init() after properties are injected
+import org.springframework.beans.factory.annotation.Autowired; // Injects the signing keys
 import org.springframework.beans.factory.annotation.Value; // Used to inject property values from application.properties
+import org.springframework.scheduling.annotation.Scheduled; // Background JWKS refresh
+import org.springframework.security.core.GrantedAuthority; // A single role
 import org.springframework.stereotype.Component; // Makes this class injectable by Spring (like a helper utility)
 
 // === Java Standard Libraries ===
+import javax.crypto.SecretKey; // Legacy HMAC key
+import java.net.URI; // JWKS location
+import java.nio.charset.StandardCharsets; // Secret is read as UTF-8 bytes
+import java.security.Key; // Verification key of one token
+import java.time.Duration; // JWKS refetch interval
+import java.time.Instant; // Expiry of an issued token
+import java.util.Collection; // Role lists
 import java.util.Date; // Used to represent issue time and expiration time of tokens
+import java.util.List; // Role lists
+import java.util.UUID; // Random token IDs
 import java.util.function.Function; // Functional interface used to extract specific claims from token
 
 /**
@@ -47,12 +89,119 @@ import java.util.function.Function; // Functional interface used to extract spec
 @Component // Marks this class as a Spring-managed bean so it can be injected where needed
 public class JwtUtil {
 
-    @Value("${jwt.secret}") // Injects the secret key from application.properties
+    public static final String CLAIM_USER_ID = "uid"; // Database ID of the user
+    public static final String CLAIM_ROLES = "roles"; // Granted roles, e.g. ["ROLE_USER"]
+    public static final String CLAIM_TOKEN_VERSION = "ver"; // Token version at issue time (see TokenVersionService)
+
+    @Autowired // Injects the rotating ES256 keys
+    private SigningKeyService signingKeys;
+
+    @Value("${jwt.secret:}") // Verifies HS256 tokens issued before ES256 (empty = refuse them)
     private String secret;
 
+    @Value("${jwt.legacy.issuedBefore:}") // Cut-over instant (ISO-8601): HS256 tokens must be issued before it (empty = refuse them)
+    private String legacyIssuedBefore;
+
+    @Value("${jwt.jwks.uri:}") // Another issuer's JWKS, for tokens signed with keys this node does not hold (empty = none)
+    private String jwksUri;
+
+    @Value("${jwt.jwks.minRefreshMs:30000}") // Minimum time between two JWKS fetches
+    private long jwksMinRefreshMs;
+
     @Value("${jwt.expirationMs}") // Injects the expiration duration from application.properties
     private long jwtExpirationMs;
 
+    @Value("${jwt.claimsCache.maxEntries:10000}") // Max verified tokens kept in memory (0 disables the cache)
+    private int claimsCacheMaxEntries;
+
+    private SecretKey legacyKey; // Built once from the secret (null unless both legacy settings are set)
+    private Date legacyCutOver; // Tokens issued before this may be legacy ones (null = no legacy tokens)
+    private JwksKeyResolver remoteKeys; // Keys from jwt.jwks.uri (null when it is empty)
+    private JwtParser parser; // Built once; JwtParser is immutable and thread-safe
+    private VerifiedClaimsCache claimsCache; // digest(token) -> verified claims
+
+    /**
+     * A freshly signed access token with the claims needed to revoke it later.
+     *
+     * @param token     the compact JWT
+     * @param jti       its "jti" claim
+     * @param expiresAt its expiry
+     */
+    public record AccessToken(String token, String jti, Instant expiresAt) {
+    }
+
+    @PostConstruct // Runs once after the @Value fields are populated
+    void init() {
+        if (!secret.isBlank() && !legacyIssuedBefore.isBlank()) { // A secret alone would accept HS256 tokens minted at any time
+            legacyKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+            legacyCutOver = Date.from(Instant.parse(legacyIssuedBefore));
+        }
+        remoteKeys = jwksUri.isBlank() ? null : new JwksKeyResolver(URI.create(jwksUri), Duration.ofMillis(jwksMinRefreshMs));
+        parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return verificationKey(header, claims);
+                    }
+                })
+                .build();
+        claimsCache = new VerifiedClaimsCache(claimsCacheMaxEntries);
+    }
+
+    // === Keeps the remote JWKS fresh, so keys published ahead of rotation are known before use ===
+    @Scheduled(fixedDelayString = "${jwt.jwks.refreshMs:60000}")
+    public void refreshRemoteKeys() {
+        if (remoteKeys != null) {
+            remoteKeys.refresh(); // Off the request path; failures keep the cached keys
+        }
+    }
+
+    // Key for one token: the header must name both the algorithm and a key we trust for it
+    private Key verificationKey(JwsHeader<?> header, Claims claims) {
+        String kid = header.getKeyId();
+        if (kid == null) {
+            if (legacyKey != null && SignatureAlgorithm.HS256.getValue().equals(header.getAlgorithm())
+                    && claims.getIssuedAt() != null && claims.getIssuedAt().before(legacyCutOver)) {
+                return legacyKey; // Issued before the switch to ES256; gone once those have expired
+            }
+            throw new SignatureException("Token has no key ID");
+        }
+        if (!SignatureAlgorithm.ES256.getValue().equals(header.getAlgorithm())) {
+            throw new SignatureException("Unexpected signature algorithm"); // A kid never pairs with an HMAC secret
+        }
+        Key key = signingKeys.publicKey(kid);
+        if (key == null && remoteKeys != null) {
+            key = remoteKeys.resolve(kid); // Cached; refetched at most every jwt.jwks.minRefreshMs
+        }
+        if (key == null) {
+            throw new SignatureException("Unknown signing key");
+        }
+        return key;
+    }
+
+    // === Parse and verify a token once; later calls for the same token hit the cache ===
+    // Throws io.jsonwebtoken.JwtException if the token is malformed, tampered with, or expired.
+    public Claims verify(String token) {
+        long now = System.currentTimeMillis();
+        String key = claimsCache.keyOf(token);
+
+        Claims cached = claimsCache.get(key, now); // Returns null once the token has expired
+        if (cached != null) {
+            return cached;
+        }
+
+        Claims claims = parser.parseClaimsJws(token).getBody(); // Signature + expiry check
+        claimsCache.put(key, claims, now);
+        return claims;
+    }
+
+    // === True for tokens that may be legacy HS256 ones, whose claims other than the subject are not trusted ===
+    // Every accepted token without a kid was issued before the cut-over, so this errs only towards
+    // ES256 tokens issued before it too (they are then authenticated from the database as well).
+    public boolean isLegacy(Claims claims) {
+        return legacyCutOver != null && claims.getIssuedAt() != null && claims.getIssuedAt().before(legacyCutOver);
+    }
+
     // === Extract a claim: username ===
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject); // Get the subject field (usually the username)
@@ -65,40 +214,90 @@ public class JwtUtil {
 
     // === Generic method to extract any claim using a function ===
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        Claims claims = extractAllClaims(token); // Get all claims
+        Claims claims = verify(token); // Get all claims (cached after the first call)
         return claimsResolver.apply(claims); // Apply the function to get specific value
     }
 
-    // === Helper method to decode and return all token claims ===
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder() // Start building the parser
-                .setSigningKey(secret.getBytes()) // Use the secret key to decode
-                .build() // Finish building parser
-                .parseClaimsJws(token) // Parse the JWT string
-                .getBody(); // Return the claims inside it
+    // === Check if already-verified claims are expired ===
+    private boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date()); // Compare expiration with current time
+    }
+
+    // === Extract the roles embedded at login (older tokens without the claim get ROLE_USER) ===
+    @SuppressWarnings("unchecked")
+    public List<String> extractRoles(Claims claims) {
+        Object roles = claims.get(CLAIM_ROLES);
+        return roles instanceof List<?> list ? (List<String>) list : List.of("ROLE_USER");
+    }
+
+    // === Extract the token version (older tokens without the claim count as version 0) ===
+    public int extractTokenVersion(Claims claims) {
+        Integer version = claims.get(CLAIM_TOKEN_VERSION, Integer.class);
+        return version != null ? version : 0;
+    }
+
+    // === Extract the token ID (null for tokens issued before IDs existed) ===
+    public String extractTokenId(Claims claims) {
+        return claims.getId();
     }
 
-    // === Check if token is expired ===
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date()); // Compare expiration with current time
+    // === Extract the user ID (null for older tokens) ===
+    public Long extractUserId(Claims claims) {
+        Number id = claims.get(CLAIM_USER_ID, Number.class);
+        return id != null ? id.longValue() : null;
     }
 
     // === Generate a token given the username ===
     public String generateToken(String username) {
+        return buildToken(username, null, List.of("ROLE_USER"), 0).token();
+    }
+
+    // === Generate a self-contained token for a logged-in user (ID, roles and token version embedded) ===
+    public String generateToken(AppUserDetails user) {
+        return issueAccessToken(user).token();
+    }
+
+    // === Same as generateToken, but also returns the ID and expiry (recorded with the refresh token) ===
+    public AccessToken issueAccessToken(AppUserDetails user) {
+        List<String> roles = user.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+        return buildToken(user.getUsername(), user.getId(), roles, user.getTokenVersion());
+    }
+
+    // === Lifetime of an access token, in seconds (returned to clients as expiresIn) ===
+    public long getExpirationSeconds() {
+        return jwtExpirationMs / 1000;
+    }
+
+    private AccessToken buildToken(String username, Long userId, Collection<String> roles, int tokenVersion) {
         Date now = new Date(); // Current timestamp
-        Date expiryDate = new Date(now.getTime() + jwtExpirationMs); // Add expiration duration
+        Date expiryDate = new Date((now.getTime() + jwtExpirationMs) / 1000 * 1000); // Whole seconds, exactly as "exp" reads back
+        String jti = UUID.randomUUID().toString(); // Lets this one token be revoked
+        SigningKeyService.SigningKey key = signingKeys.signingKey(); // Current key; rotated in the background
 
-        return Jwts.builder() // Start building token
+        String token = Jwts.builder() // Start building token
+                .setHeaderParam(JwsHeader.KEY_ID, key.kid()) // Tells verifiers which public key to use
+                .setId(jti)                   // Store the token ID
                 .setSubject(username)         // Store username
+                .claim(CLAIM_USER_ID, userId) // Store user ID (skipped when null)
+                .claim(CLAIM_ROLES, roles)    // Store granted roles
+                .claim(CLAIM_TOKEN_VERSION, tokenVersion) // Store token version for revocation
                 .setIssuedAt(now)             // Set issue time
                 .setExpiration(expiryDate)    // Set expiry time
-                .signWith(SignatureAlgorithm.HS256, secret.getBytes()) // Use HS256 algorithm and secret
+                .signWith(key.privateKey(), SignatureAlgorithm.ES256) // ECDSA P-256: verifiable with the public key alone
                 .compact(); // Finalize and get token string
+        return new AccessToken(token, jti, expiryDate.toInstant());
     }
 
     // === Validate token ===
     public Boolean validateToken(String token, String userDetailsUsername) {
-        final String username = extractUsername(token); // Get username from token
-        return (username.equals(userDetailsUsername) && !isTokenExpired(token)); // Match + not expired = valid
+        return validateToken(verify(token), userDetailsUsername);
+    }
+
+    // === Validate claims that were already verified in this request (no second parse) ===
+    public boolean validateToken(Claims claims, String userDetailsUsername) {
+        final String username = claims.getSubject(); // Get username from token
+        return (username.equals(userDetailsUsername) && !isTokenExpired(claims)); // Match + not expired = valid
     }
-}
\ No newline at end of file
+}
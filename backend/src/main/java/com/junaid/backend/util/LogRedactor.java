@@ -0,0 +1,50 @@
+// ==========================================================
+// File: LogRedactor.java
+//
+// ❖ ROLE:
+//    - Masks secrets and personal data before they reach a log line.
+//
+// ❖ WHY IT'S IMPORTANT:
+//    - A bearer token in a log file works as a password until it expires. Usernames and
+//      emails are personal data, and log retention rarely follows the database's rules.
+//    - The masked forms still let two lines about the same token or user be correlated.
+//
+// ❖ USED IN:
+//    - JwtRequestFilter.java (and any code that needs to mention a token or a user)
+// ==========================================================
+
+package com.junaid.backend.util; // This file is inside the 'util' package
+
+public final class LogRedactor {
+
+    private LogRedactor() {
+    }
+
+    // === "jwt#1a2b3c4d(183)": a short fingerprint plus the length, never the token itself ===
+    public static String token(String token) {
+        if (token == null) {
+            return "none";
+        }
+        return "jwt#" + Integer.toHexString(token.hashCode()) + "(" + token.length() + ")";
+    }
+
+    // === "j***e": enough to tell users apart while reading a trace ===
+    public static String username(String username) {
+        if (username == null || username.isEmpty()) {
+            return "none";
+        }
+        if (username.length() <= 2) {
+            return username.charAt(0) + "***";
+        }
+        return username.charAt(0) + "***" + username.charAt(username.length() - 1);
+    }
+
+    // === "j***@example.com": the domain is kept, the mailbox is not ===
+    public static String email(String email) {
+        if (email == null) {
+            return "none";
+        }
+        int at = email.indexOf('@');
+        return at <= 0 ? "***" : email.charAt(0) + "***" + email.substring(at);
+    }
+}
@@ -0,0 +1,44 @@
+// ==========================================================
+// File: LogSampler.java
+//
+// ❖ ROLE:
+//    - Lets through one event in every N for a log category (N = 1 logs everything).
+//
+// ❖ WHY IT'S IMPORTANT:
+//    - Per-request diagnostics are useful, but at full volume they cost more than the
+//      request itself. Sampling keeps a representative trace at a fraction of the cost.
+//    - Lock-free: one atomic increment per sampled check.
+//
+// ❖ HOW TO USE:
+//    - Check the level first, so a disabled logger costs nothing:
+//        if (log.isDebugEnabled() && sampler.sample()) { log.debug(...); }
+//    - N comes from logging.sample.<category> (see application-*.properties).
+//
+// ❖ USED IN:
+//    - JwtRequestFilter.java (category "jwt-filter")
+// ==========================================================
+
+package com.junaid.backend.util; // This file is inside the 'util' package
+
+import java.util.concurrent.atomic.AtomicLong; // Shared event counter
+
+public class LogSampler {
+
+    private final AtomicLong counter = new AtomicLong(); // Events seen so far
+    private volatile long every = 1; // Keep one event in this many
+
+    // === true for the 1st, (N+1)th, (2N+1)th ... event ===
+    public boolean sample() {
+        long n = every;
+        return n <= 1 || counter.getAndIncrement() % n == 0;
+    }
+
+    // === Changes the rate at runtime (values below 1 mean "log everything") ===
+    public void setEvery(long every) {
+        this.every = Math.max(1, every);
+    }
+
+    public long getEvery() {
+        return every;
+    }
+}
@@ -0,0 +1,88 @@
+// ==========================================================
+// File: RevokedTokenSet.java
+//
+// ❖ ROLE:
+//    - In-memory set of revoked access token IDs ("jti" claim), checked on every request.
+//    - Each entry lives only as long as the token it revokes: once a token has expired it
+//      is rejected anyway, so the revocation is no longer needed.
+//
+// ❖ WHY IT'S IMPORTANT:
+//    - Logging out, refresh token reuse and account actions must stop a token before it expires,
+//      but the check sits on the hot path of every authenticated request.
+//
+// ❖ HOW IT WORKS:
+//    - Entries are grouped into time buckets by the token's expiry (bucketMillis wide).
+//      A lookup already knows the token's expiry, so it reads exactly one bucket: one map
+//      lookup plus one set lookup, whatever the number of revoked tokens.
+//    - Each jti is stored as a 64-bit fingerprint (a boxed long instead of a 36-char string).
+//      A false positive needs a 64-bit collision with a revoked ID that expires in the same
+//      bucket, which is negligible for random UUIDs.
+//    - expire() drops whole buckets whose tokens have all expired. Nothing is scanned per entry.
+//
+// ❖ USED IN:
+//    - TokenRevocationService.java (owns the set; JwtRequestFilter asks it per request)
+// ==========================================================
+
+package com.junaid.backend.util; // This file is inside the 'util' package
+
+import java.util.Map; // Map interface
+import java.util.Set; // One bucket
+import java.util.concurrent.ConcurrentHashMap; // Lock-free reads from request threads
+
+public class RevokedTokenSet {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L; // FNV-1a 64-bit parameters
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final Map<Long, Set<Long>> buckets = new ConcurrentHashMap<>(); // expiry bucket -> jti fingerprints
+    private final long bucketMillis; // Width of one bucket
+
+    public RevokedTokenSet(long bucketMillis) {
+        if (bucketMillis < 1) {
+            throw new IllegalArgumentException("bucketMillis must be positive");
+        }
+        this.bucketMillis = bucketMillis;
+    }
+
+    // === Revokes a token until its expiry; already-expired tokens are not stored ===
+    public void add(String jti, long expiresAtMillis, long nowMillis) {
+        if (jti == null || expiresAtMillis <= nowMillis) {
+            return;
+        }
+        buckets.computeIfAbsent(expiresAtMillis / bucketMillis, b -> ConcurrentHashMap.newKeySet())
+                .add(fingerprint(jti));
+    }
+
+    // === Hot path: one bucket lookup, keyed by the token's own expiry ===
+    public boolean contains(String jti, long expiresAtMillis) {
+        if (jti == null) {
+            return false; // Tokens issued before IDs existed can only be revoked by version
+        }
+        Set<Long> bucket = buckets.get(expiresAtMillis / bucketMillis);
+        return bucket != null && bucket.contains(fingerprint(jti));
+    }
+
+    // === Drops every bucket whose tokens have all expired ===
+    public void expire(long nowMillis) {
+        buckets.keySet().removeIf(bucket -> (bucket + 1) * bucketMillis <= nowMillis);
+    }
+
+    // === Number of revoked tokens held (for diagnostics) ===
+    public int size() {
+        int size = 0;
+        for (Set<Long> bucket : buckets.values()) {
+            size += bucket.size();
+        }
+        return size;
+    }
+
+    // 64-bit FNV-1a over the characters: cheap, allocation-free and well spread for UUID strings
+    private static long fingerprint(String jti) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < jti.length(); i++) {
+            hash ^= jti.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,134 @@
+// ==========================================================
+// File: TokenBucketLimiter.java
+//
+// ❖ ROLE:
+//    - Thread-safe set of token buckets, one per key (client IP, username, ...).
+//    - A bucket holds up to `capacity` tokens and refills at `refillPerMinute`; every
+//      request takes one token, and an empty bucket says how long until the next one.
+//
+// ❖ WHY IT'S IMPORTANT:
+//    - Lets the busiest endpoints (BCrypt logins, multipart uploads) refuse a flooding
+//      client in nanoseconds, before any expensive work starts.
+//
+// ❖ HOW IT WORKS:
+//    - Each bucket is a single AtomicLong: the "theoretical arrival time" of the next
+//      request (GCRA, the virtual-scheduling form of a token bucket). Taking a token is
+//      one compare-and-set, so request threads never lock each other out.
+//    - Buckets live in a ConcurrentHashMap (lock-striped writes, lock-free reads).
+//    - A bucket whose arrival time has passed is full, which is exactly what a missing
+//      bucket means, so idle buckets can be evicted without losing any state.
+//
+// ❖ EVICTION:
+//    - Full buckets are dropped by a sweep that runs at most once per SWEEP_INTERVAL.
+//    - While the map is at maxKeys, new keys share one overflow bucket until a sweep makes
+//      room. A flood of fresh keys (random usernames, many addresses) is then limited like a
+//      single client instead of not at all: the limiter fails closed.
+//
+// ❖ USED IN:
+//    - RateLimitFilter.java, LoginThrottle.java
+// ==========================================================
+
+package com.junaid.backend.util; // This file is inside the 'util' package
+
+import java.util.Map; // Map interface
+import java.util.concurrent.ConcurrentHashMap; // Lock-striped map safe for request threads
+import java.util.concurrent.TimeUnit; // Minute -> nanos conversion
+import java.util.concurrent.atomic.AtomicLong; // One bucket; also schedules the next sweep
+
+public class TokenBucketLimiter {
+
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(30); // Sweep full buckets at most this often
+
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>(); // key -> theoretical arrival time (nanos)
+    private final AtomicLong nextSweepAt = new AtomicLong(System.nanoTime()); // nanoTime of the next allowed sweep
+    private final AtomicLong overflow = new AtomicLong(System.nanoTime()); // Shared by keys that arrive while the map is full
+    private final long intervalNanos; // Time to refill one token
+    private final long burstNanos; // Time to refill a whole bucket (capacity x interval)
+    private final int maxKeys; // Upper bound on tracked buckets
+
+    public TokenBucketLimiter(int capacity, double refillPerMinute, int maxKeys) {
+        if (capacity < 1 || refillPerMinute <= 0) {
+            throw new IllegalArgumentException("capacity and refillPerMinute must be positive");
+        }
+        this.intervalNanos = Math.max(1, (long) (TimeUnit.MINUTES.toNanos(1) / refillPerMinute));
+        this.burstNanos = intervalNanos * capacity;
+        this.maxKeys = maxKeys;
+    }
+
+    // === Takes a token; returns 0 if the request may proceed, otherwise nanos until a token is available ===
+    public long tryAcquire(String key, long nowNanos) {
+        AtomicLong bucket = bucket(key, nowNanos);
+        while (true) {
+            long tat = bucket.get();
+            long next = Math.max(tat, nowNanos) + intervalNanos; // Arrival time after taking one token
+            long wait = next - nowNanos - burstNanos;
+            if (wait > 0) {
+                return wait; // Bucket empty; nothing is taken
+            }
+            if (bucket.compareAndSet(tat, next)) {
+                return 0;
+            }
+        }
+    }
+
+    // === Like tryAcquire, but only looks: returns nanos until a token would be available (0 = now) ===
+    public long peek(String key, long nowNanos) {
+        AtomicLong bucket = tracked(key);
+        if (bucket == null) {
+            return 0; // Full bucket
+        }
+        return Math.max(0, Math.max(bucket.get(), nowNanos) + intervalNanos - nowNanos - burstNanos);
+    }
+
+    // === Gives one token back (e.g. the request turned out to be legitimate) ===
+    public void refund(String key, long nowNanos) {
+        AtomicLong bucket = tracked(key);
+        if (bucket == null) {
+            return; // Already full
+        }
+        while (true) {
+            long tat = bucket.get();
+            if (tat <= nowNanos || bucket.compareAndSet(tat, Math.max(nowNanos, tat - intervalNanos))) {
+                return; // Never fills beyond capacity
+            }
+        }
+    }
+
+    // === Number of tracked buckets (for diagnostics) ===
+    public int size() {
+        return buckets.size();
+    }
+
+    private AtomicLong bucket(String key, long nowNanos) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket; // Common case: no allocation
+        }
+
+        long sweepAt = nextSweepAt.get();
+        // Interval only, even when full: a flood of new keys must not turn every request into a full scan
+        if (nowNanos - sweepAt >= 0 && nextSweepAt.compareAndSet(sweepAt, nowNanos + SWEEP_INTERVAL_NANOS)) {
+            evictFull(nowNanos); // Only one thread sweeps at a time
+        }
+
+        if (buckets.size() >= maxKeys) {
+            return overflow; // No room: charged to the shared bucket, never let through for free
+        }
+        return buckets.computeIfAbsent(key, k -> new AtomicLong(nowNanos)); // Starts full
+    }
+
+    // The key's bucket without creating one: the overflow bucket while the map is full, else null (= full bucket)
+    private AtomicLong tracked(String key) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null && buckets.size() >= maxKeys) {
+            return overflow; // Where tryAcquire would charge this key
+        }
+        return bucket;
+    }
+
+    // A request that fetched a bucket just before it is removed charges the removed copy;
+    // at worst one request per sweep goes uncounted, in a bucket that was full anyway.
+    private void evictFull(long nowNanos) {
+        buckets.values().removeIf(bucket -> bucket.get() - nowNanos <= 0); // Full again: same as absent
+    }
+}
@@ -0,0 +1,107 @@
+// ==========================================================
+// File: VerifiedClaimsCache.java
+//
+// ❖ ROLE:
+//    - Bounded, thread-safe cache of JWT claims that have already been signature-checked.
+//    - Keyed by a SHA-256 digest of the token, so raw tokens are never kept as map keys.
+//
+// ❖ WHY IT'S IMPORTANT:
+//    - The same token arrives on every request of a session; parsing, base64-decoding and
+//      HMAC-verifying it each time is pure repeated work.
+//    - Entries die with their token: a lookup never returns claims past their "exp".
+//
+// ❖ USED IN:
+//    - JwtUtil.java (consulted before parsing, filled after a successful verification)
+//
+// ❖ EVICTION:
+//    - Expired entries are dropped on lookup and by a periodic sweep.
+//    - The sweep runs at most once per SWEEP_INTERVAL_MS, even when the cache is full, so a flood
+//      of distinct tokens never turns every put into a full scan. While full, new tokens are
+//      verified as usual but not cached.
+// ==========================================================
+
+package com.junaid.backend.util; // This file is inside the 'util' package
+
+import io.jsonwebtoken.Claims; // Verified claims of a token
+
+import java.nio.charset.StandardCharsets; // Token bytes are UTF-8
+import java.security.MessageDigest; // SHA-256 for cache keys
+import java.security.NoSuchAlgorithmException; // Declared by MessageDigest.getInstance
+import java.util.Base64; // Compact encoding of the digest
+import java.util.Map; // Map interface
+import java.util.concurrent.ConcurrentHashMap; // Lock-striped map safe for request threads
+import java.util.concurrent.atomic.AtomicLong; // Schedules the next sweep without locking
+
+public class VerifiedClaimsCache {
+
+    private static final long SWEEP_INTERVAL_MS = 60_000; // Sweep expired entries at most once a minute
+
+    // MessageDigest is not thread-safe, so each request thread keeps its own instance
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>(); // digest -> verified claims
+    private final AtomicLong nextSweepAt = new AtomicLong(); // Epoch millis of the next allowed sweep
+    private final int maxEntries; // Upper bound on cached tokens
+
+    public VerifiedClaimsCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    // === Cache key for a token ===
+    public String keyOf(String token) {
+        byte[] digest = SHA256.get().digest(token.getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(digest); // 43 chars regardless of token size
+    }
+
+    // === Returns cached claims, or null if absent or already expired ===
+    public Claims get(String key, long nowMillis) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null; // Never verified (or evicted)
+        }
+        if (entry.expiresAtMillis <= nowMillis) {
+            entries.remove(key, entry); // Token expired — drop it so the parser reports the expiry
+            return null;
+        }
+        return entry.claims;
+    }
+
+    // === Stores freshly verified claims until the token's own expiration ===
+    public void put(String key, Claims claims, long nowMillis) {
+        if (maxEntries <= 0 || claims.getExpiration() == null) {
+            return; // Caching disabled, or a token without "exp" (never cached — it would live forever)
+        }
+
+        long expiresAt = claims.getExpiration().getTime();
+        if (expiresAt <= nowMillis) {
+            return; // Already expired, nothing to cache
+        }
+
+        long sweepAt = nextSweepAt.get();
+        if (nowMillis >= sweepAt && nextSweepAt.compareAndSet(sweepAt, nowMillis + SWEEP_INTERVAL_MS)) {
+            evictExpired(nowMillis); // Only one thread sweeps at a time, and only once per interval
+        }
+
+        if (entries.size() < maxEntries) { // Full until the next sweep: skip caching rather than scan again
+            entries.put(key, new Entry(claims, expiresAt));
+        }
+    }
+
+    // === Number of cached tokens (for diagnostics) ===
+    public int size() {
+        return entries.size();
+    }
+
+    private void evictExpired(long nowMillis) {
+        entries.values().removeIf(entry -> entry.expiresAtMillis <= nowMillis);
+    }
+
+    // One cached verification result
+    private record Entry(Claims claims, long expiresAtMillis) { }
+}
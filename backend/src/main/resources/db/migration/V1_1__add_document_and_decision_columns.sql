@@ -0,0 +1,10 @@
+-- Columns the application gained while the schema was still managed by ddl-auto=update: the
+-- DocumentStore reference and metadata of the supporting document, and the credit decision.
+-- Baselined databases may already have some of them (whatever ddl-auto added), hence "if not exists".
+alter table loan_applications add column if not exists document_ref          varchar(64);
+alter table loan_applications add column if not exists document_name         varchar(255);
+alter table loan_applications add column if not exists document_content_type varchar(255);
+alter table loan_applications add column if not exists document_size         bigint;
+alter table loan_applications add column if not exists status                varchar(16) default 'APPROVED';
+alter table loan_applications add column if not exists credit_score          integer;
+alter table loan_applications add column if not exists decision_message      varchar(512);
@@ -0,0 +1,35 @@
+-- Schema as spring.jpa.hibernate.ddl-auto=update generated it before Flyway took over (@Lob byte[]
+-- maps to a large-object oid). Databases created that way are baselined at this version
+-- (spring.flyway.baseline-on-migrate), so this script only runs on empty databases; everything
+-- added since then lives in later versions, which both kinds of database go through.
+
+create table users (
+    id                bigint generated by default as identity primary key,
+    username          varchar(255)  not null,
+    password          varchar(255)  not null,
+    first_name        varchar(255)  not null,
+    middle_name       varchar(255),
+    last_name         varchar(255)  not null,
+    contact_number    varchar(255)  not null,
+    email             varchar(255)  not null,
+    address           varchar(255)  not null,
+    date_of_birth     date          not null,
+    id_type           varchar(255)  not null,
+    id_number         varchar(255)  not null,
+    employment_status varchar(255)  not null,
+    annual_income     numeric(38, 2),
+    constraint uk_users_username unique (username),
+    constraint uk_users_email unique (email),
+    constraint uk_users_id_number unique (id_number)
+);
+
+create table loan_applications (
+    id                    bigint generated by default as identity primary key,
+    username              varchar(255)  not null,
+    name_of_applicant     varchar(255)  not null,
+    loan_type             varchar(255)  not null,
+    amount                float(53)     not null,
+    tenure                integer       not null,
+    interest_rate         float(53)     not null,
+    "supporting document" oid
+);
@@ -0,0 +1,81 @@
+-- Rebuilds loan_applications as a table range-partitioned by month on created_at.
+--
+--  * created_at is new and nothing recorded when older rows were submitted. They get the sentinel
+--    1970-01-01T00:00:00Z ("submitted before created_at existed"), which keeps them out of every
+--    monthly partition (they go to loan_applications_default) instead of passing them off as
+--    applications submitted on the day of the migration.
+--  * Identity columns cannot span partitions (before PostgreSQL 17), so ids come from
+--    loan_applications_seq. It increments by 50 to match Hibernate's pooled-lo allocation:
+--    the application reserves 50 ids per nextval, and SQL inserts (bulk import) take one
+--    block each through the column default.
+--  * The primary key of a partitioned table must contain the partition key: (id, created_at).
+--  * ix_loan_applications_username_id serves "my applications" (username = ? order by id desc)
+--    and its keyset pages; ix_loan_applications_pending serves the startup recovery query.
+--  * ensure_loan_application_partitions(n) creates the current month and the next n months.
+--    The application calls it daily (LoanPartitionMaintenance); rows outside every monthly
+--    partition go to loan_applications_default.
+
+alter table loan_applications rename to loan_applications_unpartitioned;
+
+create sequence loan_applications_seq increment by 50;
+select setval('loan_applications_seq', coalesce((select max(id) from loan_applications_unpartitioned), 0) + 1, false);
+
+create table loan_applications (
+    id                    bigint        not null default nextval('loan_applications_seq'),
+    username              varchar(255)  not null,
+    name_of_applicant     varchar(255)  not null,
+    loan_type             varchar(255)  not null,
+    amount                float(53)     not null,
+    tenure                integer       not null,
+    interest_rate         float(53)     not null,
+    document_ref          varchar(64),
+    document_name         varchar(255),
+    document_content_type varchar(255),
+    document_size         bigint,
+    status                varchar(16) default 'APPROVED',
+    credit_score          integer,
+    decision_message      varchar(512),
+    created_at            timestamp(6) with time zone not null default now(),
+    constraint pk_loan_applications primary key (id, created_at)
+) partition by range (created_at);
+
+alter sequence loan_applications_seq owned by loan_applications.id;
+
+create table loan_applications_default partition of loan_applications default;
+
+create function ensure_loan_application_partitions(months_ahead integer) returns integer
+language plpgsql as $$
+declare
+    month_start date := date_trunc('month', now() at time zone 'UTC')::date;
+    partition_name text;
+    created integer := 0;
+begin
+    for i in 0..months_ahead loop
+        partition_name := 'loan_applications_' || to_char(month_start, 'YYYY_MM');
+        if to_regclass(partition_name) is null then
+            execute format('create table %I partition of loan_applications for values from (%L) to (%L)',
+                           partition_name,
+                           month_start::timestamp at time zone 'UTC',
+                           (month_start + interval '1 month')::timestamp at time zone 'UTC');
+            created := created + 1;
+        end if;
+        month_start := (month_start + interval '1 month')::date;
+    end loop;
+    return created;
+end
+$$;
+
+select ensure_loan_application_partitions(3);
+
+insert into loan_applications (id, username, name_of_applicant, loan_type, amount, tenure, interest_rate,
+                               document_ref, document_name, document_content_type, document_size,
+                               status, credit_score, decision_message, created_at)
+select id, username, name_of_applicant, loan_type, amount, tenure, interest_rate,
+       document_ref, document_name, document_content_type, document_size,
+       status, credit_score, decision_message, timestamptz '1970-01-01 00:00:00+00' -- Sentinel: submission time unknown
+from loan_applications_unpartitioned;
+
+drop table loan_applications_unpartitioned;
+
+create index ix_loan_applications_username_id on loan_applications (username, id);
+create index ix_loan_applications_pending on loan_applications (id) where status = 'PENDING';
@@ -0,0 +1,3 @@
+-- Optimistic-locking version of each application (LoanApplication.version).
+-- JPA increments it on entity updates; the decision pipeline's batched UPDATE increments it too.
+alter table loan_applications add column version bigint not null default 0;
@@ -0,0 +1,28 @@
+-- One row per blob in the DocumentStore, with the number of loan applications referencing it.
+-- Blobs left at ref_count = 0 (e.g. uploads of rejected applications) are deleted by
+-- DocumentIngestionService once touched_at is older than document.sweep.graceMinutes.
+create table document_blobs (
+    reference     varchar(64)  primary key,
+    content_type  varchar(100) not null,
+    compressed    boolean      not null,
+    original_size bigint       not null,
+    stored_size   bigint       not null,
+    ref_count     integer      not null,
+    touched_at    timestamp(6) with time zone not null
+);
+
+-- Sweep candidates only; referenced blobs never enter this index
+create index ix_document_blobs_unreferenced on document_blobs (touched_at) where ref_count = 0;
+
+-- Blobs stored before this migration were written raw with the client's content type
+insert into document_blobs (reference, content_type, compressed, original_size, stored_size, ref_count, touched_at)
+select document_ref,
+       left(coalesce(max(document_content_type), 'application/octet-stream'), 100),
+       false,
+       coalesce(max(document_size), 0),
+       coalesce(max(document_size), 0),
+       count(*),
+       now()
+from loan_applications
+where document_ref is not null
+group by document_ref;
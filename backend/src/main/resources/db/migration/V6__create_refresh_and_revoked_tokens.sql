@@ -0,0 +1,31 @@
+-- Refresh tokens (RefreshTokenService). Only the SHA-256 of a token is stored, never the token itself.
+-- Every refresh marks the presented token used and issues a new one in the same family; presenting
+-- a used token again (after a short grace period) revokes the whole family.
+create table refresh_tokens (
+    token_hash        varchar(64)  primary key,
+    family_id         varchar(36)  not null,
+    username          varchar(255) not null,
+    access_jti        varchar(36)  not null,
+    access_expires_at timestamp(6) with time zone not null,
+    issued_at         timestamp(6) with time zone not null,
+    expires_at        timestamp(6) with time zone not null,
+    used_at           timestamp(6) with time zone
+);
+
+create index ix_refresh_tokens_family on refresh_tokens (family_id);
+create index ix_refresh_tokens_username on refresh_tokens (username);
+create index ix_refresh_tokens_expires_at on refresh_tokens (expires_at);
+
+-- Revoked access tokens (TokenRevocationService), kept until the token would have expired.
+-- Each node holds the unexpired rows in memory and polls for rows revoked on other nodes.
+create table revoked_tokens (
+    jti        varchar(36) primary key,
+    expires_at timestamp(6) with time zone not null,
+    revoked_at timestamp(6) with time zone not null
+);
+
+create index ix_revoked_tokens_revoked_at on revoked_tokens (revoked_at);
+create index ix_revoked_tokens_expires_at on revoked_tokens (expires_at);
+
+-- Bumped to invalidate every access token issued to a user (TokenVersionService); tokens carry it as "ver".
+alter table users add column token_version integer default 0 not null;
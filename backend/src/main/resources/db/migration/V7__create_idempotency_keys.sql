@@ -0,0 +1,14 @@
+-- Idempotency-Key records (JdbcIdempotencyStore, app.idempotency.store=jdbc). key_hash is the SHA-256
+-- of the caller's scope, the path and the client's key. status_code stays null while the first
+-- request runs; expires_at is then its lock deadline, and afterwards how long the response is replayed.
+create table idempotency_keys (
+    key_hash     varchar(64)   primary key,
+    fingerprint  varchar(64)   not null,
+    status_code  integer,
+    content_type varchar(255),
+    location     varchar(2048),
+    body         bytea,
+    expires_at   timestamp(6) with time zone not null
+);
+
+create index ix_idempotency_keys_expires_at on idempotency_keys (expires_at);
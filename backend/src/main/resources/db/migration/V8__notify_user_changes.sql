@@ -0,0 +1,16 @@
+-- Announces every change to a user row on the "user_changed" channel (payload: the username), so each
+-- node's UserCache evicts that user. NOTIFY is delivered on commit, and only to sessions that LISTEN.
+-- Inserts are not announced: a user that did not exist cannot be cached.
+create or replace function notify_user_changed() returns trigger as $$
+begin
+    perform pg_notify('user_changed', old.username);
+    if tg_op = 'UPDATE' and new.username is distinct from old.username then
+        perform pg_notify('user_changed', new.username);
+    end if;
+    return null;
+end;
+$$ language plpgsql;
+
+create trigger trg_users_notify_changed
+    after update or delete on users
+    for each row execute function notify_user_changed();
@@ -0,0 +1,81 @@
+#!/usr/bin/env bash
+# =====================================================================
+# File: compare-thread-modes.sh
+# Purpose:
+#   Runs the same HTTP load against the backend twice: once on the platform-thread
+#   Tomcat pool and once with the "virtual" profile. Prints throughput and p99
+#   latency for each mode and writes the raw results to a CSV file.
+#
+# Requirements:
+#   - PostgreSQL reachable with the settings in application.properties
+#   - Java 21 (JAVA_HOME) and a jar built with: (cd backend && mvn -Pjava21 package -DskipTests)
+#   - hey (https://github.com/rakyll/hey) and curl on the PATH
+#
+# Usage:
+#   benchmarks/load/compare-thread-modes.sh [duration=60s] [concurrency=400]
+#
+# Both modes run on the same JVM and the same database, with the prod profile.
+# Only the thread model changes, so the two result lines can be compared.
+# =====================================================================
+set -euo pipefail
+
+DURATION="${1:-60s}"
+CONCURRENCY="${2:-400}"
+BASE_URL="http://localhost:8080"
+ROOT="$(cd "$(dirname "$0")/../.." && pwd)"
+JAR="$ROOT/backend/target/backend-0.0.1-SNAPSHOT-exec.jar"
+OUT="$ROOT/benchmarks/load/results"
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+USERNAME="loadtest_$(date +%s)"
+PASSWORD="LoadTest#2024"
+
+mkdir -p "$OUT"
+[ -f "$JAR" ] || { echo "Missing $JAR - build the backend first" >&2; exit 1; }
+command -v hey >/dev/null || { echo "hey is not installed" >&2; exit 1; }
+
+wait_until_up() {
+  for _ in $(seq 1 90); do
+    curl -sf "$BASE_URL/actuator/health" >/dev/null && return 0
+    sleep 1
+  done
+  echo "Backend did not start" >&2
+  return 1
+}
+
+token() {
+  curl -sf -X POST "$BASE_URL/api/authenticate" -H 'Content-Type: application/json' \
+    -d "{\"username\":\"$USERNAME\",\"password\":\"$PASSWORD\"}" | sed -E 's/.*"(jwt|token)"\s*:\s*"([^"]+)".*/\2/'
+}
+
+run_mode() {
+  local mode="$1" profiles="$2"
+  echo "=== $mode (profiles: $profiles) ==="
+  "$JAVA" -jar "$JAR" --spring.profiles.active="$profiles" >"$OUT/$mode.log" 2>&1 &
+  local pid=$!
+  trap 'kill $pid 2>/dev/null || true' RETURN
+  wait_until_up
+
+  # The same user in both runs; registration just answers 409 the second time
+  curl -s -o /dev/null -X POST "$BASE_URL/api/register" -H 'Content-Type: application/json' -d "{
+    \"username\":\"$USERNAME\",\"password\":\"$PASSWORD\",\"firstName\":\"Load\",\"lastName\":\"Test\",
+    \"contactNumber\":\"5550100\",\"email\":\"$USERNAME@example.com\",\"address\":\"1 Test St\",
+    \"dob\":\"1990-01-01\",\"idType\":\"passport\",\"idNumber\":\"$USERNAME\",\"employmentStatus\":\"employed\"}"
+  local jwt
+  jwt="$(token)"
+
+  # Warm-up (JIT, connection pool), then the measured run
+  hey -z 15s -c "$CONCURRENCY" -H "Authorization: Bearer $jwt" "$BASE_URL/api/loans/my-applications" >/dev/null
+  hey -z "$DURATION" -c "$CONCURRENCY" -H "Authorization: Bearer $jwt" \
+    "$BASE_URL/api/loans/my-applications" | tee "$OUT/$mode.txt"
+
+  local rps p99
+  rps="$(awk '/Requests\/sec/ {print $2}' "$OUT/$mode.txt")"
+  p99="$(awk '/ 99% in / {print $3}' "$OUT/$mode.txt")"
+  echo "$mode,$CONCURRENCY,$DURATION,$rps,$p99" >>"$OUT/summary.csv"
+}
+
+echo "mode,concurrency,duration,requests_per_sec,p99_seconds" >"$OUT/summary.csv"
+run_mode platform prod
+run_mode virtual prod,virtual
+echo
+column -s, -t "$OUT/summary.csv"
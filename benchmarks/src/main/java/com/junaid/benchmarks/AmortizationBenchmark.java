@@ -0,0 +1,82 @@
+// ==========================================================
+// File: AmortizationBenchmark.java
+//
+// ❖ ROLE:
+//    - Measures the amortization engine: a single EMI, a full schedule filled into a
+//      reused AmortizationSchedule, and a what-if grid evaluated on the fork/join pool.
+//
+// ❖ WHY IT'S IMPORTANT:
+//    - Quotes are requested interactively and in bulk. Run with -prof gc to confirm the
+//      schedule path allocates nothing per installment.
+// ==========================================================
+
+package com.junaid.benchmarks; // Benchmark sources live apart from the backend packages
+
+import com.junaid.backend.amortization.AmortizationEngine; // Code under test
+import com.junaid.backend.amortization.AmortizationSchedule; // Reused schedule buffer
+import com.junaid.backend.model.WhatIfQuotes; // What-if result
+
+import org.openjdk.jmh.annotations.*; // JMH annotations
+import org.springframework.test.util.ReflectionTestUtils; // Sets private @Value fields
+
+import java.util.concurrent.TimeUnit; // Output unit
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AmortizationBenchmark {
+
+    private static final long PRINCIPAL_CENTS = 25_000_000L; // 250,000.00
+    private static final double RATE = 8.5;
+
+    @Param({"60", "240", "600"})
+    private int tenure;
+
+    private AmortizationEngine engine;
+    private AmortizationSchedule schedule;
+    private double[] rates; // 41 rates: 6.00% to 10.00% in 0.1 steps
+    private int[] tenures; // 30 tenures: 12 to 360 months in yearly steps
+
+    @Setup
+    public void setUp() {
+        engine = new AmortizationEngine();
+        ReflectionTestUtils.setField(engine, "maxTenureMonths", 600);
+        ReflectionTestUtils.setField(engine, "maxScenarios", 10_000);
+        ReflectionTestUtils.setField(engine, "sequentialThreshold", 64);
+        ReflectionTestUtils.setField(engine, "parallelism", 0);
+        ReflectionTestUtils.invokeMethod(engine, "init");
+
+        schedule = new AmortizationSchedule();
+        rates = new double[41];
+        for (int i = 0; i < rates.length; i++) {
+            rates[i] = 6.0 + i * 0.1;
+        }
+        tenures = new int[30];
+        for (int i = 0; i < tenures.length; i++) {
+            tenures[i] = (i + 1) * 12;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        ReflectionTestUtils.invokeMethod(engine, "shutdown");
+    }
+
+    @Benchmark
+    public long emi() {
+        return AmortizationEngine.emiCents(PRINCIPAL_CENTS, RATE, tenure);
+    }
+
+    @Benchmark
+    public long schedule() {
+        return AmortizationEngine.fill(schedule, PRINCIPAL_CENTS, RATE, tenure).totalInterestCents();
+    }
+
+    @Benchmark
+    public WhatIfQuotes whatIfGrid() { // 1,230 scenarios per call (independent of the tenure param)
+        return engine.whatIf(250_000, rates, tenures);
+    }
+}
@@ -0,0 +1,51 @@
+// ==========================================================
+// File: BCryptBenchmark.java
+//
+// ❖ ROLE:
+//    - Measures BCryptPasswordEncoder at several cost factors: encode (registration) and
+//      matches (every login).
+//
+// ❖ WHY IT'S IMPORTANT:
+//    - Shows how far security.bcrypt.targetMs is from each cost on the machine running
+//      the benchmark, and what one extra cost step adds to login latency.
+// ==========================================================
+
+package com.junaid.benchmarks; // Benchmark sources live apart from the backend packages
+
+import org.openjdk.jmh.annotations.*; // JMH annotations
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder; // Code under test
+
+import java.util.concurrent.TimeUnit; // Output unit
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BCryptBenchmark {
+
+    private static final String PASSWORD = "correct horse battery staple";
+
+    @Param({"8", "10", "12"})
+    private int cost;
+
+    private BCryptPasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        encoder = new BCryptPasswordEncoder(cost);
+        hash = encoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public String encode() {
+        return encoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches(PASSWORD, hash);
+    }
+}
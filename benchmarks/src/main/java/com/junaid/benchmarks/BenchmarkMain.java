@@ -0,0 +1,45 @@
+// ==========================================================
+// File: BenchmarkMain.java
+//
+// ❖ ROLE:
+//    - Entry point of benchmarks.jar. Accepts the usual JMH command line, but writes
+//      results as JSON to jmh-result.json unless -rf / -rff say otherwise.
+//
+// ❖ WHY IT'S IMPORTANT:
+//    - JSON results can be kept per release and diffed by tooling (e.g. jmh.morethan.io),
+//      so regressions on the request path show up as numbers, not impressions.
+// ==========================================================
+
+package com.junaid.benchmarks; // Benchmark sources live apart from the backend packages
+
+import org.openjdk.jmh.results.format.ResultFormatType; // JSON / CSV / TEXT ...
+import org.openjdk.jmh.runner.Runner; // Runs the selected benchmarks
+import org.openjdk.jmh.runner.options.CommandLineOptions; // Standard JMH arguments
+import org.openjdk.jmh.runner.options.OptionsBuilder; // Adds our defaults on top
+
+public final class BenchmarkMain {
+
+    private static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp() || commandLine.shouldList() || commandLine.shouldListProfilers()
+                || commandLine.shouldListResultFormats() || commandLine.shouldListWithParams()) {
+            org.openjdk.jmh.Main.main(args); // Informational commands behave exactly like plain JMH
+            return;
+        }
+
+        OptionsBuilder options = new OptionsBuilder();
+        options.parent(commandLine); // Everything given on the command line still applies
+        if (!commandLine.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!commandLine.getResult().hasValue()) {
+            options.result(DEFAULT_RESULT_FILE);
+        }
+        new Runner(options.build()).run();
+    }
+}
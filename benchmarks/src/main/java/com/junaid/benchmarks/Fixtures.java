@@ -0,0 +1,167 @@
+// ==========================================================
+// File: Fixtures.java
+//
+// ❖ ROLE:
+//    - Builds backend beans outside Spring for the benchmarks: injects the @Value fields
+//      and runs the @PostConstruct hooks the container would normally run.
+//
+// ❖ WHY IT'S IMPORTANT:
+//    - The benchmarks measure the real classes, with no application context and no database.
+//    - Fixture values mirror application.properties so results reflect production settings.
+// ==========================================================
+
+package com.junaid.benchmarks; // Benchmark sources live apart from the backend packages
+
+import com.junaid.backend.entity.User; // Row returned by the stubbed repository
+import com.junaid.backend.metrics.RequestMetrics; // Stage timers recorded on the measured paths
+import com.junaid.backend.model.AppUserDetails; // Logged-in user used to mint tokens
+import com.junaid.backend.policy.CreditPolicyEngine; // Credit rules and score source
+import com.junaid.backend.repository.RevokedTokenRepository; // Stubbed with Mockito
+import com.junaid.backend.repository.UserRepository; // Stubbed with Mockito
+import com.junaid.backend.service.LoanEventBroker; // Status change events (no subscribers here)
+import com.junaid.backend.service.MyUserDetailsService; // Database-mode authentication
+import com.junaid.backend.service.PortfolioAggregates; // Updated on every approved application
+import com.junaid.backend.service.SigningKeyService; // ES256 keys (generated into a temp directory)
+import com.junaid.backend.service.TokenRevocationService; // Single-token revocation check
+import com.junaid.backend.service.TokenVersionService; // Revocation check
+import com.junaid.backend.service.UserCache; // Cached user lookups (no LISTEN: there is no database)
+import com.junaid.backend.util.JwtUtil; // Token generation and verification
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry; // In-memory registry, like production minus the scrape
+import org.mockito.Mockito; // Repository stand-ins
+import org.springframework.core.io.ClassPathResource; // credit-policy.properties from the backend jar
+import org.springframework.jdbc.core.JdbcTemplate; // Only used by rebuild(), never on the measured path
+import org.springframework.security.core.authority.AuthorityUtils; // Role lists
+import org.springframework.test.util.ReflectionTestUtils; // Sets private @Value fields
+
+import java.io.IOException; // Temp key directory
+import java.io.UncheckedIOException; // Rethrown from setup
+import java.nio.file.Files; // Temp key directory
+import java.nio.file.Path; // Temp key directory
+import java.time.Duration; // Lifetime of the revoked fixture tokens
+import java.time.Instant; // Expiry of the revoked fixture tokens
+import java.util.List; // Admin usernames
+import java.util.UUID; // IDs of the revoked fixture tokens
+
+final class Fixtures {
+
+    static final String USERNAME = "jdoe"; // Every benchmark acts as this user
+
+    private Fixtures() {
+    }
+
+    // === JwtUtil as configured in application.properties (cacheEntries = jwt.claimsCache.maxEntries) ===
+    static JwtUtil jwtUtil(int cacheEntries) {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "signingKeys", signingKeyService());
+        ReflectionTestUtils.setField(jwtUtil, "secret", "");
+        ReflectionTestUtils.setField(jwtUtil, "legacyIssuedBefore", "");
+        ReflectionTestUtils.setField(jwtUtil, "jwksUri", "");
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpirationMs", 900_000L);
+        ReflectionTestUtils.setField(jwtUtil, "claimsCacheMaxEntries", cacheEntries);
+        ReflectionTestUtils.invokeMethod(jwtUtil, "init");
+        return jwtUtil;
+    }
+
+    // === One fresh ES256 key in a new temporary directory ===
+    static SigningKeyService signingKeyService() {
+        SigningKeyService keys = new SigningKeyService();
+        try {
+            Path dir = Files.createTempDirectory("jwt-keys");
+            ReflectionTestUtils.setField(keys, "keysDir", dir.toString());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        ReflectionTestUtils.setField(keys, "rotationMs", 604_800_000L);
+        ReflectionTestUtils.setField(keys, "retainMs", 86_400_000L);
+        ReflectionTestUtils.setField(keys, "tokenLifetimeMs", 900_000L);
+        ReflectionTestUtils.invokeMethod(keys, "init");
+        return keys;
+    }
+
+    static AppUserDetails user() {
+        return new AppUserDetails(42L, USERNAME, "{bcrypt}unused", 0, AuthorityUtils.createAuthorityList("ROLE_USER"));
+    }
+
+    // === Mockito stand-in that records no invocations (a default mock keeps every call for verify(),
+    //     which piles up millions of objects over a run and turns the numbers into GC measurements) ===
+    static <T> T stub(Class<T> type) {
+        return Mockito.mock(type, Mockito.withSettings().stubOnly());
+    }
+
+    // === Repository stub whose findByUsername answers from memory ===
+    static UserRepository userRepository() {
+        User entity = new User();
+        entity.setId(42L);
+        entity.setUsername(USERNAME);
+        entity.setPassword("{bcrypt}unused");
+        UserRepository repository = stub(UserRepository.class);
+        Mockito.when(repository.findByUsername(USERNAME)).thenReturn(entity);
+        return repository;
+    }
+
+    static TokenVersionService tokenVersionService() {
+        UserRepository repository = stub(UserRepository.class);
+        return new TokenVersionService(repository, userCache(repository)); // No user ever revoked
+    }
+
+    // === User cache as configured in application.properties, minus the LISTEN connection ===
+    static UserCache userCache(UserRepository repository) {
+        UserCache cache = new UserCache(repository, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(cache, "maxEntries", 10_000);
+        ReflectionTestUtils.setField(cache, "ttlMs", 300_000L);
+        ReflectionTestUtils.setField(cache, "listenEnabled", false);
+        ReflectionTestUtils.invokeMethod(cache, "start");
+        return cache;
+    }
+
+    // === Revocation set holding other sessions' logouts, so lookups hit a populated bucket ===
+    static TokenRevocationService tokenRevocationService(int revokedTokens) {
+        TokenRevocationService service = new TokenRevocationService(stub(RevokedTokenRepository.class));
+        Instant expiresAt = Instant.now().plus(Duration.ofMinutes(15)); // Same window as the benchmark's own token
+        for (int i = 0; i < revokedTokens; i++) {
+            service.revoke(UUID.randomUUID().toString(), expiresAt);
+        }
+        return service;
+    }
+
+    static MyUserDetailsService userDetailsService() {
+        MyUserDetailsService service = new MyUserDetailsService();
+        UserRepository repository = userRepository();
+        ReflectionTestUtils.setField(service, "userRepository", repository);
+        ReflectionTestUtils.setField(service, "userCache", userCache(repository));
+        ReflectionTestUtils.setField(service, "adminUsernames", List.<String>of());
+        return service;
+    }
+
+    static RequestMetrics requestMetrics() {
+        return new RequestMetrics(new SimpleMeterRegistry());
+    }
+
+    // === Credit policy from the backend's own credit-policy.properties, with a fixed seed ===
+    static CreditPolicyEngine creditPolicyEngine(long seed) {
+        CreditPolicyEngine engine = new CreditPolicyEngine();
+        ReflectionTestUtils.setField(engine, "location", new ClassPathResource("credit-policy.properties"));
+        ReflectionTestUtils.setField(engine, "seed", seed);
+        ReflectionTestUtils.invokeMethod(engine, "init");
+        return engine;
+    }
+
+    // === Portfolio aggregates with the default tenure bands (no rebuild: there is no table) ===
+    static PortfolioAggregates portfolioAggregates(CreditPolicyEngine engine) {
+        PortfolioAggregates aggregates = new PortfolioAggregates(new JdbcTemplate(), engine);
+        ReflectionTestUtils.setField(aggregates, "tenureBandBounds", List.of(12, 36, 60, 120));
+        ReflectionTestUtils.invokeMethod(aggregates, "initBands");
+        return aggregates;
+    }
+
+    // === Event broker with the default history; nobody subscribes, so publishing only records history ===
+    static LoanEventBroker loanEventBroker() {
+        LoanEventBroker broker = new LoanEventBroker(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(broker, "bufferSize", 32);
+        ReflectionTestUtils.setField(broker, "historySize", 50);
+        ReflectionTestUtils.setField(broker, "senderThreads", 1);
+        ReflectionTestUtils.invokeMethod(broker, "start");
+        return broker;
+    }
+}
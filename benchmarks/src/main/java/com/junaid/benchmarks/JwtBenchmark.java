@@ -0,0 +1,52 @@
+// ==========================================================
+// File: JwtBenchmark.java
+//
+// ❖ ROLE:
+//    - Measures JwtUtil.generateToken (login) and JwtUtil.validateToken (every request).
+//
+// ❖ PARAMETERS:
+//    - claimsCacheEntries = 0      -> every validation parses, base64-decodes and HMAC-checks
+//    - claimsCacheEntries = 10000  -> production setting; repeat tokens hit VerifiedClaimsCache
+// ==========================================================
+
+package com.junaid.benchmarks; // Benchmark sources live apart from the backend packages
+
+import com.junaid.backend.model.AppUserDetails; // Logged-in user
+import com.junaid.backend.util.JwtUtil; // Code under test
+
+import org.openjdk.jmh.annotations.*; // JMH annotations
+
+import java.util.concurrent.TimeUnit; // Output unit
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    @Param({"0", "10000"})
+    private int claimsCacheEntries;
+
+    private JwtUtil jwtUtil;
+    private AppUserDetails user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = Fixtures.jwtUtil(claimsCacheEntries);
+        user = Fixtures.user();
+        token = jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(token, Fixtures.USERNAME);
+    }
+}
@@ -0,0 +1,76 @@
+// ==========================================================
+// File: JwtRequestFilterBenchmark.java
+//
+// ❖ ROLE:
+//    - Measures the whole JwtRequestFilter path for one authenticated request: header
+//      parsing, token verification, revocation check, building the Authentication and
+//      storing it in the SecurityContext.
+//
+// ❖ PARAMETERS:
+//    - claimsAuth = true   -> production setting (authentication from token claims)
+//    - claimsAuth = false  -> user reloaded through MyUserDetailsService, answered by UserCache
+//                             after the first call; the repository behind it is an in-memory
+//                             stub, so database latency is NOT included either way
+//
+// ❖ NOTE:
+//    - Logging is configured like production (INFO, see src/main/resources/logback.xml),
+//      so the filter's sampled DEBUG line costs only the level check.
+// ==========================================================
+
+package com.junaid.benchmarks; // Benchmark sources live apart from the backend packages
+
+import com.junaid.backend.filter.JwtRequestFilter; // Code under test
+import com.junaid.backend.util.JwtUtil; // Token generation for the fixture
+
+import jakarta.servlet.FilterChain; // End of the chain
+import org.openjdk.jmh.annotations.*; // JMH annotations
+import org.springframework.mock.web.MockHttpServletRequest; // Fake incoming request
+import org.springframework.mock.web.MockHttpServletResponse; // Fake response
+import org.springframework.security.core.Authentication; // Result placed in the context
+import org.springframework.security.core.context.SecurityContextHolder; // Cleared after each call
+import org.springframework.test.util.ReflectionTestUtils; // Injects the filter's fields
+
+import java.util.concurrent.TimeUnit; // Output unit
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtRequestFilterBenchmark {
+
+    private static final FilterChain END_OF_CHAIN = (request, response) -> { }; // The controller is not measured
+
+    @Param({"true", "false"})
+    private boolean claimsAuth;
+
+    private JwtRequestFilter filter;
+    private String authorizationHeader;
+
+    @Setup
+    public void setUp() {
+        JwtUtil jwtUtil = Fixtures.jwtUtil(10_000);
+        authorizationHeader = "Bearer " + jwtUtil.generateToken(Fixtures.user());
+
+        filter = new JwtRequestFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(filter, "userDetailsService", Fixtures.userDetailsService());
+        ReflectionTestUtils.setField(filter, "tokenVersionService", Fixtures.tokenVersionService());
+        ReflectionTestUtils.setField(filter, "tokenRevocationService", Fixtures.tokenRevocationService(1_000));
+        ReflectionTestUtils.setField(filter, "requestMetrics", Fixtures.requestMetrics());
+        ReflectionTestUtils.setField(filter, "claimsAuthEnabled", claimsAuth);
+    }
+
+    @Benchmark
+    public Authentication authenticatedRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/loans/my-applications");
+        request.addHeader("Authorization", authorizationHeader);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), END_OF_CHAIN); // Runs doFilterInternal
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext(); // Next call must authenticate again
+        }
+    }
+}
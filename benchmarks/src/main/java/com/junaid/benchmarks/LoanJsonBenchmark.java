@@ -0,0 +1,86 @@
+// ==========================================================
+// File: LoanJsonBenchmark.java
+//
+// ❖ ROLE:
+//    - Measures Jackson serialization of LoanApplication, alone and as a 20-row listing.
+//
+// ❖ PARAMETERS:
+//    - withDocument = true   -> document reference, name, type and size populated
+//    - withDocument = false  -> application without an attached document
+//
+// ❖ NOTE:
+//    - Document bytes are no longer part of the entity (see DocumentStore), so "with
+//      document" covers the metadata a client actually receives.
+// ==========================================================
+
+package com.junaid.benchmarks; // Benchmark sources live apart from the backend packages
+
+import com.fasterxml.jackson.databind.ObjectMapper; // Serializer under test
+import com.junaid.backend.entity.LoanApplication; // Payload
+import com.junaid.backend.entity.LoanStatus; // Decided status
+
+import org.openjdk.jmh.annotations.*; // JMH annotations
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder; // Same defaults Spring MVC uses
+
+import java.util.ArrayList; // Listing payload
+import java.util.List; // Listing payload
+import java.util.concurrent.TimeUnit; // Output unit
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoanJsonBenchmark {
+
+    private static final int PAGE_SIZE = 20; // Default page of /api/loans/my-applications
+
+    @Param({"true", "false"})
+    private boolean withDocument;
+
+    private ObjectMapper objectMapper;
+    private LoanApplication loan;
+    private List<LoanApplication> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        loan = loan(1L);
+        page = new ArrayList<>(PAGE_SIZE);
+        for (long id = 1; id <= PAGE_SIZE; id++) {
+            page.add(loan(id));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeOne() throws Exception {
+        return objectMapper.writeValueAsBytes(loan);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    private LoanApplication loan(long id) {
+        LoanApplication loan = new LoanApplication();
+        loan.setId(id);
+        loan.setUsername(Fixtures.USERNAME);
+        loan.setNameOfApplicant("Jane Doe");
+        loan.setLoanType("home");
+        loan.setAmount(250_000);
+        loan.setTenure(240);
+        loan.setInterestRate(6.5);
+        loan.setStatus(LoanStatus.APPROVED);
+        loan.setCreditScore(781);
+        loan.setDecisionMessage("Loan application submitted successfully. Your credit score is 781.");
+        if (withDocument) {
+            loan.setDocumentRef("9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08");
+            loan.setDocumentName("payslip.pdf");
+            loan.setDocumentContentType("application/pdf");
+            loan.setDocumentSize(482_113L);
+        }
+        return loan;
+    }
+}
@@ -0,0 +1,93 @@
+// ==========================================================
+// File: LoanScoringBenchmark.java
+//
+// ❖ ROLE:
+//    - Measures LoanServiceImpl.applyLoan (synchronous mode): validation, credit scoring
+//      against the compiled CreditPolicy, and building the decision message.
+//
+// ❖ NOTE:
+//    - Document ingestion and persistence are stubbed (fixed document reference, no-op repository),
+//      so the numbers cover the service's own CPU cost only.
+//    - Roughly half the applications are rejected; that path throws ResponseStatusException,
+//      and its cost is part of what is measured.
+// ==========================================================
+
+package com.junaid.benchmarks; // Benchmark sources live apart from the backend packages
+
+import com.junaid.backend.datasource.ReadYourWritesTracker; // Routing is off here, so markWrite is a no-op
+import com.junaid.backend.entity.LoanApplication; // Request payload
+import com.junaid.backend.policy.CreditPolicyEngine; // Shared by the service and the aggregates
+import com.junaid.backend.repository.LoanRepository; // Stubbed with Mockito (stub-only: save() is called on every approval)
+import com.junaid.backend.service.DocumentIngestionService; // Stubbed
+import com.junaid.backend.service.LoanDecisionPipeline; // Required by the constructor, unused in sync mode
+import com.junaid.backend.service.LoanServiceImpl; // Code under test
+import com.junaid.backend.service.UserDataVersions; // Bumped on every stored application
+import com.junaid.backend.storage.DocumentType; // Type reported by the stub
+import com.junaid.backend.storage.StoredDocument; // Result reported by the stub
+
+import org.openjdk.jmh.annotations.*; // JMH annotations
+import org.springframework.jdbc.core.JdbcTemplate; // Required by the constructor, unused in sync mode
+import org.springframework.mock.web.MockMultipartFile; // Fake upload
+import org.springframework.web.multipart.MultipartFile; // Upload type
+import org.springframework.web.server.ResponseStatusException; // Rejected applications
+
+import java.util.concurrent.TimeUnit; // Output unit
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoanScoringBenchmark {
+
+    // Document ingestion is not what this measures; the stub hands back a fixed reference and counts nothing
+    private static final class NoOpIngestion extends DocumentIngestionService {
+        NoOpIngestion() {
+            super(null, null, null); // Store, repository and transactions are never touched
+        }
+
+        @Override
+        public StoredDocument ingest(MultipartFile file) {
+            return new StoredDocument("0".repeat(64), DocumentType.PDF, file.getSize(), file.getSize(), false);
+        }
+
+        @Override
+        public void retain(String reference) {
+        }
+    }
+
+    @Param({"home", "personal", "business"})
+    private String loanType;
+
+    private LoanServiceImpl loanService;
+    private LoanApplication loan;
+    private MultipartFile file;
+
+    @Setup
+    public void setUp() {
+        CreditPolicyEngine creditPolicyEngine = Fixtures.creditPolicyEngine(42L);
+        loanService = new LoanServiceImpl(Fixtures.stub(LoanRepository.class), new NoOpIngestion(),
+                creditPolicyEngine, new LoanDecisionPipeline(), new JdbcTemplate(),
+                Fixtures.requestMetrics(), new ReadYourWritesTracker(), Fixtures.portfolioAggregates(creditPolicyEngine),
+                new UserDataVersions(false, 10_000), Fixtures.loanEventBroker());
+
+        loan = new LoanApplication();
+        loan.setUsername(Fixtures.USERNAME);
+        loan.setNameOfApplicant("Jane Doe");
+        loan.setLoanType(loanType);
+        loan.setAmount(250_000);
+        loan.setTenure(240);
+        loan.setInterestRate(6.5);
+        file = new MockMultipartFile("file", "payslip.pdf", "application/pdf", new byte[4096]);
+    }
+
+    @Benchmark
+    public String applyLoan() {
+        try {
+            return loanService.applyLoan(loan, file);
+        } catch (ResponseStatusException rejected) {
+            return rejected.getReason(); // Score below the policy threshold
+        }
+    }
+}
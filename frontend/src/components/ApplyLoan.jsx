@@ -7,7 +7,7 @@
 // =====================================
 
 // Import React and required hooks for state management and side effects
-import React, { useState, useContext, useEffect } from 'react';
+import React, { useState, useContext, useEffect, useRef } from 'react';
 // Import axios for making HTTP requests to the backend API
 import axios from 'axios';
 // Import AuthContext to access authentication state and methods
@@ -50,6 +50,9 @@ export default function ApplyLoan() {
   const [error, setError] = useState('');
   // State for tracking form submission status
   const [loading, setLoading] = useState(false);
+  // Idempotency-Key of the current form contents: resubmitting after a timeout gets the
+  // first submission's answer instead of creating a second application
+  const idempotencyKey = useRef(null);
 
   // useEffect hook to clear messages when component mounts
   useEffect(() => {
@@ -75,6 +78,8 @@ export default function ApplyLoan() {
       setFormData(f => ({ ...f, [name]: value }));
     }
 
+    idempotencyKey.current = null; // Changed form, new application
+
     // Clear any existing error or success messages when user makes changes
     if (error) setError('');
     if (message) setMessage('');
@@ -105,6 +110,9 @@ export default function ApplyLoan() {
     // Append file if one was selected
     if (file) payload.append('file', file);
 
+    // Same key for every submit of the same form contents
+    if (!idempotencyKey.current) idempotencyKey.current = crypto.randomUUID();
+
     try {
       // Make POST request to backend API
       const res = await axios.post(
@@ -114,6 +122,7 @@ export default function ApplyLoan() {
           headers: {
             'Content-Type': 'multipart/form-data',
             Authorization: `Bearer ${token}`, // Include auth token
+            'Idempotency-Key': idempotencyKey.current, // Retries are answered, not re-run
           }
         }
       );
@@ -130,6 +139,7 @@ export default function ApplyLoan() {
         interestRate: '',
       });
       setFile(null); // Clear uploaded file
+      idempotencyKey.current = null; // The next application gets its own key
 
     } catch (err) {
       // Handle session expiration
@@ -226,7 +236,7 @@ export default function ApplyLoan() {
         <input
           type="file"
           name="file"
-          onChange={e => setFile(e.target.files[0])}
+          onChange={e => { setFile(e.target.files[0]); idempotencyKey.current = null; }}
         />
 
         {/* Submit button with loading state */}
@@ -2,12 +2,12 @@
 // File: PastApplications.jsx
 // Purpose: Display user's loan application history
 // Used in: Protected routes after authentication
-// Features: Data fetching, loading states, error handling
+// Features: Data fetching, loading states, error handling, live status updates (Server-Sent Events)
 // Dependencies: React, axios, AuthContext
 // =====================================
 
 // Import React and required hooks for component lifecycle and state management
-import React, { useEffect, useState, useContext } from 'react';
+import React, { useCallback, useEffect, useRef, useState, useContext } from 'react';
 // Import axios HTTP client for making API requests
 import axios from 'axios';
 // Import authentication context to access user token
@@ -15,6 +15,9 @@ import { AuthContext } from '../context/AuthContext';
 // Import global styles for consistent UI
 import '../index.css';
 
+// Rows requested per page (the server's maximum is 100)
+const PAGE_SIZE = 20;
+
 // Define and export the PastApplications component
 export default function PastApplications() {
   // Extract authentication token from context for API requests
@@ -26,6 +29,28 @@ export default function PastApplications() {
   const [loading, setLoading] = useState(true);
   // Initialize error state to handle and display API errors
   const [error, setError] = useState('');
+  // Keyset cursor for the next page (null when there are no more rows)
+  const [nextCursor, setNextCursor] = useState(null);
+  // Latest rows, read by the event stream handler without re-subscribing on every update
+  const appsRef = useRef(apps);
+  appsRef.current = apps;
+
+  // Fetch the first page of user's applications (on mount, and when the event stream asks for a resync)
+  const loadFirstPage = useCallback(() => {
+    // Make GET request to fetch the first page of user's applications
+    return axios.get('http://localhost:8080/api/loans/my-applications', {
+      // Include authentication token in request headers
+      headers: { Authorization: `Bearer ${token}` },
+      params: { limit: PAGE_SIZE } // Paged; without a limit the server returns every application
+    })
+    // Handle successful response
+    .then(res => {
+      setApps(res.data || []);
+      setNextCursor(res.headers['x-next-cursor'] || null); // Present only when more pages exist
+    })
+    // Handle error response
+    .catch(() => setError('Could not load past applications.'));
+  }, [token]);
 
   // Effect hook to fetch applications when component mounts or token changes
   useEffect(() => {
@@ -33,19 +58,43 @@ export default function PastApplications() {
     setLoading(true);
     // Clear any existing errors
     setError('');
-    
-    // Make GET request to fetch user's applications
+    // Always leave the loading state after the request completes
+    loadFirstPage().finally(() => setLoading(false));
+  }, [loadFirstPage]); // Re-run effect if token changes
+
+  // Live status updates instead of polling: one event stream while this page is open
+  useEffect(() => {
+    // EventSource cannot send headers, so the token goes in the query string (accepted on this path only)
+    const events = new EventSource(
+      `http://localhost:8080/api/loans/events?access_token=${encodeURIComponent(token)}`
+    );
+    // A decision (or a new application from another tab) arrived
+    events.addEventListener('loan-status', e => {
+      const update = JSON.parse(e.data);
+      if (!appsRef.current.some(app => app.id === update.id)) {
+        loadFirstPage(); // Not on screen yet: reload so it appears at the top
+        return;
+      }
+      setApps(prev => prev.map(app => (app.id === update.id ? { ...app, status: update.status } : app)));
+    });
+    // Events were missed while disconnected and can no longer be replayed: reload once
+    events.addEventListener('resync', () => loadFirstPage());
+    // The browser reconnects by itself (sending Last-Event-ID); close the stream when leaving the page
+    return () => events.close();
+  }, [token, loadFirstPage]);
+
+  // Fetch the next page and append it to the table
+  const loadMore = () => {
     axios.get('http://localhost:8080/api/loans/my-applications', {
-      // Include authentication token in request headers
-      headers: { Authorization: `Bearer ${token}` }
+      headers: { Authorization: `Bearer ${token}` },
+      params: { after: nextCursor, limit: PAGE_SIZE } // Continue below the last ID we have
     })
-    // Handle successful response
-    .then(res => setApps(res.data || []))
-    // Handle error response
-    .catch(() => setError('Could not load past applications.'))
-    // Always execute after request completes
-    .finally(() => setLoading(false));
-  }, [token]); // Re-run effect if token changes
+    .then(res => {
+      setApps(prev => [...prev, ...(res.data || [])]);
+      setNextCursor(res.headers['x-next-cursor'] || null);
+    })
+    .catch(() => setError('Could not load past applications.'));
+  };
 
   // Show loading state while fetching data
   if (loading) {
@@ -94,6 +143,7 @@ export default function PastApplications() {
               <th>Amount</th>             {/* Column for loan amount */}
               <th>Interest Rate</th>      {/* Column for interest rate */}
               <th>Tenure</th>             {/* Column for loan tenure */}
+              <th>Status</th>             {/* Column for decision status */}
             </tr>
           </thead>
           {/* Table body with application data */}
@@ -110,11 +160,18 @@ export default function PastApplications() {
                 <td data-label="Interest Rate">{app.interestRate}%</td>
                 {/* Tenure cell with month indicator */}
                 <td data-label="Tenure">{app.tenure} mo</td>
+                {/* Status cell: PENDING until the credit decision is made */}
+                <td data-label="Status">{app.status}</td>
               </tr>
             ))}
           </tbody>
         </table>
       </div>
+
+      {/* Only shown while the backend reports more pages */}
+      {nextCursor && (
+        <button type="button" onClick={loadMore}>Load more</button>
+      )}
     </div>
   );
 }
\ No newline at end of file
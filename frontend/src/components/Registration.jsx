@@ -7,7 +7,7 @@
 // =====================================
 
 // Import core React library and useState hook for managing component state
-import React, { useState } from 'react';
+import React, { useState, useRef } from 'react';
 // Import axios for making HTTP requests to the backend API
 import axios from 'axios';
 // Import navigation hook for redirecting after successful registration
@@ -43,6 +43,11 @@ export default function Register() {
   const [message, setMessage] = useState('');
   // State for error message display
   const [error, setError] = useState('');
+  // Fields found to be already taken (username / email -> message)
+  const [taken, setTaken] = useState({});
+  // Idempotency-Key of the current form contents: a resubmit after a timeout gets the first
+  // answer instead of "Username already exists"
+  const idempotencyKey = useRef(null);
 
   // Define ID type options for dropdown selection
   const idTypes = [
@@ -67,10 +72,31 @@ export default function Register() {
   const handleChange = (e) => {
     const { name, value } = e.target;  // Extract field name and new value
     setFormData(f => ({ ...f, [name]: value })); // Update form state
+    idempotencyKey.current = null; // Changed form, new registration
     setMessage('');  // Clear any existing success message
     setError('');    // Clear any existing error message
   };
 
+  // Messages for fields that must be unique
+  const takenMessages = {
+    username: 'Username already exists',
+    email: 'Email already registered',
+  };
+
+  // Check a unique field as soon as the user leaves it
+  const handleAvailabilityCheck = async (e) => {
+    const { name, value } = e.target; // Field being checked
+    if (!value) return; // Nothing to check yet
+    try {
+      const res = await axios.get('http://localhost:8080/api/register/availability', {
+        params: { [name]: value },
+      });
+      setTaken(t => ({ ...t, [name]: res.data[name] === false ? takenMessages[name] : undefined }));
+    } catch {
+      // Availability is only a hint — the server re-checks on submit
+    }
+  };
+
   // Handle changes in password confirmation field
   const handleConfirmChange = (e) => {
     setConfirmPassword(e.target.value); // Update confirmation password
@@ -92,7 +118,10 @@ export default function Register() {
 
     try {
       // Send registration request to backend
-      await axios.post('http://localhost:8080/api/register', formData);
+      if (!idempotencyKey.current) idempotencyKey.current = crypto.randomUUID();
+      await axios.post('http://localhost:8080/api/register', formData, {
+        headers: { 'Idempotency-Key': idempotencyKey.current }, // Retries are answered, not re-run
+      });
       // Navigate to login page on success
       navigate('/login', { replace: true });
     } catch (err) {
@@ -109,6 +138,9 @@ export default function Register() {
       {/* Display success/error messages */}
       {message && <p className="success-message">{message}</p>}
       {error && <p className="error-message">{error}</p>}
+      {Object.values(taken).filter(Boolean).map(msg => (
+        <p key={msg} className="error-message">{msg}</p>
+      ))}
 
       {/* Registration form */}
       <form onSubmit={handleSubmit}>
@@ -117,6 +149,7 @@ export default function Register() {
           <h3>Account Information</h3>
           <input
             name="username"
+            onBlur={handleAvailabilityCheck}
             placeholder="Username"
             value={formData.username}
             onChange={handleChange}
@@ -177,6 +210,7 @@ export default function Register() {
           <input
             type="email"
             name="email"
+            onBlur={handleAvailabilityCheck}
             placeholder="Email Address"
             value={formData.email}
             onChange={handleChange}
@@ -2,12 +2,12 @@
 // File: AuthContext.jsx
 // Purpose: Authentication context provider for managing user sessions
 // Used in: App root for global auth state management
-// Features: JWT handling, local storage sync, login/logout
+// Features: JWT handling, local storage sync, login/logout, refresh token rotation
 // Dependencies: React Context API
 // =====================================
 
 // Import required React features for context and state management
-import React, { createContext, useState, useEffect } from "react";
+import React, { createContext, useState, useEffect, useCallback } from "react";
 
 // Create authentication context with default values
 export const AuthContext = createContext({
@@ -30,6 +30,11 @@ export function AuthProvider({ children }) {
     return storedUser ? JSON.parse(storedUser) : null;
   });
 
+  // Seconds the current access token lives (from the last login or refresh)
+  const [expiresIn, setExpiresIn] = useState(() => {
+    return Number(localStorage.getItem("jwtExpiresIn")) || 60;
+  });
+
   // Sync token with localStorage when it changes
   useEffect(() => {
     if (token) {
@@ -39,6 +44,53 @@ export function AuthProvider({ children }) {
     }
   }, [token]); // Only re-run if token changes
 
+  // Store a token pair returned by /api/authenticate or /api/refresh
+  const applyTokens = (data) => {
+    localStorage.setItem("refreshToken", data.refreshToken); // Single use: replaced on every refresh
+    localStorage.setItem("jwtExpiresIn", String(data.expiresIn));
+    setExpiresIn(data.expiresIn);
+    setToken(data.jwt);
+  };
+
+  // Clear all auth state
+  const clearSession = useCallback(() => {
+    localStorage.removeItem("refreshToken");
+    localStorage.removeItem("jwtExpiresIn");
+    setToken(null);                  // Clear token
+    setUser(null);                   // Clear user
+    localStorage.removeItem("user");  // Clear persisted user
+  }, []);
+
+  // Access tokens are short-lived: exchange the refresh token shortly before the current one expires
+  useEffect(() => {
+    if (!token) {
+      return undefined;
+    }
+    const delayMs = Math.max(5, expiresIn - 60) * 1000; // One minute of headroom
+    const timer = setTimeout(async () => {
+      const refreshToken = localStorage.getItem("refreshToken");
+      const response = await fetch("http://localhost:8080/api/refresh", {
+        method: "POST",
+        headers: { "Content-Type": "application/json" },
+        body: JSON.stringify({ refreshToken })
+      }).catch(() => null);
+      if (response && response.ok) {
+        applyTokens(await response.json());
+        return;
+      }
+      // Another tab may have rotated the shared token first: adopt its tokens instead of signing out
+      const latestToken = localStorage.getItem("jwttoken");
+      if (response && response.status === 401 && localStorage.getItem("refreshToken") !== refreshToken) {
+        setToken(latestToken);
+        return;
+      }
+      if (response && response.status === 401) {
+        clearSession(); // Expired or revoked: back to the login page
+      }
+    }, delayMs);
+    return () => clearTimeout(timer);
+  }, [token, expiresIn, clearSession]);
+
   // Login function - called from Login component
   const login = async (username, password) => {
     // Make authentication request to backend
@@ -55,16 +107,21 @@ export function AuthProvider({ children }) {
 
     // Process successful authentication
     const data = await response.json();
-    setToken(data.jwt);              // Store JWT token
+    applyTokens(data);               // Store JWT token and refresh token
     setUser({ username });           // Store user data
     localStorage.setItem("user", JSON.stringify({ username })); // Persist user
   };
 
-  // Logout function - clear all auth state
+  // Logout function - revoke this session on the server, then clear all auth state
   const logout = () => {
-    setToken(null);                  // Clear token
-    setUser(null);                   // Clear user
-    localStorage.removeItem("user");  // Clear persisted user
+    if (token) {
+      fetch("http://localhost:8080/api/logout", {
+        method: "POST",
+        headers: { "Content-Type": "application/json", Authorization: `Bearer ${token}` },
+        body: JSON.stringify({ refreshToken: localStorage.getItem("refreshToken") })
+      }).catch(() => {}); // Signing out locally does not wait for the server
+    }
+    clearSession();
   };
 
   // Provide auth context to child components